@@ -36,5 +36,15 @@ public enum DRMode {
      * {@link TornadoExecutionPlan} and run the expressions on the target devices.
      * Each physical accelerator handler is mapped to a Java thread.
      */
-    PARALLEL //
+    PARALLEL, //
+
+    /**
+     * A cost-model mode means that the runtime does not run the
+     * {@link ImmutableTaskGraph} on all devices. It predicts the time on each
+     * device from the features of the code of the tasks, the input size and the
+     * characteristics of the devices, and it runs on the device with the best
+     * prediction. The predictions are corrected with the times observed in
+     * previous executions.
+     */
+    COST_MODEL //
 }
@@ -19,6 +19,7 @@ package uk.ac.manchester.tornado.api;
 
 import java.util.Collection;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 import uk.ac.manchester.tornado.api.common.TornadoDevice;
 import uk.ac.manchester.tornado.api.enums.ProfilerMode;
@@ -53,11 +54,21 @@ public class ImmutableTaskGraph {
         taskGraph.execute(gridScheduler);
     }
 
+    CompletableFuture<Void> executeAsync() {
+        return taskGraph.executeAsync();
+    }
+
+    CompletableFuture<Void> executeAsync(GridScheduler gridScheduler) {
+        return taskGraph.executeAsync(gridScheduler);
+    }
+
     void executeWithDynamicReconfiguration(Policy policy, DRMode mode) {
         if (Objects.requireNonNull(mode) == DRMode.SERIAL) {
             taskGraph.executeWithProfilerSequential(policy);
         } else if (mode == DRMode.PARALLEL) {
             taskGraph.executeWithProfiler(policy);
+        } else if (mode == DRMode.COST_MODEL) {
+            taskGraph.executeWithCostModel(policy);
         }
     }
 
@@ -149,8 +160,8 @@ public class ImmutableTaskGraph {
         taskGraph.useDefaultThreadScheduler(useDefaultScheduler);
     }
 
-    void withBatch(String batchSize) {
-        taskGraph.batch(batchSize);
+    void withBatch(String batchSize, int pipelineDepth, Object[] broadcastObjects) {
+        taskGraph.batch(batchSize, pipelineDepth, broadcastObjects);
     }
 
     void withMemoryLimit(String memoryLimit) {
@@ -185,6 +196,14 @@ public class ImmutableTaskGraph {
         taskGraph.withoutConcurrentDevices();
     }
 
+    void withBackgroundCompilation() {
+        taskGraph.withBackgroundCompilation();
+    }
+
+    void withoutBackgroundCompilation() {
+        taskGraph.withoutBackgroundCompilation();
+    }
+
     void withThreadInfo() {
         taskGraph.withThreadInfo();
     }
@@ -200,4 +219,12 @@ public class ImmutableTaskGraph {
     void withoutPrintKernel() {
         taskGraph.withoutPrintKernel();
     }
+
+    void withAutotuning() {
+        taskGraph.withAutotuning();
+    }
+
+    void withoutAutotuning() {
+        taskGraph.withoutAutotuning();
+    }
 }
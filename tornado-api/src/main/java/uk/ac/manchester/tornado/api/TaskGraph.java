@@ -20,6 +20,7 @@ package uk.ac.manchester.tornado.api;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import uk.ac.manchester.tornado.api.common.Access;
 import uk.ac.manchester.tornado.api.common.PrebuiltTaskPackage;
@@ -690,6 +691,12 @@ public class TaskGraph implements TaskGraphInterface {
      * it transfers data for every execution of the task-graph (READ/WRITE)
      * </p>
      *
+     * </p>
+     * {@link uk.ac.manchester.tornado.api.enums.DataTransferMode#EVERY_EXECUTION_IF_MODIFIED}:
+     * it transfers data for every execution of the task-graph, unless the native
+     * array has not been modified since the last transfer (READ/WRITE)
+     * </p>
+     *
      * @param mode
      *     A mode from
      *     {@link uk.ac.manchester.tornado.api.enums.DataTransferMode}
@@ -734,6 +741,24 @@ public class TaskGraph implements TaskGraphInterface {
         return this;
     }
 
+    /**
+     * Tag a set of objects (Java objects) as transient: intermediate results of
+     * the task-graph that only live on the device. Transient objects are allocated
+     * once on the device, and they are never transferred to or from the host.
+     * Transient objects whose lifetimes within the task-graph do not overlap can
+     * share the same device buffer.
+     *
+     * @param objects
+     *     List of Java objects (usually arrays) that are only used on the
+     *     device.
+     * @return {@link TaskGraph}
+     */
+    @Override
+    public TaskGraph transientObjects(Object... objects) {
+        taskGraphImpl.transientObjects(objects);
+        return this;
+    }
+
     /**
      * Function that closes a task-graph definition and creates an immutable
      * task-graph ready for execution.
@@ -758,8 +783,8 @@ public class TaskGraph implements TaskGraphInterface {
         return this;
     }
 
-    TaskGraph batch(String batchSize) {
-        taskGraphImpl.withBatch(batchSize);
+    TaskGraph batch(String batchSize, int pipelineDepth, Object[] broadcastObjects) {
+        taskGraphImpl.withBatch(batchSize, pipelineDepth, broadcastObjects);
         return this;
     }
 
@@ -780,6 +805,14 @@ public class TaskGraph implements TaskGraphInterface {
         taskGraphImpl.schedule(gridScheduler).waitOn();
     }
 
+    CompletableFuture<Void> executeAsync() {
+        return taskGraphImpl.scheduleAsync();
+    }
+
+    CompletableFuture<Void> executeAsync(GridScheduler gridScheduler) {
+        return taskGraphImpl.scheduleAsync(gridScheduler);
+    }
+
     void executeWithProfiler(Policy policy) {
         taskGraphImpl.scheduleWithProfile(policy).waitOn();
     }
@@ -788,6 +821,10 @@ public class TaskGraph implements TaskGraphInterface {
         taskGraphImpl.scheduleWithProfileSequential(policy).waitOn();
     }
 
+    void executeWithCostModel(Policy policy) {
+        taskGraphImpl.scheduleWithCostModel(policy).waitOn();
+    }
+
     void warmup() {
         taskGraphImpl.warmup();
     }
@@ -905,6 +942,14 @@ public class TaskGraph implements TaskGraphInterface {
         taskGraphImpl.withoutConcurrentDevices();
     }
 
+    void withBackgroundCompilation() {
+        taskGraphImpl.withBackgroundCompilation();
+    }
+
+    void withoutBackgroundCompilation() {
+        taskGraphImpl.withoutBackgroundCompilation();
+    }
+
     void withThreadInfo() {
         taskGraphImpl.withThreadInfo();
     }
@@ -920,4 +965,12 @@ public class TaskGraph implements TaskGraphInterface {
     void withoutPrintKernel() {
         taskGraphImpl.withoutPrintKernel();
     }
+
+    void withAutotuning() {
+        taskGraphImpl.withAutotuning();
+    }
+
+    void withoutAutotuning() {
+        taskGraphImpl.withoutAutotuning();
+    }
 }
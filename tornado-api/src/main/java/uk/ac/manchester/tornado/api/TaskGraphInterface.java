@@ -539,6 +539,12 @@ public interface TaskGraphInterface {
      * it transfers data for every execution of the task-graph (READ/WRITE)
      * </p>
      *
+     * </p>
+     * {@link uk.ac.manchester.tornado.api.enums.DataTransferMode#EVERY_EXECUTION_IF_MODIFIED}:
+     * it transfers data for every execution of the task-graph, unless the native
+     * array has not been modified since the last transfer (READ/WRITE)
+     * </p>
+     *
      * @param mode
      *     A mode from
      *     {@link uk.ac.manchester.tornado.api.enums.DataTransferMode}
@@ -575,6 +581,26 @@ public interface TaskGraphInterface {
      */
     TaskGraphInterface transferToHost(int mode, Object... objects);
 
+    /**
+     * Tag a set of objects (Java objects) as transient: intermediate results of
+     * the task-graph that only live on the device. Transient objects are allocated
+     * once on the device, and they are never transferred to or from the host, even
+     * if they are also passed to {@link #transferToDevice} or
+     * {@link #transferToHost}. Transient objects whose lifetimes within the
+     * task-graph do not overlap can share the same device buffer.
+     *
+     * <p>
+     * Objects that are not transferred in either direction, and that are written
+     * by the first task that uses them, are detected as transient automatically.
+     * </p>
+     *
+     * @param objects
+     *     List of Java objects (usually arrays) that are only used on the
+     *     device.
+     * @return {@link TaskGraphInterface}
+     */
+    TaskGraphInterface transientObjects(Object... objects);
+
     /**
      * Function that closes a task-graph definition and creates an immutable
      * task-graph ready for execution.
@@ -20,6 +20,8 @@ package uk.ac.manchester.tornado.api;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import uk.ac.manchester.tornado.api.common.TornadoDevice;
@@ -42,7 +44,9 @@ public class TornadoExecutionPlan {
      * to the device assigned to the driver (backend) with index 0 and device 0.
      */
     public static TornadoDevice DEFAULT_DEVICE = TornadoRuntime.getTornadoRuntime().getDefaultDevice();
+
     private final TornadoExecutor tornadoExecutor;
+    private CompletableFuture<TornadoExecutionResult> lastAsyncExecution = CompletableFuture.completedFuture(null);
     private GridScheduler gridScheduler;
     private Policy policy = null;
     private DRMode dynamicReconfigurationMode;
@@ -86,7 +90,71 @@ public class TornadoExecutionPlan {
      * @return {@link TornadoExecutionPlan}
      */
     public TornadoExecutionResult execute() {
+        CompletableFuture<TornadoExecutionResult> execution = new CompletableFuture<>();
+        CompletableFuture<TornadoExecutionResult> previous;
+        synchronized (this) {
+            previous = lastAsyncExecution;
+            lastAsyncExecution = execution;
+        }
+        waitFor(previous);
+        try {
+            TornadoExecutionResult result = executeInner();
+            execution.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            execution.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Execute an execution plan without waiting for the device. The returned
+     * future completes with the {@link TornadoExecutionResult} once the results
+     * have been copied back to the host, or exceptionally if the execution fails.
+     *
+     * <p>
+     * The execution is enqueued on the device and completed from its events, so
+     * no thread is blocked while the device runs. Outputs stored in Java arrays
+     * are copied back with blocking transfers, so only plans with off-heap arrays
+     * (e.g., {@link uk.ac.manchester.tornado.api.types.arrays.FloatArray}) return
+     * before the device finishes. Plans with dynamic reconfiguration, several
+     * devices or FPGAs run synchronously and return a completed future.
+     * </p>
+     *
+     * <p>
+     * Executions submitted to the same plan run in submission order, one at a
+     * time, even if a previous one failed. Calls to {@link #execute()} join the
+     * same queue: they wait for the pending executions of the plan, and later
+     * asynchronous executions wait for them. The plan should not be
+     * reconfigured (e.g., with {@link #withDevice(TornadoDevice)}) while there are
+     * pending executions.
+     * </p>
+     *
+     * @return {@link CompletableFuture} with the {@link TornadoExecutionResult}.
+     *
+     * @since 1.0.1
+     */
+    public synchronized CompletableFuture<TornadoExecutionResult> executeAsync() {
+        CompletableFuture<TornadoExecutionResult> execution;
+        if (lastAsyncExecution.isDone()) {
+            execution = executeInnerAsync();
+        } else {
+            // Enqueued once the previous execution completes. The futures are completed
+            // by the event poller, which must not run the enqueue itself
+            execution = lastAsyncExecution.handle((result, error) -> null).thenComposeAsync(_ -> executeInnerAsync());
+        }
+        lastAsyncExecution = execution;
+        return execution;
+    }
 
+    private static void waitFor(CompletableFuture<TornadoExecutionResult> pending) {
+        if (!pending.isDone()) {
+            // Failures are reported through the future of each execution
+            pending.handle((result, error) -> null).join();
+        }
+    }
+
+    private TornadoExecutionResult executeInner() {
         checkProfilerEnabled();
 
         if (this.policy != null) {
@@ -99,6 +167,21 @@ public class TornadoExecutionPlan {
         return new TornadoExecutionResult(new TornadoProfilerResult(tornadoExecutor));
     }
 
+    private CompletableFuture<TornadoExecutionResult> executeInnerAsync() {
+        try {
+            if (this.policy != null) {
+                // The dynamic reconfiguration compares the devices synchronously
+                return CompletableFuture.completedFuture(executeInner());
+            }
+            checkProfilerEnabled();
+            CompletableFuture<Void> completion = gridScheduler != null ? tornadoExecutor.executeAsync(gridScheduler) : tornadoExecutor.executeAsync();
+            // The result is built off the event poller, so callbacks attached by the caller do not run on it
+            return completion.thenApplyAsync(_ -> new TornadoExecutionResult(new TornadoProfilerResult(tornadoExecutor)));
+        } catch (RuntimeException | Error e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
     private void checkProfilerEnabled() {
         if (this.profilerMode != null && !this.disableProfiler) {
             tornadoExecutor.enableProfiler(profilerMode);
@@ -109,7 +192,8 @@ public class TornadoExecutionPlan {
 
     /**
      * It invokes the JIT compiler for all immutable tasks-graphs associated to an
-     * executor.
+     * executor. The tasks of each task-graph are compiled concurrently (see the
+     * option {@code -Dtornado.compiler.threads}).
      *
      * @return {@link TornadoExecutionPlan}
      */
@@ -119,6 +203,37 @@ public class TornadoExecutionPlan {
         return this;
     }
 
+    /**
+     * It starts the JIT compilation of all tasks of the immutable task-graphs
+     * associated to an executor in background threads, and it returns without
+     * waiting for it. An execution waits only for the compilation of the task it
+     * is about to launch. Tasks that need to be recompiled in later executions
+     * are also compiled in the background. This call should be made after
+     * selecting the device for the execution plan.
+     *
+     * @return {@link TornadoExecutionPlan}
+     *
+     * @since 1.0.2
+     */
+    public TornadoExecutionPlan withBackgroundCompilation() {
+        checkProfilerEnabled();
+        tornadoExecutor.withBackgroundCompilation();
+        return this;
+    }
+
+    /**
+     * It disables the background compilation of tasks. Tasks are compiled when
+     * they are launched.
+     *
+     * @return {@link TornadoExecutionPlan}
+     *
+     * @since 1.0.2
+     */
+    public TornadoExecutionPlan withoutBackgroundCompilation() {
+        tornadoExecutor.withoutBackgroundCompilation();
+        return this;
+    }
+
     /**
      * It selects a specific device for all immutable tasks graphs associated to an
      * executor.
@@ -253,7 +368,68 @@ public class TornadoExecutionPlan {
      * @return {@link TornadoExecutionPlan}
      */
     public TornadoExecutionPlan withBatch(String batchSize) {
-        tornadoExecutor.withBatch(batchSize);
+        tornadoExecutor.withBatch(batchSize, 1, new Object[0]);
+        return this;
+    }
+
+    /**
+     * Enable batch processing with broadcast objects. Broadcast objects are
+     * read-only objects that all batches need in full (e.g., lookup tables or
+     * filter coefficients). They are not split: TornadoVM transfers them once and
+     * keeps them on the device while the batches are processed. The rest of the
+     * objects are split in batches of the same number of elements, so they can
+     * have different element types, but they must have the same number of
+     * elements.
+     *
+     * @param batchSize
+     *     String in the format a number + "MB" Example "512MB".
+     * @param broadcastObjects
+     *     Read-only objects that are not split in batches.
+     * @return {@link TornadoExecutionPlan}
+     */
+    public TornadoExecutionPlan withBatch(String batchSize, Object... broadcastObjects) {
+        tornadoExecutor.withBatch(batchSize, 1, broadcastObjects);
+        return this;
+    }
+
+    /**
+     * Enable pipelined batch processing. Up to {@code pipelineDepth} batches are
+     * in flight at the same time, each one with its own set of device buffers, so
+     * that the data transfers of a batch can overlap with the kernels of the
+     * previous batches. The overlap requires a device queue that can run commands
+     * out of order (e.g., {@code -Dtornado.ooo-execution.enable=True} for
+     * OpenCL). A depth of 1 is equivalent to {@link #withBatch(String)}.
+     *
+     * @param batchSize
+     *     String in the format a number + "MB" Example "512MB".
+     * @param pipelineDepth
+     *     Number of batches in flight (e.g., 2 for double buffering).
+     * @return {@link TornadoExecutionPlan}
+     */
+    public TornadoExecutionPlan withBatch(String batchSize, int pipelineDepth) {
+        tornadoExecutor.withBatch(batchSize, pipelineDepth, new Object[0]);
+        return this;
+    }
+
+    /**
+     * Enable pipelined batch processing with broadcast objects. Up to
+     * {@code pipelineDepth} batches are in flight at the same time, each one with
+     * its own set of device buffers. Broadcast objects are not split and are
+     * shared by all the sets of buffers (see
+     * {@link #withBatch(String, Object...)}). The broadcast objects are passed
+     * as an array, because a variable number of arguments after the depth would
+     * be ambiguous with {@link #withBatch(String, Object...)}.
+     *
+     * @param batchSize
+     *     String in the format a number + "MB" Example "512MB".
+     * @param pipelineDepth
+     *     Number of batches in flight (e.g., 2 for double buffering).
+     * @param broadcastObjects
+     *     Read-only objects that are not split in batches.
+     * @return {@link TornadoExecutionPlan}
+     */
+    public TornadoExecutionPlan withBatch(String batchSize, int pipelineDepth, Object[] broadcastObjects) {
+        tornadoExecutor.withBatch(batchSize, pipelineDepth, broadcastObjects);
         return this;
     }
 
@@ -356,6 +532,33 @@ public class TornadoExecutionPlan {
         return this;
     }
 
+    /**
+     * Enables the autotuning of the local work-group sizes. For each parallel
+     * task that runs without a {@link WorkerGrid}, the first executions explore
+     * candidate local sizes, one per execution, and the local size with the
+     * lowest kernel time is used for the following executions. The results are
+     * kept per kernel, device and global size, and they are persisted in the
+     * file given by the option {@code tornado.autotune.file}, if any, so that
+     * later runs reuse them.
+     *
+     * @return {@link TornadoExecutionPlan}
+     */
+    public TornadoExecutionPlan withAutotuning() {
+        tornadoExecutor.withAutotuning();
+        return this;
+    }
+
+    /**
+     * Disables the autotuning of the local work-group sizes. This is the default
+     * action.
+     *
+     * @return {@link TornadoExecutionPlan}
+     */
+    public TornadoExecutionPlan withoutAutotuning() {
+        tornadoExecutor.withoutAutotuning();
+        return this;
+    }
+
     static class TornadoExecutor {
 
         private List<ImmutableTaskGraph> immutableTaskGraphList;
@@ -373,6 +576,31 @@ public class TornadoExecutionPlan {
             immutableTaskGraphList.forEach(immutableTaskGraph -> immutableTaskGraph.execute(gridScheduler));
         }
 
+        CompletableFuture<Void> executeAsync() {
+            return executeAsync(ImmutableTaskGraph::executeAsync);
+        }
+
+        CompletableFuture<Void> executeAsync(GridScheduler gridScheduler) {
+            return executeAsync(immutableTaskGraph -> immutableTaskGraph.executeAsync(gridScheduler));
+        }
+
+        /**
+         * Each task-graph is enqueued once the previous one has finished. The first
+         * one, and the ones that follow a synchronous execution, are enqueued from
+         * the calling thread.
+         */
+        private CompletableFuture<Void> executeAsync(Function<ImmutableTaskGraph, CompletableFuture<Void>> executeAction) {
+            CompletableFuture<Void> completion = CompletableFuture.completedFuture(null);
+            for (ImmutableTaskGraph immutableTaskGraph : immutableTaskGraphList) {
+                if (completion.isDone() && !completion.isCompletedExceptionally()) {
+                    completion = executeAction.apply(immutableTaskGraph);
+                } else {
+                    completion = completion.thenComposeAsync(_ -> executeAction.apply(immutableTaskGraph));
+                }
+            }
+            return completion;
+        }
+
         void executeWithDynamicReconfiguration(Policy policy, DRMode mode) {
             immutableTaskGraphList.forEach(immutableTaskGraph -> immutableTaskGraph.executeWithDynamicReconfiguration(policy, mode));
         }
@@ -381,8 +609,8 @@ public class TornadoExecutionPlan {
             immutableTaskGraphList.forEach(ImmutableTaskGraph::warmup);
         }
 
-        void withBatch(String batchSize) {
-            immutableTaskGraphList.forEach(immutableTaskGraph -> immutableTaskGraph.withBatch(batchSize));
+        void withBatch(String batchSize, int pipelineDepth, Object[] broadcastObjects) {
+            immutableTaskGraphList.forEach(immutableTaskGraph -> immutableTaskGraph.withBatch(batchSize, pipelineDepth, broadcastObjects));
         }
 
         void withMemoryLimit(String memoryLimit) {
@@ -415,6 +643,14 @@ public class TornadoExecutionPlan {
             immutableTaskGraphList.forEach(immutableTaskGraph -> immutableTaskGraph.withoutConcurrentDevices());
         }
 
+        void withBackgroundCompilation() {
+            immutableTaskGraphList.forEach(ImmutableTaskGraph::withBackgroundCompilation);
+        }
+
+        void withoutBackgroundCompilation() {
+            immutableTaskGraphList.forEach(ImmutableTaskGraph::withoutBackgroundCompilation);
+        }
+
         void freeDeviceMemory() {
             immutableTaskGraphList.forEach(ImmutableTaskGraph::freeDeviceMemory);
         }
@@ -533,5 +769,13 @@ public class TornadoExecutionPlan {
         void withoutPrintKernel() {
             immutableTaskGraphList.forEach(ImmutableTaskGraph::withoutPrintKernel);
         }
+
+        void withAutotuning() {
+            immutableTaskGraphList.forEach(ImmutableTaskGraph::withAutotuning);
+        }
+
+        void withoutAutotuning() {
+            immutableTaskGraphList.forEach(ImmutableTaskGraph::withoutAutotuning);
+        }
     }
 }
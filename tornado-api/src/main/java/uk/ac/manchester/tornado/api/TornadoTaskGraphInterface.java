@@ -19,6 +19,7 @@ package uk.ac.manchester.tornado.api;
 
 import java.util.Collection;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 import uk.ac.manchester.tornado.api.common.SchedulableTask;
@@ -46,7 +47,7 @@ public interface TornadoTaskGraphInterface extends ProfileInterface {
 
     void scheduleInner();
 
-    void withBatch(String batchSize);
+    void withBatch(String batchSize, int pipelineDepth, Object[] broadcastObjects);
 
     void withMemoryLimit(String memoryLimit);
 
@@ -70,6 +71,8 @@ public interface TornadoTaskGraphInterface extends ProfileInterface {
 
     void transferToHost(int mode, Object... objects);
 
+    void transientObjects(Object... objects);
+
     void dump();
 
     void warmup();
@@ -88,10 +91,24 @@ public interface TornadoTaskGraphInterface extends ProfileInterface {
 
     TornadoTaskGraphInterface schedule(GridScheduler gridScheduler);
 
+    /**
+     * It enqueues the execution of the task-graph without waiting for the device.
+     * The task-graphs that cannot be enqueued (e.g., several devices or the Java
+     * fallback) run synchronously and return a completed future.
+     *
+     * @return {@link CompletableFuture} completed once the outputs are copied back
+     *     to the host.
+     */
+    CompletableFuture<Void> scheduleAsync();
+
+    CompletableFuture<Void> scheduleAsync(GridScheduler gridScheduler);
+
     TornadoTaskGraphInterface scheduleWithProfile(Policy policy);
 
     TornadoTaskGraphInterface scheduleWithProfileSequential(Policy policy);
 
+    TornadoTaskGraphInterface scheduleWithCostModel(Policy policy);
+
     void addTask(TaskPackage taskPackage);
 
     void addPrebuiltTask(TaskPackage taskPackage);
@@ -116,6 +133,10 @@ public interface TornadoTaskGraphInterface extends ProfileInterface {
 
     void withoutConcurrentDevices();
 
+    void withBackgroundCompilation();
+
+    void withoutBackgroundCompilation();
+
     void withThreadInfo();
 
     void withoutThreadInfo();
@@ -123,4 +144,8 @@ public interface TornadoTaskGraphInterface extends ProfileInterface {
     void withPrintKernel();
 
     void withoutPrintKernel();
+
+    void withAutotuning();
+
+    void withoutAutotuning();
 }
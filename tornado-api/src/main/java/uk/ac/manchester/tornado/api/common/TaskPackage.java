@@ -43,6 +43,12 @@ public class TaskPackage {
 
     private boolean isPrebuiltTask;
 
+    private TaskPackage(String id, int taskType, Object[] taskParameters) {
+        this.id = id;
+        this.taskType = taskType;
+        this.taskParameters = taskParameters;
+    }
+
     public TaskPackage(String id, Task code) {
         this.id = id;
         this.taskType = 0;
@@ -248,6 +254,21 @@ public class TaskPackage {
         return taskParameters;
     }
 
+    /**
+     * It creates a task package with the same id and code as this one, but with
+     * other parameters.
+     *
+     * @param parameters
+     *     All parameters to the lambda expression, with the code as the first
+     *     one.
+     * @return a new {@link TaskPackage}.
+     */
+    public TaskPackage withTaskParameters(Object[] parameters) {
+        TaskPackage taskPackage = new TaskPackage(id, taskType, parameters);
+        taskPackage.setNumThreadsToRun(numThreadsToRun);
+        return taskPackage;
+    }
+
     public boolean isPrebuiltTask() {
         return isPrebuiltTask;
     }
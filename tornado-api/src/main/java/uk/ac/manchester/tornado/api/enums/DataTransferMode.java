@@ -45,4 +45,16 @@ public class DataTransferMode {
      * method.
      */
     public static final int UNDER_DEMAND = 2;
+
+    /**
+     * Flag to copy data from the host to the device every time the execute method of
+     * a task-graph ({@link uk.ac.manchester.tornado.api.TaskGraph}) is invoked, but
+     * only if the data has been modified since the last copy. The modifications are
+     * tracked with the modification version of the TornadoVM native arrays (see
+     * {@link uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray#markModified()}).
+     * Any other type of object is copied in every execution. An array that a
+     * kernel may write is copied again in the next execution, unless it was copied
+     * back to the host afterward and has not been modified since.
+     */
+    public static final int EVERY_EXECUTION_IF_MODIFIED = 3;
 }
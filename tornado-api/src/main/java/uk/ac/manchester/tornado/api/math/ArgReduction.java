@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.api.math;
+
+/**
+ * Helpers to express argmax and argmin as {@code @Reduce} reductions.
+ *
+ * <p>
+ * A (value, index) pair is packed into a {@code long}: the value in the upper
+ * 32 bits and the index in the lower 32 bits. The packed pairs are ordered by
+ * value first, and by the lowest index when two values are equal, so the
+ * argmax is a {@link TornadoMath#max(long, long)} reduction and the argmin is a
+ * {@link TornadoMath#min(long, long)} reduction over a {@code long} array:
+ * </p>
+ *
+ * <pre>
+ * for (&#64;Parallel int i = 0; i &lt; input.getSize(); i++) {
+ *     result.set(0, TornadoMath.max(result.get(0), ArgReduction.packMax(input.get(i), i)));
+ * }
+ * </pre>
+ *
+ * <p>
+ * The result array must be initialized with {@link #ARG_MAX_IDENTITY} or
+ * {@link #ARG_MIN_IDENTITY}.
+ * </p>
+ */
+public final class ArgReduction {
+
+    /**
+     * Initial value of the result of an argmax reduction.
+     */
+    public static final long ARG_MAX_IDENTITY = Long.MIN_VALUE;
+
+    /**
+     * Initial value of the result of an argmin reduction.
+     */
+    public static final long ARG_MIN_IDENTITY = Long.MAX_VALUE;
+
+    private static final long LOW_BITS_MASK = 0xFFFFFFFFL;
+
+    private ArgReduction() {
+    }
+
+    /**
+     * Packs a (value, index) pair for an argmax reduction. The index is stored
+     * inverted, so the lowest index wins when two values are equal.
+     */
+    public static long packMax(int value, int index) {
+        return ((long) value << 32) | (~index & LOW_BITS_MASK);
+    }
+
+    /**
+     * Packs a (value, index) pair for an argmin reduction.
+     */
+    public static long packMin(int value, int index) {
+        return ((long) value << 32) | (index & LOW_BITS_MASK);
+    }
+
+    /**
+     * @return the value of a pair packed with {@link #packMax} or
+     *     {@link #packMin}.
+     */
+    public static int value(long packed) {
+        return (int) (packed >> 32);
+    }
+
+    /**
+     * @return the index of a pair packed with {@link #packMax}.
+     */
+    public static int argMaxIndex(long packed) {
+        return ~((int) packed);
+    }
+
+    /**
+     * @return the index of a pair packed with {@link #packMin}.
+     */
+    public static int argMinIndex(long packed) {
+        return (int) packed;
+    }
+}
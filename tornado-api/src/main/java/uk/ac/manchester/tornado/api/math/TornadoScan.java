@@ -0,0 +1,288 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.api.math;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import uk.ac.manchester.tornado.api.GridScheduler;
+import uk.ac.manchester.tornado.api.KernelContext;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.WorkerGrid;
+import uk.ac.manchester.tornado.api.WorkerGrid1D;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+
+/**
+ * Prefix-sum (scan) and stream-compaction primitives.
+ *
+ * <p>
+ * The methods with array parameters only are sequential. They can be used as
+ * tasks, which run on a single device thread, or on the host as a fallback:
+ * </p>
+ *
+ * <pre>
+ * taskGraph.task("scan", TornadoScan::exclusiveSum, input, output);
+ * </pre>
+ *
+ * <p>
+ * The {@code add*} methods append the tasks of the parallel version to a
+ * task-graph, and set their worker grids in a {@link GridScheduler} that has to
+ * be passed to the execution plan with
+ * {@code TornadoExecutionPlan::withGridScheduler}:
+ * </p>
+ *
+ * <pre>
+ * GridScheduler gridScheduler = new GridScheduler();
+ * TaskGraph taskGraph = new TaskGraph("s0").transferToDevice(DataTransferMode.EVERY_EXECUTION, input);
+ * TornadoScan.addExclusiveSum(taskGraph, gridScheduler, "scan", input, output);
+ * taskGraph.transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+ * </pre>
+ *
+ * <p>
+ * The parallel scan is work-efficient: each work-group scans a block of
+ * {@link #BLOCK_SIZE} elements in local memory (up-sweep and down-sweep), the
+ * totals of the blocks are scanned with the same kernel, recursively, and the
+ * scanned totals are added to each block. The intermediate arrays are transient
+ * objects of the task-graph.
+ * </p>
+ */
+public final class TornadoScan {
+
+    /**
+     * Number of elements scanned by each work-group.
+     */
+    public static final int BLOCK_SIZE = 256;
+
+    private TornadoScan() {
+    }
+
+    /**
+     * Sequential exclusive prefix-sum: {@code output[i] = input[0] + ... +
+     * input[i - 1]}.
+     */
+    public static void exclusiveSum(IntArray input, IntArray output) {
+        int sum = 0;
+        for (int i = 0; i < input.getSize(); i++) {
+            int value = input.get(i);
+            output.set(i, sum);
+            sum += value;
+        }
+    }
+
+    /**
+     * Sequential inclusive prefix-sum: {@code output[i] = input[0] + ... +
+     * input[i]}.
+     */
+    public static void inclusiveSum(IntArray input, IntArray output) {
+        int sum = 0;
+        for (int i = 0; i < input.getSize(); i++) {
+            sum += input.get(i);
+            output.set(i, sum);
+        }
+    }
+
+    /**
+     * Sequential stream compaction. It copies, in order, the elements of the input
+     * whose flag is not zero, and stores the number of copied elements in
+     * {@code count[0]}.
+     */
+    public static void compact(IntArray input, IntArray flags, IntArray output, IntArray count) {
+        int position = 0;
+        for (int i = 0; i < input.getSize(); i++) {
+            if (flags.get(i) != 0) {
+                output.set(position, input.get(i));
+                position++;
+            }
+        }
+        count.set(0, position);
+    }
+
+    /**
+     * Scans each block of {@link #BLOCK_SIZE} elements, and stores the total of
+     * each block in {@code blockSums}.
+     *
+     * @param inclusive
+     *     1 for an inclusive scan, 0 for an exclusive scan.
+     */
+    public static void scanBlocks(KernelContext context, IntArray input, IntArray output, IntArray blockSums, int inclusive) {
+        int globalIdx = context.globalIdx;
+        int localIdx = context.localIdx;
+        int size = input.getSize();
+
+        int[] localScan = context.allocateIntLocalArray(BLOCK_SIZE);
+        int value = 0;
+        if (globalIdx < size) {
+            value = input.get(globalIdx);
+        }
+        localScan[localIdx] = value;
+
+        // Up-sweep: build the partial sums in place
+        for (int stride = 1; stride < BLOCK_SIZE; stride *= 2) {
+            context.localBarrier();
+            int index = (localIdx + 1) * stride * 2 - 1;
+            if (index < BLOCK_SIZE) {
+                localScan[index] += localScan[index - stride];
+            }
+        }
+
+        context.localBarrier();
+        if (localIdx == 0) {
+            blockSums.set(context.groupIdx, localScan[BLOCK_SIZE - 1]);
+            localScan[BLOCK_SIZE - 1] = 0;
+        }
+
+        // Down-sweep: distribute the partial sums
+        for (int stride = BLOCK_SIZE / 2; stride > 0; stride /= 2) {
+            context.localBarrier();
+            int index = (localIdx + 1) * stride * 2 - 1;
+            if (index < BLOCK_SIZE) {
+                int left = localScan[index - stride];
+                localScan[index - stride] = localScan[index];
+                localScan[index] += left;
+            }
+        }
+
+        context.localBarrier();
+        if (globalIdx < size) {
+            output.set(globalIdx, localScan[localIdx] + value * inclusive);
+        }
+    }
+
+    /**
+     * Adds the exclusive scan of the block totals to each element of the blocks.
+     */
+    public static void addBlockOffsets(IntArray output, IntArray blockOffsets) {
+        for (@Parallel int i = 0; i < output.getSize(); i++) {
+            output.set(i, output.get(i) + blockOffsets.get(i / BLOCK_SIZE));
+        }
+    }
+
+    /**
+     * Copies the elements whose flag is not zero to the position given by the
+     * exclusive scan of the flags.
+     */
+    public static void scatter(IntArray input, IntArray flags, IntArray positions, IntArray output, IntArray count) {
+        for (@Parallel int i = 0; i < input.getSize(); i++) {
+            if (flags.get(i) != 0) {
+                output.set(positions.get(i), input.get(i));
+            }
+            if (i == input.getSize() - 1) {
+                count.set(0, positions.get(i) + flags.get(i));
+            }
+        }
+    }
+
+    /**
+     * Appends a parallel exclusive prefix-sum to the task-graph.
+     *
+     * @param taskGraph
+     *     {@link TaskGraph} in which the tasks are added.
+     * @param gridScheduler
+     *     {@link GridScheduler} in which the worker grids of the tasks are set.
+     * @param taskName
+     *     Prefix of the names of the new tasks.
+     * @param input
+     *     Input array.
+     * @param output
+     *     Output array, with the same size as the input.
+     * @return {@link TaskGraph}
+     */
+    public static TaskGraph addExclusiveSum(TaskGraph taskGraph, GridScheduler gridScheduler, String taskName, IntArray input, IntArray output) {
+        return addScan(taskGraph, gridScheduler, taskName, input, output, 0);
+    }
+
+    /**
+     * Appends a parallel inclusive prefix-sum to the task-graph.
+     *
+     * @see #addExclusiveSum(TaskGraph, GridScheduler, String, IntArray, IntArray)
+     */
+    public static TaskGraph addInclusiveSum(TaskGraph taskGraph, GridScheduler gridScheduler, String taskName, IntArray input, IntArray output) {
+        return addScan(taskGraph, gridScheduler, taskName, input, output, 1);
+    }
+
+    /**
+     * Appends a parallel stream compaction to the task-graph. The flags are
+     * usually computed by a previous task that evaluates the predicate of the
+     * compaction, with 1 for the elements to keep and 0 for the rest.
+     *
+     * @param taskGraph
+     *     {@link TaskGraph} in which the tasks are added.
+     * @param gridScheduler
+     *     {@link GridScheduler} in which the worker grids of the tasks are set.
+     * @param taskName
+     *     Prefix of the names of the new tasks.
+     * @param input
+     *     Input array.
+     * @param flags
+     *     Array with the same size as the input, with 0 for the elements to
+     *     discard.
+     * @param output
+     *     Output array, as large as the input.
+     * @param count
+     *     Array in which the number of copied elements is stored.
+     * @return {@link TaskGraph}
+     */
+    public static TaskGraph addCompact(TaskGraph taskGraph, GridScheduler gridScheduler, String taskName, IntArray input, IntArray flags, IntArray output, IntArray count) {
+        IntArray positions = new IntArray(input.getSize());
+        taskGraph.transientObjects(positions);
+        addScan(taskGraph, gridScheduler, taskName, flags, positions, 0);
+        return taskGraph.task(taskName + "_scatter", TornadoScan::scatter, input, flags, positions, output, count);
+    }
+
+    private static TaskGraph addScan(TaskGraph taskGraph, GridScheduler gridScheduler, String taskName, IntArray input, IntArray output, int inclusive) {
+        KernelContext context = new KernelContext();
+
+        // Level k scans the totals of the blocks of level k - 1, until the totals fit
+        // in a single block
+        List<IntArray> scans = new ArrayList<>();
+        List<Object> temporaries = new ArrayList<>();
+        IntArray levelInput = input;
+        IntArray levelOutput = output;
+        int levelInclusive = inclusive;
+        int numBlocks;
+        do {
+            numBlocks = (levelInput.getSize() + BLOCK_SIZE - 1) / BLOCK_SIZE;
+            IntArray blockSums = new IntArray(numBlocks);
+            scans.add(levelOutput);
+            temporaries.add(blockSums);
+
+            String name = taskName + "_scan" + (scans.size() - 1);
+            taskGraph.task(name, TornadoScan::scanBlocks, context, levelInput, levelOutput, blockSums, levelInclusive);
+            WorkerGrid workerGrid = new WorkerGrid1D(numBlocks * BLOCK_SIZE);
+            workerGrid.setLocalWork(BLOCK_SIZE, 1, 1);
+            gridScheduler.setWorkerGrid(taskGraph.getTaskGraphName() + "." + name, workerGrid);
+
+            levelInput = blockSums;
+            levelOutput = new IntArray(numBlocks);
+            levelInclusive = 0;
+            if (numBlocks > 1) {
+                temporaries.add(levelOutput);
+            }
+        } while (numBlocks > 1);
+
+        taskGraph.transientObjects(temporaries.toArray());
+
+        // The offsets of the blocks of level k are the exclusive scan of level k + 1.
+        // They are added from the top level down.
+        for (int level = scans.size() - 2; level >= 0; level--) {
+            taskGraph.task(taskName + "_offsets" + level, TornadoScan::addBlockOffsets, scans.get(level), scans.get(level + 1));
+        }
+        return taskGraph;
+    }
+}
@@ -35,8 +35,14 @@ public enum ProfilerType {
     DEVICE("Device"),
     TOTAL_COPY_IN_SIZE_BYTES("CopyIn-Size-(Bytes)"),
     TOTAL_COPY_OUT_SIZE_BYTES("CopyOut-Size-(Bytes)"),
+    TOTAL_COPY_IN_SIZE_BYTES_ELIDED("CopyIn-Size-Elided-(Bytes)"),
+    BUFFER_POOL_HITS("Buffer-Pool-Hits"),
+    BUFFER_POOL_MISSES("Buffer-Pool-Misses"),
+    BUFFER_POOL_EVICTIONS("Buffer-Pool-Evictions"),
+    BUFFER_POOL_SIZE_BYTES("Buffer-Pool-Size-(Bytes)"),
     TASK_COMPILE_DRIVER_TIME("Task-Compile-Driver"),
     TASK_COMPILE_GRAAL_TIME("Task-Compile-Graal"),
+    TASK_COMPILE_WAIT_TIME("Task-Compile-Wait"),
 
     TASK_CODE_GENERATION_TIME("Task-Code-Generation"),
     TASK_KERNEL_TIME("Task-Kernel"),
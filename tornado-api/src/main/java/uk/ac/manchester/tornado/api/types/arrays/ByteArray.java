@@ -20,8 +20,11 @@ package uk.ac.manchester.tornado.api.types.arrays;
 import static java.lang.foreign.ValueLayout.JAVA_BYTE;
 import static java.lang.foreign.ValueLayout.JAVA_INT;
 
+import java.io.IOException;
 import java.lang.foreign.Arena;
 import java.lang.foreign.MemorySegment;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
 
 import uk.ac.manchester.tornado.api.internal.annotations.SegmentElementSize;
 
@@ -54,12 +57,31 @@ public final class ByteArray extends TornadoNativeArray {
         arrayHeaderSize = (int) TornadoNativeArray.ARRAY_HEADER;
         baseIndex = arrayHeaderSize / BYTE_BYTES;
         arraySizeHeaderPosition = baseIndex - 4;
-        segmentByteSize = numberOfElements * BYTE_BYTES + arrayHeaderSize;
+        segmentByteSize = (long) numberOfElements * BYTE_BYTES + arrayHeaderSize;
 
         segment = Arena.ofAuto().allocate(segmentByteSize, 1);
         segment.setAtIndex(JAVA_INT, 0, numberOfElements);
     }
 
+    /**
+     * Internal constructor used to create a new instance of the {@code ByteArray} backed by an existing {@link MemorySegment}.
+     * The segment must follow the layout of the TornadoVM native arrays: {@link TornadoNativeArray#ARRAY_HEADER} bytes
+     * followed by the byte elements.
+     *
+     * @param segment
+     *     The {@link MemorySegment} that stores the header and the byte elements.
+     * @param numberOfElements
+     *     The number of elements in the array.
+     */
+    private ByteArray(MemorySegment segment, int numberOfElements) {
+        this.numberOfElements = numberOfElements;
+        arrayHeaderSize = (int) TornadoNativeArray.ARRAY_HEADER;
+        baseIndex = arrayHeaderSize / BYTE_BYTES;
+        arraySizeHeaderPosition = baseIndex - 4;
+        segmentByteSize = (long) numberOfElements * BYTE_BYTES + arrayHeaderSize;
+        this.segment = segment;
+    }
+
     /**
      * Internal method used to create a new instance of the {@code ByteArray} from on-heap data.
      *
@@ -69,9 +91,7 @@ public final class ByteArray extends TornadoNativeArray {
      */
     private static ByteArray createSegment(byte[] values) {
         ByteArray array = new ByteArray(values.length);
-        for (int i = 0; i < values.length; i++) {
-            array.set(i, values[i]);
-        }
+        MemorySegment.copy(values, 0, array.segment, JAVA_BYTE, array.baseIndex * (long) BYTE_BYTES, values.length);
         return array;
     }
 
@@ -112,6 +132,34 @@ public final class ByteArray extends TornadoNativeArray {
         return byteArray;
     }
 
+    /**
+     * Creates a new instance of the {@code ByteArray} class backed by a memory-mapped region of a file. The elements are
+     * not copied: reads and writes of the array, and transfers to and from the device, access the mapped region directly.
+     *
+     * <p>
+     * The file must follow the layout of the TornadoVM native arrays: the {@link TornadoNativeArray#ARRAY_HEADER} bytes
+     * before {@code offset} are used as the array header, and must store the number of elements (see
+     * {@link TornadoNativeArray#createHeader(int)}). The header is never written. Arrays mapped in
+     * {@link FileChannel.MapMode#READ_ONLY} mode can only be used as inputs of a task-graph.
+     * </p>
+     *
+     * @param file
+     *     The file that stores the byte elements.
+     * @param offset
+     *     The position in the file of the first element. It must be a multiple of the element size, and at least
+     *     {@link TornadoNativeArray#ARRAY_HEADER}.
+     * @param numberOfElements
+     *     The number of elements to map.
+     * @param mode
+     *     The {@link FileChannel.MapMode} used to map the file.
+     * @return A new {@code ByteArray} instance, backed by the mapped region of the file.
+     * @throws IOException
+     *     If the file cannot be opened or mapped.
+     */
+    public static ByteArray map(Path file, long offset, int numberOfElements, FileChannel.MapMode mode) throws IOException {
+        return new ByteArray(mapSegment(file, offset, numberOfElements, BYTE_BYTES, mode), numberOfElements);
+    }
+
     /**
      * Converts the byte data from off-heap to on-heap, by copying the values of a {@code ByteArray}
      * instance into a new on-heap array.
@@ -120,9 +168,7 @@ public final class ByteArray extends TornadoNativeArray {
      */
     public byte[] toHeapArray() {
         byte[] outputArray = new byte[getSize()];
-        for (int i = 0; i < getSize(); i++) {
-            outputArray[i] = get(i);
-        }
+        MemorySegment.copy(segment, JAVA_BYTE, baseIndex * (long) BYTE_BYTES, outputArray, 0, getSize());
         return outputArray;
     }
 
@@ -136,6 +182,7 @@ public final class ByteArray extends TornadoNativeArray {
      */
     public void set(int index, byte value) {
         segment.setAtIndex(JAVA_BYTE, baseIndex + index, value);
+        markModified();
     }
 
     /**
@@ -172,6 +219,7 @@ public final class ByteArray extends TornadoNativeArray {
         for (int i = 0; i < getSize(); i++) {
             segment.setAtIndex(JAVA_BYTE, baseIndex + i, value);
         }
+        markModified();
     }
 
     /**
@@ -20,8 +20,11 @@ package uk.ac.manchester.tornado.api.types.arrays;
 import static java.lang.foreign.ValueLayout.JAVA_CHAR;
 import static java.lang.foreign.ValueLayout.JAVA_INT;
 
+import java.io.IOException;
 import java.lang.foreign.Arena;
 import java.lang.foreign.MemorySegment;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
 
 import uk.ac.manchester.tornado.api.internal.annotations.SegmentElementSize;
 
@@ -52,12 +55,30 @@ public final class CharArray extends TornadoNativeArray {
         this.numberOfElements = numberOfElements;
         arrayHeaderSize = (int) TornadoNativeArray.ARRAY_HEADER;
         baseIndex = arrayHeaderSize / CHAR_BYTES;
-        segmentByteSize = numberOfElements * CHAR_BYTES + arrayHeaderSize;
+        segmentByteSize = (long) numberOfElements * CHAR_BYTES + arrayHeaderSize;
 
         segment = Arena.ofAuto().allocate(segmentByteSize, 1);
         segment.setAtIndex(JAVA_INT, 0, numberOfElements);
     }
 
+    /**
+     * Internal constructor used to create a new instance of the {@code CharArray} backed by an existing {@link MemorySegment}.
+     * The segment must follow the layout of the TornadoVM native arrays: {@link TornadoNativeArray#ARRAY_HEADER} bytes
+     * followed by the char elements.
+     *
+     * @param segment
+     *     The {@link MemorySegment} that stores the header and the char elements.
+     * @param numberOfElements
+     *     The number of elements in the array.
+     */
+    private CharArray(MemorySegment segment, int numberOfElements) {
+        this.numberOfElements = numberOfElements;
+        arrayHeaderSize = (int) TornadoNativeArray.ARRAY_HEADER;
+        baseIndex = arrayHeaderSize / CHAR_BYTES;
+        segmentByteSize = (long) numberOfElements * CHAR_BYTES + arrayHeaderSize;
+        this.segment = segment;
+    }
+
     /**
      * Sets all the values of the {@code CharArray} instance to \u0000, the default char value.
      */
@@ -80,9 +101,7 @@ public final class CharArray extends TornadoNativeArray {
      */
     private static CharArray createSegment(char[] values) {
         CharArray array = new CharArray(values.length);
-        for (int i = 0; i < values.length; i++) {
-            array.set(i, values[i]);
-        }
+        MemorySegment.copy(values, 0, array.segment, JAVA_CHAR, array.baseIndex * (long) CHAR_BYTES, values.length);
         return array;
     }
 
@@ -123,6 +142,34 @@ public final class CharArray extends TornadoNativeArray {
         return charArray;
     }
 
+    /**
+     * Creates a new instance of the {@code CharArray} class backed by a memory-mapped region of a file. The elements are
+     * not copied: reads and writes of the array, and transfers to and from the device, access the mapped region directly.
+     *
+     * <p>
+     * The file must follow the layout of the TornadoVM native arrays: the {@link TornadoNativeArray#ARRAY_HEADER} bytes
+     * before {@code offset} are used as the array header, and must store the number of elements (see
+     * {@link TornadoNativeArray#createHeader(int)}). The header is never written. Arrays mapped in
+     * {@link FileChannel.MapMode#READ_ONLY} mode can only be used as inputs of a task-graph.
+     * </p>
+     *
+     * @param file
+     *     The file that stores the char elements.
+     * @param offset
+     *     The position in the file of the first element. It must be a multiple of the element size, and at least
+     *     {@link TornadoNativeArray#ARRAY_HEADER}.
+     * @param numberOfElements
+     *     The number of elements to map.
+     * @param mode
+     *     The {@link FileChannel.MapMode} used to map the file.
+     * @return A new {@code CharArray} instance, backed by the mapped region of the file.
+     * @throws IOException
+     *     If the file cannot be opened or mapped.
+     */
+    public static CharArray map(Path file, long offset, int numberOfElements, FileChannel.MapMode mode) throws IOException {
+        return new CharArray(mapSegment(file, offset, numberOfElements, CHAR_BYTES, mode), numberOfElements);
+    }
+
     /**
      * Converts the char data from off-heap to on-heap, by copying the values of a {@code CharArray}
      * instance into a new on-heap array.
@@ -131,9 +178,7 @@ public final class CharArray extends TornadoNativeArray {
      */
     public char[] toHeapArray() {
         char[] outputArray = new char[getSize()];
-        for (int i = 0; i < getSize(); i++) {
-            outputArray[i] = get(i);
-        }
+        MemorySegment.copy(segment, JAVA_CHAR, baseIndex * (long) CHAR_BYTES, outputArray, 0, getSize());
         return outputArray;
     }
 
@@ -147,6 +192,7 @@ public final class CharArray extends TornadoNativeArray {
      */
     public void set(int index, char value) {
         segment.setAtIndex(JAVA_CHAR, baseIndex + index, value);
+        markModified();
     }
 
     /**
@@ -170,6 +216,7 @@ public final class CharArray extends TornadoNativeArray {
         for (int i = 0; i < getSize(); i++) {
             segment.setAtIndex(JAVA_CHAR, baseIndex + i, value);
         }
+        markModified();
     }
 
     /**
@@ -20,8 +20,11 @@ package uk.ac.manchester.tornado.api.types.arrays;
 import static java.lang.foreign.ValueLayout.JAVA_DOUBLE;
 import static java.lang.foreign.ValueLayout.JAVA_INT;
 
+import java.io.IOException;
 import java.lang.foreign.Arena;
 import java.lang.foreign.MemorySegment;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
 
 import uk.ac.manchester.tornado.api.internal.annotations.SegmentElementSize;
 
@@ -54,12 +57,30 @@ public final class DoubleArray extends TornadoNativeArray {
         arrayHeaderSize = (int) TornadoNativeArray.ARRAY_HEADER;
         assert arrayHeaderSize >= 8;
         baseIndex = arrayHeaderSize / DOUBLE_BYTES;
-        segmentByteSize = numberOfElements * DOUBLE_BYTES + arrayHeaderSize;
+        segmentByteSize = (long) numberOfElements * DOUBLE_BYTES + arrayHeaderSize;
 
         segment = Arena.ofAuto().allocate(segmentByteSize, 1);
         segment.setAtIndex(JAVA_INT, 0, numberOfElements);
     }
 
+    /**
+     * Internal constructor used to create a new instance of the {@code DoubleArray} backed by an existing {@link MemorySegment}.
+     * The segment must follow the layout of the TornadoVM native arrays: {@link TornadoNativeArray#ARRAY_HEADER} bytes
+     * followed by the double elements.
+     *
+     * @param segment
+     *     The {@link MemorySegment} that stores the header and the double elements.
+     * @param numberOfElements
+     *     The number of elements in the array.
+     */
+    private DoubleArray(MemorySegment segment, int numberOfElements) {
+        this.numberOfElements = numberOfElements;
+        arrayHeaderSize = (int) TornadoNativeArray.ARRAY_HEADER;
+        baseIndex = arrayHeaderSize / DOUBLE_BYTES;
+        segmentByteSize = (long) numberOfElements * DOUBLE_BYTES + arrayHeaderSize;
+        this.segment = segment;
+    }
+
     /**
      * Internal method used to create a new instance of the {@code DoubleArray} from on-heap data.
      *
@@ -69,9 +90,7 @@ public final class DoubleArray extends TornadoNativeArray {
      */
     private static DoubleArray createSegment(double[] values) {
         DoubleArray array = new DoubleArray(values.length);
-        for (int i = 0; i < values.length; i++) {
-            array.set(i, values[i]);
-        }
+        MemorySegment.copy(values, 0, array.segment, JAVA_DOUBLE, array.baseIndex * (long) DOUBLE_BYTES, values.length);
         return array;
     }
 
@@ -112,6 +131,34 @@ public final class DoubleArray extends TornadoNativeArray {
         return doubleArray;
     }
 
+    /**
+     * Creates a new instance of the {@code DoubleArray} class backed by a memory-mapped region of a file. The elements are
+     * not copied: reads and writes of the array, and transfers to and from the device, access the mapped region directly.
+     *
+     * <p>
+     * The file must follow the layout of the TornadoVM native arrays: the {@link TornadoNativeArray#ARRAY_HEADER} bytes
+     * before {@code offset} are used as the array header, and must store the number of elements (see
+     * {@link TornadoNativeArray#createHeader(int)}). The header is never written. Arrays mapped in
+     * {@link FileChannel.MapMode#READ_ONLY} mode can only be used as inputs of a task-graph.
+     * </p>
+     *
+     * @param file
+     *     The file that stores the double elements.
+     * @param offset
+     *     The position in the file of the first element. It must be a multiple of the element size, and at least
+     *     {@link TornadoNativeArray#ARRAY_HEADER}.
+     * @param numberOfElements
+     *     The number of elements to map.
+     * @param mode
+     *     The {@link FileChannel.MapMode} used to map the file.
+     * @return A new {@code DoubleArray} instance, backed by the mapped region of the file.
+     * @throws IOException
+     *     If the file cannot be opened or mapped.
+     */
+    public static DoubleArray map(Path file, long offset, int numberOfElements, FileChannel.MapMode mode) throws IOException {
+        return new DoubleArray(mapSegment(file, offset, numberOfElements, DOUBLE_BYTES, mode), numberOfElements);
+    }
+
     /**
      * Converts the double data from off-heap to on-heap, by copying the values of a {@code DoubleArray}
      * instance into a new on-heap array.
@@ -120,9 +167,7 @@ public final class DoubleArray extends TornadoNativeArray {
      */
     public double[] toHeapArray() {
         double[] outputArray = new double[getSize()];
-        for (int i = 0; i < getSize(); i++) {
-            outputArray[i] = get(i);
-        }
+        MemorySegment.copy(segment, JAVA_DOUBLE, baseIndex * (long) DOUBLE_BYTES, outputArray, 0, getSize());
         return outputArray;
     }
 
@@ -136,6 +181,7 @@ public final class DoubleArray extends TornadoNativeArray {
      */
     public void set(int index, double value) {
         segment.setAtIndex(JAVA_DOUBLE, baseIndex + index, value);
+        markModified();
     }
 
     /**
@@ -172,6 +218,7 @@ public final class DoubleArray extends TornadoNativeArray {
         for (int i = 0; i < getSize(); i++) {
             segment.setAtIndex(JAVA_DOUBLE, baseIndex + i, value);
         }
+        markModified();
     }
 
     /**
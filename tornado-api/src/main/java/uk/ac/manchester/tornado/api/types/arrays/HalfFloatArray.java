@@ -20,8 +20,11 @@ package uk.ac.manchester.tornado.api.types.arrays;
 import static java.lang.foreign.ValueLayout.JAVA_INT;
 import static java.lang.foreign.ValueLayout.JAVA_SHORT;
 
+import java.io.IOException;
 import java.lang.foreign.Arena;
 import java.lang.foreign.MemorySegment;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
 
 import uk.ac.manchester.tornado.api.internal.annotations.SegmentElementSize;
 import uk.ac.manchester.tornado.api.types.HalfFloat;
@@ -56,12 +59,30 @@ public final class HalfFloatArray extends TornadoNativeArray {
         this.numberOfElements = numberOfElements;
         arrayHeaderSize = (int) TornadoNativeArray.ARRAY_HEADER;
         baseIndex = arrayHeaderSize / HALF_FLOAT_BYTES;
-        segmentByteSize = numberOfElements * HALF_FLOAT_BYTES + arrayHeaderSize;
+        segmentByteSize = (long) numberOfElements * HALF_FLOAT_BYTES + arrayHeaderSize;
 
         segment = Arena.ofAuto().allocate(segmentByteSize, 1);
         segment.setAtIndex(JAVA_INT, 0, numberOfElements);
     }
 
+    /**
+     * Internal constructor used to create a new instance of the {@code HalfFloatArray} backed by an existing {@link MemorySegment}.
+     * The segment must follow the layout of the TornadoVM native arrays: {@link TornadoNativeArray#ARRAY_HEADER} bytes
+     * followed by the half float elements.
+     *
+     * @param segment
+     *     The {@link MemorySegment} that stores the header and the half float elements.
+     * @param numberOfElements
+     *     The number of elements in the array.
+     */
+    private HalfFloatArray(MemorySegment segment, int numberOfElements) {
+        this.numberOfElements = numberOfElements;
+        arrayHeaderSize = (int) TornadoNativeArray.ARRAY_HEADER;
+        baseIndex = arrayHeaderSize / HALF_FLOAT_BYTES;
+        segmentByteSize = (long) numberOfElements * HALF_FLOAT_BYTES + arrayHeaderSize;
+        this.segment = segment;
+    }
+
     /**
      * Internal method used to create a new instance of the {@code HalfFloatArray} from on-heap data.
      *
@@ -114,6 +135,34 @@ public final class HalfFloatArray extends TornadoNativeArray {
         return halfFloatArray;
     }
 
+    /**
+     * Creates a new instance of the {@code HalfFloatArray} class backed by a memory-mapped region of a file. The elements are
+     * not copied: reads and writes of the array, and transfers to and from the device, access the mapped region directly.
+     *
+     * <p>
+     * The file must follow the layout of the TornadoVM native arrays: the {@link TornadoNativeArray#ARRAY_HEADER} bytes
+     * before {@code offset} are used as the array header, and must store the number of elements (see
+     * {@link TornadoNativeArray#createHeader(int)}). The header is never written. Arrays mapped in
+     * {@link FileChannel.MapMode#READ_ONLY} mode can only be used as inputs of a task-graph.
+     * </p>
+     *
+     * @param file
+     *     The file that stores the half float elements.
+     * @param offset
+     *     The position in the file of the first element. It must be a multiple of the element size, and at least
+     *     {@link TornadoNativeArray#ARRAY_HEADER}.
+     * @param numberOfElements
+     *     The number of elements to map.
+     * @param mode
+     *     The {@link FileChannel.MapMode} used to map the file.
+     * @return A new {@code HalfFloatArray} instance, backed by the mapped region of the file.
+     * @throws IOException
+     *     If the file cannot be opened or mapped.
+     */
+    public static HalfFloatArray map(Path file, long offset, int numberOfElements, FileChannel.MapMode mode) throws IOException {
+        return new HalfFloatArray(mapSegment(file, offset, numberOfElements, HALF_FLOAT_BYTES, mode), numberOfElements);
+    }
+
     /**
      * Converts the {@link HalfFloat} data from off-heap to on-heap, by copying the values of a {@code HalfFloatArray}
      * instance into a new on-heap {@link HalfFloat}.
@@ -138,6 +187,7 @@ public final class HalfFloatArray extends TornadoNativeArray {
      */
     public void set(int index, HalfFloat value) {
         segment.setAtIndex(JAVA_SHORT, baseIndex + index, value.getHalfFloatValue());
+        markModified();
     }
 
     /**
@@ -175,6 +225,7 @@ public final class HalfFloatArray extends TornadoNativeArray {
         for (int i = 0; i < getSize(); i++) {
             segment.setAtIndex(JAVA_SHORT, baseIndex + i, value.getHalfFloatValue());
         }
+        markModified();
     }
 
     /**
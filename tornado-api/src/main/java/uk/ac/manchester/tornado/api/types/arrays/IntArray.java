@@ -19,8 +19,11 @@ package uk.ac.manchester.tornado.api.types.arrays;
 
 import static java.lang.foreign.ValueLayout.JAVA_INT;
 
+import java.io.IOException;
 import java.lang.foreign.Arena;
 import java.lang.foreign.MemorySegment;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
 
 import uk.ac.manchester.tornado.api.internal.annotations.SegmentElementSize;
 
@@ -51,12 +54,30 @@ public final class IntArray extends TornadoNativeArray {
         this.numberOfElements = numberOfElements;
         arrayHeaderSize = (int) TornadoNativeArray.ARRAY_HEADER;
         baseIndex = arrayHeaderSize / INT_BYTES;
-        segmentByteSize = numberOfElements * INT_BYTES + arrayHeaderSize;
+        segmentByteSize = (long) numberOfElements * INT_BYTES + arrayHeaderSize;
 
         segment = Arena.ofAuto().allocate(segmentByteSize, 1);
         segment.setAtIndex(JAVA_INT, 0, numberOfElements);
     }
 
+    /**
+     * Internal constructor used to create a new instance of the {@code IntArray} backed by an existing {@link MemorySegment}.
+     * The segment must follow the layout of the TornadoVM native arrays: {@link TornadoNativeArray#ARRAY_HEADER} bytes
+     * followed by the int elements.
+     *
+     * @param segment
+     *     The {@link MemorySegment} that stores the header and the int elements.
+     * @param numberOfElements
+     *     The number of elements in the array.
+     */
+    private IntArray(MemorySegment segment, int numberOfElements) {
+        this.numberOfElements = numberOfElements;
+        arrayHeaderSize = (int) TornadoNativeArray.ARRAY_HEADER;
+        baseIndex = arrayHeaderSize / INT_BYTES;
+        segmentByteSize = (long) numberOfElements * INT_BYTES + arrayHeaderSize;
+        this.segment = segment;
+    }
+
     /**
      * Internal method used to create a new instance of the {@code IntArray} from on-heap data.
      *
@@ -66,9 +87,7 @@ public final class IntArray extends TornadoNativeArray {
      */
     private static IntArray createSegment(int[] values) {
         IntArray array = new IntArray(values.length);
-        for (int i = 0; i < values.length; i++) {
-            array.set(i, values[i]);
-        }
+        MemorySegment.copy(values, 0, array.segment, JAVA_INT, array.baseIndex * (long) INT_BYTES, values.length);
         return array;
     }
 
@@ -109,6 +128,34 @@ public final class IntArray extends TornadoNativeArray {
         return intArray;
     }
 
+    /**
+     * Creates a new instance of the {@code IntArray} class backed by a memory-mapped region of a file. The elements are
+     * not copied: reads and writes of the array, and transfers to and from the device, access the mapped region directly.
+     *
+     * <p>
+     * The file must follow the layout of the TornadoVM native arrays: the {@link TornadoNativeArray#ARRAY_HEADER} bytes
+     * before {@code offset} are used as the array header, and must store the number of elements (see
+     * {@link TornadoNativeArray#createHeader(int)}). The header is never written. Arrays mapped in
+     * {@link FileChannel.MapMode#READ_ONLY} mode can only be used as inputs of a task-graph.
+     * </p>
+     *
+     * @param file
+     *     The file that stores the int elements.
+     * @param offset
+     *     The position in the file of the first element. It must be a multiple of the element size, and at least
+     *     {@link TornadoNativeArray#ARRAY_HEADER}.
+     * @param numberOfElements
+     *     The number of elements to map.
+     * @param mode
+     *     The {@link FileChannel.MapMode} used to map the file.
+     * @return A new {@code IntArray} instance, backed by the mapped region of the file.
+     * @throws IOException
+     *     If the file cannot be opened or mapped.
+     */
+    public static IntArray map(Path file, long offset, int numberOfElements, FileChannel.MapMode mode) throws IOException {
+        return new IntArray(mapSegment(file, offset, numberOfElements, INT_BYTES, mode), numberOfElements);
+    }
+
     /**
      * Converts the int data from off-heap to on-heap, by copying the values of a {@code IntArray}
      * instance into a new on-heap array.
@@ -117,9 +164,7 @@ public final class IntArray extends TornadoNativeArray {
      */
     public int[] toHeapArray() {
         int[] outputArray = new int[getSize()];
-        for (int i = 0; i < getSize(); i++) {
-            outputArray[i] = get(i);
-        }
+        MemorySegment.copy(segment, JAVA_INT, baseIndex * (long) INT_BYTES, outputArray, 0, getSize());
         return outputArray;
     }
 
@@ -133,6 +178,7 @@ public final class IntArray extends TornadoNativeArray {
      */
     public void set(int index, int value) {
         segment.setAtIndex(JAVA_INT, baseIndex + index, value);
+        markModified();
     }
 
     /**
@@ -169,6 +215,7 @@ public final class IntArray extends TornadoNativeArray {
         for (int i = 0; i < getSize(); i++) {
             segment.setAtIndex(JAVA_INT, baseIndex + i, value);
         }
+        markModified();
     }
 
     /**
@@ -20,8 +20,11 @@ package uk.ac.manchester.tornado.api.types.arrays;
 import static java.lang.foreign.ValueLayout.JAVA_INT;
 import static java.lang.foreign.ValueLayout.JAVA_LONG;
 
+import java.io.IOException;
 import java.lang.foreign.Arena;
 import java.lang.foreign.MemorySegment;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
 
 import uk.ac.manchester.tornado.api.internal.annotations.SegmentElementSize;
 
@@ -53,11 +56,29 @@ public final class LongArray extends TornadoNativeArray {
         arrayHeaderSize = (int) TornadoNativeArray.ARRAY_HEADER;
         baseIndex = arrayHeaderSize / LONG_BYTES;
 
-        segmentByteSize = numberOfElements * LONG_BYTES + arrayHeaderSize;
+        segmentByteSize = (long) numberOfElements * LONG_BYTES + arrayHeaderSize;
         segment = Arena.ofAuto().allocate(segmentByteSize, 1);
         segment.setAtIndex(JAVA_INT, 0, numberOfElements);
     }
 
+    /**
+     * Internal constructor used to create a new instance of the {@code LongArray} backed by an existing {@link MemorySegment}.
+     * The segment must follow the layout of the TornadoVM native arrays: {@link TornadoNativeArray#ARRAY_HEADER} bytes
+     * followed by the long elements.
+     *
+     * @param segment
+     *     The {@link MemorySegment} that stores the header and the long elements.
+     * @param numberOfElements
+     *     The number of elements in the array.
+     */
+    private LongArray(MemorySegment segment, int numberOfElements) {
+        this.numberOfElements = numberOfElements;
+        arrayHeaderSize = (int) TornadoNativeArray.ARRAY_HEADER;
+        baseIndex = arrayHeaderSize / LONG_BYTES;
+        segmentByteSize = (long) numberOfElements * LONG_BYTES + arrayHeaderSize;
+        this.segment = segment;
+    }
+
     /**
      * Internal method used to create a new instance of the {@code LongArray} from on-heap data.
      *
@@ -67,9 +88,7 @@ public final class LongArray extends TornadoNativeArray {
      */
     private static LongArray createSegment(long[] values) {
         LongArray array = new LongArray(values.length);
-        for (int i = 0; i < values.length; i++) {
-            array.set(i, values[i]);
-        }
+        MemorySegment.copy(values, 0, array.segment, JAVA_LONG, array.baseIndex * (long) LONG_BYTES, values.length);
         return array;
     }
 
@@ -110,6 +129,34 @@ public final class LongArray extends TornadoNativeArray {
         return longArray;
     }
 
+    /**
+     * Creates a new instance of the {@code LongArray} class backed by a memory-mapped region of a file. The elements are
+     * not copied: reads and writes of the array, and transfers to and from the device, access the mapped region directly.
+     *
+     * <p>
+     * The file must follow the layout of the TornadoVM native arrays: the {@link TornadoNativeArray#ARRAY_HEADER} bytes
+     * before {@code offset} are used as the array header, and must store the number of elements (see
+     * {@link TornadoNativeArray#createHeader(int)}). The header is never written. Arrays mapped in
+     * {@link FileChannel.MapMode#READ_ONLY} mode can only be used as inputs of a task-graph.
+     * </p>
+     *
+     * @param file
+     *     The file that stores the long elements.
+     * @param offset
+     *     The position in the file of the first element. It must be a multiple of the element size, and at least
+     *     {@link TornadoNativeArray#ARRAY_HEADER}.
+     * @param numberOfElements
+     *     The number of elements to map.
+     * @param mode
+     *     The {@link FileChannel.MapMode} used to map the file.
+     * @return A new {@code LongArray} instance, backed by the mapped region of the file.
+     * @throws IOException
+     *     If the file cannot be opened or mapped.
+     */
+    public static LongArray map(Path file, long offset, int numberOfElements, FileChannel.MapMode mode) throws IOException {
+        return new LongArray(mapSegment(file, offset, numberOfElements, LONG_BYTES, mode), numberOfElements);
+    }
+
     /**
      * Converts the long data from off-heap to on-heap, by copying the values of a {@code LongArray}
      * instance into a new on-heap array.
@@ -118,9 +165,7 @@ public final class LongArray extends TornadoNativeArray {
      */
     public long[] toHeapArray() {
         long[] outputArray = new long[getSize()];
-        for (int i = 0; i < getSize(); i++) {
-            outputArray[i] = get(i);
-        }
+        MemorySegment.copy(segment, JAVA_LONG, baseIndex * (long) LONG_BYTES, outputArray, 0, getSize());
         return outputArray;
     }
 
@@ -134,6 +179,7 @@ public final class LongArray extends TornadoNativeArray {
      */
     public void set(int index, long value) {
         segment.setAtIndex(JAVA_LONG, baseIndex + index, value);
+        markModified();
     }
 
     /**
@@ -170,6 +216,7 @@ public final class LongArray extends TornadoNativeArray {
         for (int i = 0; i < getSize(); i++) {
             segment.setAtIndex(JAVA_LONG, baseIndex + i, value);
         }
+        markModified();
     }
 
     /**
@@ -20,8 +20,11 @@ package uk.ac.manchester.tornado.api.types.arrays;
 import static java.lang.foreign.ValueLayout.JAVA_INT;
 import static java.lang.foreign.ValueLayout.JAVA_SHORT;
 
+import java.io.IOException;
 import java.lang.foreign.Arena;
 import java.lang.foreign.MemorySegment;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
 
 import uk.ac.manchester.tornado.api.internal.annotations.SegmentElementSize;
 
@@ -53,12 +56,30 @@ public final class ShortArray extends TornadoNativeArray {
         arrayHeaderSize = (int) TornadoNativeArray.ARRAY_HEADER;
         assert arrayHeaderSize >= 4;
         baseIndex = arrayHeaderSize / SHORT_BYTES;
-        segmentByteSize = numberOfElements * SHORT_BYTES + arrayHeaderSize;
+        segmentByteSize = (long) numberOfElements * SHORT_BYTES + arrayHeaderSize;
 
         segment = Arena.ofAuto().allocate(segmentByteSize, 1);
         segment.setAtIndex(JAVA_INT, 0, numberOfElements);
     }
 
+    /**
+     * Internal constructor used to create a new instance of the {@code ShortArray} backed by an existing {@link MemorySegment}.
+     * The segment must follow the layout of the TornadoVM native arrays: {@link TornadoNativeArray#ARRAY_HEADER} bytes
+     * followed by the short elements.
+     *
+     * @param segment
+     *     The {@link MemorySegment} that stores the header and the short elements.
+     * @param numberOfElements
+     *     The number of elements in the array.
+     */
+    private ShortArray(MemorySegment segment, int numberOfElements) {
+        this.numberOfElements = numberOfElements;
+        arrayHeaderSize = (int) TornadoNativeArray.ARRAY_HEADER;
+        baseIndex = arrayHeaderSize / SHORT_BYTES;
+        segmentByteSize = (long) numberOfElements * SHORT_BYTES + arrayHeaderSize;
+        this.segment = segment;
+    }
+
     /**
      * Internal method used to create a new instance of the {@code ShortArray} from on-heap data.
      *
@@ -68,9 +89,7 @@ public final class ShortArray extends TornadoNativeArray {
      */
     private static ShortArray createSegment(short[] values) {
         ShortArray array = new ShortArray(values.length);
-        for (int i = 0; i < values.length; i++) {
-            array.set(i, values[i]);
-        }
+        MemorySegment.copy(values, 0, array.segment, JAVA_SHORT, array.baseIndex * (long) SHORT_BYTES, values.length);
         return array;
     }
 
@@ -111,6 +130,34 @@ public final class ShortArray extends TornadoNativeArray {
         return shortArray;
     }
 
+    /**
+     * Creates a new instance of the {@code ShortArray} class backed by a memory-mapped region of a file. The elements are
+     * not copied: reads and writes of the array, and transfers to and from the device, access the mapped region directly.
+     *
+     * <p>
+     * The file must follow the layout of the TornadoVM native arrays: the {@link TornadoNativeArray#ARRAY_HEADER} bytes
+     * before {@code offset} are used as the array header, and must store the number of elements (see
+     * {@link TornadoNativeArray#createHeader(int)}). The header is never written. Arrays mapped in
+     * {@link FileChannel.MapMode#READ_ONLY} mode can only be used as inputs of a task-graph.
+     * </p>
+     *
+     * @param file
+     *     The file that stores the short elements.
+     * @param offset
+     *     The position in the file of the first element. It must be a multiple of the element size, and at least
+     *     {@link TornadoNativeArray#ARRAY_HEADER}.
+     * @param numberOfElements
+     *     The number of elements to map.
+     * @param mode
+     *     The {@link FileChannel.MapMode} used to map the file.
+     * @return A new {@code ShortArray} instance, backed by the mapped region of the file.
+     * @throws IOException
+     *     If the file cannot be opened or mapped.
+     */
+    public static ShortArray map(Path file, long offset, int numberOfElements, FileChannel.MapMode mode) throws IOException {
+        return new ShortArray(mapSegment(file, offset, numberOfElements, SHORT_BYTES, mode), numberOfElements);
+    }
+
     /**
      * Converts the short data from off-heap to on-heap, by copying the values of a {@code ShortArray}
      * instance into a new on-heap array.
@@ -119,9 +166,7 @@ public final class ShortArray extends TornadoNativeArray {
      */
     public short[] toHeapArray() {
         short[] outputArray = new short[getSize()];
-        for (int i = 0; i < getSize(); i++) {
-            outputArray[i] = get(i);
-        }
+        MemorySegment.copy(segment, JAVA_SHORT, baseIndex * (long) SHORT_BYTES, outputArray, 0, getSize());
         return outputArray;
     }
 
@@ -135,6 +180,7 @@ public final class ShortArray extends TornadoNativeArray {
      */
     public void set(int index, short value) {
         segment.setAtIndex(JAVA_SHORT, baseIndex + index, value);
+        markModified();
     }
 
     /**
@@ -171,6 +217,7 @@ public final class ShortArray extends TornadoNativeArray {
         for (int i = 0; i < getSize(); i++) {
             segment.setAtIndex(JAVA_SHORT, baseIndex + i, value);
         }
+        markModified();
     }
 
     /**
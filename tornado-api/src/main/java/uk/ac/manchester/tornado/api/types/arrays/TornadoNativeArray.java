@@ -17,7 +17,16 @@
  */
 package uk.ac.manchester.tornado.api.types.arrays;
 
+import static java.lang.foreign.ValueLayout.JAVA_INT_UNALIGNED;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
 import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 
 /**
  * This abstract sealed class represents the common functionality of the TornadoVM custom native arrays,
@@ -41,6 +50,8 @@ public abstract sealed class TornadoNativeArray permits ByteArray, CharArray, Do
      */
     public static final long ARRAY_HEADER = Long.parseLong(System.getProperty("tornado.panama.objectHeader", "24"));
 
+    private long modificationVersion;
+
     /**
      * Returns the number of elements stored in the native array.
      *
@@ -76,4 +87,80 @@ public abstract sealed class TornadoNativeArray permits ByteArray, CharArray, Do
 
     public abstract int getElementSize();
 
+    /**
+     * Returns the modification version of the native array. The version is incremented every time the contents
+     * of the array are changed through {@code set}, {@code init}, {@code clear} or {@link #markModified()}. The TornadoVM runtime
+     * uses this version to skip copies to the device of arrays that have not changed since the last copy
+     * (see {@link uk.ac.manchester.tornado.api.enums.DataTransferMode#EVERY_EXECUTION_IF_MODIFIED}).
+     *
+     * @return The modification version of the native array.
+     */
+    public long getModificationVersion() {
+        return modificationVersion;
+    }
+
+    /**
+     * Marks the contents of the native array as modified. Writes directly through the {@link MemorySegment} are not
+     * tracked, so code that writes elements in this way must invoke this method before the next execution of a
+     * task-graph that copies the array with
+     * {@link uk.ac.manchester.tornado.api.enums.DataTransferMode#EVERY_EXECUTION_IF_MODIFIED}. Inside kernels, the
+     * call is removed by the TornadoVM compiler.
+     */
+    public void markModified() {
+        modificationVersion++;
+    }
+
+    /**
+     * Creates the header of a native array with {@code numberOfElements} elements, as stored in files that are mapped with
+     * the {@code map} factories of the native arrays (e.g., {@link FloatArray#map}). The header must be written to the
+     * {@link #ARRAY_HEADER} bytes just before the first element.
+     *
+     * @param numberOfElements
+     *     The number of elements of the array.
+     * @return A {@link ByteBuffer} with the {@link #ARRAY_HEADER} bytes of the header, ready to be written.
+     */
+    public static ByteBuffer createHeader(int numberOfElements) {
+        ByteBuffer header = ByteBuffer.allocate((int) ARRAY_HEADER).order(ByteOrder.nativeOrder());
+        header.putInt(0, numberOfElements);
+        return header;
+    }
+
+    /**
+     * Maps a region of a file that follows the layout of the native arrays: {@link #ARRAY_HEADER} bytes for the header
+     * (see {@link #createHeader(int)}), followed by the elements. The file is never written by the mapping itself, so
+     * the header must already store the number of elements.
+     *
+     * @param file
+     *     The file to map.
+     * @param offset
+     *     The position in the file of the first element.
+     * @param numberOfElements
+     *     The number of elements to map.
+     * @param elementSize
+     *     The size of each element in bytes.
+     * @param mode
+     *     The {@link FileChannel.MapMode} used to map the file.
+     * @return The mapped {@link MemorySegment}, including the header.
+     * @throws IOException
+     *     If the file cannot be opened or mapped.
+     */
+    static MemorySegment mapSegment(Path file, long offset, int numberOfElements, int elementSize, FileChannel.MapMode mode) throws IOException {
+        if (offset < ARRAY_HEADER || offset % elementSize != 0) {
+            throw new IllegalArgumentException("The offset " + offset + " must be a multiple of " + elementSize + " and at least the array header size (" + ARRAY_HEADER + " bytes)");
+        }
+        if (numberOfElements < 0) {
+            throw new IllegalArgumentException("The number of elements must be positive: " + numberOfElements);
+        }
+        boolean readOnly = mode == FileChannel.MapMode.READ_ONLY;
+        try (FileChannel channel = readOnly ? FileChannel.open(file, StandardOpenOption.READ) : FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MemorySegment segment = channel.map(mode, offset - ARRAY_HEADER, ARRAY_HEADER + (long) numberOfElements * elementSize, Arena.ofAuto());
+            int headerSize = segment.get(JAVA_INT_UNALIGNED, 0);
+            if (headerSize != numberOfElements) {
+                throw new IllegalArgumentException("The array header of " + file + " before offset " + offset + " stores " + headerSize + " elements instead of " + numberOfElements
+                        + ". Use TornadoNativeArray.createHeader to write the header");
+            }
+            return segment;
+        }
+    }
+
 }
@@ -34,15 +34,20 @@ module tornado.benchmarks {
     exports uk.ac.manchester.tornado.benchmarks.dotimage;
     exports uk.ac.manchester.tornado.benchmarks.dotvector;
     exports uk.ac.manchester.tornado.benchmarks.euler;
+    exports uk.ac.manchester.tornado.benchmarks.fusion;
     exports uk.ac.manchester.tornado.benchmarks.hilbert;
+    exports uk.ac.manchester.tornado.benchmarks.hostoverhead;
     exports uk.ac.manchester.tornado.benchmarks.mandelbrot;
     exports uk.ac.manchester.tornado.benchmarks.montecarlo;
     exports uk.ac.manchester.tornado.benchmarks.nbody;
+    exports uk.ac.manchester.tornado.benchmarks.objectstates;
     exports uk.ac.manchester.tornado.benchmarks.rotateimage;
     exports uk.ac.manchester.tornado.benchmarks.rotatevector;
     exports uk.ac.manchester.tornado.benchmarks.saxpy;
+    exports uk.ac.manchester.tornado.benchmarks.scan;
     exports uk.ac.manchester.tornado.benchmarks.sgemm;
     exports uk.ac.manchester.tornado.benchmarks.sgemv;
     exports uk.ac.manchester.tornado.benchmarks.spmv;
+    exports uk.ac.manchester.tornado.benchmarks.startup;
     exports uk.ac.manchester.tornado.benchmarks.stencil;
 }
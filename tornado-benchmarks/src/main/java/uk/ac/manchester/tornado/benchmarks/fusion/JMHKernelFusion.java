@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.benchmarks.fusion;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+
+/**
+ * <p>
+ * Runs a chain of three element-wise tasks with and without kernel fusion
+ * ({@code -Dtornado.kernel.fusion}). With fusion, the task-graph launches a
+ * single kernel, and the intermediate results are not written to and read back
+ * from the device memory between kernels.
+ * </p>
+ * <p>
+ * How to run in isolation?
+ * </p>
+ * <code>
+ * tornado -jar tornado-benchmarks/target/jmhbenchmarks.jar uk.ac.manchester.tornado.benchmarks.fusion.JMHKernelFusion
+ * </code>
+ */
+public class JMHKernelFusion {
+
+    public static void scale(FloatArray input, FloatArray output, float factor) {
+        for (@Parallel int i = 0; i < input.getSize(); i++) {
+            output.set(i, input.get(i) * factor);
+        }
+    }
+
+    public static void add(FloatArray a, FloatArray b, FloatArray output) {
+        for (@Parallel int i = 0; i < a.getSize(); i++) {
+            output.set(i, a.get(i) + b.get(i));
+        }
+    }
+
+    public static void relu(FloatArray input, FloatArray output) {
+        for (@Parallel int i = 0; i < input.getSize(); i++) {
+            output.set(i, Math.max(input.get(i), 0.0f));
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class BenchmarkSetup {
+
+        @Param({ "False", "True" })
+        private String fusion;
+
+        private int numElements = Integer.parseInt(System.getProperty("x", "16777216"));
+        private FloatArray x;
+        private FloatArray y;
+        private FloatArray scaled;
+        private FloatArray added;
+        private FloatArray result;
+
+        private TornadoExecutionPlan executor;
+
+        @Setup(Level.Trial)
+        public void doSetup() {
+            // The option is read when the tasks are added to the task-graph
+            System.setProperty("tornado.kernel.fusion", fusion);
+
+            x = new FloatArray(numElements);
+            y = new FloatArray(numElements);
+            scaled = new FloatArray(numElements);
+            added = new FloatArray(numElements);
+            result = new FloatArray(numElements);
+
+            for (int i = 0; i < numElements; i++) {
+                x.set(i, i - numElements / 2);
+                y.set(i, i);
+            }
+
+            TaskGraph taskGraph = new TaskGraph("benchmark") //
+                    .transferToDevice(DataTransferMode.EVERY_EXECUTION, x, y) //
+                    .task("scale", JMHKernelFusion::scale, x, scaled, 2.0f) //
+                    .task("add", JMHKernelFusion::add, scaled, y, added) //
+                    .task("relu", JMHKernelFusion::relu, added, result) //
+                    .transferToHost(DataTransferMode.EVERY_EXECUTION, result);
+
+            ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+            executor = new TornadoExecutionPlan(immutableTaskGraph);
+            executor.withWarmUp();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 2, time = 30, timeUnit = TimeUnit.SECONDS)
+    @Measurement(iterations = 5, time = 30, timeUnit = TimeUnit.SECONDS)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Fork(1)
+    public void elementWiseChainTornado(BenchmarkSetup state, Blackhole blackhole) {
+        TornadoExecutionPlan executor = state.executor;
+        executor.execute();
+        blackhole.consume(executor);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder() //
+                .include(JMHKernelFusion.class.getName() + ".*") //
+                .build();
+        new Runner(opt).run();
+    }
+}
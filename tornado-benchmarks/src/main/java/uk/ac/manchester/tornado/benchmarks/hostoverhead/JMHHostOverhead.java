@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.benchmarks.hostoverhead;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.benchmarks.LinearAlgebraArrays;
+
+/**
+ * <p>
+ * Measures the host-side cost of a single {@link TornadoExecutionPlan#execute()}
+ * call. The kernel runs over a small input so the time per invocation is
+ * dominated by the TornadoVM interpreter and the driver dispatch, rather than by
+ * the device computation. The GC profiler reports the bytes allocated per
+ * invocation.
+ * </p>
+ * <p>
+ * How to run in isolation?
+ * </p>
+ * <code>
+ * tornado -jar tornado-benchmarks/target/jmhbenchmarks.jar uk.ac.manchester.tornado.benchmarks.hostoverhead.JMHHostOverhead -prof gc
+ * </code>
+ */
+public class JMHHostOverhead {
+
+    @State(Scope.Thread)
+    public static class BenchmarkSetup {
+
+        private int numElements = Integer.parseInt(System.getProperty("x", "256"));
+        private FloatArray x;
+        private FloatArray y;
+        private final float alpha = 2f;
+
+        private TornadoExecutionPlan executorLaunchOnly;
+        private TornadoExecutionPlan executorWithTransfers;
+
+        @Setup(Level.Trial)
+        public void doSetup() {
+            x = new FloatArray(numElements);
+            y = new FloatArray(numElements);
+            x.init(1.0f);
+
+            // Data stays on the device: each execution only dispatches the kernel
+            TaskGraph launchOnly = new TaskGraph("launchOnly") //
+                    .transferToDevice(DataTransferMode.FIRST_EXECUTION, x, y) //
+                    .task("saxpy", LinearAlgebraArrays::saxpy, alpha, x, y) //
+                    .transferToHost(DataTransferMode.UNDER_DEMAND, y);
+
+            // Each execution copies in, dispatches the kernel and copies out
+            TaskGraph withTransfers = new TaskGraph("withTransfers") //
+                    .transferToDevice(DataTransferMode.EVERY_EXECUTION, x, y) //
+                    .task("saxpy", LinearAlgebraArrays::saxpy, alpha, x, y) //
+                    .transferToHost(DataTransferMode.EVERY_EXECUTION, y);
+
+            ImmutableTaskGraph immutableLaunchOnly = launchOnly.snapshot();
+            executorLaunchOnly = new TornadoExecutionPlan(immutableLaunchOnly);
+            executorLaunchOnly.withWarmUp();
+
+            ImmutableTaskGraph immutableWithTransfers = withTransfers.snapshot();
+            executorWithTransfers = new TornadoExecutionPlan(immutableWithTransfers);
+            executorWithTransfers.withWarmUp();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 2, time = 10, timeUnit = TimeUnit.SECONDS)
+    @Measurement(iterations = 5, time = 10, timeUnit = TimeUnit.SECONDS)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Fork(1)
+    public void launchOnly(BenchmarkSetup state, Blackhole blackhole) {
+        TornadoExecutionPlan executor = state.executorLaunchOnly;
+        executor.execute();
+        blackhole.consume(executor);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 2, time = 10, timeUnit = TimeUnit.SECONDS)
+    @Measurement(iterations = 5, time = 10, timeUnit = TimeUnit.SECONDS)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Fork(1)
+    public void launchWithTransfers(BenchmarkSetup state, Blackhole blackhole) {
+        TornadoExecutionPlan executor = state.executorWithTransfers;
+        executor.execute();
+        blackhole.consume(executor);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder() //
+                .include(JMHHostOverhead.class.getName() + ".*") //
+                .mode(Mode.AverageTime) //
+                .timeUnit(TimeUnit.NANOSECONDS) //
+                .warmupTime(TimeValue.seconds(10)) //
+                .warmupIterations(2) //
+                .measurementTime(TimeValue.seconds(10)) //
+                .measurementIterations(5) //
+                .addProfiler(GCProfiler.class) //
+                .forks(1) //
+                .build();
+        new Runner(opt).run();
+    }
+}
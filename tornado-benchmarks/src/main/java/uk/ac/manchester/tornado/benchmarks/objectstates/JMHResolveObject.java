@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.benchmarks.objectstates;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import uk.ac.manchester.tornado.api.TornadoRuntimeInterface;
+import uk.ac.manchester.tornado.api.runtime.TornadoRuntime;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+
+/**
+ * <p>
+ * Measures the throughput of the lookup of the runtime state of an object, as
+ * done by every execution of a task-graph, when several Java threads run
+ * execution plans at the same time. The objects are registered during the
+ * setup, so the benchmark measures the lookup path.
+ * </p>
+ * <p>
+ * How to run in isolation?
+ * </p>
+ * <code>
+ * tornado -jar tornado-benchmarks/target/jmhbenchmarks.jar uk.ac.manchester.tornado.benchmarks.objectstates.JMHResolveObject
+ * </code>
+ */
+public class JMHResolveObject {
+
+    @State(Scope.Benchmark)
+    public static class BenchmarkSetup {
+
+        private final int numObjects = Integer.parseInt(System.getProperty("x", "1024"));
+        private FloatArray[] objects;
+        private TornadoRuntimeInterface runtime;
+
+        @Setup(Level.Trial)
+        public void doSetup() {
+            runtime = TornadoRuntime.getTornadoRuntime();
+            objects = new FloatArray[numObjects];
+            for (int i = 0; i < numObjects; i++) {
+                objects[i] = new FloatArray(16);
+                runtime.resolveObject(objects[i]);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+        private int next;
+    }
+
+    private static void resolve(BenchmarkSetup state, ThreadState threadState, Blackhole blackhole) {
+        FloatArray[] objects = state.objects;
+        int index = threadState.next;
+        blackhole.consume(state.runtime.resolveObject(objects[index]));
+        threadState.next = (index + 1 == objects.length) ? 0 : index + 1;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @Warmup(iterations = 2, time = 5, timeUnit = TimeUnit.SECONDS)
+    @Measurement(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Fork(1)
+    @Threads(1)
+    public void resolveSingleThread(BenchmarkSetup state, ThreadState threadState, Blackhole blackhole) {
+        resolve(state, threadState, blackhole);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @Warmup(iterations = 2, time = 5, timeUnit = TimeUnit.SECONDS)
+    @Measurement(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Fork(1)
+    @Threads(Threads.MAX)
+    public void resolveContended(BenchmarkSetup state, ThreadState threadState, Blackhole blackhole) {
+        resolve(state, threadState, blackhole);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder() //
+                .include(JMHResolveObject.class.getName() + ".*") //
+                .mode(Mode.Throughput) //
+                .timeUnit(TimeUnit.MICROSECONDS) //
+                .warmupTime(TimeValue.seconds(5)) //
+                .warmupIterations(2) //
+                .measurementTime(TimeValue.seconds(5)) //
+                .measurementIterations(5) //
+                .forks(1) //
+                .build();
+        new Runner(opt).run();
+    }
+}
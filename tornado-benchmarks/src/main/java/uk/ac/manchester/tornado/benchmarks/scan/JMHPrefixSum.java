@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.benchmarks.scan;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import uk.ac.manchester.tornado.api.GridScheduler;
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.math.TornadoScan;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+
+/**
+ * <p>
+ * Compares the inclusive prefix-sum and the stream compaction of
+ * {@link TornadoScan} with {@link Arrays#parallelPrefix(int[],
+ * java.util.function.IntBinaryOperator)} and a sequential loop on the host.
+ * </p>
+ * <p>
+ * How to run in isolation?
+ * </p>
+ * <code>
+ * tornado -jar tornado-benchmarks/target/jmhbenchmarks.jar uk.ac.manchester.tornado.benchmarks.scan.JMHPrefixSum
+ * </code>
+ */
+public class JMHPrefixSum {
+
+    public static void evenFlags(IntArray input, IntArray flags) {
+        for (@Parallel int i = 0; i < input.getSize(); i++) {
+            flags.set(i, (input.get(i) % 2 == 0) ? 1 : 0);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class BenchmarkSetup {
+
+        private int numElements = Integer.parseInt(System.getProperty("x", "16777216"));
+        private int[] javaInput;
+        private int[] javaOutput;
+        private IntArray input;
+        private IntArray output;
+        private IntArray flags;
+        private IntArray compacted;
+        private IntArray count;
+
+        private TornadoExecutionPlan scanExecutor;
+        private TornadoExecutionPlan compactExecutor;
+
+        @Setup(Level.Trial)
+        public void doSetup() {
+            javaInput = new int[numElements];
+            javaOutput = new int[numElements];
+            input = new IntArray(numElements);
+            output = new IntArray(numElements);
+            flags = new IntArray(numElements);
+            compacted = new IntArray(numElements);
+            count = new IntArray(1);
+
+            Random r = new Random();
+            for (int i = 0; i < numElements; i++) {
+                javaInput[i] = r.nextInt(100);
+                input.set(i, javaInput[i]);
+            }
+
+            GridScheduler scanScheduler = new GridScheduler();
+            TaskGraph scanGraph = new TaskGraph("scan") //
+                    .transferToDevice(DataTransferMode.FIRST_EXECUTION, input);
+            TornadoScan.addInclusiveSum(scanGraph, scanScheduler, "sum", input, output);
+            scanGraph.transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+            ImmutableTaskGraph scanImmutableGraph = scanGraph.snapshot();
+            scanExecutor = new TornadoExecutionPlan(scanImmutableGraph);
+            scanExecutor.withGridScheduler(scanScheduler).withWarmUp();
+
+            GridScheduler compactScheduler = new GridScheduler();
+            TaskGraph compactGraph = new TaskGraph("compact") //
+                    .transferToDevice(DataTransferMode.FIRST_EXECUTION, input) //
+                    .task("predicate", JMHPrefixSum::evenFlags, input, flags);
+            TornadoScan.addCompact(compactGraph, compactScheduler, "compact", input, flags, compacted, count);
+            compactGraph.transferToHost(DataTransferMode.EVERY_EXECUTION, compacted, count);
+
+            ImmutableTaskGraph compactImmutableGraph = compactGraph.snapshot();
+            compactExecutor = new TornadoExecutionPlan(compactImmutableGraph);
+            compactExecutor.withGridScheduler(compactScheduler).withWarmUp();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 2, time = 30, timeUnit = TimeUnit.SECONDS)
+    @Measurement(iterations = 5, time = 30, timeUnit = TimeUnit.SECONDS)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Fork(1)
+    public void prefixSumSequential(BenchmarkSetup state, Blackhole blackhole) {
+        System.arraycopy(state.javaInput, 0, state.javaOutput, 0, state.numElements);
+        for (int i = 1; i < state.numElements; i++) {
+            state.javaOutput[i] += state.javaOutput[i - 1];
+        }
+        blackhole.consume(state.javaOutput);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 2, time = 30, timeUnit = TimeUnit.SECONDS)
+    @Measurement(iterations = 5, time = 30, timeUnit = TimeUnit.SECONDS)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Fork(1)
+    public void prefixSumParallelPrefix(BenchmarkSetup state, Blackhole blackhole) {
+        System.arraycopy(state.javaInput, 0, state.javaOutput, 0, state.numElements);
+        Arrays.parallelPrefix(state.javaOutput, Integer::sum);
+        blackhole.consume(state.javaOutput);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 2, time = 30, timeUnit = TimeUnit.SECONDS)
+    @Measurement(iterations = 5, time = 30, timeUnit = TimeUnit.SECONDS)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Fork(1)
+    public void prefixSumTornado(BenchmarkSetup state, Blackhole blackhole) {
+        TornadoExecutionPlan executor = state.scanExecutor;
+        executor.execute();
+        blackhole.consume(executor);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 2, time = 30, timeUnit = TimeUnit.SECONDS)
+    @Measurement(iterations = 5, time = 30, timeUnit = TimeUnit.SECONDS)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Fork(1)
+    public void compactStream(BenchmarkSetup state, Blackhole blackhole) {
+        int[] result = Arrays.stream(state.javaInput).parallel().filter(value -> value % 2 == 0).toArray();
+        blackhole.consume(result);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 2, time = 30, timeUnit = TimeUnit.SECONDS)
+    @Measurement(iterations = 5, time = 30, timeUnit = TimeUnit.SECONDS)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Fork(1)
+    public void compactTornado(BenchmarkSetup state, Blackhole blackhole) {
+        TornadoExecutionPlan executor = state.compactExecutor;
+        executor.execute();
+        blackhole.consume(executor);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder() //
+                .include(JMHPrefixSum.class.getName() + ".*") //
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -44,7 +44,8 @@ public class Benchmark extends BenchmarkRunner {
             iterations = Integer.parseInt(args[0]);
             final String fullPath = args[1];
             path = fullPath.substring(fullPath.lastIndexOf("/") + 1);
-            matrix = SparseMatrixUtils.loadMatrixF(fullPath);
+            // The CSR arrays are cached in a binary file, which is mapped on the next runs
+            matrix = SparseMatrixUtils.loadMatrixFCached(fullPath);
         } else {
             path = System.getProperty("spmv.matrix", "/bcsstk32.mtx");
             matrix = SparseMatrixUtils.loadMatrixF(Benchmark.class.getResourceAsStream(path));
@@ -55,6 +55,10 @@ import uk.ac.manchester.tornado.matrix.SparseMatrixUtils;
  * <code>
  * tornado -jar tornado-benchmarks/target/jmhbenchmarks.jar uk.ac.manchester.tornado.benchmarks.spmv.JMHSpmv
  * </code>
+ * <p>
+ * A matrix file can be passed with {@code -Dspmv.file=<path>}. Its CSR arrays
+ * are cached in a binary file, which is mapped on the next runs.
+ * </p>
  */
 public class JMHSpmv {
 
@@ -67,8 +71,13 @@ public class JMHSpmv {
 
         @Setup(Level.Trial)
         public void doSetup() {
-            String path = System.getProperty("spmv.matrix", "/bcsstk32.mtx");
-            matrix = SparseMatrixUtils.loadMatrixF(uk.ac.manchester.tornado.benchmarks.spmv.Benchmark.class.getResourceAsStream(path));
+            String file = System.getProperty("spmv.file");
+            if (file != null) {
+                matrix = SparseMatrixUtils.loadMatrixFCached(file);
+            } else {
+                String path = System.getProperty("spmv.matrix", "/bcsstk32.mtx");
+                matrix = SparseMatrixUtils.loadMatrixF(uk.ac.manchester.tornado.benchmarks.spmv.Benchmark.class.getResourceAsStream(path));
+            }
             v = new FloatArray(matrix.size);
             y = new FloatArray(matrix.size);
             initData(v);
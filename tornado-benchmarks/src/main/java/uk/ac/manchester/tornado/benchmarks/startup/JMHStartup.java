@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.benchmarks.startup;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.benchmarks.LinearAlgebraArrays;
+
+/**
+ * <p>
+ * Measures the time to the first {@link TaskGraph} and
+ * {@link TornadoExecutionPlan} of a new JVM, which includes the startup of the
+ * TornadoVM runtime. Each measurement runs in a new fork, with the backends
+ * initialized lazily (on first use) and eagerly (all backends at startup). Run
+ * with {@code -Dtornado.startup.times=True} to print the time of each startup
+ * phase.
+ * </p>
+ * <p>
+ * How to run in isolation?
+ * </p>
+ * <code>
+ * tornado -jar tornado-benchmarks/target/jmhbenchmarks.jar uk.ac.manchester.tornado.benchmarks.startup.JMHStartup
+ * </code>
+ */
+public class JMHStartup {
+
+    private static final int NUM_ELEMENTS = 256;
+
+    private static TornadoExecutionPlan createFirstExecutionPlan() {
+        FloatArray x = new FloatArray(NUM_ELEMENTS);
+        FloatArray y = new FloatArray(NUM_ELEMENTS);
+        TaskGraph taskGraph = new TaskGraph("startup") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, x) //
+                .task("saxpy", LinearAlgebraArrays::saxpy, 2f, x, y) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, y);
+        return new TornadoExecutionPlan(taskGraph.snapshot());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Fork(value = 10, jvmArgsAppend = "-Dtornado.drivers.lazy=True")
+    public TornadoExecutionPlan lazyDriverInitialization() {
+        return createFirstExecutionPlan();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Fork(value = 10, jvmArgsAppend = "-Dtornado.drivers.lazy=False")
+    public TornadoExecutionPlan eagerDriverInitialization() {
+        return createFirstExecutionPlan();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder() //
+                .include(JMHStartup.class.getName() + ".*") //
+                .build();
+        new Runner(opt).run();
+    }
+}
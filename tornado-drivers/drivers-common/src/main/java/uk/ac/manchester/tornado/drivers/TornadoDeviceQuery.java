@@ -52,6 +52,7 @@ public class TornadoDeviceQuery {
         colourMapping.put(TornadoVMBackendType.OPENCL, ColoursTerminal.CYAN);
         colourMapping.put(TornadoVMBackendType.PTX, ColoursTerminal.GREEN);
         colourMapping.put(TornadoVMBackendType.SPIRV, ColoursTerminal.PURPLE);
+        colourMapping.put(TornadoVMBackendType.JAVA, ColoursTerminal.YELLOW);
     }
 
     private static String formatSize(long v) {
@@ -22,117 +22,175 @@
  */
 package uk.ac.manchester.tornado.drivers.common;
 
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.TreeMap;
+
 import uk.ac.manchester.tornado.api.TornadoDeviceContext;
-import uk.ac.manchester.tornado.api.TornadoTargetDevice;
 import uk.ac.manchester.tornado.api.exceptions.TornadoInternalError;
 import uk.ac.manchester.tornado.api.exceptions.TornadoOutOfMemoryException;
+import uk.ac.manchester.tornado.runtime.common.BufferPoolStatistics;
 import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 
-import java.util.ArrayList;
-
-import static uk.ac.manchester.tornado.runtime.common.TornadoOptions.DEVICE_AVAILABLE_MEMORY;
-
 /**
- * This class implements a cache of allocated buffers on the device and also
+ * This class implements a pool of allocated buffers on the device and also
  * handles the logic to allocate and free buffers. This class is extended for
- * each backend. The logic is as follows: it maintains a list of used buffers
- * and another list of free buffers. When performing an allocation, it first
- * checks if memory is available on the device. If it is not, then it will try
- * to reuse a buffer from the free list of buffers.
+ * each backend.
+ *
+ * <p>
+ * Requests are rounded up to a size class (the next power of two, starting at
+ * {@link #MIN_SIZE_CLASS} bytes), so that a released buffer can serve any later
+ * request of the same class. Released buffers are kept in a free list per size
+ * class, and buffers in use are indexed by their native pointer, so acquire and
+ * release run in constant time. When the memory set with
+ * {@link TornadoOptions#DEVICE_AVAILABLE_MEMORY} is exhausted, the pool first
+ * tries to reuse a free buffer of a larger size class. If there is none, it
+ * releases the least recently used free buffers until the new allocation fits.
+ * </p>
  */
 public abstract class TornadoBufferProvider {
 
+    /**
+     * Smallest size class in bytes. Smaller requests are served with a buffer of
+     * this size.
+     */
+    private static final long MIN_SIZE_CLASS = 256;
+
     protected final TornadoDeviceContext deviceContext;
-    protected final ArrayList<BufferInfo> freeBuffers;
-    protected final ArrayList<BufferInfo> usedBuffers;
+    /**
+     * Free buffers per size class. Each list is ordered from the least to the most
+     * recently released buffer.
+     */
+    protected final TreeMap<Long, ArrayDeque<BufferInfo>> freeBuffers;
+    /**
+     * Buffers in use, indexed by native pointer.
+     */
+    protected final HashMap<Long, BufferInfo> usedBuffers;
     protected long currentMemoryAvailable;
+    private final long memoryCapacity;
 
-    protected TornadoBufferProvider(TornadoDeviceContext deviceContext) {
-        this.deviceContext = deviceContext;
-        this.usedBuffers = new ArrayList<>();
-        this.freeBuffers = new ArrayList<>();
+    private int numFreeBuffers;
+    private long releaseCounter;
+
+    private long hits;
+    private long misses;
+    private long pooledBytes;
+    private long evictions;
 
+    protected TornadoBufferProvider(TornadoDeviceContext deviceContext) {
         // There is no way of querying the available memory on the device.
         // Instead, use a flag similar to -Xmx.
-        currentMemoryAvailable = TornadoOptions.DEVICE_AVAILABLE_MEMORY;
+        this(deviceContext, TornadoOptions.DEVICE_AVAILABLE_MEMORY);
     }
 
-
+    protected TornadoBufferProvider(TornadoDeviceContext deviceContext, long memoryCapacity) {
+        this.deviceContext = deviceContext;
+        this.usedBuffers = new HashMap<>();
+        this.freeBuffers = new TreeMap<>();
+        this.memoryCapacity = memoryCapacity;
+        this.currentMemoryAvailable = memoryCapacity;
+    }
 
     protected abstract long allocateBuffer(long size);
 
     protected abstract void releaseBuffer(long buffer);
 
+    protected long getDeviceMaxAllocationSize() {
+        return deviceContext.getDevice().getDeviceMaxAllocationSize();
+    }
+
+    /**
+     * It returns the size class for a requested size. Requests whose size class
+     * would exceed the device limits are not rounded up, and they get a class of
+     * their own.
+     *
+     * @param sizeInBytes
+     *            Size in bytes for the requested buffer.
+     * @param maxAllocationSize
+     *            Maximum allocation size for the device.
+     * @return The size in bytes of the buffer to allocate.
+     */
+    private long sizeClassOf(long sizeInBytes, long maxAllocationSize) {
+        if (sizeInBytes <= MIN_SIZE_CLASS) {
+            return MIN_SIZE_CLASS;
+        }
+        long sizeClass = Long.highestOneBit(sizeInBytes - 1) << 1;
+        if (sizeClass <= 0 || sizeClass >= maxAllocationSize || sizeClass > memoryCapacity) {
+            return sizeInBytes;
+        }
+        return sizeClass;
+    }
+
     private long allocate(long size) {
         long buffer = allocateBuffer(size);
         currentMemoryAvailable -= size;
         BufferInfo bufferInfo = new BufferInfo(buffer, size);
-        usedBuffers.add(bufferInfo);
+        usedBuffers.put(bufferInfo.buffer, bufferInfo);
         return bufferInfo.buffer;
     }
 
-    private void freeBuffers(long size) {
-        // Attempts to free buffers of given size.
-        long remainingSize = size;
-        while (!freeBuffers.isEmpty() && remainingSize > 0) {
-            BufferInfo bufferInfo = freeBuffers.remove(0);
-            TornadoInternalError.guarantee(!usedBuffers.contains(bufferInfo), "This buffer should not be used");
-            remainingSize -= bufferInfo.size;
-            currentMemoryAvailable += bufferInfo.size;
-            releaseBuffer(bufferInfo.buffer);
-        }
+    private BufferInfo pollFreeBuffer(ArrayDeque<BufferInfo> freeList, boolean mostRecent) {
+        BufferInfo bufferInfo = mostRecent ? freeList.pollLast() : freeList.pollFirst();
+        numFreeBuffers--;
+        pooledBytes -= bufferInfo.size;
+        return bufferInfo;
     }
 
-    private BufferInfo markBufferUsed(int freeBufferIndex) {
-        BufferInfo buffer = freeBuffers.get(freeBufferIndex);
-        usedBuffers.add(buffer);
-        freeBuffers.remove(buffer);
-        return buffer;
+    /**
+     * It returns a free buffer of exactly the given size class, or null if there
+     * is none. The most recently released buffer is returned first.
+     */
+    private BufferInfo pollFreeBufferOfSizeClass(long sizeClass) {
+        ArrayDeque<BufferInfo> freeList = freeBuffers.get(sizeClass);
+        if (freeList == null || freeList.isEmpty()) {
+            return null;
+        }
+        return pollFreeBuffer(freeList, true);
     }
 
     /**
-     * First check if there is an available buffer of a given size. Perform a
-     * sequential search through the freeBuffers to get the buffer with the smaller
-     * size than can fulfill the allocation. The number of allocated buffers is
-     * usually low, so searching sequentially should not take a lot of time.
-     *
-     * @param sizeInBytes
-     *            Size in bytes for the requested buffer.
-     * @return returns the index position of a free buffer within the free buffer
-     *         list. It returns -1 if a free buffer slot is not found.
+     * It returns a free buffer from the smallest size class that is larger than
+     * the given one, or null if there is none.
      */
-    private int bufferIndexOfAFreeSpace(long sizeInBytes) {
-        int minBufferIndex = -1;
-        for (int i = 0; i < freeBuffers.size(); i++) {
-            BufferInfo bufferInfo = freeBuffers.get(i);
-            if (bufferInfo.size >= sizeInBytes && (minBufferIndex == -1 || bufferInfo.size < freeBuffers.get(minBufferIndex).size)) {
-                minBufferIndex = i;
+    private BufferInfo pollFreeBufferOfLargerSizeClass(long sizeClass) {
+        for (ArrayDeque<BufferInfo> freeList : freeBuffers.tailMap(sizeClass, false).values()) {
+            if (!freeList.isEmpty()) {
+                return pollFreeBuffer(freeList, true);
             }
         }
-        return minBufferIndex;
+        return null;
     }
 
     /**
-     * There is no buffer to fulfill the size. Start freeing unused buffers and try
-     * to allocate.
+     * It releases the least recently used free buffers until there is enough
+     * memory available to allocate the given size, or the pool is empty.
      *
      * @param sizeInBytes
-     *            Size in bytes for the requested buffer.
-     * @return It returns a buffer native pointer.
+     *            Size in bytes that needs to fit in the available memory.
      */
-    private long freeUnusedNativeBufferAndAssignRegion(long sizeInBytes) {
-        freeBuffers(sizeInBytes);
-        if (sizeInBytes <= currentMemoryAvailable) {
-            return allocate(sizeInBytes);
-        } else {
-            throw new TornadoOutOfMemoryException("Unable to allocate " + sizeInBytes + " bytes of memory.");
+    private void evictUntilAvailable(long sizeInBytes) {
+        while (sizeInBytes > currentMemoryAvailable && numFreeBuffers > 0) {
+            ArrayDeque<BufferInfo> leastRecentlyUsed = null;
+            for (ArrayDeque<BufferInfo> freeList : freeBuffers.values()) {
+                if (!freeList.isEmpty() && (leastRecentlyUsed == null || freeList.peekFirst().lastReleased < leastRecentlyUsed.peekFirst().lastReleased)) {
+                    leastRecentlyUsed = freeList;
+                }
+            }
+            BufferInfo bufferInfo = pollFreeBuffer(leastRecentlyUsed, false);
+            TornadoInternalError.guarantee(!usedBuffers.containsKey(bufferInfo.buffer), "This buffer should not be used");
+            currentMemoryAvailable += bufferInfo.size;
+            releaseBuffer(bufferInfo.buffer);
+            evictions++;
         }
     }
 
     /**
-     * Method that finds a suitable buffer for a requested buffer size. If a free
-     * memory buffer is found, it performs the native buffer allocation on the
-     * target device. Otherwise, it throws an exception.
+     * Method that finds a suitable buffer for a requested buffer size. It first
+     * reuses a free buffer of the same size class. Otherwise, it performs a new
+     * native buffer allocation on the target device, evicting free buffers if the
+     * device memory is exhausted. If the size class does not fit, the buffer is
+     * allocated with the exact requested size. If that does not fit either, it
+     * throws an exception.
      *
      * @param sizeInBytes
      *            Size in bytes for the requested buffer.
@@ -141,52 +199,79 @@ public abstract class TornadoBufferProvider {
      * @throws {@link
      *             TornadoOutOfMemoryException}
      */
-    public long getBufferWithSize(long sizeInBytes) {
-        TornadoTargetDevice targetDevice = deviceContext.getDevice();
-        if (sizeInBytes <= currentMemoryAvailable && sizeInBytes < targetDevice.getDeviceMaxAllocationSize()) {
-            // Allocate if there is enough device memory.
-            return allocate(sizeInBytes);
-        } else if (sizeInBytes < targetDevice.getDeviceMaxAllocationSize()) {
-            int minBufferIndex = bufferIndexOfAFreeSpace(sizeInBytes);
-            // If a buffer was found, mark it as used and return it.
-            if (minBufferIndex != -1) {
-                return markBufferUsed(minBufferIndex).buffer;
-            } else {
-                return freeUnusedNativeBufferAndAssignRegion(sizeInBytes);
+    public synchronized long getBufferWithSize(long sizeInBytes) {
+        final long maxAllocationSize = getDeviceMaxAllocationSize();
+        if (sizeInBytes >= maxAllocationSize) {
+            throw new TornadoOutOfMemoryException("Unable to allocate " + sizeInBytes + " bytes of memory.");
+        }
+
+        final long sizeClass = sizeClassOf(sizeInBytes, maxAllocationSize);
+        BufferInfo bufferInfo = pollFreeBufferOfSizeClass(sizeClass);
+        if (bufferInfo == null && sizeClass > currentMemoryAvailable) {
+            // There is no room for a new allocation, so we take a larger buffer
+            // before evicting anything from the pool.
+            bufferInfo = pollFreeBufferOfLargerSizeClass(sizeClass);
+        }
+
+        if (bufferInfo != null) {
+            hits++;
+            usedBuffers.put(bufferInfo.buffer, bufferInfo);
+            return bufferInfo.buffer;
+        }
+
+        misses++;
+        evictUntilAvailable(sizeClass);
+        if (sizeClass != sizeInBytes && sizeClass <= currentMemoryAvailable) {
+            try {
+                return allocate(sizeClass);
+            } catch (RuntimeException e) {
+                // The device may not have room for the rounded size even if the
+                // pool does. Retry below with the exact size.
             }
-        } else {
+        }
+
+        // The rounding can double the size of a request, so an allocation close to
+        // the capacity of the device falls back to its exact size
+        if (sizeInBytes > currentMemoryAvailable) {
             throw new TornadoOutOfMemoryException("Unable to allocate " + sizeInBytes + " bytes of memory.");
         }
+        return allocate(sizeInBytes);
     }
 
     /**
-     * Removes the buffer from the {@link #usedBuffers} list and add it to
-     * the @{@link #freeBuffers} list.
+     * Removes the buffer from the {@link #usedBuffers} and adds it to the free
+     * list of its size class in {@link #freeBuffers}.
      */
-    public void markBufferReleased(long buffer, long size) {
-        int foundIndex = -1;
-        for (int i = 0; i < usedBuffers.size(); i++) {
-            if (usedBuffers.get(i).buffer == buffer) {
-                foundIndex = i;
-                break;
-            }
-        }
-        TornadoInternalError.guarantee(foundIndex != -1, "Expected the buffer to be allocated and used at this point.");
-        BufferInfo removedBuffer = usedBuffers.remove(foundIndex);
-        freeBuffers.add(removedBuffer);
+    public synchronized void markBufferReleased(long buffer, long size) {
+        BufferInfo bufferInfo = usedBuffers.remove(buffer);
+        TornadoInternalError.guarantee(bufferInfo != null, "Expected the buffer to be allocated and used at this point.");
+        bufferInfo.lastReleased = ++releaseCounter;
+        freeBuffers.computeIfAbsent(bufferInfo.size, k -> new ArrayDeque<>()).addLast(bufferInfo);
+        numFreeBuffers++;
+        pooledBytes += bufferInfo.size;
     }
 
-    public boolean checkBufferAvailability(int numBuffersRequired) {
-        return freeBuffers.size() >= numBuffersRequired;
+    /**
+     * Releases all free buffers held by the pool.
+     */
+    public synchronized void resetBuffers() {
+        for (ArrayDeque<BufferInfo> freeList : freeBuffers.values()) {
+            while (!freeList.isEmpty()) {
+                BufferInfo bufferInfo = pollFreeBuffer(freeList, false);
+                currentMemoryAvailable += bufferInfo.size;
+                releaseBuffer(bufferInfo.buffer);
+            }
+        }
     }
 
-    public void resetBuffers() {
-        freeBuffers(DEVICE_AVAILABLE_MEMORY);
+    public synchronized BufferPoolStatistics getStatistics() {
+        return new BufferPoolStatistics(hits, misses, pooledBytes, evictions);
     }
 
     public static class BufferInfo {
         public final long buffer;
         public final long size;
+        private long lastReleased;
 
         public BufferInfo(long buffer, long size) {
             this.buffer = buffer;
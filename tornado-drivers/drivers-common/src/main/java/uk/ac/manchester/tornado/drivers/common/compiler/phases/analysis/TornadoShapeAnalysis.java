@@ -39,6 +39,7 @@ import org.graalvm.compiler.phases.BasePhase;
 import uk.ac.manchester.tornado.runtime.common.Tornado;
 import uk.ac.manchester.tornado.runtime.domain.DomainTree;
 import uk.ac.manchester.tornado.runtime.domain.IntDomain;
+import uk.ac.manchester.tornado.runtime.domain.LoopBound;
 import uk.ac.manchester.tornado.runtime.graal.nodes.ParallelRangeNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.TornadoLoopsData;
 import uk.ac.manchester.tornado.runtime.graal.phases.TornadoHighTierContext;
@@ -93,9 +94,9 @@ public class TornadoShapeAnalysis extends BasePhase<TornadoHighTierContext> {
         for (int i = 0; i < dimensions; i++) {
             final ParallelRangeNode range = ranges.get(i);
             final int index = range.index();
-            if (index != lastIndex && getIntegerValue(range.offset().value()) != Integer.MIN_VALUE && getIntegerValue(range.stride().value()) != Integer.MIN_VALUE && getIntegerValue(range
-                    .value()) != Integer.MIN_VALUE) {
-                domainTree.set(index, new IntDomain(getIntegerValue(range.offset().value()), getIntegerValue(range.stride().value()), getIntegerValue(range.value())));
+            final int length = getLength(range, context);
+            if (index != lastIndex && getIntegerValue(range.offset().value()) != Integer.MIN_VALUE && getIntegerValue(range.stride().value()) != Integer.MIN_VALUE && length != Integer.MIN_VALUE) {
+                domainTree.set(index, new IntDomain(getIntegerValue(range.offset().value()), getIntegerValue(range.stride().value()), length));
             } else {
                 valid = false;
                 Tornado.info("unsupported multiple parallel loops");
@@ -111,6 +112,22 @@ public class TornadoShapeAnalysis extends BasePhase<TornadoHighTierContext> {
         }
     }
 
+    /**
+     * The bound of a parallel loop is a constant, unless it is passed to the
+     * kernel at runtime. In that case, the domain takes the value of the current
+     * arguments, and it is updated on every launch.
+     */
+    private static int getLength(ParallelRangeNode range, TornadoHighTierContext context) {
+        final int length = getIntegerValue(range.value());
+        if (length == Integer.MIN_VALUE && context.hasArgs()) {
+            LoopBound loopBound = context.getMeta().getLoopBound(range.index());
+            if (loopBound != null) {
+                return loopBound.evaluate(context.getArgs());
+            }
+        }
+        return length;
+    }
+
     private boolean shouldPerformShapeAnalysis(TornadoHighTierContext context) {
         return context.hasMeta() && context.getMeta().getDomain() == null;
     }
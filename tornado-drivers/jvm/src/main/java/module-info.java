@@ -0,0 +1,15 @@
+module tornado.drivers.jvm {
+    requires transitive jdk.internal.vm.ci;
+    requires transitive jdk.internal.vm.compiler;
+    requires transitive tornado.api;
+    requires transitive tornado.runtime;
+    requires tornado.drivers.common;
+
+    exports uk.ac.manchester.tornado.drivers.jvm;
+    exports uk.ac.manchester.tornado.drivers.jvm.graal;
+    exports uk.ac.manchester.tornado.drivers.jvm.mm;
+    exports uk.ac.manchester.tornado.drivers.jvm.runtime;
+
+    provides uk.ac.manchester.tornado.runtime.TornadoDriverProvider with
+            uk.ac.manchester.tornado.drivers.jvm.JVMTornadoDriverProvider;
+}
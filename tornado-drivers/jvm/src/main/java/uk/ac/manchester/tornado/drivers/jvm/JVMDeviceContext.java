@@ -0,0 +1,156 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.jvm;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+
+import uk.ac.manchester.tornado.api.TornadoDeviceContext;
+import uk.ac.manchester.tornado.api.common.Event;
+import uk.ac.manchester.tornado.api.common.SchedulableTask;
+import uk.ac.manchester.tornado.drivers.jvm.graal.JVMInstalledCode;
+import uk.ac.manchester.tornado.drivers.jvm.mm.JVMMemoryManager;
+import uk.ac.manchester.tornado.drivers.jvm.runtime.JVMTornadoDevice;
+import uk.ac.manchester.tornado.runtime.EmptyEvent;
+import uk.ac.manchester.tornado.runtime.TornadoCoreRuntime;
+import uk.ac.manchester.tornado.runtime.common.TornadoLogger;
+
+/**
+ * Context of the host device. The tasks run synchronously on a fork/join pool,
+ * so there is no command queue, and all the events are already completed.
+ */
+public class JVMDeviceContext extends TornadoLogger implements TornadoDeviceContext {
+
+    private static final Event EMPTY_EVENT = new EmptyEvent();
+
+    private final JVMTargetDevice device;
+    private final JVMMemoryManager memoryManager;
+    private final ConcurrentHashMap<String, JVMInstalledCode> codeCache;
+    private final ForkJoinPool pool;
+    private boolean wasReset;
+
+    public JVMDeviceContext(JVMTargetDevice device) {
+        this.device = device;
+        this.memoryManager = new JVMMemoryManager();
+        this.codeCache = new ConcurrentHashMap<>();
+        this.pool = new ForkJoinPool(device.getDeviceMaxComputeUnits());
+        wasReset = false;
+    }
+
+    @Override
+    public JVMMemoryManager getMemoryManager() {
+        return memoryManager;
+    }
+
+    @Override
+    public boolean needsBump() {
+        return false;
+    }
+
+    @Override
+    public boolean wasReset() {
+        return wasReset;
+    }
+
+    @Override
+    public void setResetToFalse() {
+        wasReset = false;
+    }
+
+    @Override
+    public boolean isPlatformFPGA() {
+        return false;
+    }
+
+    @Override
+    public boolean isPlatformXilinxFPGA() {
+        return false;
+    }
+
+    @Override
+    public boolean isFP64Supported() {
+        return true;
+    }
+
+    public JVMTornadoDevice asMapping() {
+        return new JVMTornadoDevice(device.getDeviceIndex());
+    }
+
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    public JVMInstalledCode installCode(String name, JVMInstalledCode installedCode) {
+        codeCache.put(name, installedCode);
+        return installedCode;
+    }
+
+    public JVMInstalledCode getInstalledCode(String name) {
+        return codeCache.get(name);
+    }
+
+    @Override
+    public boolean isCached(String methodName, SchedulableTask task) {
+        return codeCache.containsKey(buildKernelName(methodName, task));
+    }
+
+    public static String buildKernelName(String methodName, SchedulableTask task) {
+        return task.getId() + "." + methodName;
+    }
+
+    @Override
+    public JVMTargetDevice getDevice() {
+        return device;
+    }
+
+    @Override
+    public String getDeviceName() {
+        return device.getDeviceName();
+    }
+
+    @Override
+    public int getDeviceIndex() {
+        return device.getDeviceIndex();
+    }
+
+    @Override
+    public int getDriverIndex() {
+        return TornadoCoreRuntime.getTornadoRuntime().getDriverIndex(JVMDriver.class);
+    }
+
+    @Override
+    public int getDevicePlatform() {
+        return 0;
+    }
+
+    public Event resolveEvent(int event) {
+        return EMPTY_EVENT;
+    }
+
+    public void reset() {
+        codeCache.values().forEach(JVMInstalledCode::invalidate);
+        codeCache.clear();
+        wasReset = true;
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.jvm;
+
+import org.graalvm.compiler.options.OptionValues;
+import org.graalvm.compiler.phases.util.Providers;
+
+import uk.ac.manchester.tornado.api.common.TornadoDevice;
+import uk.ac.manchester.tornado.api.enums.TornadoDeviceType;
+import uk.ac.manchester.tornado.api.enums.TornadoVMBackendType;
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+import uk.ac.manchester.tornado.drivers.jvm.graal.JVMBackend;
+import uk.ac.manchester.tornado.runtime.TornadoAcceleratorDriver;
+import uk.ac.manchester.tornado.runtime.common.TornadoAcceleratorDevice;
+import uk.ac.manchester.tornado.runtime.common.TornadoLogger;
+import uk.ac.manchester.tornado.runtime.graal.compiler.TornadoSuitesProvider;
+
+/**
+ * Driver of the host CPU. It exposes a single device that runs the tasks in
+ * the JVM, with the parallel loops split across the cores. The tasks are
+ * compiled by the host Graal compiler, so no accelerator or native library is
+ * needed.
+ */
+public final class JVMDriver extends TornadoLogger implements TornadoAcceleratorDriver {
+
+    private final JVMBackend backend;
+
+    public JVMDriver(final OptionValues options) {
+        JVMDeviceContext deviceContext = new JVMDeviceContext(new JVMTargetDevice(0));
+        info("JVM: Creating backend for %s", deviceContext.getDevice().getDeviceName());
+        backend = new JVMBackend(options, deviceContext);
+    }
+
+    @Override
+    public Providers getProviders() {
+        return getDefaultBackend().getProviders();
+    }
+
+    @Override
+    public TornadoSuitesProvider getSuitesProvider() {
+        return getDefaultBackend().getTornadoSuites();
+    }
+
+    @Override
+    public JVMBackend getDefaultBackend() {
+        if (!backend.isInitialised()) {
+            backend.init();
+        }
+        return backend;
+    }
+
+    @Override
+    public TornadoDevice getDefaultDevice() {
+        return getDefaultBackend().getDeviceContext().asMapping();
+    }
+
+    @Override
+    public void setDefaultDevice(int index) {
+        if (index != 0) {
+            throw new TornadoRuntimeException("[ERROR]-[JVM-DRIVER] Device required not found: " + index + " - Max: 1");
+        }
+    }
+
+    @Override
+    public int getDeviceCount() {
+        return 1;
+    }
+
+    @Override
+    public TornadoAcceleratorDevice getDevice(int index) {
+        if (index == 0) {
+            return getDefaultBackend().getDeviceContext().asMapping();
+        } else {
+            throw new TornadoRuntimeException("[ERROR]-[JVM-DRIVER] Device required not found: " + index + " - Max: 1");
+        }
+    }
+
+    @Override
+    public TornadoDeviceType getTypeDefaultDevice() {
+        return TornadoDeviceType.CPU;
+    }
+
+    @Override
+    public String getName() {
+        return "JVM";
+    }
+
+    @Override
+    public TornadoVMBackendType getBackendType() {
+        return TornadoVMBackendType.JAVA;
+    }
+
+    @Override
+    public int getNumPlatforms() {
+        return 1;
+    }
+
+    public JVMBackend getBackend() {
+        return getDefaultBackend();
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.jvm;
+
+import uk.ac.manchester.tornado.api.TornadoTargetDevice;
+import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
+
+/**
+ * The host CPU, as seen by the JVM. The compute units are the worker threads
+ * of the device, and the memory is the Java heap.
+ */
+public class JVMTargetDevice implements TornadoTargetDevice {
+
+    private final int deviceIndex;
+    private final int numThreads;
+
+    public JVMTargetDevice(int deviceIndex) {
+        this.deviceIndex = deviceIndex;
+        this.numThreads = Math.max(1, TornadoOptions.JVM_BACKEND_THREADS);
+    }
+
+    public int getDeviceIndex() {
+        return deviceIndex;
+    }
+
+    @Override
+    public String getDeviceName() {
+        return String.format("JVM %s (%d threads)", System.getProperty("os.arch"), numThreads);
+    }
+
+    @Override
+    public long getDeviceGlobalMemorySize() {
+        return Runtime.getRuntime().maxMemory();
+    }
+
+    @Override
+    public long getDeviceLocalMemorySize() {
+        return 0;
+    }
+
+    @Override
+    public int getDeviceMaxComputeUnits() {
+        return numThreads;
+    }
+
+    @Override
+    public long[] getDeviceMaxWorkItemSizes() {
+        return new long[] { numThreads, 1, 1 };
+    }
+
+    @Override
+    public long[] getDeviceMaxWorkGroupSize() {
+        return new long[] { 1 };
+    }
+
+    @Override
+    public int getMaxThreadsPerBlock() {
+        return 1;
+    }
+
+    @Override
+    public int getDeviceMaxClockFrequency() {
+        return 0;
+    }
+
+    @Override
+    public long getDeviceMaxConstantBufferSize() {
+        return Runtime.getRuntime().maxMemory();
+    }
+
+    @Override
+    public long getDeviceMaxAllocationSize() {
+        return Runtime.getRuntime().maxMemory();
+    }
+
+    @Override
+    public String getDeviceInfo() {
+        return String.format("%s %s, %s", System.getProperty("java.vm.name"), System.getProperty("java.vm.version"), getDeviceName());
+    }
+}
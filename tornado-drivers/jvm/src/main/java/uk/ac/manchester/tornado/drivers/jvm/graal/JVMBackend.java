@@ -0,0 +1,167 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.jvm.graal;
+
+import static uk.ac.manchester.tornado.api.exceptions.TornadoInternalError.unimplemented;
+
+import org.graalvm.compiler.api.runtime.GraalJVMCICompiler;
+import org.graalvm.compiler.code.CompilationResult;
+import org.graalvm.compiler.core.common.CompilationIdentifier;
+import org.graalvm.compiler.core.common.alloc.RegisterAllocationConfig;
+import org.graalvm.compiler.core.target.Backend;
+import org.graalvm.compiler.lir.LIR;
+import org.graalvm.compiler.lir.asm.CompilationResultBuilder;
+import org.graalvm.compiler.lir.framemap.FrameMapBuilder;
+import org.graalvm.compiler.lir.framemap.ReferenceMapBuilder;
+import org.graalvm.compiler.lir.gen.LIRGenerationResult;
+import org.graalvm.compiler.lir.gen.LIRGeneratorTool;
+import org.graalvm.compiler.nodes.StructuredGraph;
+import org.graalvm.compiler.nodes.spi.NodeLIRBuilderTool;
+import org.graalvm.compiler.options.OptionValues;
+import org.graalvm.compiler.phases.tiers.SuitesProvider;
+import org.graalvm.compiler.phases.util.Providers;
+import org.graalvm.compiler.runtime.RuntimeProvider;
+
+import jdk.vm.ci.code.CompilationRequest;
+import jdk.vm.ci.code.CompiledCode;
+import jdk.vm.ci.code.RegisterConfig;
+import jdk.vm.ci.meta.ResolvedJavaMethod;
+import jdk.vm.ci.runtime.JVMCI;
+import uk.ac.manchester.tornado.api.exceptions.TornadoInternalError;
+import uk.ac.manchester.tornado.api.profiler.TornadoProfiler;
+import uk.ac.manchester.tornado.drivers.common.utils.BackendDeopt;
+import uk.ac.manchester.tornado.drivers.jvm.JVMDeviceContext;
+import uk.ac.manchester.tornado.runtime.graal.backend.TornadoBackend;
+import uk.ac.manchester.tornado.runtime.graal.compiler.TornadoSuitesProvider;
+
+/**
+ * Backend of the host device. It reuses the providers of the host Graal
+ * backend, which builds the sketches and compiles the code of the tasks, so
+ * there is no LIR generation of its own.
+ */
+public class JVMBackend extends TornadoBackend<Providers> {
+
+    private final JVMDeviceContext deviceContext;
+    private final JVMSuitesProvider suitesProvider;
+    private boolean isInitialised;
+
+    public JVMBackend(OptionValues options, JVMDeviceContext deviceContext) {
+        super(getHostBackend().getProviders());
+        this.deviceContext = deviceContext;
+        this.suitesProvider = new JVMSuitesProvider(options);
+        isInitialised = false;
+    }
+
+    private static Backend getHostBackend() {
+        GraalJVMCICompiler graalCompiler = (GraalJVMCICompiler) JVMCI.getRuntime().getCompiler();
+        return graalCompiler.getGraalRuntime().getCapability(RuntimeProvider.class).getHostBackend();
+    }
+
+    @Override
+    public String decodeDeopt(long value) {
+        return BackendDeopt.decodeDeopt(value, getProviders());
+    }
+
+    @Override
+    public SuitesProvider getSuites() {
+        return null;
+    }
+
+    @Override
+    protected CompiledCode createCompiledCode(ResolvedJavaMethod method, CompilationRequest compilationRequest, CompilationResult compilationResult, boolean isDefault, OptionValues options) {
+        unimplemented("Create compiled code method in JVMBackend not implemented yet.");
+        return null;
+    }
+
+    @Override
+    public ReferenceMapBuilder newReferenceMapBuilder(int totalFrameSize) {
+        return null;
+    }
+
+    @Override
+    public TornadoSuitesProvider getTornadoSuites() {
+        return suitesProvider;
+    }
+
+    @Override
+    public boolean isInitialised() {
+        return isInitialised;
+    }
+
+    @Override
+    public void init() {
+        if (isInitialised) {
+            return;
+        }
+
+        isInitialised = true;
+    }
+
+    @Override
+    public int getMethodIndex() {
+        return 0;
+    }
+
+    /**
+     * The host device does not use extra buffers.
+     */
+    @Override
+    public void allocateTornadoVMBuffersOnDevice() {
+        TornadoInternalError.shouldNotReachHere("Should not allocate extra buffers on the device.");
+    }
+
+    @Override
+    public JVMDeviceContext getDeviceContext() {
+        return deviceContext;
+    }
+
+    @Override
+    public FrameMapBuilder newFrameMapBuilder(RegisterConfig registerConfig) {
+        unimplemented("The JVM backend does not generate LIR");
+        return null;
+    }
+
+    @Override
+    public LIRGenerationResult newLIRGenerationResult(CompilationIdentifier identifier, LIR lir, FrameMapBuilder frameMapBuilder, RegisterAllocationConfig registerAllocationConfig) {
+        unimplemented("The JVM backend does not generate LIR");
+        return null;
+    }
+
+    @Override
+    public NodeLIRBuilderTool newNodeLIRBuilder(StructuredGraph graph, LIRGeneratorTool lirGen) {
+        unimplemented("The JVM backend does not generate LIR");
+        return null;
+    }
+
+    @Override
+    public LIRGeneratorTool newLIRGenerator(LIRGenerationResult lirGenRes) {
+        unimplemented("The JVM backend does not generate LIR");
+        return null;
+    }
+
+    @Override
+    public void emitCode(CompilationResultBuilder crb, LIR lir, ResolvedJavaMethod method, TornadoProfiler profiler) {
+        unimplemented("The JVM backend does not generate LIR");
+    }
+}
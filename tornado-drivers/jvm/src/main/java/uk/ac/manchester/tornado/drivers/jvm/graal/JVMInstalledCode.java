@@ -0,0 +1,110 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.jvm.graal;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+import uk.ac.manchester.tornado.api.memory.ObjectBuffer;
+import uk.ac.manchester.tornado.api.profiler.ProfilerType;
+import uk.ac.manchester.tornado.drivers.jvm.JVMDeviceContext;
+import uk.ac.manchester.tornado.drivers.jvm.mm.JVMMemoryManager;
+import uk.ac.manchester.tornado.runtime.analyzer.MultiCoreJavaCode;
+import uk.ac.manchester.tornado.runtime.common.KernelArgs;
+import uk.ac.manchester.tornado.runtime.common.TornadoInstalledCode;
+import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
+import uk.ac.manchester.tornado.runtime.tasks.meta.TaskMetaData;
+
+/**
+ * Code of a task for the host device. The iterations of the outermost
+ * {@code @Parallel} loop are split across the threads of the pool of the
+ * device by a {@link MultiCoreJavaCode}.
+ */
+public class JVMInstalledCode implements TornadoInstalledCode {
+
+    private final JVMDeviceContext deviceContext;
+    private final MultiCoreJavaCode code;
+    private volatile boolean valid;
+
+    public JVMInstalledCode(String name, Method method, JVMDeviceContext deviceContext) {
+        this.deviceContext = deviceContext;
+        this.code = new MultiCoreJavaCode(name, method);
+        this.valid = true;
+    }
+
+    public String getName() {
+        return code.getName();
+    }
+
+    public boolean isParallel() {
+        return code.isParallel();
+    }
+
+    @Override
+    public int launchWithDependencies(KernelArgs callWrapper, ObjectBuffer atomicSpace, TaskMetaData meta, long batchThreads, int[] waitEvents) {
+        // The previous commands of the device are already completed
+        return launchWithoutDependencies(callWrapper, atomicSpace, meta, batchThreads);
+    }
+
+    @Override
+    public int launchWithoutDependencies(KernelArgs callWrapper, ObjectBuffer atomicSpace, TaskMetaData meta, long batchThreads) {
+        Object[] args = resolveArguments(callWrapper);
+        long start = System.nanoTime();
+        // The receiver of instance methods is the first captured variable
+        code.execute(args, deviceContext.getPool(), deviceContext.getDevice().getDeviceMaxComputeUnits());
+        long end = System.nanoTime();
+        updateProfiler(meta, end - start);
+        return -1;
+    }
+
+    private Object[] resolveArguments(KernelArgs callWrapper) {
+        JVMMemoryManager memoryManager = deviceContext.getMemoryManager();
+        List<KernelArgs.CallArgument> callArguments = callWrapper.getCallArguments();
+        Object[] args = new Object[callArguments.size()];
+        for (int i = 0; i < args.length; i++) {
+            KernelArgs.CallArgument argument = callArguments.get(i);
+            args[i] = argument.isReferenceType() ? memoryManager.lookup((Long) argument.getValue()) : argument.getValue();
+        }
+        return args;
+    }
+
+    private static void updateProfiler(TaskMetaData meta, long elapsed) {
+        if (TornadoOptions.isProfilerEnabled()) {
+            long timer = meta.getProfiler().getTimer(ProfilerType.TOTAL_KERNEL_TIME);
+            meta.getProfiler().setTimer(ProfilerType.TOTAL_KERNEL_TIME, timer + elapsed);
+            meta.getProfiler().setTaskTimer(ProfilerType.TASK_KERNEL_TIME, meta.getId(), elapsed);
+        }
+    }
+
+    @Override
+    public boolean isValid() {
+        return valid;
+    }
+
+    @Override
+    public void invalidate() {
+        valid = false;
+        code.invalidate();
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.jvm.mm;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+import uk.ac.manchester.tornado.api.exceptions.TornadoMemoryException;
+import uk.ac.manchester.tornado.api.memory.TornadoMemoryProvider;
+import uk.ac.manchester.tornado.runtime.common.TornadoLogger;
+
+/**
+ * Memory of the host device. The device shares the Java heap with the host, so
+ * the buffers are the host objects themselves. Each allocated object gets a
+ * handle, which is the value that the TornadoVM interpreter passes as the
+ * buffer of a reference argument when it launches a task.
+ */
+public class JVMMemoryManager extends TornadoLogger implements TornadoMemoryProvider {
+
+    private final IdentityHashMap<Object, Long> handles = new IdentityHashMap<>();
+    private final List<Object> objects = new ArrayList<>();
+    private final List<Integer> references = new ArrayList<>();
+    private final List<Integer> freeHandles = new ArrayList<>();
+
+    @Override
+    public long getHeapSize() {
+        return Runtime.getRuntime().maxMemory();
+    }
+
+    public JVMKernelArgs createCallWrapper(final int maxArgs) {
+        return new JVMKernelArgs(maxArgs);
+    }
+
+    /**
+     * It returns the handle of an object, and registers the object if it does not
+     * have one yet. An object gets the same handle until all its buffers are
+     * released.
+     */
+    public synchronized long register(Object object) {
+        Long handle = handles.get(object);
+        if (handle == null) {
+            int index;
+            if (freeHandles.isEmpty()) {
+                index = objects.size();
+                objects.add(object);
+                references.add(0);
+            } else {
+                index = freeHandles.removeLast();
+                objects.set(index, object);
+            }
+            handle = (long) index;
+            handles.put(object, handle);
+        }
+        int index = handle.intValue();
+        references.set(index, references.get(index) + 1);
+        return handle;
+    }
+
+    public synchronized void release(long handle) {
+        int index = (int) handle;
+        int count = references.get(index) - 1;
+        references.set(index, count);
+        if (count == 0) {
+            handles.remove(objects.get(index));
+            objects.set(index, null);
+            freeHandles.add(index);
+        }
+    }
+
+    public synchronized Object lookup(long handle) {
+        Object object = (handle >= 0 && handle < objects.size()) ? objects.get((int) handle) : null;
+        if (object == null) {
+            throw new TornadoMemoryException("[ERROR] Invalid buffer handle in the JVM device: " + handle);
+        }
+        return object;
+    }
+}
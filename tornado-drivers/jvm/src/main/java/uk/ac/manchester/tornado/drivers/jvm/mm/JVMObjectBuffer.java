@@ -0,0 +1,142 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.jvm.mm;
+
+import java.lang.reflect.Array;
+import java.util.List;
+
+import jdk.vm.ci.meta.JavaKind;
+import uk.ac.manchester.tornado.api.exceptions.TornadoMemoryException;
+import uk.ac.manchester.tornado.api.memory.ObjectBuffer;
+import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
+
+/**
+ * Buffer of the host device. The host device works on the objects of the Java
+ * heap, so there is nothing to copy: reads and writes are no-ops, and the
+ * buffer is a handle to the object.
+ */
+public class JVMObjectBuffer implements ObjectBuffer {
+
+    private final JVMMemoryManager memoryManager;
+    private long handle;
+    private long size;
+    private long subRegionSize;
+
+    public JVMObjectBuffer(JVMMemoryManager memoryManager) {
+        this.memoryManager = memoryManager;
+        this.handle = -1;
+    }
+
+    @Override
+    public long toBuffer() {
+        return handle;
+    }
+
+    /**
+     * Makes this buffer a handle to the object of another buffer. The object is
+     * registered again, so each buffer releases its own reference.
+     */
+    @Override
+    public void setBuffer(ObjectBufferWrapper bufferWrapper) {
+        if (bufferWrapper.bufferOffset != 0) {
+            throw new TornadoMemoryException("[ERROR] Sub-buffers with an offset are not supported by the JVM device: " + bufferWrapper.bufferOffset);
+        }
+        Object reference = memoryManager.lookup(bufferWrapper.buffer);
+        deallocate();
+        handle = memoryManager.register(reference);
+        size = sizeOf(reference);
+    }
+
+    @Override
+    public long getBufferOffset() {
+        return 0;
+    }
+
+    @Override
+    public void read(Object reference) {
+    }
+
+    @Override
+    public int read(Object reference, long hostOffset, long partialReadSize, int[] events, boolean useDeps) {
+        return -1;
+    }
+
+    @Override
+    public void write(Object reference) {
+    }
+
+    @Override
+    public int enqueueRead(Object reference, long hostOffset, int[] events, boolean useDeps) {
+        return -1;
+    }
+
+    @Override
+    public List<Integer> enqueueWrite(Object reference, long batchSize, long hostOffset, int[] events, boolean useDeps) {
+        return null;
+    }
+
+    @Override
+    public void allocate(Object reference, long batchSize) {
+        if (handle != -1) {
+            memoryManager.release(handle);
+        }
+        handle = memoryManager.register(reference);
+        size = sizeOf(reference);
+        if (batchSize > 0) {
+            subRegionSize = batchSize;
+        }
+    }
+
+    @Override
+    public void deallocate() {
+        if (handle != -1) {
+            memoryManager.release(handle);
+            handle = -1;
+        }
+    }
+
+    @Override
+    public long size() {
+        return size;
+    }
+
+    @Override
+    public void setSizeSubRegion(long batchSize) {
+        this.subRegionSize = batchSize;
+    }
+
+    @Override
+    public long getSizeSubRegionSize() {
+        return subRegionSize;
+    }
+
+    private static long sizeOf(Object reference) {
+        if (reference instanceof TornadoNativeArray nativeArray) {
+            return nativeArray.getNumBytesOfSegment();
+        } else if (reference.getClass().isArray() && reference.getClass().getComponentType().isPrimitive()) {
+            return (long) Array.getLength(reference) * JavaKind.fromJavaClass(reference.getClass().getComponentType()).getByteCount();
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,431 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.jvm.runtime;
+
+import static uk.ac.manchester.tornado.drivers.jvm.JVMDeviceContext.buildKernelName;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jdk.vm.ci.meta.ResolvedJavaMethod;
+import uk.ac.manchester.tornado.api.KernelContext;
+import uk.ac.manchester.tornado.api.TornadoTargetDevice;
+import uk.ac.manchester.tornado.api.common.Access;
+import uk.ac.manchester.tornado.api.common.Event;
+import uk.ac.manchester.tornado.api.common.SchedulableTask;
+import uk.ac.manchester.tornado.api.enums.TornadoDeviceType;
+import uk.ac.manchester.tornado.api.enums.TornadoVMBackendType;
+import uk.ac.manchester.tornado.api.exceptions.TornadoBailoutRuntimeException;
+import uk.ac.manchester.tornado.api.exceptions.TornadoInternalError;
+import uk.ac.manchester.tornado.api.memory.ObjectBuffer;
+import uk.ac.manchester.tornado.api.memory.TornadoDeviceObjectState;
+import uk.ac.manchester.tornado.api.memory.TornadoMemoryProvider;
+import uk.ac.manchester.tornado.api.profiler.ProfilerType;
+import uk.ac.manchester.tornado.api.profiler.TornadoProfiler;
+import uk.ac.manchester.tornado.drivers.jvm.JVMDeviceContext;
+import uk.ac.manchester.tornado.drivers.jvm.JVMDriver;
+import uk.ac.manchester.tornado.drivers.jvm.graal.JVMBackend;
+import uk.ac.manchester.tornado.drivers.jvm.graal.JVMInstalledCode;
+import uk.ac.manchester.tornado.drivers.jvm.mm.JVMObjectBuffer;
+import uk.ac.manchester.tornado.runtime.TornadoCoreRuntime;
+import uk.ac.manchester.tornado.runtime.common.DeviceObjectState;
+import uk.ac.manchester.tornado.runtime.common.KernelArgs;
+import uk.ac.manchester.tornado.runtime.common.TornadoAcceleratorDevice;
+import uk.ac.manchester.tornado.runtime.common.TornadoInstalledCode;
+import uk.ac.manchester.tornado.runtime.common.TornadoSchedulingStrategy;
+import uk.ac.manchester.tornado.runtime.sketcher.Sketch;
+import uk.ac.manchester.tornado.runtime.sketcher.TornadoSketcher;
+import uk.ac.manchester.tornado.runtime.tasks.CompilableTask;
+import uk.ac.manchester.tornado.runtime.tasks.PrebuiltTask;
+import uk.ac.manchester.tornado.runtime.tasks.meta.TaskMetaData;
+
+/**
+ * Device of the JVM backend. The objects are shared with the host, so the
+ * allocations only register the objects in the memory manager, and the copies
+ * are no-ops. Batch processing is not supported.
+ */
+public class JVMTornadoDevice implements TornadoAcceleratorDevice {
+
+    private static JVMDriver driver = null;
+    private final int deviceIndex;
+
+    public JVMTornadoDevice(final int deviceIndex) {
+        this.deviceIndex = deviceIndex;
+        driver = TornadoCoreRuntime.getTornadoRuntime().getDriver(JVMDriver.class);
+        if (driver == null) {
+            throw new RuntimeException("TornadoVM JVM Driver not found");
+        }
+    }
+
+    @Override
+    public TornadoSchedulingStrategy getPreferredSchedule() {
+        return TornadoSchedulingStrategy.PER_BLOCK;
+    }
+
+    @Override
+    public KernelArgs createCallWrapper(int numArgs) {
+        return getDeviceContext().getMemoryManager().createCallWrapper(numArgs);
+    }
+
+    @Override
+    public ObjectBuffer createOrReuseAtomicsBuffer(int[] arr) {
+        return null;
+    }
+
+    @Override
+    public int[] checkAtomicsForTask(SchedulableTask task) {
+        return null;
+    }
+
+    @Override
+    public int[] checkAtomicsForTask(SchedulableTask task, int[] array, int paramIndex, Object value) {
+        return null;
+    }
+
+    @Override
+    public int[] updateAtomicRegionAndObjectState(SchedulableTask task, int[] array, int paramIndex, Object value, DeviceObjectState objectState) {
+        return null;
+    }
+
+    @Override
+    public int getAtomicsGlobalIndexForTask(SchedulableTask task, int paramIndex) {
+        return -1;
+    }
+
+    @Override
+    public boolean checkAtomicsParametersForTask(SchedulableTask task) {
+        return false;
+    }
+
+    @Override
+    public TornadoInstalledCode installCode(SchedulableTask task) {
+        return switch (task) {
+            case CompilableTask compilableTask -> compileTask(compilableTask);
+            case PrebuiltTask prebuiltTask -> throw new TornadoBailoutRuntimeException("[JVM] Prebuilt tasks are not supported by the JVM backend: " + prebuiltTask.getId());
+            default -> throw new TornadoInternalError("task of unknown type: " + task.getClass().getSimpleName());
+        };
+    }
+
+    private TornadoInstalledCode compileTask(CompilableTask executable) {
+        TornadoProfiler profiler = executable.getProfiler();
+        final JVMDeviceContext deviceContext = getDeviceContext();
+
+        for (Class<?> type : executable.getMethod().getParameterTypes()) {
+            if (type == KernelContext.class) {
+                throw new TornadoBailoutRuntimeException("[JVM] Tasks with a KernelContext are not supported by the JVM backend: " + executable.getId());
+            }
+        }
+
+        final ResolvedJavaMethod resolvedMethod = TornadoCoreRuntime.getTornadoRuntime().resolveMethod(executable.getMethod());
+        final Sketch sketch = TornadoSketcher.lookup(resolvedMethod, executable.meta().getDriverIndex(), executable.meta().getDeviceIndex());
+
+        // copy meta data into task
+        final TaskMetaData taskMeta = executable.meta();
+        final Access[] sketchAccess = sketch.getArgumentsAccess();
+        final Access[] taskAccess = taskMeta.getArgumentsAccess();
+        System.arraycopy(sketchAccess, 0, taskAccess, 0, sketchAccess.length);
+
+        final String kernelName = buildKernelName(resolvedMethod.getName(), executable);
+        if (deviceContext.isCached(resolvedMethod.getName(), executable)) {
+            return deviceContext.getInstalledCode(kernelName);
+        }
+
+        try {
+            profiler.start(ProfilerType.TASK_COMPILE_GRAAL_TIME, taskMeta.getId());
+            JVMInstalledCode installedCode = new JVMInstalledCode(kernelName, executable.getMethod(), deviceContext);
+            profiler.stop(ProfilerType.TASK_COMPILE_GRAAL_TIME, taskMeta.getId());
+            profiler.sum(ProfilerType.TOTAL_GRAAL_COMPILE_TIME, profiler.getTaskTimer(ProfilerType.TASK_COMPILE_GRAAL_TIME, taskMeta.getId()));
+            return deviceContext.installCode(kernelName, installedCode);
+        } catch (Exception e) {
+            driver.fatal("unable to compile %s for device %s\n", executable.getId(), getDeviceName());
+            driver.fatal("exception occurred when compiling %s\n", executable.getMethod().getName());
+            throw new TornadoBailoutRuntimeException("[Error During the Task Compilation] ", e);
+        }
+    }
+
+    @Override
+    public boolean isFullJITMode(SchedulableTask task) {
+        return true;
+    }
+
+    @Override
+    public TornadoInstalledCode getCodeFromCache(SchedulableTask task) {
+        if (task instanceof CompilableTask compilableTask) {
+            ResolvedJavaMethod resolvedMethod = TornadoCoreRuntime.getTornadoRuntime().resolveMethod(compilableTask.getMethod());
+            return getDeviceContext().getInstalledCode(buildKernelName(resolvedMethod.getName(), task));
+        }
+        return null;
+    }
+
+    @Override
+    public int allocateObjects(Object[] objects, long batchSize, TornadoDeviceObjectState[] states) {
+        for (int i = 0; i < objects.length; i++) {
+            allocate(objects[i], batchSize, states[i]);
+        }
+        return -1;
+    }
+
+    /**
+     * The kernels of the JVM backend always run over the whole objects, so the
+     * chunks of a batch cannot be processed separately.
+     */
+    private static void checkNotBatched(long batchSize, long hostOffset) {
+        if (batchSize > 0 || hostOffset > 0) {
+            throw new TornadoBailoutRuntimeException("[JVM] Batch processing is not supported by the JVM backend");
+        }
+    }
+
+    @Override
+    public int allocate(Object object, long batchSize, TornadoDeviceObjectState state) {
+        checkNotBatched(batchSize, 0);
+        final ObjectBuffer buffer;
+        if (!state.hasObjectBuffer() || !state.isLockedBuffer()) {
+            TornadoInternalError.guarantee(state.isAtomicRegionPresent() || !state.hasObjectBuffer(), "A device memory leak might be occurring.");
+            buffer = new JVMObjectBuffer(getDeviceContext().getMemoryManager());
+            state.setObjectBuffer(buffer);
+            buffer.allocate(object, batchSize);
+        } else {
+            buffer = state.getObjectBuffer();
+        }
+        return -1;
+    }
+
+    @Override
+    public int deallocate(TornadoDeviceObjectState state) {
+        if (state.isLockedBuffer()) {
+            return -1;
+        }
+
+        state.getObjectBuffer().deallocate();
+        state.setContents(false);
+        state.setObjectBuffer(null);
+        return -1;
+    }
+
+    @Override
+    public List<Integer> ensurePresent(Object object, TornadoDeviceObjectState objectState, int[] events, long batchSize, long hostOffset) {
+        checkNotBatched(batchSize, hostOffset);
+        objectState.setContents(true);
+        return null;
+    }
+
+    @Override
+    public List<Integer> streamIn(Object object, long batchSize, long hostOffset, TornadoDeviceObjectState objectState, int[] events) {
+        checkNotBatched(batchSize, hostOffset);
+        objectState.setContents(true);
+        return null;
+    }
+
+    @Override
+    public int streamOut(Object object, long hostOffset, TornadoDeviceObjectState objectState, int[] events) {
+        checkNotBatched(0, hostOffset);
+        TornadoInternalError.guarantee(objectState.hasObjectBuffer(), "invalid variable");
+        return -1;
+    }
+
+    @Override
+    public int streamOutBlocking(Object object, long hostOffset, TornadoDeviceObjectState objectState, int[] events) {
+        checkNotBatched(0, hostOffset);
+        TornadoInternalError.guarantee(objectState.hasObjectBuffer(), "invalid variable");
+        return -1;
+    }
+
+    @Override
+    public Event resolveEvent(int event) {
+        return getDeviceContext().resolveEvent(event);
+    }
+
+    @Override
+    public void ensureLoaded() {
+    }
+
+    @Override
+    public void flushEvents() {
+    }
+
+    @Override
+    public int enqueueBarrier() {
+        return -1;
+    }
+
+    @Override
+    public int enqueueBarrier(int[] events) {
+        return -1;
+    }
+
+    @Override
+    public int enqueueMarker() {
+        return -1;
+    }
+
+    @Override
+    public int enqueueMarker(int[] events) {
+        return -1;
+    }
+
+    @Override
+    public void sync() {
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj instanceof JVMTornadoDevice other) {
+            return (other.deviceIndex == deviceIndex);
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 7;
+        hash = 89 * hash + this.deviceIndex;
+        return hash;
+    }
+
+    @Override
+    public void reset() {
+        getDeviceContext().reset();
+    }
+
+    @Override
+    public void dumpEvents() {
+    }
+
+    @Override
+    public String getDeviceName() {
+        return "jvm-" + deviceIndex;
+    }
+
+    @Override
+    public String getDescription() {
+        return String.format("%s %s", getPhysicalDevice().getDeviceName(), getDeviceType());
+    }
+
+    @Override
+    public String getPlatformName() {
+        return "JVM";
+    }
+
+    @Override
+    public JVMDeviceContext getDeviceContext() {
+        return getBackend().getDeviceContext();
+    }
+
+    public JVMBackend getBackend() {
+        return driver.getBackend();
+    }
+
+    @Override
+    public TornadoTargetDevice getPhysicalDevice() {
+        return getDeviceContext().getDevice();
+    }
+
+    @Override
+    public TornadoMemoryProvider getMemoryProvider() {
+        return getDeviceContext().getMemoryManager();
+    }
+
+    @Override
+    public TornadoDeviceType getDeviceType() {
+        return TornadoDeviceType.CPU;
+    }
+
+    @Override
+    public long getMaxAllocMemory() {
+        return getDeviceContext().getDevice().getDeviceMaxAllocationSize();
+    }
+
+    @Override
+    public long getMaxGlobalMemory() {
+        return getDeviceContext().getDevice().getDeviceGlobalMemorySize();
+    }
+
+    @Override
+    public long getDeviceLocalMemorySize() {
+        return getDeviceContext().getDevice().getDeviceLocalMemorySize();
+    }
+
+    @Override
+    public long[] getDeviceMaxWorkgroupDimensions() {
+        return getDeviceContext().getDevice().getDeviceMaxWorkItemSizes();
+    }
+
+    @Override
+    public String getDeviceOpenCLCVersion() {
+        return "N/A";
+    }
+
+    @Override
+    public Object getDeviceInfo() {
+        return getDeviceContext().getDevice().getDeviceInfo();
+    }
+
+    @Override
+    public int getDriverIndex() {
+        return TornadoCoreRuntime.getTornadoRuntime().getDriverIndex(JVMDriver.class);
+    }
+
+    @Override
+    public int getAvailableProcessors() {
+        return getDeviceContext().getDevice().getDeviceMaxComputeUnits();
+    }
+
+    @Override
+    public Object getAtomic() {
+        return null;
+    }
+
+    @Override
+    public void setAtomicsMapping(ConcurrentHashMap<Object, Integer> mappingAtomics) {
+
+    }
+
+    @Override
+    public TornadoVMBackendType getTornadoVMBackend() {
+        return TornadoVMBackendType.JAVA;
+    }
+
+    @Override
+    public boolean isSPIRVSupported() {
+        return false;
+    }
+
+    @Override
+    public void enableThreadSharing() {
+    }
+
+    @Override
+    public void setAtomicRegion(ObjectBuffer bufferAtomics) {
+
+    }
+
+    @Override
+    public String toString() {
+        return getPlatformName() + " -- " + getPhysicalDevice().getDeviceName();
+    }
+}
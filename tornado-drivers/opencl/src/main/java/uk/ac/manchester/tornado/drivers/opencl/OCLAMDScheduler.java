@@ -24,12 +24,14 @@
 package uk.ac.manchester.tornado.drivers.opencl;
 
 import uk.ac.manchester.tornado.api.WorkerGrid;
+import uk.ac.manchester.tornado.runtime.common.RuntimeUtilities;
+import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 import uk.ac.manchester.tornado.runtime.tasks.meta.TaskMetaData;
 
 public class OCLAMDScheduler extends OCLKernelScheduler {
 
     private static final int WARP_SIZE = 64;
-    private boolean ADJUST_IRREGULAR = false;
+    private static final boolean ADJUST_IRREGULAR = TornadoOptions.PAD_GLOBAL_WORK;
 
     private final long[] maxWorkItemSizes;
 
@@ -57,9 +59,9 @@ public class OCLAMDScheduler extends OCLKernelScheduler {
         final long[] globalWork = meta.getGlobalWork();
         for (int i = 0; i < meta.getDims(); i++) {
             long value = (batchThreads <= 0) ? (long) (meta.getDomain().get(i).cardinality()) : batchThreads;
-            // adjust for irregular problem sizes
-            if (ADJUST_IRREGULAR && (value % WARP_SIZE != 0)) {
-                value = ((value / WARP_SIZE) + 1) * WARP_SIZE;
+            // adjust for irregular problem sizes. Only the first dimension is padded
+            if (i == 0 && ADJUST_IRREGULAR && !meta.enableThreadCoarsener()) {
+                value = RuntimeUtilities.padGlobalWork(value, RuntimeUtilities.getPaddedGroupSize(WARP_SIZE, maxWorkItemSizes[0]));
             }
             globalWork[i] = value;
         }
@@ -44,12 +44,18 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
 import java.util.StringJoiner;
 import java.util.StringTokenizer;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import jdk.vm.ci.meta.ResolvedJavaMethod;
 
 import uk.ac.manchester.tornado.api.exceptions.TornadoBailoutRuntimeException;
 import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
 import uk.ac.manchester.tornado.drivers.opencl.enums.OCLBuildStatus;
 import uk.ac.manchester.tornado.drivers.opencl.enums.OCLDeviceType;
 import uk.ac.manchester.tornado.drivers.opencl.exceptions.OCLException;
@@ -57,6 +63,9 @@ import uk.ac.manchester.tornado.drivers.opencl.graal.OCLInstalledCode;
 import uk.ac.manchester.tornado.runtime.common.RuntimeUtilities;
 import uk.ac.manchester.tornado.runtime.common.Tornado;
 import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
+import uk.ac.manchester.tornado.runtime.domain.DomainTree;
+import uk.ac.manchester.tornado.runtime.domain.LoopBound;
+import uk.ac.manchester.tornado.runtime.tasks.CompilableTask;
 import uk.ac.manchester.tornado.runtime.tasks.meta.TaskMetaData;
 
 public class OCLCodeCache {
@@ -92,6 +101,15 @@ public class OCLCodeCache {
     private final boolean PRINT_WARNINGS = false;
     private final ConcurrentHashMap<String, OCLInstalledCode> cache;
     private final OCLDeviceContextInterface deviceContext;
+    private final OCLKernelCache kernelCache;
+    /**
+     * Kernels compiled with dynamic loop bounds. They are shared by all the tasks
+     * that run the same method with the same specialisation, except for the sizes
+     * passed at runtime.
+     */
+    private final ConcurrentHashMap<String, DynamicKernel> dynamicKernels;
+    // Method -> parameters whose sizes are passed at runtime
+    private final ConcurrentHashMap<String, Set<Integer>> dynamicParameters;
     private String fpgaName;
     private String fpgaCompiler;
     private String compilationFlags;
@@ -108,8 +126,12 @@ public class OCLCodeCache {
     public OCLCodeCache(OCLDeviceContextInterface deviceContext) {
         this.deviceContext = deviceContext;
         cache = new ConcurrentHashMap<>();
+        dynamicKernels = new ConcurrentHashMap<>();
+        dynamicParameters = new ConcurrentHashMap<>();
         pendingTasks = new ConcurrentHashMap<>();
         linkObjectFiles = new ArrayList<>();
+        // FPGA bitstreams are handled by the tornado.opencl.codecache.enable path
+        kernelCache = (OCLKernelCache.PERSISTENT_CACHE_ENABLE && !deviceContext.isPlatformFPGA()) ? new OCLKernelCache() : null;
 
         if (deviceContext.isPlatformFPGA()) {
             precompiledBinariesPerDevice = new HashMap<>();
@@ -563,11 +585,18 @@ public class OCLCodeCache {
         info("Installing code for %s into code cache", entryPoint);
 
         boolean isSPIRVBinary = isInputSourceSPIRVBinary(source);
-        final OCLProgram program;
-        if (isSPIRVBinary) {
-            program = deviceContext.createProgramWithIL(source, new long[] { source.length });
-        } else {
-            program = deviceContext.createProgramWithSource(source, new long[] { source.length });
+
+        // Reuse the binary built by the driver in a previous run for the same source
+        final String binaryKey = shouldUseBinaryCache(isSPIRVBinary) ? OCLKernelCache.createBinaryKey(source, meta.getCompilerFlags(), deviceContext.getDevice()) : null;
+        OCLProgram program = (binaryKey != null) ? installCachedBinary(meta, binaryKey, entryPoint) : null;
+        final boolean isBinaryCached = program != null;
+
+        if (!isBinaryCached) {
+            if (isSPIRVBinary) {
+                program = deviceContext.createProgramWithIL(source, new long[] { source.length });
+            } else {
+                program = deviceContext.createProgramWithSource(source, new long[] { source.length });
+            }
         }
 
         if (OPENCL_DUMP_SOURCE) {
@@ -589,7 +618,9 @@ public class OCLCodeCache {
         }
 
         final long t0 = System.nanoTime();
-        program.build(meta.getCompilerFlags());
+        if (!isBinaryCached) {
+            program.build(meta.getCompilerFlags());
+        }
         final long t1 = System.nanoTime();
 
         final OCLBuildStatus status = program.getStatus(deviceContext.getDeviceId());
@@ -638,6 +669,10 @@ public class OCLCodeCache {
             }
             cache.put(STR."\{id}-\{entryPoint}", code);
 
+            if (binaryKey != null && !isBinaryCached) {
+                kernelCache.storeBinary(binaryKey, program.getBinary());
+            }
+
             // BUG Apple does not seem to like implementing the OpenCL spec
             // properly, this causes a SIGFAULT.
             if ((OPENCL_CACHE_ENABLE || OPENCL_DUMP_BINS) && !deviceContext.getPlatformContext().getPlatform().getVendor().equalsIgnoreCase("Apple")) {
@@ -652,6 +687,106 @@ public class OCLCodeCache {
         return code;
     }
 
+    private boolean shouldUseBinaryCache(boolean isSPIRVBinary) {
+        // Apple platforms crash when retrieving program binaries (see installSource)
+        return kernelCache != null && !isSPIRVBinary && !deviceContext.getPlatformContext().getPlatform().getVendor().equalsIgnoreCase("Apple");
+    }
+
+    /**
+     * It builds the program from a binary stored in the persistent kernel cache.
+     * It returns null if there is no binary for the key or if the driver rejects
+     * it, in which case the program is built from the source.
+     */
+    private OCLProgram installCachedBinary(TaskMetaData meta, String binaryKey, String entryPoint) {
+        final byte[] binary = kernelCache.lookupBinary(binaryKey);
+        if (binary == null) {
+            debug("\tkernel cache: binary miss for %s", entryPoint);
+            return null;
+        }
+        final OCLProgram program = deviceContext.createProgramWithBinary(binary, new long[] { binary.length });
+        if (program == null) {
+            return null;
+        }
+        program.build(meta.getCompilerFlags());
+        if (program.getStatus(deviceContext.getDeviceId()) != CL_BUILD_SUCCESS) {
+            warn("\tkernel cache: the driver rejected the cached binary for %s", entryPoint);
+            program.cleanup();
+            return null;
+        }
+        debug("\tkernel cache: binary hit for %s", entryPoint);
+        return program;
+    }
+
+    public OCLKernelCache getKernelCache() {
+        return kernelCache;
+    }
+
+    /**
+     * Kernel compiled with dynamic loop bounds, together with the loop bounds and
+     * the parallel domain discovered by the compiler.
+     */
+    public record DynamicKernel(OCLInstalledCode code, List<LoopBound> loopBounds, DomainTree domain) {
+    }
+
+    private static String getMethodKey(ResolvedJavaMethod method) {
+        return method.format("%H.%n(%p)");
+    }
+
+    /**
+     * It registers a kernel compiled with dynamic loop bounds, so that other tasks
+     * running the same method can reuse it for any input size.
+     */
+    public void storeDynamicKernel(ResolvedJavaMethod method, CompilableTask task, OCLInstalledCode code) {
+        final TaskMetaData meta = task.meta();
+        if (!meta.hasDomain()) {
+            return;
+        }
+        // The sizes of the arrays are not part of the kernel unless they were
+        // folded as constants
+        final Object[] args = task.getArguments();
+        final Set<Integer> parameters = meta.getLoopBounds().stream().map(LoopBound::parameterIndex).collect(Collectors.toSet());
+        for (int i = 0; i < args.length; i++) {
+            if ((args[i] instanceof TornadoNativeArray || (args[i] != null && args[i].getClass().isArray())) && !meta.getConstantSizeParameters().contains(i)) {
+                parameters.add(i);
+            }
+        }
+        final String key = OCLKernelCache.createDynamicKernelKey(method, task, parameters);
+        if (key == null) {
+            return;
+        }
+        dynamicParameters.put(getMethodKey(method), parameters);
+        dynamicKernels.put(key, new DynamicKernel(code, List.copyOf(meta.getLoopBounds()), meta.getDomain().copy()));
+    }
+
+    /**
+     * @return The kernel compiled with dynamic loop bounds for the method and
+     *     arguments of a task, or null if there is none.
+     */
+    public DynamicKernel lookupDynamicKernel(ResolvedJavaMethod method, CompilableTask task) {
+        final Set<Integer> parameters = dynamicParameters.get(getMethodKey(method));
+        if (parameters == null) {
+            return null;
+        }
+        final String key = OCLKernelCache.createDynamicKernelKey(method, task, parameters);
+        return (key != null) ? dynamicKernels.get(key) : null;
+    }
+
+    /**
+     * It installs a kernel compiled with dynamic loop bounds for a new task. The
+     * program is shared with the task that compiled it; only a new kernel object
+     * is created, so that each task sets its own arguments.
+     */
+    public OCLInstalledCode installDynamicKernel(TaskMetaData meta, String id, String entryPoint, DynamicKernel dynamicKernel) {
+        final OCLProgram program = dynamicKernel.code().getProgram();
+        final byte[] source = dynamicKernel.code().getCode();
+        if (meta.isPrintKernelEnabled()) {
+            RuntimeUtilities.dumpKernel(source);
+        }
+        final OCLInstalledCode code = new OCLInstalledCode(entryPoint, source, (OCLDeviceContext) deviceContext, program, program.getKernel(entryPoint), isInputSourceSPIRVBinary(source));
+        cache.put(STR."\{id}-\{entryPoint}", code);
+        return code;
+    }
+
     private OCLInstalledCode installBinary(String id, String entryPoint, byte[] binary) throws OCLException {
         info("Installing binary for %s into code cache", entryPoint);
 
@@ -735,6 +870,8 @@ public class OCLCodeCache {
             code.invalidate();
         }
         cache.clear();
+        dynamicKernels.clear();
+        dynamicParameters.clear();
     }
 
     public OCLInstalledCode installEntryPointForBinaryForFPGAs(String id, Path lookupPath, String entrypoint) {
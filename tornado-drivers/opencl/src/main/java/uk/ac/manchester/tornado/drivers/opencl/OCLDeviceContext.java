@@ -486,6 +486,10 @@ public class OCLDeviceContext extends TornadoLogger implements OCLDeviceContextI
         oclEventPool.retainEvent(localEventId);
     }
 
+    public void releaseEvent(int localEventId) {
+        oclEventPool.releaseEvent(localEventId);
+    }
+
     @Override
     public Event resolveEvent(int event) {
         if (event == -1) {
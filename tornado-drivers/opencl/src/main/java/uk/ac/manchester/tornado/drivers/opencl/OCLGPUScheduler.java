@@ -23,6 +23,8 @@
  */
 package uk.ac.manchester.tornado.drivers.opencl;
 
+import uk.ac.manchester.tornado.runtime.common.RuntimeUtilities;
+import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 import uk.ac.manchester.tornado.runtime.tasks.meta.TaskMetaData;
 
 public class OCLGPUScheduler extends OCLKernelScheduler {
@@ -31,7 +33,7 @@ public class OCLGPUScheduler extends OCLKernelScheduler {
     private long[] maxWorkGroupSize;
 
     private static final int WARP_SIZE = 32;
-    private boolean ADJUST_IRREGULAR = false;
+    private static final boolean ADJUST_IRREGULAR = TornadoOptions.PAD_GLOBAL_WORK;
 
     private final long[] maxWorkItemSizes;
 
@@ -50,8 +52,10 @@ public class OCLGPUScheduler extends OCLKernelScheduler {
 
         for (int i = 0; i < meta.getDims(); i++) {
             long value = (batchThreads <= 0) ? (long) (meta.getDomain().get(i).cardinality()) : batchThreads;
-            if (ADJUST_IRREGULAR && (value % WARP_SIZE != 0)) {
-                value = ((value / WARP_SIZE) + 1) * WARP_SIZE;
+            // Only the first dimension is padded: it is the one mapped to consecutive
+            // threads of a warp
+            if (i == 0 && ADJUST_IRREGULAR && !meta.enableThreadCoarsener()) {
+                value = RuntimeUtilities.padGlobalWork(value, RuntimeUtilities.getPaddedGroupSize(WARP_SIZE, calculateEffectiveMaxWorkItemSizes(meta)[0]));
             }
             globalWork[i] = value;
         }
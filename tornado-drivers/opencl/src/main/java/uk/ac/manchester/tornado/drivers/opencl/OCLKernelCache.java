@@ -0,0 +1,455 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.opencl;
+
+import static uk.ac.manchester.tornado.runtime.common.Tornado.debug;
+import static uk.ac.manchester.tornado.runtime.common.Tornado.getProperty;
+import static uk.ac.manchester.tornado.runtime.common.Tornado.warn;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import org.graalvm.compiler.nodes.Invoke;
+import org.graalvm.compiler.nodes.StructuredGraph;
+
+import jdk.vm.ci.meta.ResolvedJavaMethod;
+import uk.ac.manchester.tornado.runtime.common.RuntimeUtilities;
+import uk.ac.manchester.tornado.runtime.domain.DomainTree;
+import uk.ac.manchester.tornado.runtime.domain.IntDomain;
+import uk.ac.manchester.tornado.runtime.tasks.CompilableTask;
+import uk.ac.manchester.tornado.runtime.tasks.meta.TaskMetaData;
+
+/**
+ * Persistent, content-addressed cache of OpenCL kernels that survives across
+ * JVM runs. It keeps two kinds of entries:
+ *
+ * <ul>
+ * <li>Kernel entries: the OpenCL C generated by the JIT compiler for a task,
+ * together with its parallel domain. The key is built from the bytecode of the
+ * task (including inlined and called methods), the values the compiler
+ * specialises on (scalar arguments, array lengths and primitive fields), the
+ * device, the driver version, the compiler flags and the TornadoVM options. A
+ * hit skips the Graal compilation.</li>
+ * <li>Binary entries: the program binary built by the OpenCL driver for a
+ * given source, device and set of compiler flags. A hit skips the driver
+ * compilation.</li>
+ * </ul>
+ *
+ * <p>
+ * Each file stores the full key, which is verified on load, so a hash collision
+ * or a corrupted file is treated as a miss. The cache directory is bounded in
+ * size; when it grows over the limit, the least recently used entries are
+ * removed.
+ * </p>
+ *
+ * <p>
+ * Options:
+ * <ul>
+ * <li>{@code -Dtornado.opencl.codecache.persistent=True}: enables the
+ * cache.</li>
+ * <li>{@code -Dtornado.opencl.codecache.persistent.dir=<path>}: directory of the
+ * cache.</li>
+ * <li>{@code -Dtornado.opencl.codecache.persistent.maxSize=256MB}: maximum size
+ * of the cache.</li>
+ * </ul>
+ * </p>
+ */
+public class OCLKernelCache {
+
+    private static final String FALSE = "False";
+    public static final boolean PERSISTENT_CACHE_ENABLE = Boolean.parseBoolean(getProperty("tornado.opencl.codecache.persistent", FALSE));
+    private static final String PERSISTENT_CACHE_DIR = getProperty("tornado.opencl.codecache.persistent.dir", STR."\{System.getProperty("user.home")}/.tornadovm/opencl-kernel-cache");
+    private static final long PERSISTENT_CACHE_MAX_SIZE = RuntimeUtilities.parseSize(getProperty("tornado.opencl.codecache.persistent.maxSize", "256MB"));
+
+    private static final int MAGIC = 0x544F4B43;
+    private static final int FORMAT_VERSION = 1;
+    private static final String KERNEL_SUFFIX = ".kernel";
+    private static final String BINARY_SUFFIX = ".bin";
+    private static final int MAX_SPECIALISATION_DEPTH = 4;
+    private static final String COMPILER_FINGERPRINT = computeCompilerFingerprint();
+
+    /**
+     * Generated OpenCL C of a task and the parallel domain discovered by the
+     * compiler.
+     */
+    public record KernelEntry(byte[] source, DomainTree domain) {
+    }
+
+    private final Path directory;
+    private final long maxSize;
+
+    public OCLKernelCache() {
+        this(Paths.get(PERSISTENT_CACHE_DIR), PERSISTENT_CACHE_MAX_SIZE);
+    }
+
+    OCLKernelCache(Path directory, long maxSize) {
+        this.directory = directory;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * It builds the key of the generated code for a task. It returns null if the
+     * task cannot be cached, e.g., because one of the arguments can not be
+     * inspected.
+     */
+    public static String createKernelKey(StructuredGraph sketchGraph, CompilableTask task, OCLTargetDevice device) {
+        final TaskMetaData meta = task.meta();
+        final String specialisation;
+        try {
+            specialisation = fingerprintArguments(task.getArguments(), Set.of());
+        } catch (RuntimeException e) {
+            debug("kernel cache: arguments of task %s can not be inspected (%s)", task.getId(), e.getMessage());
+            return null;
+        }
+        final long batchThreads = (meta.getNumThreads() > 0) ? meta.getNumThreads() : task.getBatchThreads();
+
+        StringBuilder key = new StringBuilder();
+        key.append("format=").append(FORMAT_VERSION).append('\n');
+        key.append("compiler=").append(COMPILER_FINGERPRINT).append('\n');
+        key.append("method=").append(sketchGraph.method().format("%H.%n(%p)")).append('\n');
+        key.append("code=").append(fingerprintCode(sketchGraph)).append('\n');
+        key.append("specialisation=").append(specialisation).append('\n');
+        key.append("threads=").append(batchThreads).append(",grid=").append(meta.isGridSchedulerEnabled()).append('\n');
+        key.append("device=").append(device.getDeviceName()).append('|').append(device.getDriverVersion()).append('|').append(device.getDeviceOpenCLCVersion()).append('\n');
+        key.append("flags=").append(meta.getCompilerFlags()).append('\n');
+        key.append("options=").append(fingerprintOptions()).append('\n');
+        return key.toString();
+    }
+
+    /**
+     * It builds the key of a kernel compiled with dynamic loop bounds. The sizes
+     * of the parameters that are passed at runtime are not part of the key. It
+     * returns null if the arguments of the task can not be inspected.
+     */
+    public static String createDynamicKernelKey(ResolvedJavaMethod method, CompilableTask task, Set<Integer> dynamicParameters) {
+        final String specialisation;
+        try {
+            specialisation = fingerprintArguments(task.getArguments(), dynamicParameters);
+        } catch (RuntimeException e) {
+            debug("kernel cache: arguments of task %s can not be inspected (%s)", task.getId(), e.getMessage());
+            return null;
+        }
+        return STR."""
+                method=\{method.format("%H.%n(%p)")}
+                specialisation=\{specialisation}
+                flags=\{task.meta().getCompilerFlags()}
+                """;
+    }
+
+    /**
+     * It builds the key of the program binary for a source.
+     */
+    public static String createBinaryKey(byte[] source, String compilerFlags, OCLTargetDevice device) {
+        return STR."""
+                format=\{FORMAT_VERSION}
+                source=\{sha256(source)}
+                device=\{device.getDeviceName()}|\{device.getDriverVersion()}|\{device.getDeviceOpenCLCVersion()}
+                flags=\{compilerFlags}
+                """;
+    }
+
+    public KernelEntry lookupKernel(String key) {
+        byte[] payload = read(key, KERNEL_SUFFIX);
+        if (payload == null) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            DomainTree domain = null;
+            final int depth = in.readInt();
+            if (depth > 0) {
+                domain = new DomainTree(depth);
+                for (int i = 0; i < depth; i++) {
+                    domain.set(i, new IntDomain(in.readInt(), in.readInt(), in.readInt()));
+                }
+            }
+            byte[] source = new byte[in.readInt()];
+            in.readFully(source);
+            return new KernelEntry(source, domain);
+        } catch (IOException e) {
+            warn("kernel cache: corrupted entry for %s", fileName(key));
+            return null;
+        }
+    }
+
+    public void storeKernel(String key, byte[] source, DomainTree domain) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            if (domain == null) {
+                out.writeInt(0);
+            } else {
+                out.writeInt(domain.getDepth());
+                for (int i = 0; i < domain.getDepth(); i++) {
+                    IntDomain dim = (IntDomain) domain.get(i);
+                    out.writeInt(dim.getOffset());
+                    out.writeInt(dim.getStep());
+                    out.writeInt(dim.cardinality());
+                }
+            }
+            out.writeInt(source.length);
+            out.write(source);
+        } catch (IOException | ClassCastException e) {
+            // Only integer domains are persisted
+            return;
+        }
+        write(key, KERNEL_SUFFIX, bytes.toByteArray());
+    }
+
+    public byte[] lookupBinary(String key) {
+        return read(key, BINARY_SUFFIX);
+    }
+
+    public void storeBinary(String key, byte[] binary) {
+        if (binary != null && binary.length > 0) {
+            write(key, BINARY_SUFFIX, binary);
+        }
+    }
+
+    private String fileName(String key) {
+        return sha256(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private byte[] read(String key, String suffix) {
+        final Path file = directory.resolve(fileName(key) + suffix);
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION || !key.equals(in.readUTF())) {
+                debug("kernel cache: key mismatch in %s", file);
+                return null;
+            }
+            byte[] payload = new byte[in.readInt()];
+            in.readFully(payload);
+            // Entries are evicted in least-recently-used order
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            return payload;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            warn("kernel cache: unable to read %s (%s)", file, e.getMessage());
+            return null;
+        }
+    }
+
+    private void write(String key, String suffix, byte[] payload) {
+        try {
+            Files.createDirectories(directory);
+            final Path file = directory.resolve(fileName(key) + suffix);
+            final Path tmp = Files.createTempFile(directory, fileName(key), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(tmp))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeUTF(key);
+                out.writeInt(payload.length);
+                out.write(payload);
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            evict();
+        } catch (IOException e) {
+            warn("kernel cache: unable to write in %s (%s)", directory, e.getMessage());
+        }
+    }
+
+    private void evict() throws IOException {
+        List<Path> entries = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(p -> p.toString().endsWith(KERNEL_SUFFIX) || p.toString().endsWith(BINARY_SUFFIX)).forEach(entries::add);
+        }
+        long totalSize = 0;
+        Map<Path, long[]> attributes = new HashMap<>();
+        for (Path entry : entries) {
+            try {
+                long size = Files.size(entry);
+                attributes.put(entry, new long[] { size, Files.getLastModifiedTime(entry).toMillis() });
+                totalSize += size;
+            } catch (NoSuchFileException e) {
+                // Removed by another process
+            }
+        }
+        if (totalSize <= maxSize) {
+            return;
+        }
+        List<Path> lru = new ArrayList<>(attributes.keySet());
+        lru.sort(Comparator.comparingLong(p -> attributes.get(p)[1]));
+        for (Path entry : lru) {
+            if (totalSize <= maxSize) {
+                break;
+            }
+            Files.deleteIfExists(entry);
+            totalSize -= attributes.get(entry)[0];
+            debug("kernel cache: evicted %s", entry);
+        }
+    }
+
+    private static String fingerprintCode(StructuredGraph graph) {
+        MessageDigest digest = newDigest();
+        updateDigest(digest, graph.method());
+        // Inlined methods
+        for (ResolvedJavaMethod method : graph.getMethods()) {
+            updateDigest(digest, method);
+        }
+        // Non-inlined methods are compiled in the same unit
+        for (Invoke invoke : graph.getInvokes()) {
+            updateDigest(digest, invoke.callTarget().targetMethod());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void updateDigest(MessageDigest digest, ResolvedJavaMethod method) {
+        digest.update(method.format("%H.%n(%p)%r").getBytes(StandardCharsets.UTF_8));
+        byte[] code = method.getCode();
+        if (code != null) {
+            digest.update(code);
+        }
+    }
+
+    /**
+     * The compiler specialises the code with the values of scalar arguments, the
+     * length of arrays and the primitive fields reachable through final fields.
+     * Only the type of the dynamic parameters is considered, since their sizes are
+     * passed to the kernel at runtime.
+     */
+    private static String fingerprintArguments(Object[] args, Set<Integer> dynamicParameters) {
+        StringBuilder sb = new StringBuilder();
+        Map<Object, Boolean> visited = new IdentityHashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (dynamicParameters.contains(i) && args[i] != null) {
+                sb.append(args[i].getClass().getName()).append("[dynamic]");
+            } else {
+                fingerprintObject(sb, args[i], visited, 0);
+            }
+            sb.append(';');
+        }
+        return sha256(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void fingerprintObject(StringBuilder sb, Object object, Map<Object, Boolean> visited, int depth) {
+        if (object == null) {
+            sb.append("null");
+            return;
+        }
+        final Class<?> type = object.getClass();
+        if (RuntimeUtilities.isBoxedPrimitiveClass(type) || object instanceof String) {
+            sb.append(type.getSimpleName()).append('=').append(object);
+        } else if (type.isArray()) {
+            sb.append(type.getComponentType().getName()).append('[').append(Array.getLength(object)).append(']');
+        } else if (depth < MAX_SPECIALISATION_DEPTH && visited.put(object, Boolean.TRUE) == null && !isJDKClass(type)) {
+            sb.append(type.getName()).append('{');
+            for (Class<?> klass = type; klass != null && klass != Object.class; klass = klass.getSuperclass()) {
+                for (Field field : klass.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers())) {
+                        continue;
+                    }
+                    final boolean isPrimitive = field.getType().isPrimitive();
+                    if (!isPrimitive && !Modifier.isFinal(field.getModifiers())) {
+                        continue;
+                    }
+                    field.setAccessible(true);
+                    sb.append(field.getName()).append(':');
+                    try {
+                        if (isPrimitive) {
+                            sb.append(field.get(object));
+                        } else {
+                            fingerprintObject(sb, field.get(object), visited, depth + 1);
+                        }
+                    } catch (IllegalAccessException e) {
+                        throw new IllegalStateException(e);
+                    }
+                    sb.append(',');
+                }
+            }
+            sb.append('}');
+        } else {
+            sb.append(type.getName());
+        }
+    }
+
+    private static boolean isJDKClass(Class<?> type) {
+        final String name = type.getName();
+        return name.startsWith("java.") || name.startsWith("jdk.") || name.startsWith("sun.");
+    }
+
+    private static String fingerprintOptions() {
+        // Global TornadoVM options can change the generated code. Options of
+        // specific tasks are prefixed with the task-graph name.
+        Properties properties = System.getProperties();
+        TreeMap<String, String> options = new TreeMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            if (name.startsWith("tornado.") && !name.startsWith("tornado.opencl.codecache")) {
+                options.put(name, properties.getProperty(name));
+            }
+        }
+        return sha256(options.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * A new build of TornadoVM can generate different code for the same input,
+     * so the cache is keyed by the location and timestamp of the compiler.
+     */
+    private static String computeCompilerFingerprint() {
+        try {
+            URL location = OCLKernelCache.class.getProtectionDomain().getCodeSource().getLocation();
+            Path path = Paths.get(location.toURI());
+            return STR."\{path}@\{Files.getLastModifiedTime(path).toMillis()}";
+        } catch (Exception e) {
+            return "unknown";
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String sha256(byte[] bytes) {
+        return HexFormat.of().formatHex(newDigest().digest(bytes));
+    }
+}
@@ -23,17 +23,26 @@
 package uk.ac.manchester.tornado.drivers.opencl;
 
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import uk.ac.manchester.tornado.api.WorkerGrid;
 import uk.ac.manchester.tornado.api.common.Event;
 import uk.ac.manchester.tornado.api.profiler.ProfilerType;
 import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
+import uk.ac.manchester.tornado.runtime.common.WorkGroupAutotuner;
 import uk.ac.manchester.tornado.runtime.tasks.meta.TaskMetaData;
 
 public abstract class OCLKernelScheduler {
 
     protected final OCLDeviceContext deviceContext;
 
+    // Kernel events of the launches being autotuned, indexed by autotuning key.
+    // Their times are read at the next launch of the same kernel, so the launch
+    // does not wait for the kernel to finish.
+    private final Map<String, PendingKernelTime> pendingKernelTimes = new HashMap<>();
+
     protected double min;
     protected double max;
 
@@ -42,6 +51,19 @@ public abstract class OCLKernelScheduler {
 
     public static final String WARNING_THREAD_LOCAL = "[TornadoVM OCL] Warning: TornadoVM changed the user-defined local size to null. Now, the OpenCL driver will select the best configuration.";
 
+    /**
+     * Retained kernel event of a launch being autotuned.
+     *
+     * @param event
+     *     Index of the event in the event pool.
+     * @param oclEventID
+     *     OpenCL event, to detect that the pool has been reset.
+     * @param keepRetained
+     *     True if the event is also retained for the profiles of the task.
+     */
+    private record PendingKernelTime(int event, long oclEventID, boolean keepRetained) {
+    }
+
     OCLKernelScheduler(final OCLDeviceContext context) {
         deviceContext = context;
     }
@@ -112,13 +134,74 @@ public abstract class OCLKernelScheduler {
         }
     }
 
+    /**
+     * It replaces the local work computed by the scheduler with the one selected
+     * by the {@link WorkGroupAutotuner}.
+     *
+     * @return the key of the kernel in the autotuner if the kernel time has to be
+     *     recorded, or null otherwise.
+     */
+    private String autotuneLocalWork(final OCLKernel kernel, final TaskMetaData meta) {
+        if (!meta.isAutotuningEnabled() || deviceContext.isPlatformFPGA() || meta.shouldUseOpenCLDriverScheduling()) {
+            return null;
+        }
+        final OCLTargetDevice device = deviceContext.getDevice();
+        final WorkGroupAutotuner autotuner = WorkGroupAutotuner.getInstance();
+        final String key = WorkGroupAutotuner.getKey(meta.getId() + "." + kernel.getName(), device.getDeviceName(), meta.getGlobalWork(), meta.getDims());
+        recordPendingKernelTime(key);
+        final long[] localWork = autotuner.getLocalWork(key, () -> getLocalWorkCandidates(meta));
+        if (localWork == null) {
+            meta.setLocalWorkToNull();
+        } else {
+            System.arraycopy(localWork, 0, meta.initLocalWork(), 0, localWork.length);
+        }
+        return autotuner.isTuned(key) ? null : key;
+    }
+
+    private List<long[]> getLocalWorkCandidates(final TaskMetaData meta) {
+        final OCLTargetDevice device = deviceContext.getDevice();
+        return WorkGroupAutotuner.getCandidates(meta.getDims(), meta.getGlobalWork(), meta.getLocalWork(), device.getDeviceMaxWorkGroupSize()[0], device.getDeviceMaxWorkItemSizes());
+    }
+
+    private void deferKernelTime(final String autotuningKey, final int taskEvent, final TaskMetaData meta) {
+        if (taskEvent == -1) {
+            return;
+        }
+        deviceContext.retainEvent(taskEvent);
+        OCLEvent kernelEvent = (OCLEvent) deviceContext.resolveEvent(taskEvent);
+        pendingKernelTimes.put(autotuningKey, new PendingKernelTime(taskEvent, kernelEvent.getOclEventID(), meta.shouldDumpProfiles()));
+    }
+
+    /**
+     * It records the kernel time of the previous launch of a kernel, which has
+     * already finished when the kernel is launched again.
+     */
+    private void recordPendingKernelTime(final String autotuningKey) {
+        PendingKernelTime pending = pendingKernelTimes.remove(autotuningKey);
+        if (pending == null) {
+            return;
+        }
+        OCLEvent kernelEvent = (OCLEvent) deviceContext.resolveEvent(pending.event());
+        if (kernelEvent.getOclEventID() != pending.oclEventID()) {
+            // The event pool has been reset, and the event released
+            return;
+        }
+        kernelEvent.waitForEvents();
+        WorkGroupAutotuner.getInstance().record(autotuningKey, kernelEvent.getElapsedTime());
+        if (!pending.keepRetained()) {
+            deviceContext.releaseEvent(pending.event());
+        }
+    }
+
     public int submit(final OCLKernel kernel, final TaskMetaData meta, final int[] waitEvents, long batchThreads) {
+        String autotuningKey = null;
         if (!meta.isWorkerGridAvailable()) {
             if (!meta.isGlobalWorkDefined()) {
                 calculateGlobalWork(meta, batchThreads);
             }
             if (!meta.isLocalWorkDefined()) {
                 calculateLocalWork(meta);
+                autotuningKey = autotuneLocalWork(kernel, meta);
             }
         } else {
             checkLocalWorkGroupFitsOnDevice(meta);
@@ -129,6 +212,9 @@ public abstract class OCLKernelScheduler {
         }
         final int taskEvent = launch(kernel, meta, waitEvents, batchThreads);
         updateProfiler(taskEvent, meta);
+        if (autotuningKey != null) {
+            deferKernelTime(autotuningKey, taskEvent, meta);
+        }
         return taskEvent;
     }
 
@@ -52,6 +52,8 @@ public interface OCLTargetDevice extends TornadoTargetDevice {
 
     String getDeviceOpenCLCVersion();
 
+    String getDriverVersion();
+
     boolean isLittleEndian();
 
     OCLDeviceContextInterface getDeviceContext();
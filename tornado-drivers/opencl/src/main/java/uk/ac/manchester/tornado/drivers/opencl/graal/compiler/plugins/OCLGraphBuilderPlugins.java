@@ -78,6 +78,7 @@ import uk.ac.manchester.tornado.api.KernelContext;
 import uk.ac.manchester.tornado.api.TornadoVMIntrinsics;
 import uk.ac.manchester.tornado.api.exceptions.Debug;
 import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
 import uk.ac.manchester.tornado.drivers.opencl.graal.OCLArchitecture;
 import uk.ac.manchester.tornado.drivers.opencl.graal.lir.OCLKind;
 import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.AtomicAddNodeTemplate;
@@ -119,6 +120,7 @@ public class OCLGraphBuilderPlugins {
         OCLHalfFloatPlugins.registerPlugins(ps, plugins);
 
         registerMemoryAccessPlugins(plugins);
+        registerNativeArrayPlugins(plugins);
 
     }
 
@@ -400,6 +402,17 @@ public class OCLGraphBuilderPlugins {
         }
     }
 
+    private static void registerNativeArrayPlugins(InvocationPlugins plugins) {
+        // Modifications of the native arrays are only tracked on the host
+        Registration r = new Registration(plugins, TornadoNativeArray.class);
+        r.register(new InvocationPlugin("markModified", Receiver.class) {
+            @Override
+            public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver) {
+                return true;
+            }
+        });
+    }
+
     private static void registerMemoryAccessPlugins(InvocationPlugins plugins) {
         Registration r = new Registration(plugins, MemorySegment.class);
 
@@ -21,8 +21,10 @@
  */
 package uk.ac.manchester.tornado.drivers.opencl.graal.nodes;
 
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.graalvm.compiler.core.common.type.StampFactory;
 import org.graalvm.compiler.graph.NodeClass;
@@ -53,11 +55,15 @@ public class TornadoAtomicIntegerNode extends FixedWithNextNode implements LIRLo
     private boolean ATOMIC_2_0 = false;
 
     // How many atomics integers per graph
-    public static HashMap<ResolvedJavaMethod, ArrayList<Integer>> globalAtomics = new HashMap<>();
+    public static final ConcurrentHashMap<ResolvedJavaMethod, List<Integer>> globalAtomics = new ConcurrentHashMap<>();
 
     // Mapping between:
     // Java Method: -> { ParamIndex -> Position in the Atomic Buffer }
-    public static HashMap<ResolvedJavaMethod, HashMap<Integer, Integer>> globalAtomicsParameters = new HashMap<>();
+    public static final ConcurrentHashMap<ResolvedJavaMethod, Map<Integer, Integer>> globalAtomicsParameters = new ConcurrentHashMap<>();
+
+    // Tasks are compiled concurrently by the compiler threads, so the positions in
+    // the tables are reserved under a lock shared by all nodes
+    private static final Object ATOMICS_LOCK = new Object();
 
     private static final int DEFAULT_VALUE = -1;
 
@@ -112,7 +118,7 @@ public class TornadoAtomicIntegerNode extends FixedWithNextNode implements LIRLo
         }
     }
 
-    private void updateGlobalAtomicTable(HashMap positions, int paramIndex, int size) {
+    private void updateGlobalAtomicTable(Map<Integer, Integer> positions, int paramIndex, int size) {
         positions.put(paramIndex, size);
         globalAtomicsParameters.put(this.graph().method(), positions);
     }
@@ -127,27 +133,27 @@ public class TornadoAtomicIntegerNode extends FixedWithNextNode implements LIRLo
      *            Object parameter index taken from
      *            {@link org.graalvm.compiler.nodes.ParameterNode}.
      */
-    public synchronized void assignIndexFromParameter(int paramIndex) {
-        if (!globalAtomics.containsKey(this.graph().method())) {
-            ArrayList<Integer> al = new ArrayList<>();
-            al.add(DEFAULT_VALUE);
-            // The position is reserved to be filled by TornadoVM. This position is then
-            // used by the TornadoVM runtime to copy the initial value for the Atomic before
-            // the kernel execution.
-            globalAtomics.put(this.graph().method(), al);
-            updateGlobalAtomicTable(new HashMap<>(), paramIndex, al.size() - 1);
-            this.indexFromGlobalMemory = 0;
-        } else {
-            ArrayList<Integer> al = globalAtomics.get(this.graph().method());
-            this.indexFromGlobalMemory = al.size();
-            al.add(DEFAULT_VALUE);
-            // A position for the atomic is reserved. This position is then used by the
-            // TornadoVM runtime to copy the initial value for the Atomic before the kernel
-            // execution.
-            globalAtomics.put(this.graph().method(), al);
-
-            HashMap positions = globalAtomicsParameters.get(this.graph().method());
-            updateGlobalAtomicTable(positions, paramIndex, al.size() - 1);
+    public void assignIndexFromParameter(int paramIndex) {
+        synchronized (ATOMICS_LOCK) {
+            if (!globalAtomics.containsKey(this.graph().method())) {
+                List<Integer> al = new CopyOnWriteArrayList<>();
+                al.add(DEFAULT_VALUE);
+                // The position is reserved to be filled by TornadoVM. This position is then
+                // used by the TornadoVM runtime to copy the initial value for the Atomic before
+                // the kernel execution.
+                globalAtomics.put(this.graph().method(), al);
+                updateGlobalAtomicTable(new ConcurrentHashMap<>(), paramIndex, al.size() - 1);
+                this.indexFromGlobalMemory = 0;
+            } else {
+                List<Integer> al = globalAtomics.get(this.graph().method());
+                this.indexFromGlobalMemory = al.size();
+                al.add(DEFAULT_VALUE);
+                // A position for the atomic is reserved. This position is then used by the
+                // TornadoVM runtime to copy the initial value for the Atomic before the kernel
+                // execution.
+                Map<Integer, Integer> positions = globalAtomicsParameters.computeIfAbsent(this.graph().method(), _ -> new ConcurrentHashMap<>());
+                updateGlobalAtomicTable(positions, paramIndex, al.size() - 1);
+            }
         }
         atomicsByParameter = true;
     }
@@ -156,17 +162,11 @@ public class TornadoAtomicIntegerNode extends FixedWithNextNode implements LIRLo
         return atomicsByParameter;
     }
 
-    private synchronized void assignIndex() {
-        if (!globalAtomics.containsKey(this.graph().method())) {
-            ArrayList<Integer> al = new ArrayList<>();
-            al.add(getIntFromValueNode());
-            globalAtomics.put(this.graph().method(), al);
-            this.indexFromGlobalMemory = 0;
-        } else {
-            ArrayList<Integer> al = globalAtomics.get(this.graph().method());
+    private void assignIndex() {
+        synchronized (ATOMICS_LOCK) {
+            List<Integer> al = globalAtomics.computeIfAbsent(this.graph().method(), _ -> new CopyOnWriteArrayList<>());
             this.indexFromGlobalMemory = al.size();
             al.add(getIntFromValueNode());
-            globalAtomics.put(this.graph().method(), al);
         }
     }
 
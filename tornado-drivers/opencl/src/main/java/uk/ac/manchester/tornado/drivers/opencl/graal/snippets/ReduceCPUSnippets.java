@@ -26,6 +26,9 @@ package uk.ac.manchester.tornado.drivers.opencl.graal.snippets;
 import org.graalvm.compiler.api.replacements.Snippet;
 import org.graalvm.compiler.nodes.GraphState;
 import org.graalvm.compiler.nodes.ValueNode;
+import org.graalvm.compiler.nodes.calc.AndNode;
+import org.graalvm.compiler.nodes.calc.OrNode;
+import org.graalvm.compiler.nodes.calc.XorNode;
 import org.graalvm.compiler.nodes.spi.LoweringTool;
 import org.graalvm.compiler.options.OptionValues;
 import org.graalvm.compiler.phases.util.Providers;
@@ -319,6 +322,102 @@ public class ReduceCPUSnippets implements Snippets {
         }
     }
 
+    @Snippet
+    public static void partialReduceIntAnd(int[] inputArray, int[] outputArray, int gidx, int start, int globalID) {
+        OpenCLIntrinsics.localBarrier();
+        if (gidx >= start) {
+            outputArray[globalID + 1] &= inputArray[gidx];
+        }
+    }
+
+    @Snippet
+    public static void partialReduceIntAndCarrierValue(int[] inputArray, int[] outputArray, int gidx, int start, int globalID, int value) {
+        OpenCLIntrinsics.localBarrier();
+        if (gidx >= start) {
+            outputArray[globalID + 1] &= value;
+        }
+    }
+
+    @Snippet
+    public static void partialReduceIntOr(int[] inputArray, int[] outputArray, int gidx, int start, int globalID) {
+        OpenCLIntrinsics.localBarrier();
+        if (gidx >= start) {
+            outputArray[globalID + 1] |= inputArray[gidx];
+        }
+    }
+
+    @Snippet
+    public static void partialReduceIntOrCarrierValue(int[] inputArray, int[] outputArray, int gidx, int start, int globalID, int value) {
+        OpenCLIntrinsics.localBarrier();
+        if (gidx >= start) {
+            outputArray[globalID + 1] |= value;
+        }
+    }
+
+    @Snippet
+    public static void partialReduceIntXor(int[] inputArray, int[] outputArray, int gidx, int start, int globalID) {
+        OpenCLIntrinsics.localBarrier();
+        if (gidx >= start) {
+            outputArray[globalID + 1] ^= inputArray[gidx];
+        }
+    }
+
+    @Snippet
+    public static void partialReduceIntXorCarrierValue(int[] inputArray, int[] outputArray, int gidx, int start, int globalID, int value) {
+        OpenCLIntrinsics.localBarrier();
+        if (gidx >= start) {
+            outputArray[globalID + 1] ^= value;
+        }
+    }
+
+    @Snippet
+    public static void partialReduceLongAnd(long[] inputArray, long[] outputArray, int gidx, int start, int globalID) {
+        OpenCLIntrinsics.localBarrier();
+        if (gidx >= start) {
+            outputArray[globalID + 1] &= inputArray[gidx];
+        }
+    }
+
+    @Snippet
+    public static void partialReduceLongAndCarrierValue(long[] inputArray, long[] outputArray, int gidx, int start, int globalID, long value) {
+        OpenCLIntrinsics.localBarrier();
+        if (gidx >= start) {
+            outputArray[globalID + 1] &= value;
+        }
+    }
+
+    @Snippet
+    public static void partialReduceLongOr(long[] inputArray, long[] outputArray, int gidx, int start, int globalID) {
+        OpenCLIntrinsics.localBarrier();
+        if (gidx >= start) {
+            outputArray[globalID + 1] |= inputArray[gidx];
+        }
+    }
+
+    @Snippet
+    public static void partialReduceLongOrCarrierValue(long[] inputArray, long[] outputArray, int gidx, int start, int globalID, long value) {
+        OpenCLIntrinsics.localBarrier();
+        if (gidx >= start) {
+            outputArray[globalID + 1] |= value;
+        }
+    }
+
+    @Snippet
+    public static void partialReduceLongXor(long[] inputArray, long[] outputArray, int gidx, int start, int globalID) {
+        OpenCLIntrinsics.localBarrier();
+        if (gidx >= start) {
+            outputArray[globalID + 1] ^= inputArray[gidx];
+        }
+    }
+
+    @Snippet
+    public static void partialReduceLongXorCarrierValue(long[] inputArray, long[] outputArray, int gidx, int start, int globalID, long value) {
+        OpenCLIntrinsics.localBarrier();
+        if (gidx >= start) {
+            outputArray[globalID + 1] ^= value;
+        }
+    }
+
     protected static class Tuple2<T0, T1> {
         T0 t0;
         T1 t1;
@@ -374,6 +473,19 @@ public class ReduceCPUSnippets implements Snippets {
         // Additional tuple
         private final Tuple2<Class<? extends ReduceCPUSnippets>, String> partialReduceAddIntSnippetCarrierValue = new Tuple2<>(ReduceCPUSnippets.class, "partialReduceIntAddCarrierValue");
         private final Tuple2<Class<? extends ReduceCPUSnippets>, String> partialReduceMulIntSnippet = new Tuple2<>(ReduceCPUSnippets.class, "partialReduceIntMul");
+        // Bitwise
+        private final Tuple2<Class<? extends ReduceCPUSnippets>, String> partialReduceIntAndSnippet = new Tuple2<>(ReduceCPUSnippets.class, "partialReduceIntAnd");
+        private final Tuple2<Class<? extends ReduceCPUSnippets>, String> partialReduceIntAndSnippetCarrierValue = new Tuple2<>(ReduceCPUSnippets.class, "partialReduceIntAndCarrierValue");
+        private final Tuple2<Class<? extends ReduceCPUSnippets>, String> partialReduceIntOrSnippet = new Tuple2<>(ReduceCPUSnippets.class, "partialReduceIntOr");
+        private final Tuple2<Class<? extends ReduceCPUSnippets>, String> partialReduceIntOrSnippetCarrierValue = new Tuple2<>(ReduceCPUSnippets.class, "partialReduceIntOrCarrierValue");
+        private final Tuple2<Class<? extends ReduceCPUSnippets>, String> partialReduceIntXorSnippet = new Tuple2<>(ReduceCPUSnippets.class, "partialReduceIntXor");
+        private final Tuple2<Class<? extends ReduceCPUSnippets>, String> partialReduceIntXorSnippetCarrierValue = new Tuple2<>(ReduceCPUSnippets.class, "partialReduceIntXorCarrierValue");
+        private final Tuple2<Class<? extends ReduceCPUSnippets>, String> partialReduceLongAndSnippet = new Tuple2<>(ReduceCPUSnippets.class, "partialReduceLongAnd");
+        private final Tuple2<Class<? extends ReduceCPUSnippets>, String> partialReduceLongAndSnippetCarrierValue = new Tuple2<>(ReduceCPUSnippets.class, "partialReduceLongAndCarrierValue");
+        private final Tuple2<Class<? extends ReduceCPUSnippets>, String> partialReduceLongOrSnippet = new Tuple2<>(ReduceCPUSnippets.class, "partialReduceLongOr");
+        private final Tuple2<Class<? extends ReduceCPUSnippets>, String> partialReduceLongOrSnippetCarrierValue = new Tuple2<>(ReduceCPUSnippets.class, "partialReduceLongOrCarrierValue");
+        private final Tuple2<Class<? extends ReduceCPUSnippets>, String> partialReduceLongXorSnippet = new Tuple2<>(ReduceCPUSnippets.class, "partialReduceLongXor");
+        private final Tuple2<Class<? extends ReduceCPUSnippets>, String> partialReduceLongXorSnippetCarrierValue = new Tuple2<>(ReduceCPUSnippets.class, "partialReduceLongXorCarrierValue");
         Providers providers;
 
         public Templates(OptionValues options, Providers providers) {
@@ -408,6 +520,28 @@ public class ReduceCPUSnippets implements Snippets {
             }
         }
 
+        private SnippetInfo getSnippetFromBitwiseNodeInt(ValueNode value, ValueNode extra) {
+            if (value instanceof AndNode) {
+                return (extra == null) ? snippet(partialReduceIntAndSnippet) : snippet(partialReduceIntAndSnippetCarrierValue);
+            } else if (value instanceof OrNode) {
+                return (extra == null) ? snippet(partialReduceIntOrSnippet) : snippet(partialReduceIntOrSnippetCarrierValue);
+            } else if (value instanceof XorNode) {
+                return (extra == null) ? snippet(partialReduceIntXorSnippet) : snippet(partialReduceIntXorSnippetCarrierValue);
+            }
+            throw new RuntimeException("Reduce Operation no supported yet: snippet not installed");
+        }
+
+        private SnippetInfo getSnippetFromBitwiseNodeLong(ValueNode value, ValueNode extra) {
+            if (value instanceof AndNode) {
+                return (extra == null) ? snippet(partialReduceLongAndSnippet) : snippet(partialReduceLongAndSnippetCarrierValue);
+            } else if (value instanceof OrNode) {
+                return (extra == null) ? snippet(partialReduceLongOrSnippet) : snippet(partialReduceLongOrSnippetCarrierValue);
+            } else if (value instanceof XorNode) {
+                return (extra == null) ? snippet(partialReduceLongXorSnippet) : snippet(partialReduceLongXorSnippetCarrierValue);
+            }
+            throw new RuntimeException("Reduce Operation no supported yet: snippet not installed");
+        }
+
         @Override
         public SnippetInfo inferIntSnippet(ValueNode value, ValueNode extra) {
             SnippetInfo snippet = null;
@@ -415,6 +549,8 @@ public class ReduceCPUSnippets implements Snippets {
                 snippet = (extra == null) ? snippet(partialReduceAddIntSnippet) : snippet(partialReduceAddIntSnippetCarrierValue);
             } else if (value instanceof TornadoReduceMulNode) {
                 snippet = (extra == null) ? snippet(partialReduceMulIntSnippet) : snippet(partialReduceMulIntSnippetCarrierValue);
+            } else if (value instanceof AndNode || value instanceof OrNode || value instanceof XorNode) {
+                snippet = getSnippetFromBitwiseNodeInt(value, extra);
             } else if (value instanceof OCLIntBinaryIntrinsicNode) {
                 snippet = getSnippetFromOCLBinaryNodeInteger((OCLIntBinaryIntrinsicNode) value, extra);
             } else {
@@ -430,6 +566,8 @@ public class ReduceCPUSnippets implements Snippets {
                 snippet = (extra == null) ? snippet(partialReduceAddLongSnippet) : snippet(partialReduceAddLongSnippetCarrierValue);
             } else if (value instanceof TornadoReduceMulNode) {
                 snippet = (extra == null) ? snippet(partialReduceMulLongSnippet) : snippet(partialReduceMulLongSnippetCarrierValue);
+            } else if (value instanceof AndNode || value instanceof OrNode || value instanceof XorNode) {
+                snippet = getSnippetFromBitwiseNodeLong(value, extra);
             } else if (value instanceof OCLIntBinaryIntrinsicNode) {
                 snippet = getSnippetFromOCLBinaryNodeLong((OCLIntBinaryIntrinsicNode) value, extra);
             } else {
@@ -28,14 +28,15 @@ import java.lang.foreign.MemorySegment;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import org.graalvm.compiler.nodes.StructuredGraph;
+
 import jdk.vm.ci.meta.ResolvedJavaMethod;
 import uk.ac.manchester.tornado.api.common.Access;
 import uk.ac.manchester.tornado.api.common.Event;
@@ -64,6 +65,7 @@ import uk.ac.manchester.tornado.drivers.opencl.OCLCodeCache;
 import uk.ac.manchester.tornado.drivers.opencl.OCLDeviceContext;
 import uk.ac.manchester.tornado.drivers.opencl.OCLDeviceContextInterface;
 import uk.ac.manchester.tornado.drivers.opencl.OCLDriver;
+import uk.ac.manchester.tornado.drivers.opencl.OCLKernelCache;
 import uk.ac.manchester.tornado.drivers.opencl.OCLTargetDevice;
 import uk.ac.manchester.tornado.drivers.opencl.enums.OCLDeviceType;
 import uk.ac.manchester.tornado.drivers.opencl.graal.OCLInstalledCode;
@@ -85,6 +87,7 @@ import uk.ac.manchester.tornado.drivers.opencl.mm.OCLObjectWrapper;
 import uk.ac.manchester.tornado.drivers.opencl.mm.OCLShortArrayWrapper;
 import uk.ac.manchester.tornado.drivers.opencl.mm.OCLVectorWrapper;
 import uk.ac.manchester.tornado.runtime.TornadoCoreRuntime;
+import uk.ac.manchester.tornado.runtime.common.BufferPoolStatistics;
 import uk.ac.manchester.tornado.runtime.common.DeviceObjectState;
 import uk.ac.manchester.tornado.runtime.common.KernelArgs;
 import uk.ac.manchester.tornado.runtime.common.RuntimeUtilities;
@@ -254,6 +257,33 @@ public class OCLTornadoDevice implements TornadoAcceleratorDevice {
         final Access[] taskAccess = taskMeta.getArgumentsAccess();
         System.arraycopy(sketchAccess, 0, taskAccess, 0, sketchAccess.length);
 
+        // Loop bounds passed at runtime prevent the HLS compiler from optimising
+        // the loops
+        if (OCLBackend.isDeviceAnFPGAAccelerator(deviceContext)) {
+            taskMeta.setDynamicLoopBounds(false);
+        }
+
+        // Reuse the kernel generated with dynamic loop bounds by another task
+        // running the same method
+        final boolean dynamicLoopBounds = taskMeta.shouldUseDynamicLoopBounds();
+        if (dynamicLoopBounds) {
+            OCLInstalledCode dynamicCode = installDynamicKernel(executable, resolvedMethod);
+            if (dynamicCode != null) {
+                return dynamicCode;
+            }
+        }
+
+        // Reuse the kernel generated for the same code and specialisation in a
+        // previous run
+        final OCLKernelCache kernelCache = (OCLBackend.isDeviceAnFPGAAccelerator(deviceContext) || dynamicLoopBounds) ? null : deviceContext.getCodeCache().getKernelCache();
+        final String kernelKey = (kernelCache != null) ? OCLKernelCache.createKernelKey((StructuredGraph) sketch.getGraph(), executable, deviceContext.getDevice()) : null;
+        if (kernelKey != null) {
+            OCLInstalledCode cachedCode = installCachedKernel(kernelCache, kernelKey, executable, resolvedMethod);
+            if (cachedCode != null) {
+                return cachedCode;
+            }
+        }
+
         try {
             OCLProviders providers = (OCLProviders) getBackend().getProviders();
             TornadoProfiler profiler = task.getProfiler();
@@ -263,7 +293,7 @@ public class OCLTornadoDevice implements TornadoAcceleratorDevice {
             // Update atomics buffer for inner methods that are not inlined
             ResolvedJavaMethod[] methods = result.getMethods();
             if (methods.length > 1) {
-                HashMap<Integer, Integer> mapping;
+                Map<Integer, Integer> mapping;
                 for (ResolvedJavaMethod m : methods) {
                     if (TornadoAtomicIntegerNode.globalAtomicsParameters.containsKey(m)) {
                         mapping = TornadoAtomicIntegerNode.globalAtomicsParameters.get(m);
@@ -291,6 +321,15 @@ public class OCLTornadoDevice implements TornadoAcceleratorDevice {
             profiler.stop(ProfilerType.TASK_COMPILE_DRIVER_TIME, taskMeta.getId());
             profiler.sum(ProfilerType.TOTAL_DRIVER_COMPILE_TIME, profiler.getTaskTimer(ProfilerType.TASK_COMPILE_DRIVER_TIME, taskMeta.getId()));
 
+            // Kernels with atomics register their parameters during the compilation,
+            // so they are always compiled
+            if (kernelKey != null && installedCode != null && installedCode.isValid() && !usesAtomics(result)) {
+                kernelCache.storeKernel(kernelKey, result.getTargetCode(), taskMeta.getDomain());
+            }
+            if (taskMeta.hasLoopBounds() && installedCode != null && installedCode.isValid() && !usesAtomics(result)) {
+                deviceContext.getCodeCache().storeDynamicKernel(resolvedMethod, executable, installedCode);
+            }
+
             return installedCode;
         } catch (Exception e) {
             driver.fatal("Unable to compile %s for device %s\n", task.getId(), getDeviceName());
@@ -303,6 +342,70 @@ public class OCLTornadoDevice implements TornadoAcceleratorDevice {
         }
     }
 
+    private static boolean usesAtomics(OCLCompilationResult result) {
+        for (ResolvedJavaMethod m : result.getMethods()) {
+            if (TornadoAtomicIntegerNode.globalAtomicsParameters.containsKey(m)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * It installs the kernel stored in the persistent kernel cache, skipping the
+     * JIT compilation. The time to look up, load and build the kernel is reported
+     * as the driver compilation time of the task, also on a cache miss.
+     *
+     * @return The installed code, or null on a cache miss.
+     */
+    private OCLInstalledCode installCachedKernel(OCLKernelCache kernelCache, String kernelKey, CompilableTask task, ResolvedJavaMethod resolvedMethod) {
+        final TaskMetaData taskMeta = task.meta();
+        final TornadoProfiler profiler = task.getProfiler();
+        profiler.start(ProfilerType.TASK_COMPILE_DRIVER_TIME, taskMeta.getId());
+        final OCLKernelCache.KernelEntry entry = kernelCache.lookupKernel(kernelKey);
+        OCLInstalledCode installedCode = null;
+        if (entry != null) {
+            // The parallel domain is discovered by the compiler
+            taskMeta.setCompiledGraph(resolvedMethod);
+            if (taskMeta.getDomain() == null && entry.domain() != null) {
+                taskMeta.setDomain(entry.domain());
+            }
+            installedCode = getDeviceContext().installCode(taskMeta, task.getId(), OCLDeviceContext.checkKernelName(resolvedMethod.getName()), entry.source());
+        }
+
+        profiler.stop(ProfilerType.TASK_COMPILE_DRIVER_TIME, taskMeta.getId());
+        profiler.sum(ProfilerType.TOTAL_DRIVER_COMPILE_TIME, profiler.getTaskTimer(ProfilerType.TASK_COMPILE_DRIVER_TIME, taskMeta.getId()));
+        Tornado.debug("kernel cache: %s for %s (%d ns)", (entry == null) ? "miss" : "hit", task.getId(), profiler.getTaskTimer(ProfilerType.TASK_COMPILE_DRIVER_TIME, taskMeta.getId()));
+        return installedCode;
+    }
+
+    /**
+     * It installs the kernel compiled with dynamic loop bounds for the same method
+     * and specialisation by another task. The loop bounds and the parallel domain
+     * are taken from that compilation.
+     *
+     * @return The installed code, or null if there is no such kernel.
+     */
+    private OCLInstalledCode installDynamicKernel(CompilableTask task, ResolvedJavaMethod resolvedMethod) {
+        final TaskMetaData taskMeta = task.meta();
+        final OCLCodeCache codeCache = getDeviceContext().getCodeCache();
+        final OCLCodeCache.DynamicKernel dynamicKernel = codeCache.lookupDynamicKernel(resolvedMethod, task);
+        if (dynamicKernel == null) {
+            return null;
+        }
+
+        final TornadoProfiler profiler = task.getProfiler();
+        profiler.start(ProfilerType.TASK_COMPILE_DRIVER_TIME, taskMeta.getId());
+        taskMeta.setCompiledGraph(resolvedMethod);
+        taskMeta.setDomain(dynamicKernel.domain().copy());
+        taskMeta.setLoopBounds(dynamicKernel.loopBounds());
+        final OCLInstalledCode installedCode = codeCache.installDynamicKernel(taskMeta, task.getId(), OCLDeviceContext.checkKernelName(resolvedMethod.getName()), dynamicKernel);
+        profiler.stop(ProfilerType.TASK_COMPILE_DRIVER_TIME, taskMeta.getId());
+        profiler.sum(ProfilerType.TOTAL_DRIVER_COMPILE_TIME, profiler.getTaskTimer(ProfilerType.TASK_COMPILE_DRIVER_TIME, taskMeta.getId()));
+        Tornado.debug("dynamic loop bounds: reusing the kernel of %s for %s", resolvedMethod.getName(), task.getId());
+        return installedCode;
+    }
+
     private TornadoInstalledCode compilePreBuiltTask(SchedulableTask task) {
         final OCLDeviceContextInterface deviceContext = getDeviceContext();
         final PrebuiltTask executable = (PrebuiltTask) task;
@@ -384,7 +487,7 @@ public class OCLTornadoDevice implements TornadoAcceleratorDevice {
     @Override
     public int[] checkAtomicsForTask(SchedulableTask task) {
         if (TornadoAtomicIntegerNode.globalAtomics.containsKey(task.meta().getCompiledResolvedJavaMethod())) {
-            ArrayList<Integer> values = TornadoAtomicIntegerNode.globalAtomics.get(task.meta().getCompiledResolvedJavaMethod());
+            List<Integer> values = TornadoAtomicIntegerNode.globalAtomics.get(task.meta().getCompiledResolvedJavaMethod());
             int[] atomicsArray = new int[values.size()];
             int j = 0;
             for (Integer i : values) {
@@ -401,7 +504,7 @@ public class OCLTornadoDevice implements TornadoAcceleratorDevice {
         if (value instanceof AtomicInteger) {
             AtomicInteger ai = (AtomicInteger) value;
             if (TornadoAtomicIntegerNode.globalAtomicsParameters.containsKey(task.meta().getCompiledResolvedJavaMethod())) {
-                HashMap<Integer, Integer> values = TornadoAtomicIntegerNode.globalAtomicsParameters.get(task.meta().getCompiledResolvedJavaMethod());
+                Map<Integer, Integer> values = TornadoAtomicIntegerNode.globalAtomicsParameters.get(task.meta().getCompiledResolvedJavaMethod());
                 int index = values.get(paramIndex);
                 array[index] = ai.get();
             }
@@ -423,7 +526,7 @@ public class OCLTornadoDevice implements TornadoAcceleratorDevice {
     @Override
     public int getAtomicsGlobalIndexForTask(SchedulableTask task, int paramIndex) {
         if (TornadoAtomicIntegerNode.globalAtomicsParameters.containsKey(task.meta().getCompiledResolvedJavaMethod())) {
-            HashMap<Integer, Integer> values = TornadoAtomicIntegerNode.globalAtomicsParameters.get(task.meta().getCompiledResolvedJavaMethod());
+            Map<Integer, Integer> values = TornadoAtomicIntegerNode.globalAtomicsParameters.get(task.meta().getCompiledResolvedJavaMethod());
             return values.get(paramIndex);
         }
         return -1;
@@ -556,16 +659,18 @@ public class OCLTornadoDevice implements TornadoAcceleratorDevice {
 
     @Override
     public int allocateObjects(Object[] objects, long batchSize, TornadoDeviceObjectState[] states) {
-        TornadoBufferProvider bufferProvider = getDeviceContext().getBufferProvider();
-        if (!bufferProvider.checkBufferAvailability(objects.length)) {
-            bufferProvider.resetBuffers();
-        }
         for (int i = 0; i < objects.length; i++) {
             allocate(objects[i], batchSize, states[i]);
         }
         return -1;
     }
 
+    @Override
+    public BufferPoolStatistics getBufferPoolStatistics() {
+        TornadoBufferProvider bufferProvider = getDeviceContext().getBufferProvider();
+        return bufferProvider.getStatistics();
+    }
+
     private ObjectBuffer newDeviceBufferAllocation(Object object, long batchSize, TornadoDeviceObjectState state) {
         final ObjectBuffer buffer;
         TornadoInternalError.guarantee(state.isAtomicRegionPresent() || !state.hasObjectBuffer(), "A device memory leak might be occurring.");
@@ -32,6 +32,8 @@ import java.nio.file.Paths;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 
+import org.graalvm.compiler.nodes.StructuredGraph;
+
 import jdk.vm.ci.meta.ResolvedJavaMethod;
 import uk.ac.manchester.tornado.api.common.Access;
 import uk.ac.manchester.tornado.api.common.Event;
@@ -47,6 +49,7 @@ import uk.ac.manchester.tornado.api.profiler.ProfilerType;
 import uk.ac.manchester.tornado.api.profiler.TornadoProfiler;
 import uk.ac.manchester.tornado.drivers.opencl.OCLDeviceContextInterface;
 import uk.ac.manchester.tornado.drivers.opencl.OCLDriver;
+import uk.ac.manchester.tornado.drivers.opencl.OCLKernelCache;
 import uk.ac.manchester.tornado.drivers.opencl.OCLTargetDevice;
 import uk.ac.manchester.tornado.drivers.opencl.enums.OCLDeviceType;
 import uk.ac.manchester.tornado.drivers.opencl.graal.OCLProviders;
@@ -182,6 +185,21 @@ public class VirtualOCLTornadoDevice implements TornadoAcceleratorDevice {
         final Access[] taskAccess = taskMeta.getArgumentsAccess();
         System.arraycopy(sketchAccess, 0, taskAccess, 0, sketchAccess.length);
 
+        // Only the generated source can be cached for virtual devices. The
+        // cache does not keep the loop bounds passed at runtime.
+        final OCLKernelCache kernelCache = taskMeta.shouldUseDynamicLoopBounds() ? null : getDeviceContext().getCodeCache().getKernelCache();
+        final String kernelKey = (kernelCache != null) ? OCLKernelCache.createKernelKey((StructuredGraph) sketch.getGraph(), executable, getDeviceContext().getDevice()) : null;
+        final OCLKernelCache.KernelEntry cachedKernel = (kernelKey != null) ? kernelCache.lookupKernel(kernelKey) : null;
+        if (cachedKernel != null) {
+            if (taskMeta.getDomain() == null && cachedKernel.domain() != null) {
+                taskMeta.setDomain(cachedKernel.domain());
+            }
+            if (taskMeta.isPrintKernelEnabled()) {
+                RuntimeUtilities.dumpKernel(cachedKernel.source());
+            }
+            return null;
+        }
+
         try {
             OCLProviders providers = (OCLProviders) getBackend().getProviders();
             TornadoProfiler profiler = task.getProfiler();
@@ -194,6 +212,10 @@ public class VirtualOCLTornadoDevice implements TornadoAcceleratorDevice {
                 RuntimeUtilities.dumpKernel(result.getTargetCode());
             }
 
+            if (kernelKey != null) {
+                kernelCache.storeKernel(kernelKey, result.getTargetCode(), taskMeta.getDomain());
+            }
+
             return null;
         } catch (Exception e) {
             driver.fatal("unable to compile %s for device %s", task.getId(), getDeviceName());
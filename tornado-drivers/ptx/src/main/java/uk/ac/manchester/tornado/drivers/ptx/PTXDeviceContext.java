@@ -30,7 +30,9 @@ import static uk.ac.manchester.tornado.drivers.ptx.graal.PTXCodeUtil.buildKernel
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import uk.ac.manchester.tornado.api.TornadoDeviceContext;
 import uk.ac.manchester.tornado.api.WorkerGrid;
@@ -49,6 +51,7 @@ import uk.ac.manchester.tornado.runtime.common.KernelArgs;
 import uk.ac.manchester.tornado.runtime.common.TornadoInstalledCode;
 import uk.ac.manchester.tornado.runtime.common.TornadoLogger;
 import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
+import uk.ac.manchester.tornado.runtime.common.WorkGroupAutotuner;
 import uk.ac.manchester.tornado.runtime.tasks.meta.TaskMetaData;
 
 public class PTXDeviceContext extends TornadoLogger implements TornadoDeviceContext {
@@ -61,6 +64,22 @@ public class PTXDeviceContext extends TornadoLogger implements TornadoDeviceCont
     private final TornadoBufferProvider bufferProvider;
     private boolean wasReset;
 
+    // Kernel events of the launches being autotuned, indexed by autotuning key.
+    // Their times are read at the next launch of the same kernel, so the launch
+    // does not wait for the kernel to finish.
+    private final Map<String, PendingKernelTime> pendingKernelTimes = new HashMap<>();
+
+    /**
+     * Kernel event of a launch being autotuned.
+     *
+     * @param event
+     *     Index of the event in the event pool.
+     * @param kernelEvent
+     *     Event, to detect that the pool has destroyed it.
+     */
+    private record PendingKernelTime(int event, Event kernelEvent) {
+    }
+
     public PTXDeviceContext(PTXDevice device, PTXStream stream) {
         this.device = device;
         this.stream = stream;
@@ -205,6 +224,7 @@ public class PTXDeviceContext extends TornadoLogger implements TornadoDeviceCont
     public int enqueueKernelLaunch(PTXModule module, KernelArgs kernelArgs, TaskMetaData taskMeta, long batchThreads) {
         int[] blockDimension = { 1, 1, 1 };
         int[] gridDimension = { 1, 1, 1 };
+        String autotuningKey = null;
         if (taskMeta.isWorkerGridAvailable()) {
             WorkerGrid grid = taskMeta.getWorkerGrid(taskMeta.getId());
             int[] global = Arrays.stream(grid.getGlobalWork()).mapToInt(l -> (int) l).toArray();
@@ -225,14 +245,36 @@ public class PTXDeviceContext extends TornadoLogger implements TornadoDeviceCont
         } else if (taskMeta.isParallel()) {
             scheduler.calculateGlobalWork(taskMeta, batchThreads);
             blockDimension = scheduler.calculateBlockDimension(module, taskMeta);
+            autotuningKey = scheduler.getAutotuningKey(module, taskMeta);
+            if (autotuningKey != null) {
+                recordPendingKernelTime(autotuningKey);
+                autotuningKey = scheduler.autotuneBlockDimension(autotuningKey, module, taskMeta, blockDimension);
+            }
             gridDimension = scheduler.calculateGridDimension(module, taskMeta, blockDimension);
         }
 
         int kernelLaunchEvent = stream.enqueueKernelLaunch(module, taskMeta, writePTXKernelContextOnDevice((PTXKernelArgs) kernelArgs, taskMeta), gridDimension, blockDimension);
         updateProfiler(kernelLaunchEvent, taskMeta);
+        if (autotuningKey != null && kernelLaunchEvent != -1) {
+            pendingKernelTimes.put(autotuningKey, new PendingKernelTime(kernelLaunchEvent, resolveEvent(kernelLaunchEvent)));
+        }
         return kernelLaunchEvent;
     }
 
+    /**
+     * It records the kernel time of the previous launch of a kernel, which has
+     * already finished when the kernel is launched again.
+     */
+    private void recordPendingKernelTime(String autotuningKey) {
+        PendingKernelTime pending = pendingKernelTimes.remove(autotuningKey);
+        if (pending == null || resolveEvent(pending.event()) != pending.kernelEvent()) {
+            // The event has been replaced in the pool, and destroyed
+            return;
+        }
+        pending.kernelEvent().waitForEvents();
+        WorkGroupAutotuner.getInstance().record(autotuningKey, pending.kernelEvent().getElapsedTime());
+    }
+
     private byte[] writePTXKernelContextOnDevice(PTXKernelArgs ptxKernelArgs, TaskMetaData meta) {
         int capacity = Long.BYTES + ptxKernelArgs.getCallArguments().size() * Long.BYTES;
         ByteBuffer args = ByteBuffer.allocate(capacity);
@@ -31,10 +31,15 @@ import static uk.ac.manchester.tornado.runtime.common.Tornado.warn;
 import java.util.Arrays;
 
 import uk.ac.manchester.tornado.api.exceptions.TornadoBailoutRuntimeException;
+import uk.ac.manchester.tornado.runtime.common.RuntimeUtilities;
+import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
+import uk.ac.manchester.tornado.runtime.common.WorkGroupAutotuner;
 import uk.ac.manchester.tornado.runtime.tasks.meta.TaskMetaData;
 
 public class PTXScheduler {
 
+    private static final int WARP_SIZE = 32;
+
     private final PTXDevice device;
 
     public PTXScheduler(final PTXDevice device) {
@@ -49,6 +54,12 @@ public class PTXScheduler {
         final long[] globalWork = meta.getGlobalWork();
         for (int i = 0; i < meta.getDims(); i++) {
             long value = (batchThreads <= 0) ? (long) (meta.getDomain().get(i).cardinality()) : batchThreads;
+            // Only the first dimension is padded: it is the one mapped to consecutive
+            // threads of a warp
+            if (i == 0 && TornadoOptions.PAD_GLOBAL_WORK && !meta.enableThreadCoarsener()) {
+                long maxBlockSize = calculateEffectiveMaxWorkItemSize(meta.getDims(), device.getMaxThreadsPerBlock());
+                value = RuntimeUtilities.padGlobalWork(value, RuntimeUtilities.getPaddedGroupSize(WARP_SIZE, maxBlockSize));
+            }
             globalWork[i] = value;
         }
     }
@@ -65,6 +76,36 @@ public class PTXScheduler {
         return calculateBlockDimension(taskMeta.getGlobalWork(), maxThreadsPerBlock, taskMeta.getDims(), module.javaName);
     }
 
+    /**
+     * @return the key of the kernel in the {@link WorkGroupAutotuner}, or null if
+     *     its block dimension is not autotuned.
+     */
+    public String getAutotuningKey(PTXModule module, TaskMetaData taskMeta) {
+        if (!taskMeta.isAutotuningEnabled() || taskMeta.isLocalWorkDefined()) {
+            return null;
+        }
+        return WorkGroupAutotuner.getKey(taskMeta.getId() + "." + module.kernelFunctionName, device.getDeviceName(), taskMeta.getGlobalWork(), taskMeta.getDims());
+    }
+
+    /**
+     * It replaces the block dimension computed by the scheduler with the one
+     * selected by the {@link WorkGroupAutotuner}.
+     *
+     * @return the key of the kernel in the autotuner if the kernel time has to be
+     *     recorded, or null otherwise.
+     */
+    public String autotuneBlockDimension(String key, PTXModule module, TaskMetaData taskMeta, int[] blockDimension) {
+        final WorkGroupAutotuner autotuner = WorkGroupAutotuner.getInstance();
+        final long[] defaultBlock = Arrays.stream(blockDimension).mapToLong(i -> i).toArray();
+        // The occupancy calculator gives a block size that the kernel can always launch
+        final long[] block = autotuner.getLocalWork(key, () -> WorkGroupAutotuner.getCandidates(taskMeta.getDims(), taskMeta.getGlobalWork(), defaultBlock, module
+                .getPotentialBlockSizeMaxOccupancy(), device.getDeviceMaxWorkItemSizes()));
+        for (int i = 0; i < blockDimension.length; i++) {
+            blockDimension[i] = (int) block[i];
+        }
+        return autotuner.isTuned(key) ? null : key;
+    }
+
     public int[] calculateBlockDimension(long[] globalWork, long maxThreadBlocks, int dimension, String javaName) {
         int[] defaultBlocks = { 1, 1, 1 };
         try {
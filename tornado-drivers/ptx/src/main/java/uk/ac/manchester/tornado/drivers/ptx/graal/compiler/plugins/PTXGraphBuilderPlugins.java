@@ -72,6 +72,7 @@ import jdk.vm.ci.meta.ResolvedJavaMethod;
 import uk.ac.manchester.tornado.api.KernelContext;
 import uk.ac.manchester.tornado.api.exceptions.Debug;
 import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
 import uk.ac.manchester.tornado.drivers.ptx.graal.PTXArchitecture;
 import uk.ac.manchester.tornado.drivers.ptx.graal.lir.PTXKind;
 import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.LocalArrayNode;
@@ -96,6 +97,7 @@ public class PTXGraphBuilderPlugins {
         PTXVectorPlugins.registerPlugins(ps, plugins);
         PTXHalfFloatPlugin.registerPlugins(ps, plugins);
         registerMemoryAccessPlugins(plugins);
+        registerNativeArrayPlugins(plugins);
         registerKernelContextPlugins(plugins);
     }
 
@@ -421,6 +423,17 @@ public class PTXGraphBuilderPlugins {
         }
     }
 
+    private static void registerNativeArrayPlugins(InvocationPlugins plugins) {
+        // Modifications of the native arrays are only tracked on the host
+        Registration r = new Registration(plugins, TornadoNativeArray.class);
+        r.register(new InvocationPlugin("markModified", InvocationPlugin.Receiver.class) {
+            @Override
+            public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver) {
+                return true;
+            }
+        });
+    }
+
     private static void registerMemoryAccessPlugins(InvocationPlugins plugins) {
         Registration r = new Registration(plugins, MemorySegment.class);
 
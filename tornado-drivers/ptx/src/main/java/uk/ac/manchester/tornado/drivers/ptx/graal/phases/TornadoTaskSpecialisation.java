@@ -28,6 +28,8 @@ import static uk.ac.manchester.tornado.runtime.TornadoCoreRuntime.getDebugContex
 import java.lang.reflect.Array;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -44,6 +46,7 @@ import org.graalvm.compiler.nodes.ParameterNode;
 import org.graalvm.compiler.nodes.PhiNode;
 import org.graalvm.compiler.nodes.PiNode;
 import org.graalvm.compiler.nodes.StructuredGraph;
+import org.graalvm.compiler.nodes.ValueNode;
 import org.graalvm.compiler.nodes.calc.IntegerLessThanNode;
 import org.graalvm.compiler.nodes.calc.IsNullNode;
 import org.graalvm.compiler.nodes.java.ArrayLengthNode;
@@ -57,13 +60,16 @@ import jdk.vm.ci.meta.JavaKind;
 import jdk.vm.ci.meta.ResolvedJavaField;
 import uk.ac.manchester.tornado.api.GridScheduler;
 import uk.ac.manchester.tornado.api.exceptions.TornadoBailoutRuntimeException;
+import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
 import uk.ac.manchester.tornado.drivers.common.compiler.phases.analysis.TornadoValueTypeReplacement;
 import uk.ac.manchester.tornado.drivers.common.compiler.phases.loops.TornadoLoopUnroller;
 import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.PTXKernelContextAccessNode;
 import uk.ac.manchester.tornado.runtime.common.RuntimeUtilities;
 import uk.ac.manchester.tornado.runtime.common.Tornado;
+import uk.ac.manchester.tornado.runtime.domain.LoopBound;
 import uk.ac.manchester.tornado.runtime.graal.nodes.ParallelRangeNode;
 import uk.ac.manchester.tornado.runtime.graal.phases.TornadoHighTierContext;
+import uk.ac.manchester.tornado.runtime.tasks.meta.TaskMetaData;
 
 public class TornadoTaskSpecialisation extends BasePhase<TornadoHighTierContext> {
 
@@ -75,6 +81,9 @@ public class TornadoTaskSpecialisation extends BasePhase<TornadoHighTierContext>
     private final TornadoLoopUnroller loopUnroll;
     private long batchThreads;
     private int index;
+    private boolean dynamicLoopBounds;
+    private TaskMetaData meta;
+    private final HashMap<Integer, ValueNode> loopBoundNodes = new HashMap<>();
     private boolean gridScheduling;
     private boolean printOnce = true;
 
@@ -193,6 +202,15 @@ public class TornadoTaskSpecialisation extends BasePhase<TornadoHighTierContext>
         }
     }
 
+    /**
+     * It returns true if the size of an array is folded to the number of threads
+     * of the batch. Broadcast objects are not split in batches, so they keep
+     * their own size.
+     */
+    private boolean isSplitInBatches(Object value) {
+        return batchThreads > 0 && (meta == null || !meta.isBatchBroadcastObject(value));
+    }
+
     private void evaluate(final StructuredGraph graph, final Node node, final Object value) {
         if (node instanceof ArrayLengthNode) {
             ArrayLengthNode arrayLength = (ArrayLengthNode) node;
@@ -211,7 +229,7 @@ public class TornadoTaskSpecialisation extends BasePhase<TornadoHighTierContext>
                 index++;
             } else {
                 final ConstantNode constant;
-                if (batchThreads <= 0) {
+                if (!isSplitInBatches(value)) {
                     constant = ConstantNode.forInt(length);
                 } else {
                     constant = ConstantNode.forInt((int) batchThreads);
@@ -226,7 +244,7 @@ public class TornadoTaskSpecialisation extends BasePhase<TornadoHighTierContext>
             if (field.getType().getJavaKind().isPrimitive()) {
                 ConstantNode constant;
                 if (node.toString().contains("numberOfElements")) {
-                    if (batchThreads <= 0) {
+                    if (!isSplitInBatches(value)) {
                         constant = lookupPrimField(graph, node, value, field.getName(), field.getJavaKind());
                     } else {
                         constant = ConstantNode.forInt((int) batchThreads);
@@ -295,18 +313,90 @@ public class TornadoTaskSpecialisation extends BasePhase<TornadoHighTierContext>
                 PTXKernelContextAccessNode kernelContextAccessNode = graph.addOrUnique(new PTXKernelContextAccessNode(constantValue));
                 parameterNode.replaceAtUsages(kernelContextAccessNode);
                 index++;
+            } else if (dynamicLoopBounds && args[parameterNode.index()] instanceof Integer && isParameterInvolvedInParallelLoopBound(parameterNode) && index < LoopBound.MAX_SLOTS) {
+                parameterNode.replaceAtUsages(createDynamicLoopBound(graph, parameterNode.index(), LoopBound.Kind.VALUE));
             } else {
                 ConstantNode constant = createConstantFromObject(args[parameterNode.index()]);
                 graph.addWithoutUnique(constant);
                 parameterNode.replaceAtUsages(constant);
             }
         } else {
+            if (dynamicLoopBounds) {
+                replaceSizesWithDynamicLoopBound(graph, parameterNode, args[parameterNode.index()]);
+            }
             parameterNode.usages().snapshot().forEach(n -> {
                 evaluate(graph, n, args[parameterNode.index()]);
             });
         }
     }
 
+    /**
+     * It replaces the size of an array parameter with a value that the kernel
+     * reads from the kernel context, if the size bounds a parallel loop. All
+     * the reads of the size are replaced, so the kernel does not depend on the
+     * size of the array.
+     */
+    private void replaceSizesWithDynamicLoopBound(StructuredGraph graph, ParameterNode parameterNode, Object value) {
+        final LoopBound.Kind kind;
+        if (value != null && value.getClass().isArray()) {
+            kind = LoopBound.Kind.ARRAY_LENGTH;
+        } else if (value instanceof TornadoNativeArray) {
+            kind = LoopBound.Kind.NATIVE_ARRAY_SIZE;
+        } else {
+            return;
+        }
+
+        final List<Node> sizes = parameterNode.usages().filter(n -> isArraySize(n, kind)).snapshot();
+        if (sizes.isEmpty()) {
+            return;
+        }
+        ValueNode loopBound = loopBoundNodes.get(parameterNode.index());
+        if (loopBound == null) {
+            if (index >= LoopBound.MAX_SLOTS || sizes.stream().noneMatch(this::isParameterInvolvedInParallelLoopBound)) {
+                // The size is specialised as usual
+                meta.addConstantSizeParameter(parameterNode.index());
+                return;
+            }
+            loopBound = createDynamicLoopBound(graph, parameterNode.index(), kind);
+        }
+
+        for (Node size : sizes) {
+            size.replaceAtUsages(loopBound);
+            if (size instanceof ArrayLengthNode arrayLength) {
+                arrayLength.clearInputs();
+                GraphUtil.removeFixedWithUnusedInputs(arrayLength);
+            } else if (size instanceof LoadFieldNode loadField) {
+                loadField.clearInputs();
+                graph.removeFixed(loadField);
+            }
+        }
+    }
+
+    private static boolean isArraySize(Node node, LoopBound.Kind kind) {
+        return switch (kind) {
+            case ARRAY_LENGTH -> node instanceof ArrayLengthNode;
+            case NATIVE_ARRAY_SIZE -> node instanceof LoadFieldNode loadField && loadField.field().getName().equals("numberOfElements");
+            case VALUE -> false;
+        };
+    }
+
+    private ValueNode createDynamicLoopBound(StructuredGraph graph, int parameterIndex, LoopBound.Kind kind) {
+        meta.addLoopBound(new LoopBound(index, parameterIndex, kind, -1));
+        ConstantNode slot = graph.addOrUnique(ConstantNode.forInt(index));
+        ValueNode loopBound = graph.addOrUnique(new PTXKernelContextAccessNode(slot));
+        loopBoundNodes.put(parameterIndex, loopBound);
+        index++;
+        return loopBound;
+    }
+
+    private void recordDynamicLoopBoundDimensions(StructuredGraph graph) {
+        graph.getNodes().filter(ParallelRangeNode.class).forEach(range -> {
+            if (range.value() instanceof PTXKernelContextAccessNode kernelContextAccess) {
+                meta.setLoopBoundDimension(kernelContextAccess.getIndex().asJavaConstant().asInt(), range.index());
+            }
+        });
+    }
+
     @Override
     protected void run(StructuredGraph graph, TornadoHighTierContext context) {
         int iterations = 0;
@@ -314,6 +404,11 @@ public class TornadoTaskSpecialisation extends BasePhase<TornadoHighTierContext>
         boolean hasWork = true;
         this.batchThreads = context.getBatchThreads();
         this.gridScheduling = context.isGridSchedulerEnabled();
+        this.dynamicLoopBounds = !gridScheduling && batchThreads <= 0 && context.hasMeta() && context.hasArgs() && context.getMeta().shouldUseDynamicLoopBounds();
+        this.meta = context.getMeta();
+        if (dynamicLoopBounds) {
+            meta.clearLoopBounds();
+        }
 
         while (hasWork) {
             final Graph.Mark mark = graph.getMark();
@@ -387,6 +482,10 @@ public class TornadoTaskSpecialisation extends BasePhase<TornadoHighTierContext>
         }
         Tornado.debug("TaskSpecialisation ran %d iterations", iterations);
         Tornado.debug("valid graph? %s", graph.verify());
+        if (dynamicLoopBounds) {
+            recordDynamicLoopBoundDimensions(graph);
+            loopBoundNodes.clear();
+        }
         index = 0;
     }
 
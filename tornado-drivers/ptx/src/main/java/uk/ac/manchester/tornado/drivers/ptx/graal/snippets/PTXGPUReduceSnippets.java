@@ -24,6 +24,9 @@ package uk.ac.manchester.tornado.drivers.ptx.graal.snippets;
 import org.graalvm.compiler.api.replacements.Snippet;
 import org.graalvm.compiler.nodes.GraphState;
 import org.graalvm.compiler.nodes.ValueNode;
+import org.graalvm.compiler.nodes.calc.AndNode;
+import org.graalvm.compiler.nodes.calc.OrNode;
+import org.graalvm.compiler.nodes.calc.XorNode;
 import org.graalvm.compiler.nodes.java.NewArrayNode;
 import org.graalvm.compiler.nodes.spi.LoweringTool;
 import org.graalvm.compiler.options.OptionValues;
@@ -797,6 +800,270 @@ public class PTXGPUReduceSnippets implements Snippets {
         }
     }
 
+    @Snippet
+    public static void partialReduceIntAnd(int[] inputArray, int[] outputArray, int gidx) {
+        int localIdx = PTXIntrinsics.get_local_id(0);
+        int localGroupSize = PTXIntrinsics.get_local_size(0);
+        int groupID = PTXIntrinsics.get_group_id(0);
+
+        int[] localArray = (int[]) NewArrayNode.newUninitializedArray(int.class, LOCAL_WORK_GROUP_SIZE);
+
+        localArray[localIdx] = inputArray[gidx];
+        for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
+            PTXIntrinsics.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] &= localArray[localIdx + stride];
+            }
+        }
+
+        PTXIntrinsics.globalBarrier();
+        if (localIdx == 0) {
+            outputArray[groupID + 1] = localArray[0];
+        }
+    }
+
+    @Snippet
+    public static void partialReduceIntAndCarrierValue(int[] inputArray, int[] outputArray, int gidx, int value) {
+        int localIdx = PTXIntrinsics.get_local_id(0);
+        int localGroupSize = PTXIntrinsics.get_local_size(0);
+        int groupID = PTXIntrinsics.get_group_id(0);
+
+        int[] localArray = (int[]) NewArrayNode.newUninitializedArray(int.class, LOCAL_WORK_GROUP_SIZE);
+
+        localArray[localIdx] = value;
+        for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
+            PTXIntrinsics.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] &= localArray[localIdx + stride];
+            }
+        }
+
+        PTXIntrinsics.globalBarrier();
+        if (localIdx == 0) {
+            outputArray[groupID + 1] = localArray[0];
+        }
+    }
+
+    @Snippet
+    public static void partialReduceIntOr(int[] inputArray, int[] outputArray, int gidx) {
+        int localIdx = PTXIntrinsics.get_local_id(0);
+        int localGroupSize = PTXIntrinsics.get_local_size(0);
+        int groupID = PTXIntrinsics.get_group_id(0);
+
+        int[] localArray = (int[]) NewArrayNode.newUninitializedArray(int.class, LOCAL_WORK_GROUP_SIZE);
+
+        localArray[localIdx] = inputArray[gidx];
+        for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
+            PTXIntrinsics.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] |= localArray[localIdx + stride];
+            }
+        }
+
+        PTXIntrinsics.globalBarrier();
+        if (localIdx == 0) {
+            outputArray[groupID + 1] = localArray[0];
+        }
+    }
+
+    @Snippet
+    public static void partialReduceIntOrCarrierValue(int[] inputArray, int[] outputArray, int gidx, int value) {
+        int localIdx = PTXIntrinsics.get_local_id(0);
+        int localGroupSize = PTXIntrinsics.get_local_size(0);
+        int groupID = PTXIntrinsics.get_group_id(0);
+
+        int[] localArray = (int[]) NewArrayNode.newUninitializedArray(int.class, LOCAL_WORK_GROUP_SIZE);
+
+        localArray[localIdx] = value;
+        for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
+            PTXIntrinsics.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] |= localArray[localIdx + stride];
+            }
+        }
+
+        PTXIntrinsics.globalBarrier();
+        if (localIdx == 0) {
+            outputArray[groupID + 1] = localArray[0];
+        }
+    }
+
+    @Snippet
+    public static void partialReduceIntXor(int[] inputArray, int[] outputArray, int gidx) {
+        int localIdx = PTXIntrinsics.get_local_id(0);
+        int localGroupSize = PTXIntrinsics.get_local_size(0);
+        int groupID = PTXIntrinsics.get_group_id(0);
+
+        int[] localArray = (int[]) NewArrayNode.newUninitializedArray(int.class, LOCAL_WORK_GROUP_SIZE);
+
+        localArray[localIdx] = inputArray[gidx];
+        for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
+            PTXIntrinsics.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] ^= localArray[localIdx + stride];
+            }
+        }
+
+        PTXIntrinsics.globalBarrier();
+        if (localIdx == 0) {
+            outputArray[groupID + 1] = localArray[0];
+        }
+    }
+
+    @Snippet
+    public static void partialReduceIntXorCarrierValue(int[] inputArray, int[] outputArray, int gidx, int value) {
+        int localIdx = PTXIntrinsics.get_local_id(0);
+        int localGroupSize = PTXIntrinsics.get_local_size(0);
+        int groupID = PTXIntrinsics.get_group_id(0);
+
+        int[] localArray = (int[]) NewArrayNode.newUninitializedArray(int.class, LOCAL_WORK_GROUP_SIZE);
+
+        localArray[localIdx] = value;
+        for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
+            PTXIntrinsics.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] ^= localArray[localIdx + stride];
+            }
+        }
+
+        PTXIntrinsics.globalBarrier();
+        if (localIdx == 0) {
+            outputArray[groupID + 1] = localArray[0];
+        }
+    }
+
+    @Snippet
+    public static void partialReduceLongAnd(long[] inputArray, long[] outputArray, int gidx) {
+        int localIdx = PTXIntrinsics.get_local_id(0);
+        int localGroupSize = PTXIntrinsics.get_local_size(0);
+        int groupID = PTXIntrinsics.get_group_id(0);
+
+        long[] localArray = (long[]) NewArrayNode.newUninitializedArray(long.class, LOCAL_WORK_GROUP_SIZE);
+
+        localArray[localIdx] = inputArray[gidx];
+        for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
+            PTXIntrinsics.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] &= localArray[localIdx + stride];
+            }
+        }
+
+        PTXIntrinsics.globalBarrier();
+        if (localIdx == 0) {
+            outputArray[groupID + 1] = localArray[0];
+        }
+    }
+
+    @Snippet
+    public static void partialReduceLongAndCarrierValue(long[] inputArray, long[] outputArray, int gidx, long value) {
+        int localIdx = PTXIntrinsics.get_local_id(0);
+        int localGroupSize = PTXIntrinsics.get_local_size(0);
+        int groupID = PTXIntrinsics.get_group_id(0);
+
+        long[] localArray = (long[]) NewArrayNode.newUninitializedArray(long.class, LOCAL_WORK_GROUP_SIZE);
+
+        localArray[localIdx] = value;
+        for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
+            PTXIntrinsics.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] &= localArray[localIdx + stride];
+            }
+        }
+
+        PTXIntrinsics.globalBarrier();
+        if (localIdx == 0) {
+            outputArray[groupID + 1] = localArray[0];
+        }
+    }
+
+    @Snippet
+    public static void partialReduceLongOr(long[] inputArray, long[] outputArray, int gidx) {
+        int localIdx = PTXIntrinsics.get_local_id(0);
+        int localGroupSize = PTXIntrinsics.get_local_size(0);
+        int groupID = PTXIntrinsics.get_group_id(0);
+
+        long[] localArray = (long[]) NewArrayNode.newUninitializedArray(long.class, LOCAL_WORK_GROUP_SIZE);
+
+        localArray[localIdx] = inputArray[gidx];
+        for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
+            PTXIntrinsics.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] |= localArray[localIdx + stride];
+            }
+        }
+
+        PTXIntrinsics.globalBarrier();
+        if (localIdx == 0) {
+            outputArray[groupID + 1] = localArray[0];
+        }
+    }
+
+    @Snippet
+    public static void partialReduceLongOrCarrierValue(long[] inputArray, long[] outputArray, int gidx, long value) {
+        int localIdx = PTXIntrinsics.get_local_id(0);
+        int localGroupSize = PTXIntrinsics.get_local_size(0);
+        int groupID = PTXIntrinsics.get_group_id(0);
+
+        long[] localArray = (long[]) NewArrayNode.newUninitializedArray(long.class, LOCAL_WORK_GROUP_SIZE);
+
+        localArray[localIdx] = value;
+        for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
+            PTXIntrinsics.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] |= localArray[localIdx + stride];
+            }
+        }
+
+        PTXIntrinsics.globalBarrier();
+        if (localIdx == 0) {
+            outputArray[groupID + 1] = localArray[0];
+        }
+    }
+
+    @Snippet
+    public static void partialReduceLongXor(long[] inputArray, long[] outputArray, int gidx) {
+        int localIdx = PTXIntrinsics.get_local_id(0);
+        int localGroupSize = PTXIntrinsics.get_local_size(0);
+        int groupID = PTXIntrinsics.get_group_id(0);
+
+        long[] localArray = (long[]) NewArrayNode.newUninitializedArray(long.class, LOCAL_WORK_GROUP_SIZE);
+
+        localArray[localIdx] = inputArray[gidx];
+        for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
+            PTXIntrinsics.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] ^= localArray[localIdx + stride];
+            }
+        }
+
+        PTXIntrinsics.globalBarrier();
+        if (localIdx == 0) {
+            outputArray[groupID + 1] = localArray[0];
+        }
+    }
+
+    @Snippet
+    public static void partialReduceLongXorCarrierValue(long[] inputArray, long[] outputArray, int gidx, long value) {
+        int localIdx = PTXIntrinsics.get_local_id(0);
+        int localGroupSize = PTXIntrinsics.get_local_size(0);
+        int groupID = PTXIntrinsics.get_group_id(0);
+
+        long[] localArray = (long[]) NewArrayNode.newUninitializedArray(long.class, LOCAL_WORK_GROUP_SIZE);
+
+        localArray[localIdx] = value;
+        for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
+            PTXIntrinsics.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] ^= localArray[localIdx + stride];
+            }
+        }
+
+        PTXIntrinsics.globalBarrier();
+        if (localIdx == 0) {
+            outputArray[groupID + 1] = localArray[0];
+        }
+    }
+
     protected static class Tuple2<T0, T1> {
         T0 t0;
         T1 t1;
@@ -857,6 +1124,20 @@ public class PTXGPUReduceSnippets implements Snippets {
         private final Tuple2<Class<? extends PTXGPUReduceSnippets>, String> partialReduceMinDoubleSnippet = new Tuple2<>(PTXGPUReduceSnippets.class, "partialReduceDoubleMin");
         private final Tuple2<Class<? extends PTXGPUReduceSnippets>, String> partialReduceMinDoubleSnippetCarrierValue = new Tuple2<>(PTXGPUReduceSnippets.class, "partialReduceDoubleMinCarrierValue");
 
+        // Bitwise
+        private final Tuple2<Class<? extends PTXGPUReduceSnippets>, String> partialReduceIntAndSnippet = new Tuple2<>(PTXGPUReduceSnippets.class, "partialReduceIntAnd");
+        private final Tuple2<Class<? extends PTXGPUReduceSnippets>, String> partialReduceIntAndSnippetCarrierValue = new Tuple2<>(PTXGPUReduceSnippets.class, "partialReduceIntAndCarrierValue");
+        private final Tuple2<Class<? extends PTXGPUReduceSnippets>, String> partialReduceIntOrSnippet = new Tuple2<>(PTXGPUReduceSnippets.class, "partialReduceIntOr");
+        private final Tuple2<Class<? extends PTXGPUReduceSnippets>, String> partialReduceIntOrSnippetCarrierValue = new Tuple2<>(PTXGPUReduceSnippets.class, "partialReduceIntOrCarrierValue");
+        private final Tuple2<Class<? extends PTXGPUReduceSnippets>, String> partialReduceIntXorSnippet = new Tuple2<>(PTXGPUReduceSnippets.class, "partialReduceIntXor");
+        private final Tuple2<Class<? extends PTXGPUReduceSnippets>, String> partialReduceIntXorSnippetCarrierValue = new Tuple2<>(PTXGPUReduceSnippets.class, "partialReduceIntXorCarrierValue");
+        private final Tuple2<Class<? extends PTXGPUReduceSnippets>, String> partialReduceLongAndSnippet = new Tuple2<>(PTXGPUReduceSnippets.class, "partialReduceLongAnd");
+        private final Tuple2<Class<? extends PTXGPUReduceSnippets>, String> partialReduceLongAndSnippetCarrierValue = new Tuple2<>(PTXGPUReduceSnippets.class, "partialReduceLongAndCarrierValue");
+        private final Tuple2<Class<? extends PTXGPUReduceSnippets>, String> partialReduceLongOrSnippet = new Tuple2<>(PTXGPUReduceSnippets.class, "partialReduceLongOr");
+        private final Tuple2<Class<? extends PTXGPUReduceSnippets>, String> partialReduceLongOrSnippetCarrierValue = new Tuple2<>(PTXGPUReduceSnippets.class, "partialReduceLongOrCarrierValue");
+        private final Tuple2<Class<? extends PTXGPUReduceSnippets>, String> partialReduceLongXorSnippet = new Tuple2<>(PTXGPUReduceSnippets.class, "partialReduceLongXor");
+        private final Tuple2<Class<? extends PTXGPUReduceSnippets>, String> partialReduceLongXorSnippetCarrierValue = new Tuple2<>(PTXGPUReduceSnippets.class, "partialReduceLongXorCarrierValue");
+
         Providers providers;
 
         public Templates(OptionValues options, Providers providers) {
@@ -892,6 +1173,28 @@ public class PTXGPUReduceSnippets implements Snippets {
             }
         }
 
+        private SnippetInfo getSnippetFromBitwiseNodeInt(ValueNode value, ValueNode extra) {
+            if (value instanceof AndNode) {
+                return (extra == null) ? snippet(partialReduceIntAndSnippet) : snippet(partialReduceIntAndSnippetCarrierValue);
+            } else if (value instanceof OrNode) {
+                return (extra == null) ? snippet(partialReduceIntOrSnippet) : snippet(partialReduceIntOrSnippetCarrierValue);
+            } else if (value instanceof XorNode) {
+                return (extra == null) ? snippet(partialReduceIntXorSnippet) : snippet(partialReduceIntXorSnippetCarrierValue);
+            }
+            throw new RuntimeException("Reduce Operation no supported yet: snippet not installed");
+        }
+
+        private SnippetInfo getSnippetFromBitwiseNodeLong(ValueNode value, ValueNode extra) {
+            if (value instanceof AndNode) {
+                return (extra == null) ? snippet(partialReduceLongAndSnippet) : snippet(partialReduceLongAndSnippetCarrierValue);
+            } else if (value instanceof OrNode) {
+                return (extra == null) ? snippet(partialReduceLongOrSnippet) : snippet(partialReduceLongOrSnippetCarrierValue);
+            } else if (value instanceof XorNode) {
+                return (extra == null) ? snippet(partialReduceLongXorSnippet) : snippet(partialReduceLongXorSnippetCarrierValue);
+            }
+            throw new RuntimeException("Reduce Operation no supported yet: snippet not installed");
+        }
+
         @Override
         public SnippetInfo inferIntSnippet(ValueNode value, ValueNode extra) {
             SnippetInfo snippet;
@@ -900,6 +1203,8 @@ public class PTXGPUReduceSnippets implements Snippets {
             } else if (value instanceof TornadoReduceMulNode) {
                 // operation = ATOMIC_OPERATION.MUL;
                 snippet = (extra == null) ? snippet(partialReduceIntMultSnippet) : snippet(partialReduceIntMultSnippetCarrierValue);
+            } else if (value instanceof AndNode || value instanceof OrNode || value instanceof XorNode) {
+                snippet = getSnippetFromBitwiseNodeInt(value, extra);
             } else if (value instanceof PTXIntBinaryIntrinsicNode) {
                 PTXIntBinaryIntrinsicNode op = (PTXIntBinaryIntrinsicNode) value;
                 snippet = getSnippetFromOCLBinaryNodeInteger(op, extra);
@@ -916,6 +1221,8 @@ public class PTXGPUReduceSnippets implements Snippets {
                 snippet = (extra == null) ? snippet(partialReduceLongSnippet) : snippet(partialReduceLongSnippetCarrierValue);
             } else if (value instanceof TornadoReduceMulNode) {
                 snippet = (extra == null) ? snippet(partialReduceLongMultSnippet) : snippet(partialReduceLongMultSnippetCarrierValue);
+            } else if (value instanceof AndNode || value instanceof OrNode || value instanceof XorNode) {
+                snippet = getSnippetFromBitwiseNodeLong(value, extra);
             } else if (value instanceof PTXIntBinaryIntrinsicNode) {
                 PTXIntBinaryIntrinsicNode op = (PTXIntBinaryIntrinsicNode) value;
                 snippet = getSnippetFromOCLBinaryNodeLong(op, extra);
@@ -45,6 +45,7 @@ import uk.ac.manchester.tornado.drivers.spirv.levelzero.utils.LevelZeroUtils;
 import uk.ac.manchester.tornado.drivers.spirv.mm.SPIRVKernelArgs;
 import uk.ac.manchester.tornado.drivers.spirv.timestamps.LevelZeroKernelTimeStamp;
 import uk.ac.manchester.tornado.runtime.common.KernelArgs;
+import uk.ac.manchester.tornado.runtime.common.RuntimeUtilities;
 import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 import uk.ac.manchester.tornado.runtime.tasks.meta.TaskMetaData;
 
@@ -54,7 +55,7 @@ public class SPIRVLevelZeroInstalledCode extends SPIRVInstalledCode {
 
     private static final int WARP_SIZE = 32;
     private boolean valid;
-    private boolean ADJUST_IRREGULAR = false;
+    private static final boolean ADJUST_IRREGULAR = TornadoOptions.PAD_GLOBAL_WORK;
     private LevelZeroKernelTimeStamp kernelTimeStamp;
     private ThreadBlockDispatcher dispatcher;
     private DeviceThreadScheduling threadScheduling;
@@ -306,8 +307,10 @@ public class SPIRVLevelZeroInstalledCode extends SPIRVInstalledCode {
 
         for (int i = 0; i < meta.getDims(); i++) {
             long value = (batchThreads <= 0) ? (long) (meta.getDomain().get(i).cardinality()) : batchThreads;
-            if (ADJUST_IRREGULAR && (value % WARP_SIZE != 0)) {
-                value = ((value / WARP_SIZE) + 1) * WARP_SIZE;
+            // Only the first dimension is padded: it is the one mapped to consecutive
+            // threads of a sub-group
+            if (i == 0 && ADJUST_IRREGULAR && !meta.enableThreadCoarsener()) {
+                value = RuntimeUtilities.padGlobalWork(value, RuntimeUtilities.getPaddedGroupSize(WARP_SIZE, calculateEffectiveMaxWorkItemSizes(meta)[0]));
             }
             globalWork[i] = value;
         }
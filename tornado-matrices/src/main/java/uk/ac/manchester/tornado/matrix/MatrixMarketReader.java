@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.matrix;
+
+import static java.lang.System.out;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+/**
+ * Streaming parser of sparse matrices in the Matrix Market coordinate format.
+ * The entries are read into primitive arrays in coordinate (COO) format,
+ * without creating objects per entry. The lower triangle of symmetric matrices
+ * is mirrored, and the values of pattern matrices are random.
+ */
+final class MatrixMarketReader {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final InputStream input;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private final byte[] token = new byte[64];
+    private int position;
+    private int limit;
+
+    /**
+     * Entries of a sparse matrix in coordinate format, with 0-based indexes.
+     */
+    record Coordinates(int nRows, int nCols, int n, int[] rows, int[] cols, float[] vals) {
+    }
+
+    private MatrixMarketReader(InputStream input) {
+        this.input = input;
+    }
+
+    /**
+     * Reads a matrix from the input stream.
+     *
+     * @param input
+     *     Stream with the matrix in Matrix Market format.
+     * @param rand
+     *     Generator of the values of pattern matrices.
+     * @return the {@link Coordinates} of the matrix, or null if the stream does not
+     *     contain a sparse matrix.
+     */
+    static Coordinates read(InputStream input, Random rand) throws IOException {
+        return new MatrixMarketReader(input).readCoordinates(rand);
+    }
+
+    private Coordinates readCoordinates(Random rand) throws IOException {
+        String[] opts = readLine().trim().split("\\s+");
+        // id object format field symmetry
+        if (opts.length < 5 || !opts[1].equalsIgnoreCase("matrix")) {
+            out.printf("Matrix file doesnot contain matrix\n");
+            return null;
+        }
+        if (!opts[2].equalsIgnoreCase("coordinate")) {
+            out.printf("Matrix representation is dense\n");
+            return null;
+        }
+        final boolean pattern = opts[3].equalsIgnoreCase("pattern");
+        final boolean symmetric = opts[4].equalsIgnoreCase("symmetric");
+
+        skipComments();
+        final int nRows = readInt();
+        final int nCols = readInt();
+        final int nElements = readInt();
+
+        final int capacity = symmetric ? 2 * nElements : nElements;
+        final int[] rows = new int[capacity];
+        final int[] cols = new int[capacity];
+        final float[] vals = new float[capacity];
+
+        int index = 0;
+        for (int i = 0; i < nElements; i++) {
+            final int x = readInt() - 1;
+            final int y = readInt() - 1;
+            final float val = pattern ? rand.nextFloat() * 256.0f : readFloat();
+            rows[index] = x;
+            cols[index] = y;
+            vals[index] = val;
+            index++;
+            if (symmetric && x != y) {
+                rows[index] = y;
+                cols[index] = x;
+                vals[index] = val;
+                index++;
+            }
+        }
+        return new Coordinates(nRows, nCols, index, rows, cols, vals);
+    }
+
+    private boolean fill() throws IOException {
+        limit = input.read(buffer, 0, BUFFER_SIZE);
+        position = 0;
+        return limit > 0;
+    }
+
+    private int peek() throws IOException {
+        if (position >= limit && !fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    private String readLine() throws IOException {
+        StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = peek()) != -1) {
+            position++;
+            if (c == '\n') {
+                break;
+            }
+            line.append((char) c);
+        }
+        return line.toString();
+    }
+
+    private void skipComments() throws IOException {
+        int c;
+        while ((c = peek()) != -1) {
+            if (c == '%') {
+                readLine();
+            } else if (Character.isWhitespace(c)) {
+                position++;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private int readToken() throws IOException {
+        int c;
+        while ((c = peek()) != -1 && Character.isWhitespace(c)) {
+            position++;
+        }
+        int length = 0;
+        while ((c = peek()) != -1 && !Character.isWhitespace(c)) {
+            if (length < token.length) {
+                token[length] = (byte) c;
+            }
+            length++;
+            position++;
+        }
+        if (length == 0) {
+            throw new EOFException("Unexpected end of the matrix file");
+        }
+        if (length > token.length) {
+            throw new IOException("Invalid entry in the matrix file");
+        }
+        return length;
+    }
+
+    private int readInt() throws IOException {
+        final int length = readToken();
+        int value = 0;
+        for (int i = 0; i < length; i++) {
+            final int digit = token[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw new IOException("Invalid index in the matrix file: " + new String(token, 0, length, StandardCharsets.US_ASCII));
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private float readFloat() throws IOException {
+        final int length = readToken();
+        return Float.parseFloat(new String(token, 0, length, StandardCharsets.US_ASCII));
+    }
+}
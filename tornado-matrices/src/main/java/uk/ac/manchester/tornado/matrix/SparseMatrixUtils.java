@@ -17,182 +17,66 @@
  */
 package uk.ac.manchester.tornado.matrix;
 
-import static java.lang.Float.parseFloat;
-import static java.lang.Integer.parseInt;
-import static java.lang.String.format;
 import static java.lang.System.err;
-import static java.lang.System.out;
-import static java.util.Collections.sort;
 
-import java.io.BufferedReader;
 import java.io.FileNotFoundException;
-import java.io.FileReader;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.util.ArrayList;
-import java.util.List;
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
 import java.util.Random;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
 
 import uk.ac.manchester.tornado.api.types.arrays.DoubleArray;
 import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
 import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
+import uk.ac.manchester.tornado.matrix.MatrixMarketReader.Coordinates;
 
 public class SparseMatrixUtils {
 
-    private static final boolean VERBOSE = false;
+    /**
+     * Suffix of the binary CSR files written by {@link #loadMatrixFCached}.
+     */
+    public static final String CSR_CACHE_SUFFIX = ".tcsr";
 
-    public static CSRMatrix<DoubleArray> loadMatrixD(final String path) {
-        boolean pattern = false;
-        boolean symmetric = false;
-
-        final CSRMatrix<DoubleArray> mat = new CSRMatrix<>();
-
-        Random rand = null;
-        try (BufferedReader br = new BufferedReader(new FileReader(path))) {
-
-            String line = br.readLine();
-
-            String[] opts = line.split(" ");
-            // id object format field symmetry
-
-            if (!opts[1].equalsIgnoreCase("matrix")) {
-                System.out.printf("Matrix file doesnot contain matrix\n");
-                br.close();
-                return null;
-            }
+    private static final int CSR_MAGIC = 0x52534354; // "TCSR"
+    private static final int CSR_VERSION = 1;
+    private static final int CSR_FILE_HEADER = 64;
+    private static final long CSR_ALIGNMENT = 8;
+    private static final long WRITE_CHUNK = 1 << 26;
 
-            if (!opts[2].equalsIgnoreCase("coordinate")) {
-                System.out.printf("Matrix representation is dense\n");
-                br.close();
+    public static CSRMatrix<DoubleArray> loadMatrixD(final String path) {
+        try (InputStream inStream = Files.newInputStream(Path.of(path))) {
+            Coordinates coords = MatrixMarketReader.read(inStream, new Random());
+            if (coords == null) {
                 return null;
             }
-
-            if (opts[3].equalsIgnoreCase("pattern")) {
-                pattern = true;
-                rand = new Random();
-                // System.out.printf("Matrix pattern unimplemented\n");
-                // return;
-            }
-
-            if (opts[4].equalsIgnoreCase("symmetric")) {
-                symmetric = true;
-            }
-
-            while ((line = br.readLine()) != null) {
-                if (!line.startsWith("%")) {
-                    break;
-                }
-            }
-
-            opts = line.split(" ");
-
-            final int nRows = Integer.parseInt(opts[0]);
-            final int nCols = Integer.parseInt(opts[1]);
-            int nElements = Integer.parseInt(opts[2]);
-
-            class Coordinate implements Comparable<Coordinate> {
-
-                int x;
-                int y;
-                float val;
-
-                Coordinate(final int a, final int b, final float c) {
-                    x = a;
-                    y = b;
-                    val = c;
-                }
-
-                Coordinate(final String[] opts) {
-                    x = parseInt(opts[0]) - 1;
-                    y = parseInt(opts[1]) - 1;
-                    val = parseFloat(opts[2]);
-                }
-
-                @Override
-                public int compareTo(final Coordinate c) {
-                    int val = 0;
-                    if (x != c.x) {
-                        val = x - c.x;
-                    } else {
-                        val = y - c.y;
-                    }
-
-                    return val;
-                }
-
-                @Override
-                public String toString() {
-                    return String.format("[ %d, %d, %10.2f ]", x, y, val);
-                }
-            }
-
-            if (VERBOSE) {
-                System.out.printf("Matrix: rows=%d, cols=%d, elements=%d\n", nRows, nCols, nElements);
-            }
-
-            List<Coordinate> coords;
-            if (symmetric) {
-                coords = new ArrayList<>(2 * nElements);
-            } else {
-                coords = new ArrayList<>(nElements);
-            }
-
-            int index = 0;
-            while ((line = br.readLine()) != null) {
-                opts = line.split(" ");
-                if (pattern) {
-                    final Coordinate c = new Coordinate(parseInt(opts[0]) - 1, parseInt(opts[1]) - 1, rand.nextFloat() * 256.0f);
-                    coords.add(c);
-                } else {
-                    coords.add(new Coordinate(opts));
-                }
-
-                index++;
-
-                if (symmetric) {
-                    final Coordinate last = coords.get(index - 1);
-                    if (last.x != last.y) {
-                        coords.add(new Coordinate(last.y, last.x, last.val));
-                        index++;
-                    }
-                }
-            }
-
-            sort(coords);
-            nElements = index;
-            mat.n = nElements;
-            mat.size = nRows;
-            mat.vals = new DoubleArray(nElements);
-            mat.cols = new IntArray(nElements);
-            mat.rows = new IntArray(nRows + 1);
-            mat.rows.set(0, 0);
-            mat.rows.set(nRows, nElements);
-            int r = 0;
-            for (int i = 0; i < nElements; i++) {
-
-                final Coordinate c = coords.get(i);
-
-                while (c.x != r) {
-                    mat.rows.set(++r, i);
-                }
-                mat.vals.set(i, c.val);
-                mat.cols.set(i, c.y);
-            }
-            coords.clear();
-        } catch (final FileNotFoundException e) {
+            final CSRMatrix<DoubleArray> mat = new CSRMatrix<>();
+            final long[] order = toCSR(coords, mat);
+            mat.vals = new DoubleArray(coords.n());
+            IntStream.range(0, coords.n()).parallel().forEach(i -> mat.vals.set(i, coords.vals()[(int) order[i]]));
+            return mat;
+        } catch (final FileNotFoundException | NoSuchFileException e) {
             System.out.printf("Unable to open matrix %s\n", path);
         } catch (final IOException e) {
             e.printStackTrace();
         }
-
-        return mat;
-
+        return null;
     }
 
     public static CSRMatrix<FloatArray> loadMatrixF(InputStream inStream) {
-        try (BufferedReader br = new BufferedReader(new InputStreamReader(inStream))) {
-            return loadMatrixF(br);
+        try (InputStream in = inStream) {
+            return loadMatrixFromCoordinates(MatrixMarketReader.read(in, new Random(7)));
         } catch (IOException e) {
             err.printf("unable to read matrix from input steam: %s\n", e.getMessage());
             e.printStackTrace();
@@ -201,8 +85,8 @@ public class SparseMatrixUtils {
     }
 
     public static CSRMatrix<FloatArray> loadMatrixF(final String path) {
-        try (BufferedReader br = new BufferedReader(new FileReader(path))) {
-            return loadMatrixF(br);
+        try (InputStream inStream = Files.newInputStream(Path.of(path))) {
+            return loadMatrixFromCoordinates(MatrixMarketReader.read(inStream, new Random(7)));
         } catch (IOException e) {
             err.printf("unable to read matrix from file: %s (%s)\n", path, e.getMessage());
             e.printStackTrace();
@@ -210,151 +94,178 @@ public class SparseMatrixUtils {
         return null;
     }
 
-    private static CSRMatrix<FloatArray> loadMatrixF(BufferedReader br) throws IOException {
-        boolean pattern = false;
-        boolean symmetric = false;
-
-        final CSRMatrix<FloatArray> mat = new CSRMatrix<>();
-
-        Random rand = null;
-
-        String line = br.readLine();
-
-        String[] opts = line.split(" ");
-        // id object format field symmetry
-
-        if (!opts[1].equalsIgnoreCase("matrix")) {
-            out.printf("Matrix file doesnot contain matrix\n");
-            br.close();
-            return null;
-        }
-
-        if (!opts[2].equalsIgnoreCase("coordinate")) {
-            out.printf("Matrix representation is dense\n");
-            br.close();
-            return null;
-        }
-
-        if (opts[3].equalsIgnoreCase("pattern")) {
-            pattern = true;
-            rand = new Random();
-            rand.setSeed(7);
-        }
-
-        if (opts[4].equalsIgnoreCase("symmetric")) {
-            symmetric = true;
-        }
-
-        while ((line = br.readLine()) != null) {
-            if (!line.startsWith("%")) {
-                break;
-            }
-        }
-
-        opts = line.split(" ");
-
-        final int nRows = parseInt(opts[0]);
-        final int nCols = parseInt(opts[1]);
-        int nElements = parseInt(opts[2]);
-
-        class Coordinate implements Comparable<Coordinate> {
-
-            int x;
-            int y;
-            float val;
-
-            Coordinate(final int a, final int b, final float c) {
-                x = a;
-                y = b;
-                val = c;
-            }
-
-            Coordinate(final String[] opts) {
-                x = parseInt(opts[0]) - 1;
-                y = parseInt(opts[1]) - 1;
-                val = parseFloat(opts[2]);
-            }
-
-            @Override
-            public int compareTo(final Coordinate c) {
-                int val;
-                if (x != c.x) {
-                    val = x - c.x;
-                } else {
-                    val = y - c.y;
+    /**
+     * Loads a matrix in Matrix Market format, and keeps a binary copy of the CSR
+     * arrays next to it, in a file with the {@link #CSR_CACHE_SUFFIX} suffix. If
+     * the binary copy is up to date, the matrix is mapped from it instead of
+     * parsing the text file again.
+     *
+     * @param path
+     *     Path of the matrix in Matrix Market format.
+     * @return the {@link CSRMatrix}, or null if it cannot be loaded.
+     */
+    public static CSRMatrix<FloatArray> loadMatrixFCached(final String path) {
+        final Path source = Path.of(path);
+        final Path cache = Path.of(path + CSR_CACHE_SUFFIX);
+        try {
+            if (Files.exists(cache) && Files.getLastModifiedTime(cache).compareTo(Files.getLastModifiedTime(source)) >= 0) {
+                CSRMatrix<FloatArray> mat = mapMatrixF(cache);
+                if (mat != null) {
+                    return mat;
                 }
-
-                return val;
             }
+        } catch (IOException e) {
+            err.printf("unable to map matrix from file: %s (%s)\n", cache, e.getMessage());
+        }
 
-            @Override
-            public String toString() {
-                return format("[ %d, %d, %10.2f ]", x, y, val);
+        CSRMatrix<FloatArray> mat = loadMatrixF(path);
+        if (mat != null) {
+            try {
+                writeMatrixF(mat, cache);
+            } catch (IOException e) {
+                err.printf("unable to write matrix to file: %s (%s)\n", cache, e.getMessage());
             }
         }
+        return mat;
+    }
 
-        if (VERBOSE) {
-            out.printf("Matrix: rows=%d, cols=%d, elements=%d\n", nRows, nCols, nElements);
+    /**
+     * Writes the CSR arrays of a matrix to a binary file. The arrays keep the
+     * layout of the native arrays, so the file can be mapped with
+     * {@link #mapMatrixF}. The arrays are written to a temporary file that then
+     * replaces the given one, so a concurrent reader never maps a partial file.
+     */
+    public static void writeMatrixF(CSRMatrix<FloatArray> mat, Path file) throws IOException {
+        final long[] offsets = csrOffsets(mat.size, mat.n, Float.BYTES);
+        final Path tmp = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(CSR_FILE_HEADER).order(ByteOrder.nativeOrder());
+            header.putInt(CSR_MAGIC).putInt(CSR_VERSION).putInt(ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN ? 0 : 1);
+            header.putInt(Float.BYTES).putInt(mat.size).putInt(mat.n).putLong(TornadoNativeArray.ARRAY_HEADER);
+            header.clear();
+            writeFully(channel, header, 0);
+            writeArray(channel, mat.rows, offsets[0]);
+            writeArray(channel, mat.cols, offsets[1]);
+            writeArray(channel, mat.vals, offsets[2]);
+        } catch (IOException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
         }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
 
-        List<Coordinate> coords;
-        if (symmetric) {
-            coords = new ArrayList<>(2 * nElements);
-        } else {
-            coords = new ArrayList<>(nElements);
+    /**
+     * Maps a binary file written by {@link #writeMatrixF}. The arrays of the matrix
+     * are read-only views of the file, so they can only be used as inputs of a
+     * task-graph.
+     *
+     * @return the {@link CSRMatrix}, or null if the file was written with a
+     *     different byte order or array header size.
+     */
+    public static CSRMatrix<FloatArray> mapMatrixF(Path file) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(CSR_FILE_HEADER).order(ByteOrder.nativeOrder());
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            channel.read(header, 0);
         }
-
-        int index = 0;
-        while ((line = br.readLine()) != null) {
-            opts = line.split(" ");
-            if (pattern) {
-                final Coordinate c = new Coordinate(parseInt(opts[0]) - 1, parseInt(opts[1]) - 1, rand.nextFloat() * 256.0f);
-                coords.add(c);
-            } else {
-                coords.add(new Coordinate(opts));
-            }
-
-            index++;
-
-            if (symmetric) {
-                final Coordinate last = coords.get(index - 1);
-                if (last.x != last.y) {
-                    coords.add(new Coordinate(last.y, last.x, last.val));
-                    index++;
-                }
-            }
+        header.flip();
+        if (header.remaining() < CSR_FILE_HEADER || header.getInt() != CSR_MAGIC || header.getInt() != CSR_VERSION) {
+            return null;
+        }
+        final boolean littleEndian = header.getInt() == 0;
+        final int valueBytes = header.getInt();
+        final int size = header.getInt();
+        final int n = header.getInt();
+        final long arrayHeader = header.getLong();
+        if (littleEndian != (ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN) || valueBytes != Float.BYTES || arrayHeader != TornadoNativeArray.ARRAY_HEADER) {
+            return null;
         }
 
-        br.close();
-
-        sort(coords);
+        final long[] offsets = csrOffsets(size, n, Float.BYTES);
+        final CSRMatrix<FloatArray> mat = new CSRMatrix<>();
+        mat.n = n;
+        mat.size = size;
+        mat.rows = IntArray.map(file, offsets[0] + arrayHeader, size + 1, FileChannel.MapMode.READ_ONLY);
+        mat.cols = IntArray.map(file, offsets[1] + arrayHeader, n, FileChannel.MapMode.READ_ONLY);
+        mat.vals = FloatArray.map(file, offsets[2] + arrayHeader, n, FileChannel.MapMode.READ_ONLY);
+        return mat;
+    }
 
-        nElements = index;
+    private static CSRMatrix<FloatArray> loadMatrixFromCoordinates(Coordinates coords) {
+        if (coords == null) {
+            return null;
+        }
+        final CSRMatrix<FloatArray> mat = new CSRMatrix<>();
+        final long[] order = toCSR(coords, mat);
+        mat.vals = new FloatArray(coords.n());
+        IntStream.range(0, coords.n()).parallel().forEach(i -> mat.vals.set(i, coords.vals()[(int) order[i]]));
+        return mat;
+    }
 
-        mat.n = nElements;
+    /**
+     * Builds the row pointers and column indexes of the matrix with a parallel
+     * counting sort of the coordinates by row. The entries of each row are then
+     * sorted by column, and by position in the file for repeated entries.
+     *
+     * @return for each entry of the CSR arrays, its column in the upper 32 bits and
+     *     its index in the coordinates in the lower 32 bits.
+     */
+    private static long[] toCSR(Coordinates coords, CSRMatrix<?> mat) {
+        final int nRows = coords.nRows();
+        final int n = coords.n();
+        final int[] rows = coords.rows();
+        final int[] cols = coords.cols();
+
+        final AtomicIntegerArray cursors = new AtomicIntegerArray(nRows);
+        IntStream.range(0, n).parallel().forEach(i -> cursors.incrementAndGet(rows[i]));
+
+        mat.n = n;
         mat.size = nRows;
-        mat.vals = new FloatArray(nElements);
-        mat.cols = new IntArray(nElements);
         mat.rows = new IntArray(nRows + 1);
+        mat.cols = new IntArray(n);
 
-        mat.rows.set(0, 0);
-        mat.rows.set(nRows, nElements);
+        int offset = 0;
+        for (int r = 0; r < nRows; r++) {
+            mat.rows.set(r, offset);
+            offset += cursors.get(r);
+            cursors.set(r, mat.rows.get(r));
+        }
+        mat.rows.set(nRows, n);
 
-        int r = 0;
+        final long[] order = new long[n];
+        IntStream.range(0, n).parallel().forEach(i -> order[cursors.getAndIncrement(rows[i])] = ((long) cols[i] << 32) | i);
+        IntStream.range(0, nRows).parallel().forEach(r -> Arrays.sort(order, mat.rows.get(r), mat.rows.get(r + 1)));
+        IntStream.range(0, n).parallel().forEach(i -> mat.cols.set(i, (int) (order[i] >>> 32)));
+        return order;
+    }
 
-        for (int i = 0; i < nElements; i++) {
+    private static long align(long position) {
+        return (position + CSR_ALIGNMENT - 1) / CSR_ALIGNMENT * CSR_ALIGNMENT;
+    }
 
-            final Coordinate c = coords.get(i);
+    /**
+     * @return the positions in the binary file of the row pointers, the column
+     *     indexes and the values, including their array headers.
+     */
+    private static long[] csrOffsets(int size, int n, int valueBytes) {
+        final long header = TornadoNativeArray.ARRAY_HEADER;
+        final long rows = align(CSR_FILE_HEADER);
+        final long cols = align(rows + header + (long) (size + 1) * Integer.BYTES);
+        final long vals = align(cols + header + (long) n * Integer.BYTES);
+        return new long[] { rows, cols, vals };
+    }
 
-            while (c.x != r) {
-                mat.rows.set(++r, i);
-            }
-            mat.vals.set(i, c.val);
-            mat.cols.set(i, c.y);
+    private static void writeArray(FileChannel channel, TornadoNativeArray array, long position) throws IOException {
+        final MemorySegment segment = array.getSegment();
+        final long bytes = TornadoNativeArray.ARRAY_HEADER + array.getNumBytesWithoutHeader();
+        for (long written = 0; written < bytes; written += WRITE_CHUNK) {
+            writeFully(channel, segment.asSlice(written, Math.min(WRITE_CHUNK, bytes - written)).asByteBuffer(), position + written);
         }
+    }
 
-        coords.clear();
-        return mat;
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
     }
 
     public static class CSRMatrix<T> {
@@ -0,0 +1,116 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+
+import uk.ac.manchester.tornado.api.common.Event;
+import uk.ac.manchester.tornado.api.enums.TornadoExecutionStatus;
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+
+/**
+ * Completes the futures of the asynchronous executions. A single daemon thread
+ * polls the status of the pending events, so an execution in flight does not
+ * hold a blocked thread while the device runs. The thread parks when there is
+ * nothing to poll.
+ *
+ * <p>
+ * The futures are completed on the poller thread, so dependent actions that
+ * may block must use the asynchronous variants of {@link CompletableFuture}.
+ * </p>
+ */
+public final class EventPoller {
+
+    private static final long POLL_INTERVAL_NANOS = 20_000;
+
+    private static final EventPoller INSTANCE = new EventPoller();
+
+    private record PendingEvent(Event event, CompletableFuture<Void> future) {
+    }
+
+    private final ConcurrentLinkedQueue<PendingEvent> submitted = new ConcurrentLinkedQueue<>();
+    private final Thread pollerThread;
+
+    private EventPoller() {
+        pollerThread = new Thread(this::poll, "TornadoEventPoller");
+        pollerThread.setDaemon(true);
+        pollerThread.start();
+    }
+
+    /**
+     * It returns a future that is completed once the event is complete, or
+     * completed exceptionally if the event fails.
+     *
+     * @param event
+     *     {@link Event} to wait for.
+     * @return {@link CompletableFuture}
+     */
+    public static CompletableFuture<Void> onCompletion(Event event) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        INSTANCE.submitted.add(new PendingEvent(event, future));
+        LockSupport.unpark(INSTANCE.pollerThread);
+        return future;
+    }
+
+    private void poll() {
+        final List<PendingEvent> pending = new ArrayList<>();
+        while (true) {
+            PendingEvent pendingEvent;
+            while ((pendingEvent = submitted.poll()) != null) {
+                pending.add(pendingEvent);
+            }
+            if (pending.isEmpty()) {
+                LockSupport.park(this);
+                continue;
+            }
+
+            Iterator<PendingEvent> iterator = pending.iterator();
+            while (iterator.hasNext()) {
+                PendingEvent next = iterator.next();
+                try {
+                    TornadoExecutionStatus status = next.event().getStatus();
+                    if (status == TornadoExecutionStatus.COMPLETE) {
+                        iterator.remove();
+                        next.future().complete(null);
+                    } else if (status == TornadoExecutionStatus.ERROR) {
+                        iterator.remove();
+                        next.future().completeExceptionally(new TornadoRuntimeException(STR."[ERROR] Event \{next.event().getName()} failed"));
+                    }
+                } catch (RuntimeException e) {
+                    iterator.remove();
+                    next.future().completeExceptionally(e);
+                }
+            }
+
+            if (!pending.isEmpty()) {
+                LockSupport.parkNanos(this, POLL_INTERVAL_NANOS);
+            }
+        }
+    }
+}
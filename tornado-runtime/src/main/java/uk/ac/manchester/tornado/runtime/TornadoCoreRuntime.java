@@ -28,10 +28,11 @@ import static uk.ac.manchester.tornado.api.exceptions.TornadoInternalError.shoul
 import static uk.ac.manchester.tornado.runtime.common.Tornado.SHOULD_LOAD_RMI;
 
 import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.ServiceLoader;
-import java.util.WeakHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
@@ -63,6 +64,7 @@ import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 import uk.ac.manchester.tornado.runtime.common.enums.TornadoDrivers;
 import uk.ac.manchester.tornado.runtime.graal.compiler.TornadoSnippetReflectionProvider;
 import uk.ac.manchester.tornado.runtime.tasks.GlobalObjectState;
+import uk.ac.manchester.tornado.runtime.tasks.GlobalObjectStateRegistry;
 
 public final class TornadoCoreRuntime extends TornadoLogger implements TornadoRuntimeInterface {
 
@@ -77,32 +79,67 @@ public final class TornadoCoreRuntime extends TornadoLogger implements TornadoRu
             return thread;
         }
     };
+    private static final ThreadFactory compilerThreadFactory = new ThreadFactory() {
+        private int threadId = 0;
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, String.format("TornadoCompilerThread - %d", threadId));
+            thread.setDaemon(true);
+            threadId++;
+            return thread;
+        }
+    };
     private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(TornadoOptions.TORNADO_SKETCHER_THREADS, executorThreadFactory);
+    // Separate from the sketcher pool: a compilation waits for the sketch of its task
+    private static final ExecutorService COMPILER_EXECUTOR = Executors.newFixedThreadPool(Math.max(1, TornadoOptions.TORNADO_COMPILER_THREADS), compilerThreadFactory);
     private static final TornadoCoreRuntime runtime = new TornadoCoreRuntime();
     private static final JVMMapping JVM = new JVMMapping();
     private static final int DEFAULT_DRIVER = 0;
     private static DebugContext debugContext = null;
     private static OptionValues options;
-    private final Map<Object, GlobalObjectState> objectMappings;
+    private final GlobalObjectStateRegistry objectMappings;
     private final JVMCIBackend vmBackend;
     private final HotSpotJVMCIRuntime vmRuntime;
     private final TornadoVMConfig vmConfig;
-    private TornadoAcceleratorDriver[] tornadoVMDrivers;
-    private int driverCount;
+    private final TornadoAcceleratorDriver[] tornadoVMDrivers;
+    private final List<TornadoDriverProvider> driverProviders;
+    private final Map<String, Long> startupTimes;
+
+    /**
+     * Number of drivers created so far. Drivers are created in the order of the
+     * providers, so the drivers 0 to driverCount - 1 are ready to use.
+     */
+    private volatile int driverCount;
+    private volatile boolean allDriversLoaded;
+    private int nextDriverProvider;
 
     private TornadoCoreRuntime() {
-        objectMappings = new WeakHashMap<>();
+        objectMappings = new GlobalObjectStateRegistry();
+        startupTimes = Collections.synchronizedMap(new LinkedHashMap<>());
 
+        long start = System.nanoTime();
         initOptions();
         guarantee(!GraalOptions.OmitHotExceptionStacktrace.getValue(options), "error");
+        registerStartupTime("Graal options", start);
 
+        start = System.nanoTime();
         if (!(JVMCI.getRuntime() instanceof HotSpotJVMCIRuntime)) {
             shouldNotReachHere("Unsupported JVMCIRuntime: ", JVMCI.getRuntime().getClass().getName());
         }
         vmRuntime = (HotSpotJVMCIRuntime) JVMCI.getRuntime();
         vmBackend = vmRuntime.getHostJVMCIBackend();
         vmConfig = new TornadoVMConfig(vmRuntime.getConfigStore(), vmBackend.getMetaAccess());
-        tornadoVMDrivers = loadDrivers();
+        registerStartupTime("JVMCI runtime", start);
+
+        start = System.nanoTime();
+        driverProviders = discoverDriverProviders();
+        tornadoVMDrivers = new TornadoAcceleratorDriver[TornadoDrivers.values().length];
+        registerStartupTime("Driver discovery", start);
+
+        if (!TornadoOptions.LAZY_DRIVER_INITIALIZATION) {
+            loadAllDrivers();
+        }
     }
 
     public static TornadoCoreRuntime getTornadoRuntime() {
@@ -120,6 +157,10 @@ public final class TornadoCoreRuntime extends TornadoLogger implements TornadoRu
         return EXECUTOR;
     }
 
+    public static ExecutorService getTornadoCompilerExecutor() {
+        return COMPILER_EXECUTOR;
+    }
+
     public static JVMCIBackend getVMBackend() {
         return runtime.vmBackend;
     }
@@ -152,45 +193,83 @@ public final class TornadoCoreRuntime extends TornadoLogger implements TornadoRu
     }
 
     public void clearObjectState() {
-        for (GlobalObjectState gs : objectMappings.values()) {
-            gs.clear();
-        }
         objectMappings.clear();
     }
 
-    private TornadoAcceleratorDriver[] loadDrivers() {
+    /**
+     * It finds the driver providers, sorted by priority. Providers only hold the
+     * metadata of a backend: no backend is initialized at this point.
+     */
+    private List<TornadoDriverProvider> discoverDriverProviders() {
         ServiceLoader<TornadoDriverProvider> loader = ServiceLoader.load(TornadoDriverProvider.class);
-        List<TornadoDriverProvider> providerList = StreamSupport.stream(loader.spliterator(), false).sorted().collect(Collectors.toList());
-        TornadoAcceleratorDriver[] tornadoAcceleratorDrivers = new TornadoAcceleratorDriver[TornadoDrivers.values().length];
-        int index = 0;
-        for (TornadoDriverProvider provider : providerList) {
-            if (Tornado.FULL_DEBUG) {
-                System.out.println("Loading DRIVER: " + provider);
-            }
-            boolean isRMI = provider.getName().equalsIgnoreCase("RMI Driver");
-            if ((!isRMI) || (isRMI && SHOULD_LOAD_RMI)) {
+        return StreamSupport.stream(loader.spliterator(), false) //
+                .filter(provider -> !provider.getName().equalsIgnoreCase("RMI Driver") || SHOULD_LOAD_RMI) //
+                .sorted() //
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * It creates the drivers, in priority order, until the driver with the given
+     * index exists or there are no providers left.
+     *
+     * @param index
+     *     Index of the driver.
+     */
+    private void loadDriversUpTo(int index) {
+        if (index < driverCount || allDriversLoaded) {
+            return;
+        }
+        synchronized (driverProviders) {
+            while (driverCount <= index && nextDriverProvider < driverProviders.size()) {
+                TornadoDriverProvider provider = driverProviders.get(nextDriverProvider++);
+                if (Tornado.FULL_DEBUG) {
+                    System.out.println("Loading DRIVER: " + provider);
+                }
+                long start = System.nanoTime();
                 TornadoAcceleratorDriver driver = provider.createDriver(options, vmRuntime, vmConfig);
+                registerStartupTime(provider.getName(), start);
                 if (driver != null) {
-                    tornadoAcceleratorDrivers[index] = driver;
-                    index++;
+                    tornadoVMDrivers[driverCount] = driver;
+                    driverCount++;
                 }
             }
+            allDriversLoaded = nextDriverProvider == driverProviders.size();
         }
-        driverCount = index;
-        return tornadoAcceleratorDrivers;
     }
 
-    public GlobalObjectState resolveObject(Object object) {
-        if (!objectMappings.containsKey(object)) {
-            final GlobalObjectState state = new GlobalObjectState();
-            objectMappings.put(object, state);
+    private void loadAllDrivers() {
+        loadDriversUpTo(Integer.MAX_VALUE);
+    }
+
+    private void registerStartupTime(String phase, long start) {
+        long elapsed = System.nanoTime() - start;
+        startupTimes.put(phase, elapsed);
+        if (TornadoOptions.PRINT_STARTUP_TIMES) {
+            System.out.printf("[TornadoVM] Startup: %s: %.3f ms%n", phase, elapsed * 1e-6);
         }
-        return objectMappings.get(object);
+    }
+
+    /**
+     * It returns the time, in nanoseconds, spent in each phase of the runtime
+     * startup, in the order in which they ran. The initialization of each backend
+     * is registered under the name of its driver provider.
+     *
+     * @return A map from the phase to the elapsed time.
+     */
+    public Map<String, Long> getStartupTimes() {
+        synchronized (startupTimes) {
+            return new LinkedHashMap<>(startupTimes);
+        }
+    }
+
+    public GlobalObjectState resolveObject(Object object) {
+        return objectMappings.resolve(object);
     }
 
     @Override
     public <D extends TornadoDriver> int getDriverIndex(Class<D> driverClass) {
         for (int driverIndex = 0; driverIndex < tornadoVMDrivers.length; driverIndex++) {
+            loadDriversUpTo(driverIndex);
             if (tornadoVMDrivers[driverIndex] != null && tornadoVMDrivers[driverIndex].getClass() == driverClass) {
                 return driverIndex;
             }
@@ -213,11 +292,13 @@ public final class TornadoCoreRuntime extends TornadoLogger implements TornadoRu
 
     @Override
     public TornadoAcceleratorDriver getDriver(int index) {
+        loadDriversUpTo(index);
         return tornadoVMDrivers[index];
     }
 
     @Override
     public void setDefaultDriver(int index) {
+        loadDriversUpTo(index);
         TornadoAcceleratorDriver tmp = tornadoVMDrivers[0];
         tornadoVMDrivers[0] = tornadoVMDrivers[index];
         tornadoVMDrivers[index] = tmp;
@@ -226,8 +307,10 @@ public final class TornadoCoreRuntime extends TornadoLogger implements TornadoRu
     @SuppressWarnings("unchecked")
     @Override
     public <D extends TornadoDriver> D getDriver(Class<D> type) {
-        for (TornadoAcceleratorDriver driver : tornadoVMDrivers) {
-            if (driver.getClass() == type) {
+        for (int driverIndex = 0; driverIndex < tornadoVMDrivers.length; driverIndex++) {
+            loadDriversUpTo(driverIndex);
+            TornadoAcceleratorDriver driver = tornadoVMDrivers[driverIndex];
+            if (driver != null && driver.getClass() == type) {
                 return (D) driver;
             }
         }
@@ -236,17 +319,19 @@ public final class TornadoCoreRuntime extends TornadoLogger implements TornadoRu
 
     @Override
     public TornadoVMBackendType getBackendType(int index) {
-        return tornadoVMDrivers[index].getBackendType();
+        return getDriver(index).getBackendType();
     }
 
     @Override
     public int getNumDrivers() {
+        loadAllDrivers();
         return driverCount;
     }
 
     @Override
     public TornadoAcceleratorDevice getDefaultDevice() {
-        return (tornadoVMDrivers == null || tornadoVMDrivers[DEFAULT_DRIVER] == null) ? JVM : (TornadoAcceleratorDevice) tornadoVMDrivers[DEFAULT_DRIVER].getDefaultDevice();
+        loadDriversUpTo(DEFAULT_DRIVER);
+        return (tornadoVMDrivers[DEFAULT_DRIVER] == null) ? JVM : (TornadoAcceleratorDevice) tornadoVMDrivers[DEFAULT_DRIVER].getDefaultDevice();
     }
 
 }
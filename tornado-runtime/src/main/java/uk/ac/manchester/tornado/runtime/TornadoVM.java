@@ -39,6 +39,7 @@ import uk.ac.manchester.tornado.api.common.Event;
 import uk.ac.manchester.tornado.api.exceptions.TornadoBailoutRuntimeException;
 import uk.ac.manchester.tornado.api.exceptions.TornadoDeviceFP64NotSupported;
 import uk.ac.manchester.tornado.api.exceptions.TornadoFailureException;
+import uk.ac.manchester.tornado.api.exceptions.TornadoInternalError;
 import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
 import uk.ac.manchester.tornado.api.profiler.TornadoProfiler;
 import uk.ac.manchester.tornado.runtime.common.TornadoLogger;
@@ -112,6 +113,20 @@ public class TornadoVM extends TornadoLogger {
         }
     }
 
+    /**
+     * It enqueues the bytecodes of a task-graph that runs on a single device,
+     * without waiting for the device to finish.
+     *
+     * @return An {@link Event} that completes once the outputs have been copied
+     *     back to the host.
+     */
+    public Event executeAsync(TornadoProfiler profiler) {
+        TornadoInternalError.guarantee(tornadoVMInterpreters.length == 1, "Asynchronous executions run on a single device");
+        this.timeProfiler = profiler;
+        tornadoVMInterpreters[0].setTimeProfiler(timeProfiler);
+        return tornadoVMInterpreters[0].executeAsync();
+    }
+
     private int calculateNumberOfJavaThreads(boolean isTaskGraphConcurrent) {
         return shouldRunConcurrently(isTaskGraphConcurrent) ? executionContext.getValidContextSize() : 1;
     }
@@ -200,6 +215,10 @@ public class TornadoVM extends TornadoLogger {
         executeActionOnInterpreters(TornadoVMInterpreter::warmup);
     }
 
+    public void compileInBackground() {
+        executeActionOnInterpreters(TornadoVMInterpreter::compileInBackground);
+    }
+
     public void fetchGlobalStates() {
         executeActionOnInterpreters(TornadoVMInterpreter::fetchGlobalStates);
     }
@@ -0,0 +1,363 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime.analyzer;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.graalvm.compiler.graph.Node;
+import org.graalvm.compiler.nodes.ConstantNode;
+import org.graalvm.compiler.nodes.FrameState;
+import org.graalvm.compiler.nodes.InvokeNode;
+import org.graalvm.compiler.nodes.LoopBeginNode;
+import org.graalvm.compiler.nodes.LoopEndNode;
+import org.graalvm.compiler.nodes.ParameterNode;
+import org.graalvm.compiler.nodes.StructuredGraph;
+import org.graalvm.compiler.nodes.ValueNode;
+import org.graalvm.compiler.nodes.ValuePhiNode;
+import org.graalvm.compiler.nodes.ValueProxyNode;
+import org.graalvm.compiler.nodes.calc.AddNode;
+import org.graalvm.compiler.nodes.calc.AndNode;
+import org.graalvm.compiler.nodes.calc.BinaryNode;
+import org.graalvm.compiler.nodes.calc.MulNode;
+import org.graalvm.compiler.nodes.calc.OrNode;
+import org.graalvm.compiler.nodes.calc.XorNode;
+import org.graalvm.compiler.nodes.java.LoadIndexedNode;
+import org.graalvm.compiler.nodes.java.MethodCallTargetNode;
+import org.graalvm.compiler.nodes.java.StoreIndexedNode;
+import org.graalvm.compiler.nodes.util.GraphUtil;
+
+import jdk.vm.ci.meta.JavaConstant;
+import jdk.vm.ci.meta.JavaKind;
+import uk.ac.manchester.tornado.api.annotations.Reduce;
+import uk.ac.manchester.tornado.runtime.analyzer.ReduceCodeAnalysis.REDUCE_OPERATION;
+import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
+import uk.ac.manchester.tornado.runtime.graal.nodes.interfaces.MarkIntrinsicsNode;
+import uk.ac.manchester.tornado.runtime.graal.phases.sketcher.TornadoApiReplacement;
+
+/**
+ * Finds the reductions of a method that is parallelised automatically
+ * ({@code tornado.parallelise.auto}), i.e. a method without {@link Reduce} and
+ * {@code @Parallel} annotations.
+ *
+ * <p>
+ * Two loop patterns are recognised over a Java array parameter {@code out}:
+ * </p>
+ * <ul>
+ * <li>Memory accumulators: {@code out[0] = out[0] op x} inside the loop. The
+ * value of {@code out[0]} on the host is the initial value of the
+ * reduction.</li>
+ * <li>Scalar accumulators: {@code acc = acc op x} inside the loop, followed by
+ * {@code out[0] = acc} after the loop. The sketcher rewrites them into memory
+ * accumulators, so they can be handled by the existing reduction
+ * snippets.</li>
+ * </ul>
+ *
+ * <p>
+ * The operation must be associative: sum, multiplication, bitwise and, or, xor,
+ * max or min. The same analysis runs on the high-level graph, to build the
+ * reduction task-graph, and on the sketch, to rewrite the kernel.
+ * </p>
+ */
+public final class AutoReductionAnalysis {
+
+    /**
+     * Loop-carried accumulator stored into a reduction parameter after the
+     * loop.
+     *
+     * @param phi
+     *     Phi node that carries the accumulator.
+     * @param operation
+     *     Back-edge value of the phi.
+     * @param store
+     *     Store of the final value into the reduction parameter.
+     * @param proxy
+     *     Loop-exit proxy of the phi, if any.
+     * @param neutral
+     *     Initial value of the accumulator.
+     */
+    private record ScalarAccumulator(ValuePhiNode phi, ValueNode operation, StoreIndexedNode store, ValueNode proxy, ConstantNode neutral) {
+    }
+
+    private AutoReductionAnalysis() {
+    }
+
+    /**
+     * @return true if automatic parallelisation is enabled and the reductions of
+     *     the method have to be found by this analysis.
+     */
+    public static boolean isApplicable(StructuredGraph graph) {
+        if (!TornadoOptions.AUTO_PARALLELISATION || graph.getNodes(LoopBeginNode.TYPE).count() != 1) {
+            return false;
+        }
+        for (Annotation[] annotations : graph.method().getParameterAnnotations()) {
+            for (Annotation annotation : annotations) {
+                if (annotation instanceof Reduce) {
+                    return false;
+                }
+            }
+        }
+        return !TornadoApiReplacement.hasParallelAnnotations(graph.method());
+    }
+
+    /**
+     * It returns the indexes, within the method parameter list, of the arrays
+     * that hold a reduction.
+     */
+    public static List<Integer> findReduceParameters(StructuredGraph graph) {
+        List<Integer> indexes = new ArrayList<>();
+        for (StoreIndexedNode store : graph.getNodes().filter(StoreIndexedNode.class)) {
+            boolean isReduction = isMemoryAccumulator(store) || findScalarAccumulator(store) != null;
+            int index = getParameterIndex(graph, store);
+            if (isReduction && !indexes.contains(index)) {
+                indexes.add(index);
+            }
+        }
+        return indexes;
+    }
+
+    /**
+     * It returns the neutral elements of the reductions, indexed by the position
+     * of the reduction array in the method parameter list. The neutral element
+     * replaces the value of the array on the host. It is the initial value of the
+     * scalar accumulators, and the identity of the operation of the memory
+     * accumulators returned by {@link #findInitialValueOperations}.
+     */
+    public static Map<Integer, Object> findNeutralElements(StructuredGraph graph) {
+        Map<Integer, Object> neutralElements = new HashMap<>();
+        for (StoreIndexedNode store : graph.getNodes().filter(StoreIndexedNode.class)) {
+            ScalarAccumulator accumulator = findScalarAccumulator(store);
+            if (accumulator != null) {
+                neutralElements.put(getParameterIndex(graph, store), accumulator.neutral().asJavaConstant().asBoxedPrimitive());
+            }
+        }
+        findInitialValueOperations(graph).forEach((index, operation) -> neutralElements.put(index, getIdentity(operation, getElementKind(graph, index))));
+        return neutralElements;
+    }
+
+    /**
+     * It returns the operation of the memory accumulators whose initial value
+     * cannot be combined once per work-group (sum, multiplication and xor),
+     * indexed by the position of the reduction array in the method parameter
+     * list. Their partial reductions start from the identity of the operation,
+     * and the initial value is applied once on the host, after the final
+     * reduction.
+     */
+    public static Map<Integer, REDUCE_OPERATION> findInitialValueOperations(StructuredGraph graph) {
+        Map<Integer, REDUCE_OPERATION> operations = new HashMap<>();
+        for (StoreIndexedNode store : graph.getNodes().filter(StoreIndexedNode.class)) {
+            REDUCE_OPERATION operation = getMemoryAccumulatorOperation(store);
+            if (operation != null && !isIdempotent(operation) && getIdentity(operation, store.elementKind()) != null) {
+                operations.put(getParameterIndex(graph, store), operation);
+            }
+        }
+        return operations;
+    }
+
+    /**
+     * It rewrites each scalar accumulator into a memory accumulator: the value of
+     * the reduction array is loaded, combined and stored at the end of every
+     * iteration, and the phi node is removed.
+     */
+    public static void rewriteScalarAccumulators(StructuredGraph graph) {
+        for (StoreIndexedNode store : graph.getNodes().filter(StoreIndexedNode.class).snapshot()) {
+            ScalarAccumulator accumulator = findScalarAccumulator(store);
+            if (accumulator == null || accumulator.operation() instanceof InvokeNode) {
+                continue;
+            }
+            ValuePhiNode phi = accumulator.phi();
+            ValueNode operation = accumulator.operation();
+            LoopEndNode loopEnd = phi.merge().loopEnds().first();
+
+            LoadIndexedNode load = graph.add(new LoadIndexedNode(graph.getAssumptions(), store.array(), store.index(), null, store.elementKind()));
+            ValueNode newOperation = (ValueNode) operation.copyWithInputs(true);
+            newOperation.replaceFirstInput(phi, load);
+            StoreIndexedNode newStore = graph.add(new StoreIndexedNode(store.array(), store.index(), null, null, store.elementKind(), newOperation));
+            graph.addBeforeFixed(loopEnd, load);
+            graph.addBeforeFixed(loopEnd, newStore);
+
+            // After the loop, the accumulator is the value of the reduction array
+            LoadIndexedNode finalValue = graph.add(new LoadIndexedNode(graph.getAssumptions(), store.array(), store.index(), null, store.elementKind()));
+            graph.replaceFixedWithFixed(store, finalValue);
+            if (accumulator.proxy() != null) {
+                accumulator.proxy().replaceAtUsages(finalValue);
+                accumulator.proxy().safeDelete();
+            }
+
+            // Frame states are only used for deoptimization, which does not happen
+            // on the device
+            ConstantNode neutral = accumulator.neutral();
+            phi.replaceAtMatchingUsages(neutral, usage -> usage instanceof FrameState);
+            operation.replaceAtMatchingUsages(neutral, usage -> usage instanceof FrameState);
+            operation.replaceFirstInput(phi, neutral);
+            phi.safeDelete();
+            GraphUtil.killWithUnusedFloatingInputs(operation);
+        }
+    }
+
+    private static int getParameterIndex(StructuredGraph graph, StoreIndexedNode store) {
+        int index = ((ParameterNode) store.array()).index();
+        return graph.method().isStatic() ? index : index - 1;
+    }
+
+    private static boolean isReductionTarget(StoreIndexedNode store) {
+        return store.array() instanceof ParameterNode && store.index().isConstant() && store.index().asJavaConstant().asInt() == 0;
+    }
+
+    private static boolean isLoadOf(StoreIndexedNode store, ValueNode node) {
+        return node instanceof LoadIndexedNode load && load.array() == store.array() && load.index() == store.index();
+    }
+
+    private static JavaKind getElementKind(StructuredGraph graph, int index) {
+        for (StoreIndexedNode store : graph.getNodes().filter(StoreIndexedNode.class)) {
+            if (isReductionTarget(store) && getParameterIndex(graph, store) == index) {
+                return store.elementKind();
+            }
+        }
+        return JavaKind.Illegal;
+    }
+
+    private static boolean isMemoryAccumulator(StoreIndexedNode store) {
+        return getMemoryAccumulatorOperation(store) != null;
+    }
+
+    private static REDUCE_OPERATION getMemoryAccumulatorOperation(StoreIndexedNode store) {
+        if (!isReductionTarget(store)) {
+            return null;
+        }
+        ValueNode value = store.value();
+        for (ValueNode input : getOperands(value)) {
+            if (isLoadOf(store, input)) {
+                return getOperation(value);
+            }
+        }
+        return null;
+    }
+
+    private static ScalarAccumulator findScalarAccumulator(StoreIndexedNode store) {
+        if (!isReductionTarget(store)) {
+            return null;
+        }
+        ValueNode proxy = null;
+        ValueNode value = store.value();
+        if (value instanceof ValueProxyNode valueProxy) {
+            proxy = valueProxy;
+            value = valueProxy.value();
+            if (nonStateUsages(proxy) != 1) {
+                return null;
+            }
+        }
+        if (!(value instanceof ValuePhiNode phi) || !(phi.merge() instanceof LoopBeginNode) || phi.valueCount() != 2) {
+            return null;
+        }
+        ValueNode operation = phi.valueAt(1);
+        REDUCE_OPERATION reduceOperation = getOperation(operation);
+        if (reduceOperation == null || !getOperands(operation).contains(phi) || !(phi.valueAt(0) instanceof ConstantNode neutral)) {
+            return null;
+        }
+
+        // The accumulator cannot be used for anything else in the loop
+        int operationUsages = (operation instanceof InvokeNode invoke) ? nonStateUsages(invoke.callTarget()) : nonStateUsages(operation);
+        int phiUsages = nonStateUsages(phi);
+        if (operationUsages != 1 || phiUsages != 2) {
+            return null;
+        }
+
+        // Sum, multiplication and xor count the initial value once per work-group
+        JavaConstant constant = neutral.asJavaConstant();
+        boolean isIdentity = isIdempotent(reduceOperation) || constant.asBoxedPrimitive().equals(getIdentity(reduceOperation, constant.getJavaKind()));
+        return isIdentity ? new ScalarAccumulator(phi, operation, store, proxy, neutral) : null;
+    }
+
+    /**
+     * @return true if combining the initial value more than once does not change
+     *     the result of the reduction.
+     */
+    private static boolean isIdempotent(REDUCE_OPERATION operation) {
+        return switch (operation) {
+            case MAX, MIN, AND, OR -> true;
+            case SUM, MUL, XOR -> false;
+        };
+    }
+
+    /**
+     * @return the identity of a non-idempotent operation, boxed as the given
+     *     kind, or null if the kind cannot be reduced.
+     */
+    private static Object getIdentity(REDUCE_OPERATION operation, JavaKind kind) {
+        long identity = (operation == REDUCE_OPERATION.MUL) ? 1 : 0;
+        return switch (kind) {
+            case Int -> (int) identity;
+            case Long -> identity;
+            case Float -> (float) identity;
+            case Double -> (double) identity;
+            default -> null;
+        };
+    }
+
+    private static int nonStateUsages(Node node) {
+        return node.usages().filter(usage -> !(usage instanceof FrameState)).count();
+    }
+
+    private static List<ValueNode> getOperands(ValueNode node) {
+        List<ValueNode> operands = new ArrayList<>();
+        if (node instanceof BinaryNode binaryNode) {
+            operands.add(binaryNode.getX());
+            operands.add(binaryNode.getY());
+        } else if (node instanceof InvokeNode invoke) {
+            operands.addAll(invoke.callTarget().arguments());
+        }
+        return operands;
+    }
+
+    private static REDUCE_OPERATION getOperation(ValueNode node) {
+        if (node instanceof AddNode) {
+            return REDUCE_OPERATION.SUM;
+        } else if (node instanceof MulNode) {
+            return REDUCE_OPERATION.MUL;
+        } else if (node instanceof AndNode) {
+            return REDUCE_OPERATION.AND;
+        } else if (node instanceof OrNode) {
+            return REDUCE_OPERATION.OR;
+        } else if (node instanceof XorNode) {
+            return REDUCE_OPERATION.XOR;
+        } else if (node instanceof BinaryNode && node instanceof MarkIntrinsicsNode intrinsic) {
+            return switch (intrinsic.getOperation()) {
+                case "MAX", "FMAX" -> REDUCE_OPERATION.MAX;
+                case "MIN", "FMIN" -> REDUCE_OPERATION.MIN;
+                default -> null;
+            };
+        } else if (node instanceof InvokeNode invoke && invoke.callTarget() instanceof MethodCallTargetNode) {
+            return switch (invoke.callTarget().targetName()) {
+                case "Math.max", "TornadoMath.max" -> REDUCE_OPERATION.MAX;
+                case "Math.min", "TornadoMath.min" -> REDUCE_OPERATION.MIN;
+                default -> null;
+            };
+        }
+        return null;
+    }
+}
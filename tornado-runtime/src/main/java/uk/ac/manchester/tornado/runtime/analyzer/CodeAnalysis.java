@@ -39,9 +39,11 @@ import org.graalvm.compiler.core.target.Backend;
 import org.graalvm.compiler.debug.DebugContext;
 import org.graalvm.compiler.debug.DebugDumpScope;
 import org.graalvm.compiler.hotspot.HotSpotGraalOptionValues;
+import org.graalvm.compiler.hotspot.meta.HotSpotProviders;
 import org.graalvm.compiler.java.GraphBuilderPhase;
 import org.graalvm.compiler.lir.asm.CompilationResultBuilderFactory;
 import org.graalvm.compiler.lir.phases.LIRSuites;
+import org.graalvm.compiler.nodes.ConstantNode;
 import org.graalvm.compiler.nodes.StructuredGraph;
 import org.graalvm.compiler.nodes.StructuredGraph.AllowAssumptions;
 import org.graalvm.compiler.nodes.graphbuilderconf.GraphBuilderConfiguration;
@@ -74,7 +76,18 @@ public class CodeAnalysis {
      *         input method in the Graal-IR format,
      */
     public static StructuredGraph buildHighLevelGraalGraph(Object taskInputCode) {
-        Method methodToCompile = TaskUtils.resolveMethodHandle(taskInputCode);
+        return buildHighLevelGraalGraph(TaskUtils.resolveMethodHandle(taskInputCode));
+    }
+
+    /**
+     * Build Graal-IR for a Java method.
+     *
+     * @param methodToCompile
+     *            Java method to be compiled by Graal
+     * @return {@link StructuredGraph} Control Flow and DataFlow Graphs for the
+     *         method in the Graal-IR format,
+     */
+    public static StructuredGraph buildHighLevelGraalGraph(Method methodToCompile) {
         GraalJVMCICompiler graalCompiler = (GraalJVMCICompiler) JVMCI.getRuntime().getCompiler();
         RuntimeProvider capability = graalCompiler.getGraalRuntime().getCapability(RuntimeProvider.class);
         Backend backend = capability.getHostBackend();
@@ -105,6 +118,23 @@ public class CodeAnalysis {
         return null;
     }
 
+    /**
+     * It adds to a graph of the host compiler a constant that references a Java
+     * object. The compiled code reads the current contents of the object.
+     *
+     * @param graph
+     *            Compile-graph
+     * @param object
+     *            Object to reference
+     * @return {@link ConstantNode}
+     */
+    public static ConstantNode createObjectConstant(StructuredGraph graph, Object object) {
+        GraalJVMCICompiler graalCompiler = (GraalJVMCICompiler) JVMCI.getRuntime().getCompiler();
+        RuntimeProvider capability = graalCompiler.getGraalRuntime().getCapability(RuntimeProvider.class);
+        HotSpotProviders providers = (HotSpotProviders) capability.getHostBackend().getProviders();
+        return ConstantNode.forConstant(providers.getSnippetReflection().forObject(object), providers.getMetaAccess(), graph);
+    }
+
     /**
      * It compiles and installs the method that represents the object {@code graph}.
      *
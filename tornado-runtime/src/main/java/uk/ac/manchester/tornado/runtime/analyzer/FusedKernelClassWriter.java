@@ -0,0 +1,285 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime.analyzer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the class file of a fused kernel: a class with a single static method
+ * that calls a sequence of static methods. Each call takes a subset of the
+ * parameters of the fused method.
+ *
+ * <p>
+ * The method has no branches, so the class file does not need a
+ * {@code StackMapTable}. It contains a {@code LocalVariableTable}, because the
+ * backends take the names of the kernel parameters from it.
+ * </p>
+ */
+final class FusedKernelClassWriter {
+
+    private static final int MAGIC = 0xCAFEBABE;
+    private static final int MAJOR_VERSION = 61;
+
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_STATIC = 0x0008;
+    private static final int ACC_FINAL = 0x0010;
+    private static final int ACC_SUPER = 0x0020;
+    private static final int ACC_SYNTHETIC = 0x1000;
+
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_METHODREF = 10;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+
+    private static final int ILOAD = 0x15;
+    private static final int LLOAD = 0x16;
+    private static final int FLOAD = 0x17;
+    private static final int DLOAD = 0x18;
+    private static final int ALOAD = 0x19;
+    private static final int INVOKESTATIC = 0xB8;
+    private static final int RETURN = 0xB1;
+
+    private final ByteArrayOutputStream constantPoolBytes;
+    private final DataOutputStream constantPool;
+    private final Map<String, Integer> constantIndexes;
+    private int constantCount;
+
+    /**
+     * Call to a static method from the fused method.
+     *
+     * @param method
+     *     Static method to call.
+     * @param parameterIndexes
+     *     Index of the parameter of the fused method passed as each argument of
+     *     the call.
+     */
+    record Call(Method method, int[] parameterIndexes) {
+    }
+
+    private FusedKernelClassWriter() {
+        constantPoolBytes = new ByteArrayOutputStream();
+        constantPool = new DataOutputStream(constantPoolBytes);
+        constantIndexes = new HashMap<>();
+        constantCount = 1;
+    }
+
+    /**
+     * It generates the class file of a fused kernel.
+     *
+     * @param className
+     *     Internal name of the class (e.g. {@code pkg/Kernel}).
+     * @param methodName
+     *     Name of the fused method.
+     * @param parameterTypes
+     *     Types of the parameters of the fused method.
+     * @param parameterNames
+     *     Names of the parameters of the fused method.
+     * @param calls
+     *     Calls of the fused method, in order.
+     * @return the bytes of the class file.
+     */
+    static byte[] write(String className, String methodName, Class<?>[] parameterTypes, String[] parameterNames, List<Call> calls) {
+        try {
+            return new FusedKernelClassWriter().writeClass(className, methodName, parameterTypes, parameterNames, calls);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private byte[] writeClass(String className, String methodName, Class<?>[] parameterTypes, String[] parameterNames, List<Call> calls) throws IOException {
+        int[] slots = new int[parameterTypes.length];
+        int maxLocals = 0;
+        for (int i = 0; i < parameterTypes.length; i++) {
+            slots[i] = maxLocals;
+            maxLocals += slotSize(parameterTypes[i]);
+        }
+        if (maxLocals > 0xFF) {
+            throw new IllegalArgumentException("Too many parameters for a fused kernel: " + parameterTypes.length);
+        }
+
+        // Method body
+        ByteArrayOutputStream codeBytes = new ByteArrayOutputStream();
+        DataOutputStream code = new DataOutputStream(codeBytes);
+        int maxStack = 0;
+        for (Call call : calls) {
+            int stack = 0;
+            for (int index : call.parameterIndexes()) {
+                code.writeByte(loadOpcode(parameterTypes[index]));
+                code.writeByte(slots[index]);
+                stack += slotSize(parameterTypes[index]);
+            }
+            maxStack = Math.max(maxStack, stack);
+            Method method = call.method();
+            code.writeByte(INVOKESTATIC);
+            code.writeShort(methodRef(internalName(method.getDeclaringClass()), method.getName(), MethodType.methodType(method.getReturnType(), method.getParameterTypes()).toMethodDescriptorString()));
+        }
+        code.writeByte(RETURN);
+        code.flush();
+        int codeLength = codeBytes.size();
+
+        int thisClass = classRef(className);
+        int superClass = classRef("java/lang/Object");
+        int methodNameIndex = utf8(methodName);
+        int methodDescriptorIndex = utf8(MethodType.methodType(void.class, parameterTypes).toMethodDescriptorString());
+        int codeAttribute = utf8("Code");
+        int localVariableTableAttribute = utf8("LocalVariableTable");
+        int[] localNames = new int[parameterTypes.length];
+        int[] localDescriptors = new int[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            localNames[i] = utf8(parameterNames[i]);
+            localDescriptors[i] = utf8(parameterTypes[i].descriptorString());
+        }
+        constantPool.flush();
+
+        ByteArrayOutputStream classBytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(classBytes);
+        out.writeInt(MAGIC);
+        out.writeShort(0);
+        out.writeShort(MAJOR_VERSION);
+        out.writeShort(constantCount);
+        constantPoolBytes.writeTo(out);
+        out.writeShort(ACC_PUBLIC | ACC_FINAL | ACC_SUPER | ACC_SYNTHETIC);
+        out.writeShort(thisClass);
+        out.writeShort(superClass);
+        out.writeShort(0); // interfaces
+        out.writeShort(0); // fields
+
+        out.writeShort(1); // methods
+        out.writeShort(ACC_PUBLIC | ACC_STATIC);
+        out.writeShort(methodNameIndex);
+        out.writeShort(methodDescriptorIndex);
+        out.writeShort(1); // Code attribute
+
+        int localVariableTableLength = 2 + 10 * parameterTypes.length;
+        out.writeShort(codeAttribute);
+        out.writeInt(2 + 2 + 4 + codeLength + 2 + 2 + 6 + localVariableTableLength);
+        out.writeShort(maxStack);
+        out.writeShort(maxLocals);
+        out.writeInt(codeLength);
+        codeBytes.writeTo(out);
+        out.writeShort(0); // exception table
+        out.writeShort(1); // LocalVariableTable attribute
+
+        out.writeShort(localVariableTableAttribute);
+        out.writeInt(localVariableTableLength);
+        out.writeShort(parameterTypes.length);
+        for (int i = 0; i < parameterTypes.length; i++) {
+            out.writeShort(0);
+            out.writeShort(codeLength);
+            out.writeShort(localNames[i]);
+            out.writeShort(localDescriptors[i]);
+            out.writeShort(slots[i]);
+        }
+
+        out.writeShort(0); // class attributes
+        out.flush();
+        return classBytes.toByteArray();
+    }
+
+    static String internalName(Class<?> klass) {
+        return klass.getName().replace('.', '/');
+    }
+
+    private static int slotSize(Class<?> type) {
+        return (type == long.class || type == double.class) ? 2 : 1;
+    }
+
+    private static int loadOpcode(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return ALOAD;
+        } else if (type == long.class) {
+            return LLOAD;
+        } else if (type == float.class) {
+            return FLOAD;
+        } else if (type == double.class) {
+            return DLOAD;
+        } else {
+            // boolean, byte, char, short and int
+            return ILOAD;
+        }
+    }
+
+    private int utf8(String value) throws IOException {
+        Integer index = constantIndexes.get("U" + value);
+        if (index == null) {
+            constantPool.writeByte(CONSTANT_UTF8);
+            constantPool.writeUTF(value);
+            index = newConstant("U" + value);
+        }
+        return index;
+    }
+
+    private int classRef(String internalName) throws IOException {
+        Integer index = constantIndexes.get("C" + internalName);
+        if (index == null) {
+            int name = utf8(internalName);
+            constantPool.writeByte(CONSTANT_CLASS);
+            constantPool.writeShort(name);
+            index = newConstant("C" + internalName);
+        }
+        return index;
+    }
+
+    private int methodRef(String owner, String name, String descriptor) throws IOException {
+        String key = "M" + owner + "." + name + descriptor;
+        Integer index = constantIndexes.get(key);
+        if (index == null) {
+            int ownerIndex = classRef(owner);
+            int nameAndType = nameAndType(name, descriptor);
+            constantPool.writeByte(CONSTANT_METHODREF);
+            constantPool.writeShort(ownerIndex);
+            constantPool.writeShort(nameAndType);
+            index = newConstant(key);
+        }
+        return index;
+    }
+
+    private int nameAndType(String name, String descriptor) throws IOException {
+        String key = "N" + name + descriptor;
+        Integer index = constantIndexes.get(key);
+        if (index == null) {
+            int nameIndex = utf8(name);
+            int descriptorIndex = utf8(descriptor);
+            constantPool.writeByte(CONSTANT_NAME_AND_TYPE);
+            constantPool.writeShort(nameIndex);
+            constantPool.writeShort(descriptorIndex);
+            index = newConstant(key);
+        }
+        return index;
+    }
+
+    private int newConstant(String key) {
+        int index = constantCount++;
+        constantIndexes.put(key, index);
+        return index;
+    }
+}
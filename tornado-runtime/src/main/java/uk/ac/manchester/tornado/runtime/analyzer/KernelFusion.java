@@ -0,0 +1,583 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime.analyzer;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.graalvm.compiler.graph.Node;
+import org.graalvm.compiler.nodes.ConstantNode;
+import org.graalvm.compiler.nodes.FrameState;
+import org.graalvm.compiler.nodes.ParameterNode;
+import org.graalvm.compiler.nodes.PiNode;
+import org.graalvm.compiler.nodes.StructuredGraph;
+import org.graalvm.compiler.nodes.ValueNode;
+import org.graalvm.compiler.nodes.ValuePhiNode;
+import org.graalvm.compiler.nodes.calc.AddNode;
+import org.graalvm.compiler.nodes.calc.BinaryNode;
+import org.graalvm.compiler.nodes.calc.IsNullNode;
+import org.graalvm.compiler.nodes.calc.LeftShiftNode;
+import org.graalvm.compiler.nodes.calc.MulNode;
+import org.graalvm.compiler.nodes.calc.NarrowNode;
+import org.graalvm.compiler.nodes.calc.SignExtendNode;
+import org.graalvm.compiler.nodes.calc.SubNode;
+import org.graalvm.compiler.nodes.calc.UnaryNode;
+import org.graalvm.compiler.nodes.calc.ZeroExtendNode;
+import org.graalvm.compiler.nodes.extended.JavaReadNode;
+import org.graalvm.compiler.nodes.extended.JavaWriteNode;
+import org.graalvm.compiler.nodes.extended.LoadHubNode;
+import org.graalvm.compiler.nodes.java.AccessIndexedNode;
+import org.graalvm.compiler.nodes.java.ArrayLengthNode;
+import org.graalvm.compiler.nodes.java.InstanceOfNode;
+import org.graalvm.compiler.nodes.java.LoadFieldNode;
+import org.graalvm.compiler.nodes.java.StoreIndexedNode;
+import org.graalvm.compiler.nodes.memory.address.OffsetAddressNode;
+
+import jdk.vm.ci.meta.JavaConstant;
+import jdk.vm.ci.meta.Local;
+import jdk.vm.ci.meta.LocalVariableTable;
+import jdk.vm.ci.meta.ResolvedJavaMethod;
+import uk.ac.manchester.tornado.api.KernelContext;
+import uk.ac.manchester.tornado.api.annotations.Reduce;
+import uk.ac.manchester.tornado.api.common.Access;
+import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
+import uk.ac.manchester.tornado.runtime.TornadoCoreRuntime;
+import uk.ac.manchester.tornado.runtime.common.RuntimeUtilities;
+import uk.ac.manchester.tornado.runtime.graal.nodes.ParallelOffsetNode;
+import uk.ac.manchester.tornado.runtime.graal.nodes.ParallelRangeNode;
+import uk.ac.manchester.tornado.runtime.sketcher.Sketch;
+import uk.ac.manchester.tornado.runtime.tasks.CompilableTask;
+import uk.ac.manchester.tornado.runtime.tasks.FusedTask;
+import uk.ac.manchester.tornado.runtime.tasks.meta.ScheduleMetaData;
+
+/**
+ * Producer-consumer fusion of element-wise tasks.
+ *
+ * <p>
+ * Two consecutive tasks of a task-graph are fused into a single kernel when:
+ * <ul>
+ * <li>Both tasks run on the same device, and their methods are static methods
+ * of the same class that do not use the {@link KernelContext} API or
+ * reductions.</li>
+ * <li>Both kernels have one-dimensional parallel loops with the same offset,
+ * stride and number of iterations for the arguments of the tasks. Therefore,
+ * each thread runs the same iterations in both kernels.</li>
+ * <li>Every array that is shared between the tasks and written by any of them
+ * is only accessed at the index of the parallel loop. Therefore, the iteration
+ * of a thread in the consumer only reads the elements that the same thread
+ * wrote in the producer.</li>
+ * </ul>
+ * The fused kernel is a generated static method that calls the methods of the
+ * fused tasks in order. The sketcher inlines these calls, so the fused kernel
+ * contains the parallel loops of all fused tasks.
+ * </p>
+ */
+public final class KernelFusion {
+
+    private static final String FUSED_CLASS_NAME = "TornadoFusedKernel";
+
+    private static final Map<FusedKernelKey, Method> fusedKernels = new ConcurrentHashMap<>();
+    private static final Set<ResolvedJavaMethod> fusedMethods = ConcurrentHashMap.newKeySet();
+
+    private KernelFusion() {
+    }
+
+    /**
+     * Key of a generated kernel: the fused methods, and the parameter of the
+     * fused kernel passed as each of their arguments.
+     */
+    private record FusedKernelKey(List<Method> methods, List<Integer> parameterIndexes) {
+    }
+
+    /**
+     * Parameters of a fused kernel: the union of the arguments of the fused
+     * tasks. Objects shared between tasks are passed once.
+     */
+    private record FusedParameters(Object[] args, Class<?>[] types, String[] names, List<FusedKernelClassWriter.Call> calls) {
+    }
+
+    /**
+     * Parallel domain of a kernel: offset, stride and number of iterations of
+     * its parallel loops.
+     */
+    private record ParallelDomain(long offset, long stride, long range) {
+    }
+
+    /**
+     * It checks if a method is a kernel generated by the fusion of tasks.
+     *
+     * @param method
+     *     {@link ResolvedJavaMethod}
+     * @return boolean
+     */
+    public static boolean isFusedKernel(ResolvedJavaMethod method) {
+        return fusedMethods.contains(method);
+    }
+
+    /**
+     * It checks that the sketch of a fused kernel inlined the methods of all
+     * fused tasks. Otherwise, the tasks must not be fused.
+     *
+     * @param sketch
+     *     {@link Sketch} of a fused kernel.
+     * @return boolean
+     */
+    public static boolean isFullyInlined(Sketch sketch) {
+        return sketch.getGraph() instanceof StructuredGraph graph && !graph.getInvokes().iterator().hasNext();
+    }
+
+    /**
+     * It fuses a producer task with the next task of the task-graph.
+     *
+     * @param meta
+     *     {@link ScheduleMetaData} of the task-graph.
+     * @param producer
+     *     Last task added to the task-graph. It can be a {@link FusedTask}.
+     * @param producerSketch
+     *     {@link Sketch} of the producer.
+     * @param consumer
+     *     Task to add to the task-graph.
+     * @param consumerSketch
+     *     {@link Sketch} of the consumer.
+     * @return a {@link FusedTask} that runs both tasks, or null if the tasks
+     *     cannot be fused.
+     */
+    public static FusedTask fuse(ScheduleMetaData meta, CompilableTask producer, Sketch producerSketch, CompilableTask consumer, Sketch consumerSketch) {
+        if (!isFusionCandidate(producer) || !isFusionCandidate(consumer)) {
+            return null;
+        }
+        if (producer.meta().getDriverIndex() != consumer.meta().getDriverIndex() || producer.meta().getDeviceIndex() != consumer.meta().getDeviceIndex()) {
+            return null;
+        }
+
+        List<CompilableTask> tasks = new ArrayList<>();
+        if (producer instanceof FusedTask fusedTask) {
+            tasks.addAll(fusedTask.getFusedTasks());
+        } else {
+            tasks.add(producer);
+        }
+        tasks.add(consumer);
+        Class<?> declaringClass = tasks.getFirst().getMethod().getDeclaringClass();
+        for (CompilableTask task : tasks) {
+            if (task.getMethod().getDeclaringClass() != declaringClass) {
+                return null;
+            }
+        }
+
+        ParallelDomain producerDomain = getParallelDomain(producerSketch, producer.getArguments());
+        if (producerDomain == null || !producerDomain.equals(getParallelDomain(consumerSketch, consumer.getArguments()))) {
+            return null;
+        }
+        if (!hasOneToOneDependencies(producer, producerSketch, consumer, consumerSketch)) {
+            return null;
+        }
+
+        FusedParameters parameters = buildParameters(tasks);
+        Method method = lookupFusedKernel(declaringClass, tasks, parameters);
+        if (method == null) {
+            return null;
+        }
+        return new FusedTask(meta, producer.getId(), method, List.copyOf(tasks), getWrittenBeforeRead(producer, producerSketch, consumer, consumerSketch), parameters.args());
+    }
+
+    /**
+     * It returns the objects that the first fused task that accesses them only
+     * writes.
+     */
+    private static Set<Object> getWrittenBeforeRead(CompilableTask producer, Sketch producerSketch, CompilableTask consumer, Sketch consumerSketch) {
+        Map<Object, Boolean> writtenFirst = new IdentityHashMap<>();
+        Access[] producerAccesses = producerSketch.getArgumentsAccess();
+        for (int i = 0; i < producer.getArguments().length; i++) {
+            Object arg = producer.getArguments()[i];
+            if (!isPrimitive(arg)) {
+                boolean writeOnly = producer instanceof FusedTask fusedTask ? fusedTask.isWrittenBeforeRead(arg) : producerAccesses[i] == Access.WRITE_ONLY;
+                writtenFirst.merge(arg, writeOnly, Boolean::logicalAnd);
+            }
+        }
+        Map<Object, Boolean> consumerWrittenFirst = new IdentityHashMap<>();
+        Access[] consumerAccesses = consumerSketch.getArgumentsAccess();
+        for (int i = 0; i < consumer.getArguments().length; i++) {
+            Object arg = consumer.getArguments()[i];
+            if (!isPrimitive(arg) && !writtenFirst.containsKey(arg)) {
+                consumerWrittenFirst.merge(arg, consumerAccesses[i] == Access.WRITE_ONLY, Boolean::logicalAnd);
+            }
+        }
+        writtenFirst.putAll(consumerWrittenFirst);
+
+        Set<Object> writtenBeforeRead = Collections.newSetFromMap(new IdentityHashMap<>());
+        writtenFirst.forEach((arg, writeOnly) -> {
+            if (writeOnly) {
+                writtenBeforeRead.add(arg);
+            }
+        });
+        return writtenBeforeRead;
+    }
+
+    private static boolean isFusionCandidate(CompilableTask task) {
+        if (task instanceof FusedTask) {
+            return true;
+        }
+        Method method = task.getMethod();
+        if (!Modifier.isStatic(method.getModifiers()) || method.getReturnType() != void.class || method.getDeclaringClass().isInterface()) {
+            return false;
+        }
+        for (Class<?> type : method.getParameterTypes()) {
+            if (type == KernelContext.class) {
+                return false;
+            }
+        }
+        for (Annotation[] annotations : method.getParameterAnnotations()) {
+            for (Annotation annotation : annotations) {
+                if (annotation instanceof Reduce) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean isPrimitive(Object arg) {
+        return arg.getClass().isPrimitive() || RuntimeUtilities.isBoxedPrimitiveClass(arg.getClass());
+    }
+
+    private static boolean isWritten(Access access) {
+        return (access.position & Access.WRITE_ONLY.position) != 0;
+    }
+
+    /**
+     * It returns the parallel domain of a kernel, evaluated for the arguments of
+     * the task, or null if the kernel is not an element-wise one-dimensional
+     * kernel.
+     */
+    private static ParallelDomain getParallelDomain(Sketch sketch, Object[] args) {
+        ParallelDomain domain = null;
+        for (ParallelRangeNode range : sketch.getGraph().getNodes().filter(ParallelRangeNode.class)) {
+            if (range.index() != 0) {
+                return null;
+            }
+            Long offset = evaluateConstant(range.offset().value());
+            Long stride = evaluateConstant(range.stride().value());
+            Long iterations = evaluateRange(range.value(), args);
+            if (offset == null || stride == null || iterations == null) {
+                return null;
+            }
+            ParallelDomain rangeDomain = new ParallelDomain(offset, stride, iterations);
+            if (domain != null && !domain.equals(rangeDomain)) {
+                return null;
+            }
+            domain = rangeDomain;
+        }
+        return domain;
+    }
+
+    private static Long evaluateConstant(ValueNode node) {
+        if (node instanceof ConstantNode constantNode) {
+            JavaConstant constant = constantNode.asJavaConstant();
+            if (constant != null && constant.getJavaKind().isNumericInteger()) {
+                return constant.asLong();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * It evaluates the bound of a parallel loop for the arguments of a task. The
+     * bound can be a constant, an integer parameter, or the length of an array
+     * parameter.
+     */
+    private static Long evaluateRange(ValueNode node, Object[] args) {
+        Long constant = evaluateConstant(node);
+        if (constant != null) {
+            return constant;
+        }
+        if (node instanceof ParameterNode parameter && args[parameter.index()] instanceof Number number) {
+            return number.longValue();
+        }
+        if (node instanceof ArrayLengthNode arrayLength && resolveParameter(arrayLength.array()) instanceof ParameterNode parameter) {
+            Object array = args[parameter.index()];
+            return array.getClass().isArray() ? (long) Array.getLength(array) : null;
+        }
+        if (node instanceof LoadFieldNode loadField && loadField.field().getName().equals("numberOfElements") && resolveParameter(loadField.object()) instanceof ParameterNode parameter) {
+            return args[parameter.index()] instanceof TornadoNativeArray nativeArray ? (long) nativeArray.getSize() : null;
+        }
+        return null;
+    }
+
+    private static ParameterNode resolveParameter(ValueNode node) {
+        ValueNode current = node;
+        while (current instanceof PiNode piNode) {
+            current = piNode.getOriginalNode();
+        }
+        return current instanceof ParameterNode parameter ? parameter : null;
+    }
+
+    /**
+     * It checks that every object shared between the producer and the consumer,
+     * and written by any of them, is only accessed at the index of the parallel
+     * loop in both kernels.
+     */
+    private static boolean hasOneToOneDependencies(CompilableTask producer, Sketch producerSketch, CompilableTask consumer, Sketch consumerSketch) {
+        Object[] producerArgs = producer.getArguments();
+        Object[] consumerArgs = consumer.getArguments();
+        Access[] producerAccesses = producerSketch.getArgumentsAccess();
+        Access[] consumerAccesses = consumerSketch.getArgumentsAccess();
+
+        Set<Integer> producerParameters = new HashSet<>();
+        Set<Integer> consumerParameters = new HashSet<>();
+        for (int i = 0; i < producerArgs.length; i++) {
+            for (int j = 0; j < consumerArgs.length; j++) {
+                if (producerArgs[i] == consumerArgs[j] && !isPrimitive(producerArgs[i]) && (isWritten(producerAccesses[i]) || isWritten(consumerAccesses[j]))) {
+                    producerParameters.add(i);
+                    consumerParameters.add(j);
+                }
+            }
+        }
+        return accessesParallelIndexOnly(producerSketch, producerArgs, producerParameters) && accessesParallelIndexOnly(consumerSketch, consumerArgs, consumerParameters);
+    }
+
+    private static boolean accessesParallelIndexOnly(Sketch sketch, Object[] args, Set<Integer> parameters) {
+        for (ParameterNode parameter : sketch.getGraph().getNodes().filter(ParameterNode.class)) {
+            if (parameters.contains(parameter.index())) {
+                Object arg = args[parameter.index()];
+                if (!(arg instanceof TornadoNativeArray) && !arg.getClass().isArray()) {
+                    return false;
+                }
+                long elementSize = arg instanceof TornadoNativeArray nativeArray ? nativeArray.getElementSize() : 1;
+                if (!accessesParallelIndexOnly(parameter, elementSize)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * It checks all usages of an array. Element accesses must use the index of
+     * the parallel loop. Any other usage, such as passing the array to a method
+     * that is not inlined, rejects the fusion.
+     */
+    private static boolean accessesParallelIndexOnly(ValueNode array, long elementSize) {
+        for (Node usage : array.usages()) {
+            if (usage instanceof FrameState || usage instanceof IsNullNode || usage instanceof InstanceOfNode || usage instanceof LoadHubNode || usage instanceof ArrayLengthNode) {
+                continue;
+            }
+            if (usage instanceof PiNode piNode) {
+                if (!accessesParallelIndexOnly(piNode, elementSize)) {
+                    return false;
+                }
+            } else if (usage instanceof LoadFieldNode loadField) {
+                // Loads of the metadata fields (e.g. the number of elements) are allowed
+                if (loadField.field().getName().equals("segment") && !accessesParallelIndexOnly(loadField, elementSize)) {
+                    return false;
+                }
+            } else if (usage instanceof OffsetAddressNode address) {
+                if (address.getBase() != array || !isParallelIndex(address.getOffset(), TornadoNativeArray.ARRAY_HEADER, elementSize)) {
+                    return false;
+                }
+                for (Node access : address.usages()) {
+                    if (!(access instanceof JavaReadNode) && !(access instanceof JavaWriteNode)) {
+                        return false;
+                    }
+                }
+            } else if (usage instanceof AccessIndexedNode accessIndexed) {
+                if (accessIndexed.array() != array || accessIndexed instanceof StoreIndexedNode store && store.value() == array || !isParallelIndex(accessIndexed.index(), 0, 1)) {
+                    return false;
+                }
+            } else {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * It checks that an offset is {@code base + i * scale}, where {@code i} is
+     * the induction variable of a parallel loop.
+     */
+    private static boolean isParallelIndex(ValueNode offset, long base, long scale) {
+        Long first = evaluateOffset(offset, 0);
+        Long second = evaluateOffset(offset, 1);
+        Long third = evaluateOffset(offset, 2);
+        return first != null && second != null && third != null && first == base && second - first == scale && third - second == scale;
+    }
+
+    private static Long evaluateOffset(ValueNode node, long iteration) {
+        Long constant = evaluateConstant(node);
+        if (constant != null) {
+            return constant;
+        }
+        if (node instanceof ValuePhiNode phi) {
+            return phi.values().filter(ParallelOffsetNode.class).isNotEmpty() ? iteration : null;
+        }
+        if (node instanceof SignExtendNode || node instanceof ZeroExtendNode || node instanceof NarrowNode) {
+            return evaluateOffset(((UnaryNode) node).getValue(), iteration);
+        }
+        if (node instanceof BinaryNode binary) {
+            Long x = evaluateOffset(binary.getX(), iteration);
+            Long y = evaluateOffset(binary.getY(), iteration);
+            if (x == null || y == null) {
+                return null;
+            }
+            if (binary instanceof AddNode) {
+                return x + y;
+            } else if (binary instanceof SubNode) {
+                return x - y;
+            } else if (binary instanceof MulNode) {
+                return x * y;
+            } else if (binary instanceof LeftShiftNode) {
+                return x << y;
+            }
+        }
+        return null;
+    }
+
+    private static FusedParameters buildParameters(List<CompilableTask> tasks) {
+        List<Object> args = new ArrayList<>();
+        List<Class<?>> types = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        Set<String> usedNames = new HashSet<>();
+        List<FusedKernelClassWriter.Call> calls = new ArrayList<>();
+        for (CompilableTask task : tasks) {
+            Method method = task.getMethod();
+            Object[] taskArgs = task.getArguments();
+            LocalVariableTable localVariableTable = TornadoCoreRuntime.getTornadoRuntime().resolveMethod(method).getLocalVariableTable();
+            int[] parameterIndexes = new int[taskArgs.length];
+            int slot = 0;
+            for (int i = 0; i < taskArgs.length; i++) {
+                Class<?> type = method.getParameterTypes()[i];
+                int index = -1;
+                if (!isPrimitive(taskArgs[i])) {
+                    for (int j = 0; j < args.size(); j++) {
+                        if (args.get(j) == taskArgs[i] && types.get(j) == type) {
+                            index = j;
+                            break;
+                        }
+                    }
+                }
+                if (index == -1) {
+                    index = args.size();
+                    args.add(taskArgs[i]);
+                    types.add(type);
+                    Local local = localVariableTable != null ? localVariableTable.getLocal(slot, 0) : null;
+                    String name = local != null ? local.getName() : "arg" + index;
+                    if (!usedNames.add(name)) {
+                        name = name + "_" + index;
+                        usedNames.add(name);
+                    }
+                    names.add(name);
+                }
+                parameterIndexes[i] = index;
+                slot += (type == long.class || type == double.class) ? 2 : 1;
+            }
+            calls.add(new FusedKernelClassWriter.Call(method, parameterIndexes));
+        }
+        return new FusedParameters(args.toArray(), types.toArray(new Class<?>[0]), names.toArray(new String[0]), calls);
+    }
+
+    private static Method lookupFusedKernel(Class<?> declaringClass, List<CompilableTask> tasks, FusedParameters parameters) {
+        List<Method> methods = new ArrayList<>();
+        List<Integer> parameterIndexes = new ArrayList<>();
+        for (FusedKernelClassWriter.Call call : parameters.calls()) {
+            methods.add(call.method());
+            for (int index : call.parameterIndexes()) {
+                parameterIndexes.add(index);
+            }
+        }
+        FusedKernelKey key = new FusedKernelKey(methods, parameterIndexes);
+        Method method = fusedKernels.get(key);
+        if (method == null) {
+            method = defineFusedKernel(declaringClass, tasks, parameters);
+            if (method != null) {
+                fusedMethods.add(TornadoCoreRuntime.getTornadoRuntime().resolveMethod(method));
+                Method previous = fusedKernels.putIfAbsent(key, method);
+                method = Objects.requireNonNullElse(previous, method);
+            }
+        }
+        return method;
+    }
+
+    /**
+     * It defines the fused kernel as a hidden class. If the package of the fused
+     * methods is open to the runtime, the hidden class is a nestmate of their
+     * class, so the fused methods can be private. Otherwise, the fused methods
+     * must be public, and the hidden class is defined in the package of the
+     * runtime.
+     */
+    private static Method defineFusedKernel(Class<?> declaringClass, List<CompilableTask> tasks, FusedParameters parameters) {
+        StringBuilder methodName = new StringBuilder("fused");
+        for (CompilableTask task : tasks) {
+            methodName.append("_").append(task.getMethod().getName().replaceAll("[^A-Za-z0-9_]", "_"));
+        }
+        try {
+            Module runtimeModule = KernelFusion.class.getModule();
+            Module module = declaringClass.getModule();
+            runtimeModule.addReads(module);
+
+            MethodHandles.Lookup lookup;
+            MethodHandles.Lookup.ClassOption[] options;
+            if (module.isOpen(declaringClass.getPackageName(), runtimeModule)) {
+                lookup = MethodHandles.privateLookupIn(declaringClass, MethodHandles.lookup());
+                options = new MethodHandles.Lookup.ClassOption[] { MethodHandles.Lookup.ClassOption.NESTMATE };
+            } else if (module.isExported(declaringClass.getPackageName(), runtimeModule) && isPublic(declaringClass, tasks)) {
+                lookup = MethodHandles.lookup();
+                options = new MethodHandles.Lookup.ClassOption[0];
+            } else {
+                return null;
+            }
+
+            String packageName = lookup.lookupClass().getPackageName();
+            String className = packageName.isEmpty() ? FUSED_CLASS_NAME : STR."\{packageName.replace('.', '/')}/\{FUSED_CLASS_NAME}";
+            byte[] classFile = FusedKernelClassWriter.write(className, methodName.toString(), parameters.types(), parameters.names(), parameters.calls());
+            Class<?> fusedClass = lookup.defineHiddenClass(classFile, true, options).lookupClass();
+            return fusedClass.getDeclaredMethod(methodName.toString(), parameters.types());
+        } catch (ReflectiveOperationException | IllegalArgumentException | LinkageError | SecurityException e) {
+            // The tasks run as separate kernels
+            return null;
+        }
+    }
+
+    private static boolean isPublic(Class<?> declaringClass, List<CompilableTask> tasks) {
+        if (!Modifier.isPublic(declaringClass.getModifiers())) {
+            return false;
+        }
+        for (CompilableTask task : tasks) {
+            if (!Modifier.isPublic(task.getMethod().getModifiers())) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -25,9 +25,12 @@ package uk.ac.manchester.tornado.runtime.analyzer;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Map;
 
 import org.graalvm.compiler.nodes.StructuredGraph;
 
+import uk.ac.manchester.tornado.runtime.analyzer.ReduceCodeAnalysis.REDUCE_OPERATION;
+
 /**
  * Mapping between the input tasks and the parameters indexes in which reduce
  * variables are found.
@@ -37,13 +40,22 @@ public class MetaReduceTasks {
 
     private HashMap<Integer, ArrayList<Integer>> reduceList;
     private HashMap<Integer, Integer> reduceSize;
+    private HashMap<Integer, Object> neutralElements;
+    private HashMap<Integer, REDUCE_OPERATION> initialValueOperations;
     private StructuredGraph graph;
 
     MetaReduceTasks(int taskIndex, StructuredGraph graph, ArrayList<Integer> reduceIndexes, int inputSize) {
+        this(taskIndex, graph, reduceIndexes, inputSize, Map.of(), Map.of());
+    }
+
+    MetaReduceTasks(int taskIndex, StructuredGraph graph, ArrayList<Integer> reduceIndexes, int inputSize, Map<Integer, Object> neutralElements,
+            Map<Integer, REDUCE_OPERATION> initialValueOperations) {
         reduceList = new HashMap<>();
         reduceSize = new HashMap<>();
         reduceList.put(taskIndex, reduceIndexes);
         reduceSize.put(taskIndex, inputSize);
+        this.neutralElements = new HashMap<>(neutralElements);
+        this.initialValueOperations = new HashMap<>(initialValueOperations);
         this.graph = graph;
     }
 
@@ -55,6 +67,23 @@ public class MetaReduceTasks {
         return reduceSize.get(taskIndex);
     }
 
+    /**
+     * @return the neutral element of the reduction found in the given parameter,
+     *     or null if it has to be taken from the array passed by the user.
+     */
+    public Object getNeutralElement(int paramIndex) {
+        return neutralElements.get(paramIndex);
+    }
+
+    /**
+     * @return the operation that combines the value of the array passed by the
+     *     user with the result of the reduction found in the given parameter, or
+     *     null if that value is the neutral element of the reduction.
+     */
+    public REDUCE_OPERATION getInitialValueOperation(int paramIndex) {
+        return initialValueOperations.get(paramIndex);
+    }
+
     public StructuredGraph getGraph() {
         return graph;
     }
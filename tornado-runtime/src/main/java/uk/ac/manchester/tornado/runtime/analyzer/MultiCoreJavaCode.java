@@ -0,0 +1,305 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime.analyzer;
+
+import static uk.ac.manchester.tornado.runtime.TornadoCoreRuntime.getDebugContext;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.graalvm.compiler.nodes.StructuredGraph;
+
+import jdk.vm.ci.code.InstalledCode;
+import jdk.vm.ci.code.InvalidInstalledCodeException;
+import uk.ac.manchester.tornado.api.KernelContext;
+import uk.ac.manchester.tornado.api.annotations.Reduce;
+import uk.ac.manchester.tornado.api.exceptions.TornadoBailoutRuntimeException;
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+import uk.ac.manchester.tornado.runtime.analyzer.ReduceCodeAnalysis.REDUCE_OPERATION;
+import uk.ac.manchester.tornado.runtime.common.TornadoLogger;
+
+/**
+ * Java code of a task that runs on the cores of the host.
+ *
+ * <p>
+ * The iterations of the outermost {@code @Parallel} loop are split in one
+ * contiguous block per thread. The host Graal compiler builds one version of
+ * the method per worker, in which the loop reads the limits of its block from
+ * an array, and the versions are run concurrently. The bound of the loop is
+ * evaluated for the arguments of each execution, and the limits of the blocks
+ * are written to the array before the workers start, so the versions are
+ * compiled once whatever the bound. Each thread of a reduction
+ * gets a copy of the {@code @Reduce} arrays that is initialised with the
+ * neutral element of the operation, and the copies are combined into the
+ * original arrays at the end.
+ * </p>
+ *
+ * <p>
+ * Methods in which the parallel loop or its bound can not be found, and
+ * reductions that can not be split, are compiled without changes and run
+ * sequentially in the calling thread.
+ * </p>
+ */
+public class MultiCoreJavaCode extends TornadoLogger {
+
+    private final String name;
+    private final StructuredGraph hostGraph;
+    private volatile InstalledCode sequentialCode;
+    private final ParallelLoop parallelLoop;
+    private final int[] reduceIndices;
+    private final REDUCE_OPERATION[] reduceOperations;
+    // Lower and upper limits of the block of each worker, read by its version
+    private int[] workerBounds;
+    private InstalledCode[] workers;
+
+    /**
+     * @param name
+     *     Name of the task, for the error messages.
+     * @param method
+     *     Method of the task. The arguments of the executions are the parameters
+     *     of the method, with the receiver first for instance methods.
+     */
+    public MultiCoreJavaCode(String name, Method method) {
+        this.name = name;
+        this.hostGraph = CodeAnalysis.buildHighLevelGraalGraph(method);
+        if (hostGraph == null) {
+            throw new TornadoBailoutRuntimeException("[Error During the Task Compilation] unable to build the graph of task " + name);
+        }
+
+        ParallelLoop loop = null;
+        if (Modifier.isStatic(method.getModifiers()) && !hasKernelContext(method)) {
+            loop = ParallelLoop.find(hostGraph);
+        }
+
+        int[] indices = getReduceIndices(method);
+        REDUCE_OPERATION[] operations = null;
+        if (loop != null && indices.length > 0) {
+            operations = getReduceOperations(indices);
+            if (operations == null) {
+                loop = null;
+            }
+        }
+
+        this.parallelLoop = loop;
+        this.reduceIndices = indices;
+        this.reduceOperations = operations;
+        if (parallelLoop == null) {
+            debug("task %s runs sequentially on the host", name);
+        }
+    }
+
+    private static boolean hasKernelContext(Method method) {
+        for (Class<?> type : method.getParameterTypes()) {
+            if (type == KernelContext.class) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int[] getReduceIndices(Method method) {
+        List<Integer> indices = new ArrayList<>();
+        Annotation[][] annotations = method.getParameterAnnotations();
+        for (int i = 0; i < annotations.length; i++) {
+            for (Annotation annotation : annotations[i]) {
+                if (annotation instanceof Reduce) {
+                    indices.add(i);
+                }
+            }
+        }
+        return indices.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private REDUCE_OPERATION[] getReduceOperations(int[] indices) {
+        try {
+            List<Integer> reduceParameters = new ArrayList<>();
+            for (int index : indices) {
+                reduceParameters.add(index);
+            }
+            List<REDUCE_OPERATION> operations = ReduceCodeAnalysis.getReduceOperation(hostGraph, reduceParameters);
+            if (operations.size() != indices.length) {
+                return null;
+            }
+            return operations.toArray(new REDUCE_OPERATION[0]);
+        } catch (TornadoRuntimeException e) {
+            debug("reduction of task %s can not be split: %s", name, e.getMessage());
+            return null;
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isParallel() {
+        return parallelLoop != null;
+    }
+
+    /**
+     * It runs the task with the given arguments.
+     *
+     * @param args
+     *     Arguments of the method.
+     * @param pool
+     *     Threads in which the blocks of the parallel loop run.
+     * @param numThreads
+     *     Maximum number of blocks.
+     */
+    public void execute(Object[] args, ExecutorService pool, int numThreads) {
+        Integer upperBound = (parallelLoop != null) ? ParallelLoop.evaluate(parallelLoop.getBound(), args) : null;
+        if (upperBound != null && numThreads > 1) {
+            runParallel(args, upperBound, pool, numThreads);
+        } else {
+            runSequential(args);
+        }
+    }
+
+    private void runSequential(Object[] args) {
+        InstalledCode code = sequentialCode;
+        if (code == null || !code.isValid()) {
+            code = CodeAnalysis.compileAndInstallMethod((StructuredGraph) hostGraph.copy(getDebugContext()));
+            sequentialCode = code;
+        }
+        try {
+            code.executeVarargs(args);
+        } catch (InvalidInstalledCodeException e) {
+            throw new TornadoBailoutRuntimeException("[Error during the execution of task " + name + "] ", e);
+        }
+    }
+
+    private synchronized void runParallel(Object[] args, int upperBound, ExecutorService pool, int numThreads) {
+        final int init = parallelLoop.getInit();
+        final int stride = parallelLoop.getStride();
+        final long iterations = (upperBound > init) ? ((long) upperBound - init + stride - 1) / stride : 0;
+        if (iterations == 0) {
+            return;
+        }
+        final long block = (iterations + numThreads - 1) / numThreads;
+        final int numWorkers = (int) ((iterations + block - 1) / block);
+
+        InstalledCode[] codes = getWorkers(numWorkers);
+        for (int w = 0; w < numWorkers; w++) {
+            long lowerBound = init + w * block * stride;
+            workerBounds[2 * w] = (int) lowerBound;
+            workerBounds[2 * w + 1] = (int) Math.min(upperBound, lowerBound + block * stride);
+        }
+        Object[][] partials = new Object[numWorkers][];
+        List<Callable<Object>> callables = new ArrayList<>(numWorkers);
+        for (int w = 0; w < numWorkers; w++) {
+            Object[] workerArgs = args.clone();
+            if (reduceOperations != null) {
+                partials[w] = new Object[reduceIndices.length];
+                for (int r = 0; r < reduceIndices.length; r++) {
+                    Object partial = ReducePartials.createPartial(args[reduceIndices[r]], reduceOperations[r]);
+                    if (partial == null) {
+                        runSequential(args);
+                        return;
+                    }
+                    partials[w][r] = partial;
+                    workerArgs[reduceIndices[r]] = partial;
+                }
+            }
+            final InstalledCode code = codes[w];
+            callables.add(() -> code.executeVarargs(workerArgs));
+        }
+
+        try {
+            for (Future<Object> future : pool.invokeAll(callables)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TornadoBailoutRuntimeException("[Execution of task " + name + " interrupted] ", e);
+        } catch (ExecutionException e) {
+            throw new TornadoBailoutRuntimeException("[Error during the execution of task " + name + "] ", e.getCause());
+        }
+
+        if (reduceOperations != null) {
+            for (int w = 0; w < numWorkers; w++) {
+                for (int r = 0; r < reduceIndices.length; r++) {
+                    ReducePartials.combine(args[reduceIndices[r]], partials[w][r], reduceOperations[r]);
+                }
+            }
+        }
+    }
+
+    /**
+     * It returns the versions of the first {@code numWorkers} workers, and
+     * compiles the ones that are missing or have been invalidated. The array of
+     * limits is only replaced when more workers are needed, and then all the
+     * versions that read the previous array are invalidated.
+     */
+    private InstalledCode[] getWorkers(int numWorkers) {
+        if (workers == null || workers.length < numWorkers) {
+            invalidateWorkers();
+            workerBounds = new int[2 * numWorkers];
+            workers = new InstalledCode[numWorkers];
+        }
+        for (int w = 0; w < numWorkers; w++) {
+            if (workers[w] == null || !workers[w].isValid()) {
+                workers[w] = compileWorker(w);
+            }
+        }
+        return workers;
+    }
+
+    private InstalledCode compileWorker(int slot) {
+        StructuredGraph graph = (StructuredGraph) hostGraph.copy(getDebugContext());
+        ParallelLoop loop = ParallelLoop.find(graph);
+        if (loop == null) {
+            throw new TornadoBailoutRuntimeException("[Error During the Task Compilation] parallel loop of task " + name + " not found");
+        }
+        loop.specialise(graph, workerBounds, slot);
+        return CodeAnalysis.compileAndInstallMethod(graph);
+    }
+
+    private void invalidateWorkers() {
+        if (workers == null) {
+            return;
+        }
+        for (InstalledCode code : workers) {
+            if (code != null) {
+                code.invalidate();
+            }
+        }
+        workers = null;
+    }
+
+    /**
+     * It invalidates all the compiled versions of the method.
+     */
+    public synchronized void invalidate() {
+        if (sequentialCode != null) {
+            sequentialCode.invalidate();
+        }
+        invalidateWorkers();
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime.analyzer;
+
+import java.lang.reflect.Array;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.graalvm.compiler.graph.Node;
+import org.graalvm.compiler.nodes.ConstantNode;
+import org.graalvm.compiler.nodes.FrameState;
+import org.graalvm.compiler.nodes.InvokeNode;
+import org.graalvm.compiler.nodes.LoopBeginNode;
+import org.graalvm.compiler.nodes.ParameterNode;
+import org.graalvm.compiler.nodes.PiNode;
+import org.graalvm.compiler.nodes.StructuredGraph;
+import org.graalvm.compiler.nodes.ValueNode;
+import org.graalvm.compiler.nodes.ValuePhiNode;
+import org.graalvm.compiler.nodes.calc.AddNode;
+import org.graalvm.compiler.nodes.calc.BinaryNode;
+import org.graalvm.compiler.nodes.calc.IntegerLessThanNode;
+import org.graalvm.compiler.nodes.calc.MulNode;
+import org.graalvm.compiler.nodes.calc.SubNode;
+import org.graalvm.compiler.nodes.java.ArrayLengthNode;
+import org.graalvm.compiler.nodes.java.LoadIndexedNode;
+import org.graalvm.compiler.nodes.java.LoadFieldNode;
+import org.graalvm.compiler.nodes.java.MethodCallTargetNode;
+import org.graalvm.compiler.nodes.loop.InductionVariable;
+import org.graalvm.compiler.nodes.loop.LoopEx;
+import org.graalvm.compiler.nodes.loop.LoopsData;
+
+import jdk.vm.ci.meta.JavaConstant;
+import jdk.vm.ci.meta.JavaKind;
+import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
+import uk.ac.manchester.tornado.runtime.common.ParallelAnnotationProvider;
+import uk.ac.manchester.tornado.runtime.graal.nodes.TornadoLoopsData;
+import uk.ac.manchester.tornado.runtime.graal.phases.sketcher.TornadoApiReplacement;
+
+/**
+ * Outermost {@code @Parallel} loop of a task, in the graph that the host
+ * compiler builds for the task method. The loop is found as in
+ * {@link TornadoApiReplacement}: the induction variable is the local variable
+ * with the annotation. Each worker thread runs a contiguous block of the
+ * iterations, with a copy of the graph in which the initial value of the
+ * induction variable and the bound of the loop are read from an array that
+ * holds the limits of the block. It is used by the JVM backend and by the
+ * multi-core Java execution of the task-graphs.
+ */
+public final class ParallelLoop {
+
+    private final ValuePhiNode phi;
+    private final IntegerLessThanNode condition;
+    private final int init;
+    private final int stride;
+
+    private ParallelLoop(ValuePhiNode phi, IntegerLessThanNode condition, int init, int stride) {
+        this.phi = phi;
+        this.condition = condition;
+        this.init = init;
+        this.stride = stride;
+    }
+
+    public int getInit() {
+        return init;
+    }
+
+    public int getStride() {
+        return stride;
+    }
+
+    /**
+     * It returns the bound of the {@code i < bound} condition of the loop.
+     */
+    public ValueNode getBound() {
+        return condition.getY();
+    }
+
+    /**
+     * It finds the outermost parallel loop of the graph.
+     *
+     * @return the loop, or null if the graph has no parallel loop with a
+     *     constant initial value, a constant positive stride and a
+     *     {@code i < bound} condition.
+     */
+    public static ParallelLoop find(StructuredGraph graph) {
+        if (!graph.hasLoops()) {
+            return null;
+        }
+        ParallelAnnotationProvider[] annotations = TornadoApiReplacement.getParallelAnnotations(graph.method());
+        Set<Node> parallelNodes = new HashSet<>();
+        for (FrameState fs : graph.getNodes().filter(FrameState.class)) {
+            if (!fs.getMethod().equals(graph.method())) {
+                continue;
+            }
+            for (ParallelAnnotationProvider an : annotations) {
+                if (fs.bci >= an.getStart() && fs.bci < an.getStart() + an.getLength()) {
+                    parallelNodes.add(fs.localAt(an.getIndex()));
+                }
+            }
+        }
+
+        final LoopsData data = new TornadoLoopsData(graph);
+        data.detectCountedLoops();
+        for (LoopEx loop : data.outerFirst()) {
+            for (InductionVariable iv : loop.getInductionVariables().getValues()) {
+                if (!parallelNodes.contains(iv.valueNode())) {
+                    continue;
+                }
+                if (!(iv.valueNode() instanceof ValuePhiNode phi) || !iv.isConstantInit() || !iv.isConstantStride() || iv.constantStride() <= 0) {
+                    return null;
+                }
+                List<IntegerLessThanNode> conditions = phi.usages().filter(IntegerLessThanNode.class).filter(c -> c.getX() == phi).snapshot();
+                if (conditions.isEmpty()) {
+                    return null;
+                }
+                return new ParallelLoop(phi, conditions.getFirst(), (int) iv.constantInit(), (int) iv.constantStride());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * It restricts the loop to the iterations in
+     * {@code [bounds[2 * slot], bounds[2 * slot + 1])}. The bounds are loaded
+     * before the loop in every execution, so the compiled code runs the block
+     * that is in the array at that moment.
+     */
+    public void specialise(StructuredGraph graph, int[] bounds, int slot) {
+        final LoopBeginNode loopBegin = (LoopBeginNode) phi.merge();
+        final ValueNode array = CodeAnalysis.createObjectConstant(graph, bounds);
+        LoadIndexedNode lowerBound = graph.add(new LoadIndexedNode(graph.getAssumptions(), array, ConstantNode.forInt(2 * slot, graph), null, JavaKind.Int));
+        LoadIndexedNode upperBound = graph.add(new LoadIndexedNode(graph.getAssumptions(), array, ConstantNode.forInt(2 * slot + 1, graph), null, JavaKind.Int));
+        graph.addBeforeFixed(loopBegin.forwardEnd(), lowerBound);
+        graph.addBeforeFixed(loopBegin.forwardEnd(), upperBound);
+        phi.setValueAt(0, lowerBound);
+        condition.replaceFirstInput(condition.getY(), upperBound);
+    }
+
+    /**
+     * It evaluates the bound of a parallel loop for the arguments of a launch.
+     * Only constants, int parameters, sizes of array parameters, calls to
+     * {@code getSize()} on native-array parameters, and additions, subtractions
+     * and multiplications of those are evaluated.
+     *
+     * @return the value, or null if the bound can not be evaluated.
+     */
+    public static Integer evaluate(ValueNode node, Object[] args) {
+        ValueNode value = unwrap(node);
+        if (value instanceof ConstantNode constant) {
+            JavaConstant javaConstant = constant.asJavaConstant();
+            return (javaConstant != null && javaConstant.getJavaKind() == JavaKind.Int) ? javaConstant.asInt() : null;
+        } else if (value instanceof ParameterNode parameter) {
+            return (args[parameter.index()] instanceof Integer integer) ? integer : null;
+        } else if (value instanceof ArrayLengthNode length && unwrap(length.array()) instanceof ParameterNode parameter) {
+            Object array = args[parameter.index()];
+            return (array != null && array.getClass().isArray()) ? Array.getLength(array) : null;
+        } else if (value instanceof LoadFieldNode load && load.field().getName().equals("numberOfElements") && unwrap(load.object()) instanceof ParameterNode parameter) {
+            return (args[parameter.index()] instanceof TornadoNativeArray nativeArray) ? nativeArray.getSize() : null;
+        } else if (value instanceof InvokeNode invoke && invoke.callTarget() instanceof MethodCallTargetNode callTarget && callTarget.targetMethod().getName().equals("getSize")
+                && !callTarget.arguments().isEmpty() && unwrap(callTarget.arguments().getFirst()) instanceof ParameterNode parameter) {
+            return (args[parameter.index()] instanceof TornadoNativeArray nativeArray) ? nativeArray.getSize() : null;
+        } else if (value instanceof AddNode || value instanceof SubNode || value instanceof MulNode) {
+            BinaryNode binary = (BinaryNode) value;
+            Integer x = evaluate(binary.getX(), args);
+            Integer y = evaluate(binary.getY(), args);
+            if (x == null || y == null) {
+                return null;
+            }
+            return switch (value) {
+                case AddNode ignored -> x + y;
+                case SubNode ignored -> x - y;
+                default -> x * y;
+            };
+        }
+        return null;
+    }
+
+    private static ValueNode unwrap(ValueNode node) {
+        ValueNode value = node;
+        while (value instanceof PiNode pi) {
+            value = pi.object();
+        }
+        return value;
+    }
+}
@@ -30,6 +30,7 @@ import java.lang.reflect.Array;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 import org.graalvm.compiler.graph.Graph;
@@ -49,10 +50,13 @@ import org.graalvm.compiler.nodes.StartNode;
 import org.graalvm.compiler.nodes.StructuredGraph;
 import org.graalvm.compiler.nodes.ValueNode;
 import org.graalvm.compiler.nodes.calc.AddNode;
+import org.graalvm.compiler.nodes.calc.AndNode;
 import org.graalvm.compiler.nodes.calc.BinaryArithmeticNode;
 import org.graalvm.compiler.nodes.calc.BinaryNode;
 import org.graalvm.compiler.nodes.calc.IntegerLessThanNode;
 import org.graalvm.compiler.nodes.calc.MulNode;
+import org.graalvm.compiler.nodes.calc.OrNode;
+import org.graalvm.compiler.nodes.calc.XorNode;
 import org.graalvm.compiler.nodes.java.ArrayLengthNode;
 import org.graalvm.compiler.nodes.java.MethodCallTargetNode;
 import org.graalvm.compiler.nodes.java.StoreIndexedNode;
@@ -102,6 +106,12 @@ public class ReduceCodeAnalysis {
                 operations.add(REDUCE_OPERATION.SUM);
             } else if (operation instanceof MulNode) {
                 operations.add(REDUCE_OPERATION.MUL);
+            } else if (operation instanceof AndNode) {
+                operations.add(REDUCE_OPERATION.AND);
+            } else if (operation instanceof OrNode) {
+                operations.add(REDUCE_OPERATION.OR);
+            } else if (operation instanceof XorNode) {
+                operations.add(REDUCE_OPERATION.XOR);
             } else if (operation instanceof InvokeNode invoke) {
                 if (invoke.callTarget().targetName().equals("Math.max")) {
                     operations.add(REDUCE_OPERATION.MAX);
@@ -411,6 +421,14 @@ public class ReduceCodeAnalysis {
                 }
             }
 
+            Map<Integer, Object> neutralElements = Map.of();
+            Map<Integer, REDUCE_OPERATION> initialValueOperations = Map.of();
+            if (reduceIndices.isEmpty() && AutoReductionAnalysis.isApplicable(graph)) {
+                reduceIndices.addAll(AutoReductionAnalysis.findReduceParameters(graph));
+                neutralElements = AutoReductionAnalysis.findNeutralElements(graph);
+                initialValueOperations = AutoReductionAnalysis.findInitialValueOperations(graph);
+            }
+
             if (reduceIndices.isEmpty()) {
                 taskIndex++;
                 continue;
@@ -435,7 +453,7 @@ public class ReduceCodeAnalysis {
                     }
                 }
             }
-            MetaReduceTasks reduceTasks = new MetaReduceTasks(taskIndex, graph, reduceIndices, inputSize);
+            MetaReduceTasks reduceTasks = new MetaReduceTasks(taskIndex, graph, reduceIndices, inputSize, neutralElements, initialValueOperations);
             tableMetaDataReduce.put(taskIndex, reduceTasks);
             taskIndex++;
         }
@@ -476,6 +494,9 @@ public class ReduceCodeAnalysis {
         SUM, //
         MUL, //
         MIN, //
-        MAX //
+        MAX, //
+        AND, //
+        OR, //
+        XOR //
     }
 }
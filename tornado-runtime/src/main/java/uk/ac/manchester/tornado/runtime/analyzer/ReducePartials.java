@@ -0,0 +1,225 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime.analyzer;
+
+import java.util.Arrays;
+
+import uk.ac.manchester.tornado.api.types.arrays.DoubleArray;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.api.types.arrays.LongArray;
+import uk.ac.manchester.tornado.runtime.analyzer.ReduceCodeAnalysis.REDUCE_OPERATION;
+
+/**
+ * Partial results of the {@code @Reduce} parameters on the host device. Each
+ * worker thread updates its own copy of a reduction array, filled with the
+ * neutral element of the operation, and the copies are combined with the
+ * original array once all the workers have finished.
+ */
+public final class ReducePartials {
+
+    private ReducePartials() {
+    }
+
+    /**
+     * It creates a copy of the reduction array for a worker thread.
+     *
+     * @return the copy, or null if the type of the array or the operation are not
+     *     supported.
+     */
+    public static Object createPartial(Object original, REDUCE_OPERATION operation) {
+        switch (original) {
+            case int[] array -> {
+                int[] partial = new int[array.length];
+                Arrays.fill(partial, neutralInt(operation));
+                return partial;
+            }
+            case long[] array -> {
+                long[] partial = new long[array.length];
+                Arrays.fill(partial, neutralLong(operation));
+                return partial;
+            }
+            case float[] array when isArithmetic(operation) -> {
+                float[] partial = new float[array.length];
+                Arrays.fill(partial, (float) neutralDouble(operation));
+                return partial;
+            }
+            case double[] array when isArithmetic(operation) -> {
+                double[] partial = new double[array.length];
+                Arrays.fill(partial, neutralDouble(operation));
+                return partial;
+            }
+            case IntArray array -> {
+                IntArray partial = new IntArray(array.getSize());
+                partial.init(neutralInt(operation));
+                return partial;
+            }
+            case LongArray array -> {
+                LongArray partial = new LongArray(array.getSize());
+                partial.init(neutralLong(operation));
+                return partial;
+            }
+            case FloatArray array when isArithmetic(operation) -> {
+                FloatArray partial = new FloatArray(array.getSize());
+                partial.init((float) neutralDouble(operation));
+                return partial;
+            }
+            case DoubleArray array when isArithmetic(operation) -> {
+                DoubleArray partial = new DoubleArray(array.getSize());
+                partial.init(neutralDouble(operation));
+                return partial;
+            }
+            default -> {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * It combines the copy of a worker thread into the original reduction array.
+     */
+    public static void combine(Object original, Object partial, REDUCE_OPERATION operation) {
+        switch (original) {
+            case int[] array -> {
+                int[] values = (int[]) partial;
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = combine(array[i], values[i], operation);
+                }
+            }
+            case long[] array -> {
+                long[] values = (long[]) partial;
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = combine(array[i], values[i], operation);
+                }
+            }
+            case float[] array -> {
+                float[] values = (float[]) partial;
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = (float) combine(array[i], values[i], operation);
+                }
+            }
+            case double[] array -> {
+                double[] values = (double[]) partial;
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = combine(array[i], values[i], operation);
+                }
+            }
+            case IntArray array -> {
+                IntArray values = (IntArray) partial;
+                for (int i = 0; i < array.getSize(); i++) {
+                    array.set(i, combine(array.get(i), values.get(i), operation));
+                }
+            }
+            case LongArray array -> {
+                LongArray values = (LongArray) partial;
+                for (int i = 0; i < array.getSize(); i++) {
+                    array.set(i, combine(array.get(i), values.get(i), operation));
+                }
+            }
+            case FloatArray array -> {
+                FloatArray values = (FloatArray) partial;
+                for (int i = 0; i < array.getSize(); i++) {
+                    array.set(i, (float) combine(array.get(i), values.get(i), operation));
+                }
+            }
+            case DoubleArray array -> {
+                DoubleArray values = (DoubleArray) partial;
+                for (int i = 0; i < array.getSize(); i++) {
+                    array.set(i, combine(array.get(i), values.get(i), operation));
+                }
+            }
+            default -> throw new IllegalArgumentException("Reduction array not supported: " + original.getClass().getName());
+        }
+    }
+
+    private static boolean isArithmetic(REDUCE_OPERATION operation) {
+        return switch (operation) {
+            case SUM, MUL, MIN, MAX -> true;
+            case AND, OR, XOR -> false;
+        };
+    }
+
+    private static int neutralInt(REDUCE_OPERATION operation) {
+        return switch (operation) {
+            case SUM, OR, XOR -> 0;
+            case MUL -> 1;
+            case MIN -> Integer.MAX_VALUE;
+            case MAX -> Integer.MIN_VALUE;
+            case AND -> -1;
+        };
+    }
+
+    private static long neutralLong(REDUCE_OPERATION operation) {
+        return switch (operation) {
+            case SUM, OR, XOR -> 0L;
+            case MUL -> 1L;
+            case MIN -> Long.MAX_VALUE;
+            case MAX -> Long.MIN_VALUE;
+            case AND -> -1L;
+        };
+    }
+
+    private static double neutralDouble(REDUCE_OPERATION operation) {
+        return switch (operation) {
+            case MUL -> 1.0;
+            case MIN -> Double.POSITIVE_INFINITY;
+            case MAX -> Double.NEGATIVE_INFINITY;
+            default -> 0.0;
+        };
+    }
+
+    private static int combine(int a, int b, REDUCE_OPERATION operation) {
+        return switch (operation) {
+            case SUM -> a + b;
+            case MUL -> a * b;
+            case MIN -> Math.min(a, b);
+            case MAX -> Math.max(a, b);
+            case AND -> a & b;
+            case OR -> a | b;
+            case XOR -> a ^ b;
+        };
+    }
+
+    private static long combine(long a, long b, REDUCE_OPERATION operation) {
+        return switch (operation) {
+            case SUM -> a + b;
+            case MUL -> a * b;
+            case MIN -> Math.min(a, b);
+            case MAX -> Math.max(a, b);
+            case AND -> a & b;
+            case OR -> a | b;
+            case XOR -> a ^ b;
+        };
+    }
+
+    private static double combine(double a, double b, REDUCE_OPERATION operation) {
+        return switch (operation) {
+            case SUM -> a + b;
+            case MUL -> a * b;
+            case MIN -> Math.min(a, b);
+            case MAX -> Math.max(a, b);
+            default -> throw new IllegalArgumentException("Reduction not supported for floating-point values: " + operation);
+        };
+    }
+}
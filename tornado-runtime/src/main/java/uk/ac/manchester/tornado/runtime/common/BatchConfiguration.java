@@ -24,11 +24,9 @@
 package uk.ac.manchester.tornado.runtime.common;
 
 import java.lang.reflect.Array;
-import java.util.Arrays;
-import java.util.HashSet;
-import java.util.LinkedHashSet;
 import java.util.List;
 
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
 import uk.ac.manchester.tornado.api.types.arrays.ByteArray;
 import uk.ac.manchester.tornado.api.types.arrays.CharArray;
 import uk.ac.manchester.tornado.api.types.arrays.DoubleArray;
@@ -36,15 +34,29 @@ import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
 import uk.ac.manchester.tornado.api.types.arrays.IntArray;
 import uk.ac.manchester.tornado.api.types.arrays.LongArray;
 import uk.ac.manchester.tornado.api.types.arrays.ShortArray;
-import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
 import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
 import uk.ac.manchester.tornado.runtime.common.enums.DataTypeSize;
 import uk.ac.manchester.tornado.runtime.graph.TornadoExecutionContext;
 
 /**
- * It presents the configuration for processing data in batches. This class
- * provides methods to compute chunk sizes based on the batch size and input
- * objects.
+ * It presents the configuration for processing data in batches.
+ *
+ * <p>
+ * All the objects split in batches must have the same number of elements, which
+ * is the iteration space. It is split in chunks of the same number of elements,
+ * and each object gets its own offset and size (in bytes) per chunk, from the
+ * size of its elements. Objects of different types can be split together.
+ * Objects with a different number of elements are rejected: the compiler folds
+ * the size of every array to the number of threads of a chunk, so a kernel that
+ * iterates over a smaller array would access elements past its chunk.
+ * </p>
+ *
+ * <p>
+ * Broadcast objects are read-only objects that every chunk needs in full
+ * (e.g., lookup tables or filter coefficients). They are excluded from the
+ * split: they are allocated and transferred once, and they stay resident on
+ * the device until the last chunk.
+ * </p>
  */
 /**
  * How to test?
@@ -58,48 +70,55 @@ import uk.ac.manchester.tornado.runtime.graph.TornadoExecutionContext;
 public class BatchConfiguration {
 
     private final int totalChunks;
-    private final int remainingChunkSize;
-    private final short numBytesType;
+    private final long totalElements;
+    private final long elementsPerChunk;
+    private final boolean[] broadcast;
+    private final byte[] elementSizes;
 
     /**
      * Constructs a BatchConfiguration object with the specified parameters.
      *
      * @param totalChunks
-     *     The total number of chunks.
-     * @param remainingChunkSize
-     *     The size of the remaining chunk.
-     * @param numBytesType
-     *     The number of bytes for the data type.
+     *     The total number of chunks, including the last (and possibly
+     *     smaller) chunk.
+     * @param totalElements
+     *     The number of elements of the iteration space.
+     * @param elementsPerChunk
+     *     The number of elements of the iteration space per chunk.
+     * @param broadcast
+     *     For each object, true if it is a broadcast object, which is not
+     *     split.
+     * @param elementSizes
+     *     For each object, the size in bytes of its elements.
      */
-    public BatchConfiguration(int totalChunks, int remainingChunkSize, short numBytesType) {
+    public BatchConfiguration(int totalChunks, long totalElements, long elementsPerChunk, boolean[] broadcast, byte[] elementSizes) {
         this.totalChunks = totalChunks;
-        this.remainingChunkSize = remainingChunkSize;
-        this.numBytesType = numBytesType;
+        this.totalElements = totalElements;
+        this.elementsPerChunk = elementsPerChunk;
+        this.broadcast = broadcast;
+        this.elementSizes = elementSizes;
     }
 
     public static BatchConfiguration computeChunkSizes(TornadoExecutionContext context, long batchSize) {
-        // Get the size of the batch
-        long totalSize = 0;
-
-        HashSet<Long> inputSizes = new HashSet<>();
-        LinkedHashSet<Byte> elementSizes = new LinkedHashSet<>();
-
-        for (Object o : context.getObjects()) {
+        final List<Object> objects = context.getObjects();
+        final long[] numElements = new long[objects.size()];
+        final byte[] elementSizes = new byte[objects.size()];
+        final boolean[] isBroadcast = new boolean[objects.size()];
+
+        long totalElements = -1;
+        for (int i = 0; i < objects.size(); i++) {
+            Object o = objects.get(i);
             if (o.getClass().isArray()) {
                 Class<?> componentType = o.getClass().getComponentType();
                 DataTypeSize dataTypeSize = DataTypeSize.findDataTypeSize(componentType);
                 if (dataTypeSize == null) {
                     throw new TornadoRuntimeException("[UNSUPPORTED] Data type not supported for processing in batches");
                 }
-                long size = Array.getLength(o);
-                totalSize = size * dataTypeSize.getSize();
-
-                elementSizes.add(dataTypeSize.getSize());
-                inputSizes.add(totalSize);
+                numElements[i] = Array.getLength(o);
+                elementSizes[i] = dataTypeSize.getSize();
             } else if (o instanceof TornadoNativeArray tornadoNativeArray) {
-                totalSize = tornadoNativeArray.getNumBytesWithoutHeader();
-                inputSizes.add(totalSize);
-                byte elementSize = switch (tornadoNativeArray) {
+                numElements[i] = tornadoNativeArray.getSize();
+                elementSizes[i] = switch (tornadoNativeArray) {
                     case IntArray _ -> DataTypeSize.INT.getSize();
                     case FloatArray _ -> DataTypeSize.FLOAT.getSize();
                     case DoubleArray _ -> DataTypeSize.DOUBLE.getSize();
@@ -109,41 +128,104 @@ public class BatchConfiguration {
                     case CharArray _ -> DataTypeSize.CHAR.getSize();
                     default -> throw new TornadoRuntimeException(STR."Unsupported array type: \{o.getClass()}");
                 };
-                elementSizes.add(elementSize);
             } else {
                 throw new TornadoRuntimeException(STR."Unsupported type: \{o.getClass()}");
             }
+
+            isBroadcast[i] = context.isBatchBroadcastObject(o);
+            if (isBroadcast[i]) {
+                if (context.getObjectStates().get(i).isStreamOut()) {
+                    throw new TornadoRuntimeException(STR."[UNSUPPORTED] Broadcast objects for batch processing must be read-only: \{o.getClass()}");
+                }
+            } else if (totalElements == -1) {
+                totalElements = numElements[i];
+            } else if (numElements[i] != totalElements) {
+                throw new TornadoRuntimeException(STR."[UNSUPPORTED] Objects processed in batches must have the same number of elements (\{totalElements}), but \{o.getClass()} has \{numElements[i]} elements. Read-only objects that every batch needs in full can be passed as broadcast objects.");
+            }
         }
 
-        if (inputSizes.size() > 1) {
-            throw new TornadoRuntimeException("[UNSUPPORTED] Input objects with different sizes not currently supported");
+        if (totalElements <= 0) {
+            throw new TornadoRuntimeException("[UNSUPPORTED] Batch processing requires at least one non-empty object that is not a broadcast object");
         }
 
-        if (elementSizes.size() > 1) {
-            throw new TornadoRuntimeException("[UNSUPPORTED] Input objects with different element sizes not currently supported");
+        long elementsPerChunk = Long.MAX_VALUE;
+        for (int i = 0; i < objects.size(); i++) {
+            if (!isBroadcast[i]) {
+                // The chunk of every object must fit in the batch size
+                elementsPerChunk = Math.min(elementsPerChunk, batchSize / elementSizes[i]);
+            }
         }
 
-        int totalChunks = (int) (totalSize / batchSize);
-        int remainingChunkSize = (int) (totalSize % batchSize);
+        if (elementsPerChunk <= 0) {
+            throw new TornadoRuntimeException(STR."[UNSUPPORTED] Batch size of \{batchSize} bytes is too small for the input objects");
+        }
+
+        int totalChunks = (int) ((totalElements + elementsPerChunk - 1) / elementsPerChunk);
+        if (totalChunks <= 1) {
+            // The whole data fits in one batch
+            totalChunks = 1;
+            elementsPerChunk = totalElements;
+        }
 
         if (Tornado.DEBUG) {
             System.out.println(STR."Batch Size: \{batchSize}");
             System.out.println(STR."Total chunks: \{totalChunks}");
-            System.out.println(STR."remainingChunkSize: \{remainingChunkSize}");
+            System.out.println(STR."Elements per chunk: \{elementsPerChunk}");
         }
-        return new BatchConfiguration(totalChunks, remainingChunkSize, elementSizes.getFirst());
+        return new BatchConfiguration(totalChunks, totalElements, elementsPerChunk, isBroadcast, elementSizes);
     }
 
     public int getTotalChunks() {
         return totalChunks;
     }
 
-    public int getRemainingChunkSize() {
-        return remainingChunkSize;
+    /**
+     * @return True if the whole data is processed in a single chunk.
+     */
+    public boolean isSingleChunk() {
+        return totalChunks == 1;
+    }
+
+    public boolean isBroadcast(int objectIndex) {
+        return broadcast[objectIndex];
+    }
+
+    /**
+     * It returns the first element of the iteration space processed by a chunk.
+     */
+    public long getIterationOffset(int chunk) {
+        return chunk * elementsPerChunk;
     }
 
-    public short getNumBytesType() {
-        return numBytesType;
+    /**
+     * It returns the number of elements of the iteration space processed by a
+     * chunk, which is the number of threads to launch.
+     */
+    public long getNumThreads(int chunk) {
+        return Math.min(elementsPerChunk, totalElements - getIterationOffset(chunk));
+    }
+
+    /**
+     * It returns the offset in bytes of the chunk of an object. Broadcast objects,
+     * and objects processed in a single chunk, have offset 0.
+     */
+    public long getOffset(int objectIndex, int chunk) {
+        if (isSingleChunk() || isBroadcast(objectIndex)) {
+            return 0;
+        }
+        return getIterationOffset(chunk) * elementSizes[objectIndex];
+    }
+
+    /**
+     * It returns the size in bytes of the chunk of an object. The size is 0 (the
+     * whole object) for broadcast objects, and for objects processed in a single
+     * chunk.
+     */
+    public long getChunkSize(int objectIndex, int chunk) {
+        if (isSingleChunk() || isBroadcast(objectIndex)) {
+            return 0;
+        }
+        return getNumThreads(chunk) * elementSizes[objectIndex];
     }
 
 }
@@ -36,6 +36,7 @@ public class DeviceObjectState implements TornadoDeviceObjectState {
     private boolean contents;
     private boolean lockBuffer;
     private long partialSize;
+    private long transferredVersion;
 
     public DeviceObjectState() {
         objectBuffer = null;
@@ -43,10 +44,12 @@ public class DeviceObjectState implements TornadoDeviceObjectState {
         contents = false;
         lockBuffer = false;
         partialSize = 0;
+        transferredVersion = -1;
     }
 
     public void setObjectBuffer(ObjectBuffer value) {
         objectBuffer = value;
+        transferredVersion = -1;
     }
 
     public void setAtomicRegion(ObjectBuffer buffer) {
@@ -76,6 +79,24 @@ public class DeviceObjectState implements TornadoDeviceObjectState {
 
     public void setContents(boolean value) {
         contents = value;
+        if (!value) {
+            transferredVersion = -1;
+        }
+    }
+
+    /**
+     * It returns the modification version of the native array that was last
+     * copied in full to this buffer, or -1 if the buffer does not hold a known
+     * version of the array.
+     *
+     * @return long
+     */
+    public long getTransferredVersion() {
+        return transferredVersion;
+    }
+
+    public void setTransferredVersion(long version) {
+        this.transferredVersion = version;
     }
 
     @Override
@@ -25,6 +25,7 @@ package uk.ac.manchester.tornado.runtime.common;
 
 import static uk.ac.manchester.tornado.runtime.common.Tornado.error;
 import static uk.ac.manchester.tornado.runtime.common.Tornado.info;
+import static uk.ac.manchester.tornado.runtime.common.TornadoOptions.PRINT_BYTECODES_DIRECTORY;
 import static uk.ac.manchester.tornado.runtime.common.TornadoOptions.PRINT_SOURCE_DIRECTORY;
 
 import java.io.*;
@@ -291,6 +292,27 @@ public final class RuntimeUtilities {
         System.out.println();
     }
 
+    /**
+     * It rounds a global work size up to a multiple of the work-group size. Sizes
+     * that fit in a single work-group are not padded.
+     */
+    public static long padGlobalWork(long globalWork, long groupSize) {
+        if (globalWork <= groupSize || globalWork % groupSize == 0) {
+            return globalWork;
+        }
+        return ((globalWork / groupSize) + 1) * groupSize;
+    }
+
+    /**
+     * It returns the work-group size to which the global work of padded kernels is
+     * rounded: {@link TornadoOptions#PADDED_WORK_GROUP_SIZE}, within the limit of
+     * the device, and rounded down to a multiple of the warp size.
+     */
+    public static long getPaddedGroupSize(long warpSize, long maxGroupSize) {
+        long groupSize = Math.min(TornadoOptions.PADDED_WORK_GROUP_SIZE, maxGroupSize);
+        return Math.max(warpSize, (groupSize / warpSize) * warpSize);
+    }
+
     public static double elapsedTimeInSeconds(long start, long end) {
         return elapsedTimeInSeconds((end - start));
     }
@@ -375,14 +397,21 @@ public final class RuntimeUtilities {
     }
 
     public static void dumpKernel(byte[] source) {
-        String sourceCode = new String(source);
-        if (PRINT_SOURCE_DIRECTORY.isEmpty()) {
-            System.out.println(sourceCode);
+        dumpToFileOrStandardOutput(new String(source), PRINT_SOURCE_DIRECTORY);
+    }
+
+    public static void dumpBytecodes(String bytecodes) {
+        dumpToFileOrStandardOutput(bytecodes, PRINT_BYTECODES_DIRECTORY);
+    }
+
+    private static void dumpToFileOrStandardOutput(String content, String fileName) {
+        if (fileName.isEmpty()) {
+            System.out.println(content);
         } else {
-            File fileLog = new File(PRINT_SOURCE_DIRECTORY);
+            File fileLog = new File(fileName);
             try {
                 try (FileWriter file = new FileWriter(fileLog, fileLog.exists())) {
-                    file.write(sourceCode);
+                    file.write(content);
                     file.write("\n");
                     file.flush();
                 }
@@ -171,4 +171,15 @@ public interface TornadoAcceleratorDevice extends TornadoDevice {
      */
     void setAtomicRegion(ObjectBuffer bufferAtomics);
 
+    /**
+     * It returns the counters of the buffer pool used by the device to allocate
+     * device buffers.
+     *
+     * @return A {@link BufferPoolStatistics} snapshot. Devices without a buffer
+     *     pool return {@link BufferPoolStatistics#EMPTY}.
+     */
+    default BufferPoolStatistics getBufferPoolStatistics() {
+        return BufferPoolStatistics.EMPTY;
+    }
+
 }
@@ -60,6 +60,17 @@ public class TornadoOptions {
      * the rest of the backends.
      */
     public static final int SPIRV_BACKEND_PRIORITY = Integer.parseInt(Tornado.getProperty("tornado.spirv.priority", "11"));
+    /**
+     * Priority of the JVM Backend. The higher the number, the more priority over
+     * the rest of the backends. By default, it is the lowest priority, so the host
+     * backend is the default device only if there are no accelerators.
+     */
+    public static final int JVM_BACKEND_PRIORITY = Integer.parseInt(Tornado.getProperty("tornado.jvm.priority", "-10"));
+    /**
+     * Number of threads of the JVM Backend. By default, it uses all the available
+     * processors.
+     */
+    public static final int JVM_BACKEND_THREADS = Integer.parseInt(Tornado.getProperty("tornado.jvm.threads", Integer.toString(Runtime.getRuntime().availableProcessors())));
     /**
      * Check if the FPGA emulation mode has been set.
      */
@@ -77,6 +88,12 @@ public class TornadoOptions {
      * Option to print TornadoVM Internal Bytecodes.
      */
     public static final boolean PRINT_BYTECODES = getBooleanValue("tornado.print.bytecodes", FALSE);
+    /**
+     * File to which the TornadoVM Internal Bytecodes are appended when
+     * {@link #PRINT_BYTECODES} is enabled. If it is empty (default), the bytecodes
+     * are printed to the standard output.
+     */
+    public static final String PRINT_BYTECODES_DIRECTORY = getProperty("tornado.print.bytecodes.dir", "");
 
     /**
      * Option to enable experimental and new option for performing automatic full
@@ -150,6 +167,13 @@ public class TornadoOptions {
      * code. This option is True by default.
      */
     public static final boolean RECOVER_BAILOUT = getBooleanValue("tornado.recover.bailout", TRUE);
+    /**
+     * The Java fallback of a bailout, and the Java contender of the dynamic
+     * reconfiguration, split the outermost {@code @Parallel} loop of each task
+     * across the cores of the host. This option keeps the strict single-thread
+     * execution of the Java code. This option is False by default.
+     */
+    public static final boolean SEQUENTIAL_JAVA_FALLBACK = getBooleanValue("tornado.fallback.sequential", FALSE);
     /**
      * Option to log the IP of the current machine on the profiler logs.
      */
@@ -163,6 +187,94 @@ public class TornadoOptions {
      * Sets the number of threads for the Tornado Sketcher. Default is 4.
      */
     public static final int TORNADO_SKETCHER_THREADS = Integer.parseInt(getProperty("tornado.sketcher.threads", "4"));
+    /**
+     * Sets the number of threads that compile the tasks of a task-graph
+     * concurrently during the warm-up and the background compilation. With 1
+     * thread, tasks are compiled one after the other when they are launched.
+     * Default is 4.
+     */
+    public static final int TORNADO_COMPILER_THREADS = Integer.parseInt(getProperty("tornado.compiler.threads", "4"));
+    /**
+     * It initializes a backend (e.g., OpenCL, PTX or SPIR-V) the first time that
+     * one of its drivers is requested, instead of initializing all backends when
+     * the TornadoVM runtime starts. Backends are initialized in priority order,
+     * so the driver indexes are the same in both modes. Default is True.
+     */
+    public static final boolean LAZY_DRIVER_INITIALIZATION = getBooleanValue("tornado.drivers.lazy", TRUE);
+    /**
+     * It prints the time spent in each phase of the TornadoVM runtime startup,
+     * including the initialization of each backend.
+     */
+    public static final boolean PRINT_STARTUP_TIMES = getBooleanValue("tornado.startup.times", FALSE);
+    /**
+     * File in which the devices selected by the dynamic reconfiguration are
+     * persisted, so that a new run selects the device without profiling. The
+     * history is kept in memory only if this option is not set.
+     */
+    public static final String DYNAMIC_RECONFIGURATION_HISTORY_FILE = getProperty("tornado.dynamic.history.file", "");
+    /**
+     * Time, in seconds, after which an entry of the dynamic reconfiguration
+     * history is stale and the devices are profiled again. Default is 7 days.
+     */
+    public static final long DYNAMIC_RECONFIGURATION_HISTORY_MAX_AGE = Long.parseLong(getProperty("tornado.dynamic.history.maxAge", "604800"));
+    /**
+     * Class name of the cost model used by the dynamic reconfiguration with
+     * {@code DRMode.COST_MODEL}. The class must implement
+     * {@code uk.ac.manchester.tornado.runtime.tasks.DeviceCostModel} and have a
+     * public constructor without parameters. The roofline model of TornadoVM is
+     * used if this option is not set.
+     */
+    public static final String DYNAMIC_RECONFIGURATION_COST_MODEL = getProperty("tornado.dynamic.costmodel", "");
+    /**
+     * It enables the autotuning of the local work-group sizes for all the
+     * execution plans. It can also be enabled per execution plan with
+     * {@code TornadoExecutionPlan::withAutotuning}. This option is False by
+     * default.
+     */
+    public static final boolean AUTOTUNE_LOCAL_WORK = getBooleanValue("tornado.autotune", FALSE);
+    /**
+     * File in which the local work-group sizes selected by the autotuner are
+     * persisted. The results are kept in memory only if this option is not set.
+     */
+    public static final String AUTOTUNE_FILE = getProperty("tornado.autotune.file", "");
+    /**
+     * Maximum number of local work-group sizes explored by the autotuner for each
+     * kernel, device and global size. Each candidate takes
+     * {@link #AUTOTUNE_SAMPLES} executions.
+     */
+    public static final int AUTOTUNE_MAX_CANDIDATES = Integer.parseInt(getProperty("tornado.autotune.candidates", "12"));
+    /**
+     * Number of kernel times measured by the autotuner for each candidate local
+     * work-group size. The fastest one is kept. The default value is 2.
+     */
+    public static final int AUTOTUNE_SAMPLES = Math.max(1, Integer.parseInt(getProperty("tornado.autotune.samples", "2")));
+    /**
+     * It rounds the global work of the first dimension up to a multiple of the
+     * preferred work-group size, so that irregular problem sizes (e.g., prime
+     * numbers) do not degrade to small work-groups. The threads beyond the
+     * iteration space exit at the condition of the parallel loop. This option is
+     * False by default.
+     */
+    public static final boolean PAD_GLOBAL_WORK = getBooleanValue("tornado.padding", FALSE);
+    /**
+     * Preferred work-group size of padded kernels. The schedulers round it down to
+     * a multiple of the warp (or wavefront) size of the device.
+     */
+    public static final int PADDED_WORK_GROUP_SIZE = getIntValue("tornado.padding.groupsize", "256");
+    /**
+     * It passes the bounds of parallel loops (array lengths and scalar
+     * parameters) to the kernel at runtime instead of folding them as constants.
+     * A kernel compiled in this mode serves all input sizes. This option disables
+     * the FPGA HLS loop optimizations, because the loop bounds are not known at
+     * compile time.
+     */
+    public static final boolean DYNAMIC_LOOP_BOUNDS = getBooleanValue("tornado.loop.bounds.dynamic", FALSE);
+    /**
+     * Number of launches of a task with the same input sizes after which the
+     * task is specialised for these sizes, when dynamic loop bounds are
+     * enabled. A value of 0 never specialises the loop bounds.
+     */
+    public static final int DYNAMIC_LOOP_BOUNDS_HOT_SIZE_THRESHOLD = Integer.parseInt(getProperty("tornado.loop.bounds.hotSizes", "0"));
     /**
      * It enables automatic discovery and parallelization of loops. Please note that
      * this option is experimental and may cause issues if enabled.
@@ -295,6 +407,40 @@ public class TornadoOptions {
         return getBooleanValue("tornado.experimental.partial.unroll", FALSE);
     }
 
+    /**
+     * Option for fusing consecutive element-wise tasks of a task-graph into a
+     * single kernel. Tasks are fused only if they run over the same parallel
+     * domain and if every array shared between them is accessed only at the
+     * index of the parallel loop. Disabled by default.
+     *
+     * @return boolean.
+     */
+    public static boolean isKernelFusionEnabled() {
+        return getBooleanValue("tornado.kernel.fusion", FALSE);
+    }
+
+    /**
+     * Option for detecting the temporaries of a task-graph: objects that are not
+     * transferred in either direction and that are written before they are read.
+     * Temporaries are kept on the device as transient objects, so they cannot be
+     * transferred to the host on demand. False by default.
+     *
+     * @return boolean.
+     */
+    public static boolean isTransientDetectionEnabled() {
+        return getBooleanValue("tornado.transient.detection", FALSE);
+    }
+
+    /**
+     * Option for sharing the same device buffer between transient objects whose
+     * lifetimes within the task-graph do not overlap. True by default.
+     *
+     * @return boolean.
+     */
+    public static boolean isTransientAliasingEnabled() {
+        return getBooleanValue("tornado.transient.aliasing", TRUE);
+    }
+
     private static boolean getBooleanValue(String property, String defaultValue) {
         return Boolean.parseBoolean(System.getProperty(property, defaultValue));
     }
@@ -0,0 +1,321 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime.common;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.function.Supplier;
+
+/**
+ * Autotuner of the local work-group sizes of the parallel kernels.
+ *
+ * <p>
+ * For each kernel, device and global size, the first executions explore a list
+ * of candidate local sizes and measure the kernel time. The time of the first
+ * execution is discarded, because it includes one-off costs. Then, each
+ * candidate runs {@link TornadoOptions#AUTOTUNE_SAMPLES} times and keeps its
+ * fastest time. The first candidate is the local size selected by the
+ * scheduler of the backend. Once all candidates are measured, the fastest one
+ * is used for the following executions.
+ * </p>
+ *
+ * <p>
+ * If a file is provided (option {@code tornado.autotune.file}), the results are
+ * loaded when TornadoVM starts, and the file is written back every time a new
+ * result is found.
+ * </p>
+ */
+public final class WorkGroupAutotuner {
+
+    private static final String SEPARATOR = "\t";
+    private static final String HEADER = "# TornadoVM local work-group sizes: device, global size, local size, kernel time (ns), kernel signature";
+    // Local size selected by the driver
+    private static final String DRIVER_LOCAL_WORK = "-";
+    // Local sizes that are multiples of this value are explored even if they are
+    // not powers of two
+    private static final int LOCAL_WORK_MULTIPLE = 16;
+
+    private static final WorkGroupAutotuner INSTANCE = load(TornadoOptions.AUTOTUNE_FILE);
+
+    /**
+     * Fastest local size for a kernel, device and global size.
+     *
+     * @param localWork
+     *     Local size, or null if the driver selects it.
+     * @param time
+     *     Kernel time, in nanoseconds.
+     */
+    private record Result(long[] localWork, long time) {
+    }
+
+    /**
+     * Candidates that are being measured.
+     */
+    private static final class Exploration {
+        private final List<long[]> candidates;
+        private final long[] times;
+        private int next;
+        private int samples;
+        private boolean warmedUp;
+
+        private Exploration(List<long[]> candidates) {
+            this.candidates = candidates;
+            this.times = new long[candidates.size()];
+            Arrays.fill(times, Long.MAX_VALUE);
+        }
+    }
+
+    private final Path file;
+    private final Map<String, Result> results;
+    private final Map<String, Exploration> explorations;
+
+    private WorkGroupAutotuner(Path file) {
+        this.file = file;
+        this.results = new HashMap<>();
+        this.explorations = new HashMap<>();
+    }
+
+    private static WorkGroupAutotuner load(String fileName) {
+        Path path = fileName.isEmpty() ? null : Paths.get(fileName);
+        WorkGroupAutotuner autotuner = new WorkGroupAutotuner(path);
+        if (path != null && Files.exists(path)) {
+            autotuner.read();
+        }
+        return autotuner;
+    }
+
+    public static WorkGroupAutotuner getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * It builds the key of the results of a kernel.
+     *
+     * @param kernelSignature
+     *     Name of the task and of the kernel.
+     * @param deviceName
+     *     Name of the device.
+     * @param globalWork
+     *     Global size of the kernel.
+     * @param dimensions
+     *     Number of dimensions of the global size.
+     * @return the key
+     */
+    public static String getKey(String kernelSignature, String deviceName, long[] globalWork, int dimensions) {
+        return deviceName + SEPARATOR + format(Arrays.copyOf(globalWork, dimensions)) + SEPARATOR + kernelSignature;
+    }
+
+    /**
+     * It returns the local size for the next execution of a kernel: the fastest
+     * one if the kernel is already tuned, or the next candidate otherwise.
+     *
+     * @param key
+     *     Key built with {@link #getKey}.
+     * @param candidates
+     *     It builds the candidates, if the kernel is not being tuned yet.
+     * @return the local size, or null if the driver selects it.
+     */
+    public synchronized long[] getLocalWork(String key, Supplier<List<long[]>> candidates) {
+        Result result = results.get(key);
+        if (result != null) {
+            return result.localWork();
+        }
+        Exploration exploration = explorations.computeIfAbsent(key, _ -> new Exploration(candidates.get()));
+        return exploration.candidates.get(exploration.next);
+    }
+
+    public synchronized boolean isTuned(String key) {
+        return results.containsKey(key);
+    }
+
+    /**
+     * It records a kernel time of the current candidate of a kernel. The first
+     * time of the exploration is discarded. Once the candidate has all its
+     * samples, the next one is explored. After the last candidate, the fastest
+     * one is kept and persisted.
+     */
+    public synchronized void record(String key, long time) {
+        Exploration exploration = explorations.get(key);
+        if (exploration == null) {
+            return;
+        }
+        if (!exploration.warmedUp) {
+            exploration.warmedUp = true;
+            return;
+        }
+        exploration.times[exploration.next] = Math.min(exploration.times[exploration.next], time);
+        exploration.samples++;
+        if (exploration.samples < TornadoOptions.AUTOTUNE_SAMPLES) {
+            return;
+        }
+        exploration.samples = 0;
+        exploration.next++;
+        if (exploration.next < exploration.candidates.size()) {
+            return;
+        }
+        int best = 0;
+        for (int i = 1; i < exploration.times.length; i++) {
+            if (exploration.times[i] < exploration.times[best]) {
+                best = i;
+            }
+        }
+        explorations.remove(key);
+        results.put(key, new Result(exploration.candidates.get(best), exploration.times[best]));
+        if (file != null) {
+            write();
+        }
+    }
+
+    /**
+     * It builds the list of candidate local sizes. The local size of each
+     * dimension divides the global size, and it is either a power of two or a
+     * multiple of {@value #LOCAL_WORK_MULTIPLE}. The candidates with more threads
+     * per work-group come first.
+     *
+     * @param dimensions
+     *     Number of dimensions of the kernel.
+     * @param globalWork
+     *     Global size.
+     * @param defaultLocalWork
+     *     Local size selected by the scheduler, which is always the first
+     *     candidate. Null if the driver selects it.
+     * @param maxWorkGroupSize
+     *     Maximum number of threads per work-group.
+     * @param maxWorkItemSizes
+     *     Maximum local size per dimension.
+     * @return the candidates, with three dimensions each.
+     */
+    public static List<long[]> getCandidates(int dimensions, long[] globalWork, long[] defaultLocalWork, long maxWorkGroupSize, long[] maxWorkItemSizes) {
+        List<long[]> candidates = new ArrayList<>();
+        candidates.add(defaultLocalWork == null ? null : Arrays.copyOf(defaultLocalWork, 3));
+
+        List<long[]> combinations = new ArrayList<>();
+        combinations.add(new long[] { 1, 1, 1 });
+        for (int d = 0; d < dimensions; d++) {
+            List<long[]> next = new ArrayList<>();
+            for (long[] combination : combinations) {
+                long threads = combination[0] * combination[1] * combination[2];
+                long limit = Math.min(Math.min(globalWork[d], maxWorkItemSizes[d]), maxWorkGroupSize / threads);
+                for (long value = 1; value <= limit; value++) {
+                    boolean isPowerOfTwo = (value & (value - 1)) == 0;
+                    if (globalWork[d] % value == 0 && (isPowerOfTwo || value % LOCAL_WORK_MULTIPLE == 0)) {
+                        long[] candidate = combination.clone();
+                        candidate[d] = value;
+                        next.add(candidate);
+                    }
+                }
+            }
+            combinations = next;
+        }
+
+        combinations.sort(Comparator.comparingLong((long[] c) -> c[0] * c[1] * c[2]).reversed().thenComparingLong(c -> -c[0]));
+        for (long[] combination : combinations) {
+            if (candidates.size() >= TornadoOptions.AUTOTUNE_MAX_CANDIDATES) {
+                break;
+            }
+            if (defaultLocalWork == null || !Arrays.equals(combination, candidates.getFirst())) {
+                candidates.add(combination);
+            }
+        }
+        return candidates;
+    }
+
+    private static String format(long[] values) {
+        if (values == null) {
+            return DRIVER_LOCAL_WORK;
+        }
+        StringJoiner joiner = new StringJoiner(",");
+        for (long value : values) {
+            joiner.add(Long.toString(value));
+        }
+        return joiner.toString();
+    }
+
+    private static long[] parse(String values) {
+        if (values.equals(DRIVER_LOCAL_WORK)) {
+            return null;
+        }
+        return Arrays.stream(values.split(",")).mapToLong(Long::parseLong).toArray();
+    }
+
+    private void read() {
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                // The signature is the last field, so it can contain any character
+                // except the separator
+                String[] fields = line.split(SEPARATOR, 5);
+                if (fields.length != 5) {
+                    TornadoLogger.warn(STR."Skipping malformed entry in the autotuning results \{file}: \{line}");
+                    continue;
+                }
+                String key = String.join(SEPARATOR, fields[0], fields[1], fields[4]);
+                results.put(key, new Result(parse(fields[2]), Long.parseLong(fields[3])));
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // Corrupted results only cost a new exploration
+            TornadoLogger.warn(STR."Unable to load the autotuning results from \{file}: \{e.getMessage()}");
+            results.clear();
+        }
+    }
+
+    private void write() {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            // Write to a temporary file first, so that a concurrent reader never
+            // sees partial results
+            Path tmp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                writer.write(HEADER);
+                writer.newLine();
+                for (Map.Entry<String, Result> entry : results.entrySet()) {
+                    String[] key = entry.getKey().split(SEPARATOR, 3);
+                    Result result = entry.getValue();
+                    writer.write(String.join(SEPARATOR, key[0], key[1], format(result.localWork()), Long.toString(result.time()), key[2]));
+                    writer.newLine();
+                }
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            TornadoLogger.warn(STR."Unable to save the autotuning results to \{file}: \{e.getMessage()}");
+        }
+    }
+}
@@ -43,6 +43,22 @@ public class DomainTree {
         return domains.length;
     }
 
+    /**
+     * It returns a copy of the tree that can be updated independently, e.g.,
+     * with the loop bounds of a different input.
+     */
+    public DomainTree copy() {
+        final DomainTree tree = new DomainTree(domains.length);
+        for (int i = 0; i < domains.length; i++) {
+            if (domains[i] instanceof IntDomain intDomain) {
+                tree.set(i, new IntDomain(intDomain.getOffset(), intDomain.getStep(), intDomain.cardinality()));
+            } else {
+                tree.set(i, domains[i]);
+            }
+        }
+        return tree;
+    }
+
     @Override
     public String toString() {
         final StringBuilder sb = new StringBuilder();
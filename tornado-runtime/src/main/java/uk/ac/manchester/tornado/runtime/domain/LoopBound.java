@@ -0,0 +1,80 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime.domain;
+
+import java.lang.reflect.Array;
+
+import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
+
+/**
+ * Loop bound that is passed to the kernel at runtime through the kernel
+ * context of the call wrapper, instead of being folded as a constant during
+ * the compilation. The value is taken from a parameter of the task every time
+ * the kernel is launched.
+ *
+ * @param slot
+ *     Index in the kernel context from which the kernel reads the value.
+ * @param parameterIndex
+ *     Index of the task parameter the value is taken from.
+ * @param kind
+ *     How the value is obtained from the parameter.
+ * @param dimension
+ *     Dimension of the parallel domain bounded by the value, or -1 if the value
+ *     is not directly the bound of a parallel loop.
+ */
+public record LoopBound(int slot, int parameterIndex, Kind kind, int dimension) {
+
+    /**
+     * Number of kernel-context slots available in the call wrapper.
+     */
+    public static final int MAX_SLOTS = 3;
+
+    public enum Kind {
+        /**
+         * Length of a Java array.
+         */
+        ARRAY_LENGTH,
+        /**
+         * Number of elements of a {@link TornadoNativeArray}.
+         */
+        NATIVE_ARRAY_SIZE,
+        /**
+         * Value of an int parameter.
+         */
+        VALUE
+    }
+
+    public LoopBound withDimension(int newDimension) {
+        return new LoopBound(slot, parameterIndex, kind, newDimension);
+    }
+
+    public int evaluate(Object[] args) {
+        final Object value = args[parameterIndex];
+        return switch (kind) {
+            case ARRAY_LENGTH -> Array.getLength(value);
+            case NATIVE_ARRAY_SIZE -> ((TornadoNativeArray) value).getSize();
+            case VALUE -> (Integer) value;
+        };
+    }
+}
@@ -48,6 +48,7 @@ import jdk.vm.ci.meta.ResolvedJavaMethod;
 import uk.ac.manchester.tornado.api.exceptions.TornadoBailoutRuntimeException;
 import uk.ac.manchester.tornado.api.exceptions.TornadoCompilationException;
 import uk.ac.manchester.tornado.runtime.ASMClassVisitorProvider;
+import uk.ac.manchester.tornado.runtime.analyzer.KernelFusion;
 import uk.ac.manchester.tornado.runtime.common.ParallelAnnotationProvider;
 import uk.ac.manchester.tornado.runtime.graal.nodes.ParallelOffsetNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.ParallelRangeNode;
@@ -90,13 +91,37 @@ public class TornadoApiReplacement extends BasePhase<TornadoSketchTierContext> {
         replaceLocalAnnotations(graph, context);
     }
 
+    /**
+     * @return true if the method has loops annotated with {@code @Parallel}.
+     *     Fused kernels are built from parallel tasks, so they always have them.
+     */
+    public static boolean hasParallelAnnotations(ResolvedJavaMethod method) {
+        return KernelFusion.isFusedKernel(method) || asmClassVisitorProvider.getParallelAnnotations(method).length > 0;
+    }
+
+    /**
+     * It returns the {@code @Parallel} annotations of the local variables of a
+     * method, read from its class file.
+     */
+    public static ParallelAnnotationProvider[] getParallelAnnotations(ResolvedJavaMethod method) {
+        return asmClassVisitorProvider.getParallelAnnotations(method);
+    }
+
     private void replaceLocalAnnotations(StructuredGraph graph, TornadoSketchTierContext context) throws TornadoCompilationException {
         // build node -> annotation mapping
         Map<ResolvedJavaMethod, ParallelAnnotationProvider[]> methodToAnnotations = new HashMap<>();
 
-        methodToAnnotations.put(context.getMethod(), asmClassVisitorProvider.getParallelAnnotations(context.getMethod()));
+        // The class file of a fused kernel is not available to the class visitor, and
+        // its parallel loops come from the inlined methods of the fused tasks.
+        final boolean fusedKernel = KernelFusion.isFusedKernel(context.getMethod());
+        if (!fusedKernel) {
+            methodToAnnotations.put(context.getMethod(), asmClassVisitorProvider.getParallelAnnotations(context.getMethod()));
+        }
 
         for (ResolvedJavaMethod inlinee : graph.getMethods()) {
+            if (KernelFusion.isFusedKernel(inlinee)) {
+                continue;
+            }
             ParallelAnnotationProvider[] inlineParallelAnnotations = asmClassVisitorProvider.getParallelAnnotations(inlinee);
             if (inlineParallelAnnotations.length > 0) {
                 methodToAnnotations.put(inlinee, inlineParallelAnnotations);
@@ -141,7 +166,11 @@ public class TornadoApiReplacement extends BasePhase<TornadoSketchTierContext> {
 
                     parallelizationReplacement(graph, iv, loopIndex, maxIterations, conditions);
 
-                    loopIndex++;
+                    // The loops of the fused tasks run one after the other over the same
+                    // dimension of the parallel domain
+                    if (!fusedKernel) {
+                        loopIndex++;
+                    }
                 }
             }
         }
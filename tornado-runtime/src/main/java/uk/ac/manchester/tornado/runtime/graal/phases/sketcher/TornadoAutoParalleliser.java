@@ -41,12 +41,18 @@ import org.graalvm.compiler.nodes.PhiNode;
 import org.graalvm.compiler.nodes.StructuredGraph;
 import org.graalvm.compiler.nodes.ValueNode;
 import org.graalvm.compiler.nodes.ValuePhiNode;
+import org.graalvm.compiler.nodes.calc.AddNode;
 import org.graalvm.compiler.nodes.calc.IntegerLessThanNode;
+import org.graalvm.compiler.nodes.calc.MulNode;
+import org.graalvm.compiler.nodes.calc.SubNode;
+import org.graalvm.compiler.nodes.loop.BasicInductionVariable;
 import org.graalvm.compiler.nodes.loop.InductionVariable;
 import org.graalvm.compiler.nodes.loop.LoopEx;
 import org.graalvm.compiler.nodes.loop.LoopsData;
+import org.graalvm.compiler.nodes.util.GraphUtil;
 import org.graalvm.compiler.phases.BasePhase;
 
+import jdk.vm.ci.meta.JavaKind;
 import uk.ac.manchester.tornado.api.exceptions.TornadoBailoutRuntimeException;
 import uk.ac.manchester.tornado.api.exceptions.TornadoCompilationException;
 import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
@@ -88,7 +94,7 @@ public class TornadoAutoParalleliser extends BasePhase<TornadoSketchTierContext>
 
             int parallelDepth = 0;
             for (int i = 0; i < loops.size() && parallelDepth < 3; i++) {
-                final LoopEx current = loops.get(0);
+                final LoopEx current = loops.get(i);
                 final LoopBeginNode loopBegin = current.loopBegin();
                 final EconomicMap<Node, InductionVariable> ivMap = current.getInductionVariables();
 
@@ -99,11 +105,22 @@ public class TornadoAutoParalleliser extends BasePhase<TornadoSketchTierContext>
                     phis.add(phi);
                 }
 
+                // Derived induction variables are expressions of a basic one, so they do not
+                // prevent the parallelisation
                 List<InductionVariable> ivs = new ArrayList<>();
                 for (Node n : ivMap.getKeys()) {
                     info("\tiv: node=%s iv=%s\n", n, ivMap.get(n));
                     phis.remove(n);
-                    ivs.add(ivMap.get(n));
+                    if (ivMap.get(n) instanceof BasicInductionVariable) {
+                        ivs.add(ivMap.get(n));
+                    }
+                }
+
+                // An inner loop that carries a dependency (e.g., an accumulator) runs
+                // sequentially within the dimensions already parallelised
+                if (!phis.isEmpty() && parallelDepth > 0) {
+                    info("loop %s carries dependencies: parallelised %d outer dimension(s)\n", loopBegin, parallelDepth);
+                    break;
                 }
 
                 if (!phis.isEmpty()) {
@@ -123,12 +140,12 @@ public class TornadoAutoParalleliser extends BasePhase<TornadoSketchTierContext>
                     throw new TornadoBailoutRuntimeException("unable to parallelise because of loop-dependencies.");
                 }
 
-                if (ivs.size() > 1) {
+                final InductionVariable iv = findLoopConditionInductionVariable(ivs);
+                if (iv == null || !replaceSecondaryInductionVariables(graph, iv, ivs)) {
                     debug("Too many ivs");
                     return;
                 }
 
-                final InductionVariable iv = ivs.get(0);
                 ValueNode maxIterations;
 
                 List<IntegerLessThanNode> conditions = iv.valueNode().usages().filter(IntegerLessThanNode.class).snapshot();
@@ -143,6 +160,58 @@ public class TornadoAutoParalleliser extends BasePhase<TornadoSketchTierContext>
         }
     }
 
+    private static InductionVariable findLoopConditionInductionVariable(List<InductionVariable> ivs) {
+        if (ivs.size() == 1) {
+            return ivs.get(0);
+        }
+        List<InductionVariable> candidates = ivs.stream().filter(iv -> iv.valueNode().usages().filter(IntegerLessThanNode.class).isNotEmpty()).toList();
+        return (candidates.size() == 1) ? candidates.get(0) : null;
+    }
+
+    /**
+     * It replaces the induction variables that do not control the loop with an
+     * affine expression of the one that controls it: {@code j = initJ + (i - initI)
+     * * (strideJ / strideI)}. Then, the loop only has one induction variable that
+     * can be mapped to the thread-id.
+     *
+     * @return false if any of the induction variables cannot be expressed from the
+     *     one that controls the loop.
+     */
+    private static boolean replaceSecondaryInductionVariables(StructuredGraph graph, InductionVariable primary, List<InductionVariable> ivs) {
+        List<InductionVariable> secondaries = ivs.stream().filter(iv -> iv != primary).toList();
+        if (secondaries.isEmpty()) {
+            return true;
+        }
+        if (!primary.isConstantInit() || !primary.isConstantStride() || primary.constantStride() == 0) {
+            return false;
+        }
+        final JavaKind kind = primary.valueNode().getStackKind();
+        for (InductionVariable secondary : secondaries) {
+            if (!secondary.isConstantInit() || !secondary.isConstantStride() || secondary.valueNode().getStackKind() != kind
+                    || secondary.constantStride() % primary.constantStride() != 0) {
+                return false;
+            }
+        }
+
+        for (InductionVariable secondary : secondaries) {
+            final ValuePhiNode phi = (ValuePhiNode) secondary.valueNode();
+            final ValueNode backValue = phi.singleBackValueOrThis();
+            final long factor = secondary.constantStride() / primary.constantStride();
+
+            ValueNode iteration = graph.addOrUnique(new SubNode(primary.valueNode(), ConstantNode.forIntegerKind(kind, primary.constantInit(), graph)));
+            ValueNode offset = graph.addOrUnique(new MulNode(iteration, ConstantNode.forIntegerKind(kind, factor, graph)));
+            ValueNode value = graph.addOrUnique(new AddNode(ConstantNode.forIntegerKind(kind, secondary.constantInit(), graph), offset));
+
+            info("\treplacing iv %s with %s\n", phi, value);
+            phi.replaceAtUsages(value);
+            phi.safeDelete();
+            if (backValue != phi && backValue.hasNoUsages()) {
+                GraphUtil.killWithUnusedFloatingInputs(backValue);
+            }
+        }
+        return true;
+    }
+
     private void parallelizationReplacement(StructuredGraph graph, InductionVariable iv, int parallelDepth, ValueNode maxIterations, List<IntegerLessThanNode> conditions)
             throws TornadoCompilationException {
         if (iv.isConstantInit() && iv.isConstantStride()) {
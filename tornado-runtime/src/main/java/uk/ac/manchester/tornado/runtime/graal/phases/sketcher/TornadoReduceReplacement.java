@@ -42,11 +42,14 @@ import org.graalvm.compiler.nodes.StartNode;
 import org.graalvm.compiler.nodes.StructuredGraph;
 import org.graalvm.compiler.nodes.ValueNode;
 import org.graalvm.compiler.nodes.calc.AddNode;
+import org.graalvm.compiler.nodes.calc.AndNode;
 import org.graalvm.compiler.nodes.calc.BinaryArithmeticNode;
 import org.graalvm.compiler.nodes.calc.BinaryNode;
 import org.graalvm.compiler.nodes.calc.CompareNode;
 import org.graalvm.compiler.nodes.calc.MulNode;
+import org.graalvm.compiler.nodes.calc.OrNode;
 import org.graalvm.compiler.nodes.calc.SubNode;
+import org.graalvm.compiler.nodes.calc.XorNode;
 import org.graalvm.compiler.nodes.extended.JavaReadNode;
 import org.graalvm.compiler.nodes.extended.JavaWriteNode;
 import org.graalvm.compiler.nodes.java.LoadFieldNode;
@@ -58,6 +61,7 @@ import org.graalvm.compiler.phases.BasePhase;
 
 import uk.ac.manchester.tornado.api.annotations.Reduce;
 import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+import uk.ac.manchester.tornado.runtime.analyzer.AutoReductionAnalysis;
 import uk.ac.manchester.tornado.runtime.graal.nodes.StoreAtomicIndexedNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.StoreAtomicIndexedNodeExtension;
 import uk.ac.manchester.tornado.runtime.graal.nodes.TornadoReduceAddNode;
@@ -100,7 +104,14 @@ public class TornadoReduceReplacement extends BasePhase<TornadoSketchTierContext
     protected void run(StructuredGraph graph, TornadoSketchTierContext context) {
         findParametersWithReduceAnnotations(graph);
 
-        // TODO: Pending, if it is local variable
+        // Reductions of methods without annotations, when they are parallelised
+        // automatically
+        if (AutoReductionAnalysis.isApplicable(graph)) {
+            AutoReductionAnalysis.rewriteScalarAccumulators(graph);
+            for (int index : AutoReductionAnalysis.findReduceParameters(graph)) {
+                processReduceAnnotation(graph, graph.method().isStatic() ? index : index + 1);
+            }
+        }
     }
 
     /**
@@ -210,6 +221,17 @@ public class TornadoReduceReplacement extends BasePhase<TornadoSketchTierContext
         return array;
     }
 
+    private static boolean isReadOfReduceVariable(Node store, ValueNode node) {
+        if (store instanceof StoreIndexedNode storeIndexed && node instanceof LoadIndexedNode load) {
+            return load.array() == storeIndexed.array() && load.index() == storeIndexed.index();
+        } else if (store instanceof JavaWriteNode javaWrite && node instanceof JavaReadNode read) {
+            if (read.getAddress() instanceof OffsetAddressNode readAddress && javaWrite.getAddress() instanceof OffsetAddressNode writeAddress) {
+                return writeAddress.valueEquals(readAddress);
+            }
+        }
+        return false;
+    }
+
     private ReductionMetadataNode createReductionNode(StructuredGraph graph, Node store, ValueNode inputArray, ValueNode startNode) throws RuntimeException {
         ValueNode value;
         ValueNode accumulator;
@@ -239,6 +261,13 @@ public class TornadoReduceReplacement extends BasePhase<TornadoSketchTierContext
             accumulator = subNode.getX();
             value = atomicSub;
             subNode.safeDelete();
+        } else if (storeValue instanceof AndNode || storeValue instanceof OrNode || storeValue instanceof XorNode) {
+            // Bitwise reductions keep the Graal node, and the drivers select the snippet
+            // from its type. The accumulator is the operand that does not read the
+            // reduction variable.
+            BinaryNode bitwiseNode = (BinaryNode) storeValue;
+            accumulator = isReadOfReduceVariable(store, bitwiseNode.getY()) ? bitwiseNode.getX() : bitwiseNode.getY();
+            value = storeValue;
         } else if (storeValue instanceof BinaryNode) {
 
             // We need to compare with the name because it is loaded from inner core
@@ -33,6 +33,7 @@ import java.util.Collections;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -82,6 +83,8 @@ public class TornadoExecutionContext {
     private int nextTask;
 
     private long batchSize;
+    private Set<Object> batchBroadcastObjects;
+    private int batchPipelineDepth;
     private long executionPlanMemoryLimit;
     private Set<TornadoAcceleratorDevice> lastDevices;
 
@@ -109,6 +112,8 @@ public class TornadoExecutionContext {
         Arrays.fill(taskToDeviceMapTable, null);
         nextTask = 0;
         batchSize = INIT_VALUE;
+        batchBroadcastObjects = Collections.newSetFromMap(new IdentityHashMap<>());
+        batchPipelineDepth = 1;
         executionPlanMemoryLimit = INIT_VALUE;
         lastDevices = new HashSet<>();
         this.profiler = null;
@@ -146,6 +151,42 @@ public class TornadoExecutionContext {
         this.batchSize = size;
     }
 
+    /**
+     * It sets the objects that are not split when processing in batches. These
+     * objects are read-only, and they are transferred in full for all chunks.
+     *
+     * @param objects
+     *     Broadcast objects.
+     */
+    public void setBatchBroadcastObjects(Object... objects) {
+        batchBroadcastObjects.clear();
+        batchBroadcastObjects.addAll(Arrays.asList(objects));
+    }
+
+    public boolean isBatchBroadcastObject(Object object) {
+        return batchBroadcastObjects.contains(object);
+    }
+
+    public Set<Object> getBatchBroadcastObjects() {
+        return batchBroadcastObjects;
+    }
+
+    public int getBatchPipelineDepth() {
+        return batchPipelineDepth;
+    }
+
+    /**
+     * It sets the number of chunks that can be in flight at the same time when
+     * processing in batches. Each chunk in flight uses its own set of device
+     * buffers. A depth of 1 processes the chunks one after another.
+     *
+     * @param pipelineDepth
+     *     Number of chunks in flight.
+     */
+    public void setBatchPipelineDepth(int pipelineDepth) {
+        this.batchPipelineDepth = pipelineDepth;
+    }
+
     public void setExecutionPlanMemoryLimit(long memoryLimitSize) {
         this.executionPlanMemoryLimit = memoryLimitSize;
     }
@@ -211,7 +252,10 @@ public class TornadoExecutionContext {
             LocalObjectState newLocalObjectState = new LocalObjectState(newObj);
             newLocalObjectState.setStreamIn(oldLocalObjectState.isStreamIn());
             newLocalObjectState.setForceStreamIn(oldLocalObjectState.isForcedStreamIn());
+            newLocalObjectState.setStreamInOnlyIfModified(oldLocalObjectState.isStreamInOnlyIfModified());
             newLocalObjectState.setStreamOut(oldLocalObjectState.isStreamOut());
+            newLocalObjectState.setHostVisible(oldLocalObjectState.isHostVisible());
+            newLocalObjectState.setTransient(oldLocalObjectState.isTransient());
 
             index = oldIndex;
             objects.add(index, newObj);
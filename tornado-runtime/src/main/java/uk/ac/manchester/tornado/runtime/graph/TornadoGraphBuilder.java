@@ -24,6 +24,7 @@
 package uk.ac.manchester.tornado.runtime.graph;
 
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.List;
 import java.util.Objects;
@@ -34,6 +35,7 @@ import uk.ac.manchester.tornado.api.common.SchedulableTask;
 import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
 import uk.ac.manchester.tornado.runtime.TornadoCoreRuntime;
 import uk.ac.manchester.tornado.runtime.common.TornadoAcceleratorDevice;
+import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 import uk.ac.manchester.tornado.runtime.graph.nodes.AbstractNode;
 import uk.ac.manchester.tornado.runtime.graph.nodes.AllocateMultipleBuffersNode;
 import uk.ac.manchester.tornado.runtime.graph.nodes.AllocateNode;
@@ -50,6 +52,7 @@ import uk.ac.manchester.tornado.runtime.graph.nodes.TaskNode;
 import uk.ac.manchester.tornado.runtime.sketcher.Sketch;
 import uk.ac.manchester.tornado.runtime.sketcher.TornadoSketcher;
 import uk.ac.manchester.tornado.runtime.tasks.CompilableTask;
+import uk.ac.manchester.tornado.runtime.tasks.FusedTask;
 import uk.ac.manchester.tornado.runtime.tasks.LocalObjectState;
 import uk.ac.manchester.tornado.runtime.tasks.TornadoGraphBitcodes;
 
@@ -64,13 +67,15 @@ public class TornadoGraphBuilder {
         persistNode.addValue(arg);
     }
 
-    private static void createAllocateNode(ContextNode context, TornadoGraph graph, AbstractNode arg, AbstractNode[] args, int argIndex, AllocateMultipleBuffersNode persistNode) {
+    private static void createAllocateNode(ContextNode context, TornadoGraph graph, AbstractNode arg, AbstractNode[] args, int argIndex, AllocateMultipleBuffersNode persistNode, boolean preallocated) {
         final AllocateNode allocateNode = new AllocateNode(context);
         allocateNode.setValue((ObjectNode) arg);
         graph.add(allocateNode);
         context.addUse(allocateNode);
         args[argIndex] = allocateNode;
-        persistNode.addValue((ObjectNode) arg);
+        if (!preallocated) {
+            persistNode.addValue((ObjectNode) arg);
+        }
     }
 
     private static void createCopyInNode(ContextNode context, TornadoGraph graph, AbstractNode arg, AbstractNode[] args, int argIndex, AllocateMultipleBuffersNode persistNode) {
@@ -86,6 +91,49 @@ public class TornadoGraphBuilder {
         return ((ContextOpNode) arg).getContext().getUses().size() != 1 && contextNode.getDeviceIndex() != ((ContextOpNode) arg).getContext().getDeviceIndex();
     }
 
+    /**
+     * An object is a temporary of the task-graph if it is not transferred in
+     * either direction, and the first task that uses it only writes it. Its
+     * contents are never needed on the host, so it can live on the device only.
+     */
+    private static boolean isTemporary(TornadoExecutionContext executionContext, LocalObjectState state, Access firstAccess) {
+        return TornadoOptions.isTransientDetectionEnabled() //
+                && executionContext.getBatchSize() == TornadoExecutionContext.INIT_VALUE //
+                && firstAccess == Access.WRITE_ONLY //
+                && !state.isHostVisible() //
+                && !state.isStreamIn() //
+                && !state.isStreamOut();
+    }
+
+    /**
+     * An object is an intermediate of a fused task if the first fused task that
+     * accesses it only writes it, it is not transferred in either direction, and
+     * no other task of the task-graph uses it. It lives on the device only.
+     */
+    private static boolean isFusionIntermediate(TornadoExecutionContext executionContext, SchedulableTask task, LocalObjectState state, Object object) {
+        if (!(task instanceof FusedTask fusedTask) || !fusedTask.isWrittenBeforeRead(object)) {
+            return false;
+        }
+        if (executionContext.getBatchSize() != TornadoExecutionContext.INIT_VALUE || state.isHostVisible() || state.isStreamIn() || state.isStreamOut()) {
+            return false;
+        }
+        for (SchedulableTask otherTask : executionContext.getTasks()) {
+            if (otherTask != fusedTask && Arrays.stream(otherTask.getArguments()).anyMatch(argument -> argument == object)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Transient objects are allocated by the task-graph before the execution,
+     * unless the execution runs in batches. They need no ALLOC and DEALLOC
+     * bytecodes.
+     */
+    private static boolean isPreallocated(TornadoExecutionContext executionContext, LocalObjectState state) {
+        return state.isTransient() && executionContext.getBatchSize() == TornadoExecutionContext.INIT_VALUE;
+    }
+
     /**
      * It constructs a {@link TornadoGraph} from the provided
      * {@link TornadoExecutionContext} and ByteBuffer.
@@ -101,7 +149,7 @@ public class TornadoGraphBuilder {
     public static TornadoGraph buildGraph(TornadoExecutionContext executionContext, ByteBuffer buffer) {
         TornadoGraph graph = new TornadoGraph();
         Access[] accesses = null;
-        SchedulableTask task;
+        SchedulableTask task = null;
         AbstractNode[] args = null;
         ContextNode context = null;
         AllocateMultipleBuffersNode persist = null;
@@ -140,11 +188,14 @@ public class TornadoGraphBuilder {
 
                 final AbstractNode arg = objectNodes[variableIndex];
                 if (!(arg instanceof ContextOpNode)) {
-                    if (Objects.requireNonNull(accesses)[argIndex] == Access.WRITE_ONLY) {
-                        createAllocateNode(context, graph, arg, args, argIndex, persist);
+                    final LocalObjectState state = states.get(((ObjectNode) arg).getIndex());
+                    if (isTemporary(executionContext, state, Objects.requireNonNull(accesses)[argIndex]) || isFusionIntermediate(executionContext, task, state, objects.get(variableIndex))) {
+                        state.setTransient(true);
+                    }
+                    if (accesses[argIndex] == Access.WRITE_ONLY || state.isTransient()) {
+                        createAllocateNode(context, graph, arg, args, argIndex, persist, isPreallocated(executionContext, state));
                     } else {
                         final ObjectNode objectNode = (ObjectNode) arg;
-                        final LocalObjectState state = states.get(objectNode.getIndex());
                         if (state.isStreamIn()) {
                             createStreamInNode(context, graph, objectNode, args, argIndex, persist);
                         } else {
@@ -166,7 +217,7 @@ public class TornadoGraphBuilder {
                         value = (ObjectNode) objectNodes[variableIndex];
                     } else if (objectNodes[variableIndex] instanceof DependentReadNode) {
                         value = ((DependentReadNode) objectNodes[variableIndex]).getValue();
-                        if (states.get(variableIndex).isForcedStreamIn()) {
+                        if (states.get(variableIndex).isForcedStreamIn() && !states.get(variableIndex).isTransient()) {
                             createStreamInNode(context, graph, value, args, argIndex, persist);
                         }
                     } else if (objectNodes[variableIndex] instanceof CopyInNode) {
@@ -237,6 +288,10 @@ public class TornadoGraphBuilder {
         }
 
         for (int i = 0; i < states.size(); i++) {
+            if (states.get(i).isTransient()) {
+                // Transient objects are never transferred in either direction
+                continue;
+            }
             if (states.get(i).isStreamOut()) {
                 if (objectNodes[i] instanceof DependentReadNode) {
                     final DependentReadNode readNode = (DependentReadNode) objectNodes[i];
@@ -272,6 +327,9 @@ public class TornadoGraphBuilder {
                 } else {
                     objectNode = ((StreamInNode) node).getValue();
                 }
+                if (isPreallocated(executionContext, states.get(objectNode.getIndex()))) {
+                    continue;
+                }
                 ContextNode contextNode = node.getContext();
                 DeallocateNode deallocateNode = new DeallocateNode(contextNode);
                 deallocateNode.setValue(objectNode);
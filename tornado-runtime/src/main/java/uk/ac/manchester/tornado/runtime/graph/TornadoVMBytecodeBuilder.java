@@ -27,8 +27,12 @@ import static uk.ac.manchester.tornado.runtime.common.Tornado.getProperty;
 
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
+import uk.ac.manchester.tornado.runtime.common.BatchConfiguration;
 import uk.ac.manchester.tornado.runtime.common.RuntimeUtilities;
 import uk.ac.manchester.tornado.runtime.common.TornadoLogger;
 import uk.ac.manchester.tornado.runtime.graph.nodes.AbstractNode;
@@ -84,27 +88,89 @@ public class TornadoVMBytecodeBuilder {
         bitcodeASM.end();
     }
 
-    void emitAsyncNode(AbstractNode node, int dependencyBC, long offset, long batchSize, long nThreads) {
-        if (node instanceof AllocateMultipleBuffersNode) {
-            bitcodeASM.allocate(((AllocateMultipleBuffersNode) node).getValues(), batchSize);
-        } else if (node instanceof CopyInNode) {
-            bitcodeASM.transferToDeviceOnce(((CopyInNode) node).getValue().getIndex(), dependencyBC, offset, batchSize);
+    /**
+     * It emits the bytecodes for an async node. When the task-graph is processed
+     * in batches, the offset and the size of each transfer are taken from the
+     * chunk of the object being transferred. Broadcast objects are allocated and
+     * transferred in the first chunk, and deallocated in the last chunk.
+     *
+     * @param node
+     *     The node to emit.
+     * @param dependencyBC
+     *     The event list the node depends on, or -1.
+     * @param batchConfiguration
+     *     The batch configuration, or null if batches are not enabled.
+     * @param chunk
+     *     The index of the chunk being emitted.
+     */
+    void emitAsyncNode(AbstractNode node, int dependencyBC, BatchConfiguration batchConfiguration, int chunk) {
+        if (node instanceof AllocateMultipleBuffersNode allocateNode) {
+            emitAllocate(allocateNode.getValues(), batchConfiguration, chunk);
+        } else if (node instanceof CopyInNode copyInNode) {
+            final int objectIndex = copyInNode.getValue().getIndex();
+            if (isFirstUseOfObject(batchConfiguration, objectIndex, chunk)) {
+                bitcodeASM.transferToDeviceOnce(objectIndex, dependencyBC, getOffset(batchConfiguration, objectIndex, chunk), getChunkSize(batchConfiguration, objectIndex, chunk));
+            }
         } else if (node instanceof AllocateNode) {
             TornadoLogger.info("[%s]: Skipping deprecated node %s", getClass().getSimpleName(), AllocateNode.class.getSimpleName());
-        } else if (node instanceof CopyOutNode) {
-            ObjectNode value = ((CopyOutNode) node).getValue().getValue();
-            bitcodeASM.transferToHost(value.getIndex(), dependencyBC, offset, batchSize);
-        } else if (node instanceof StreamInNode) {
-            bitcodeASM.transferToDeviceAlways(((StreamInNode) node).getValue().getIndex(), dependencyBC, offset, batchSize);
-        } else if (node instanceof DeallocateNode) {
-            bitcodeASM.deallocate(((DeallocateNode) node).getValue().getIndex());
-        } else if (node instanceof TaskNode) {
-            final TaskNode taskNode = (TaskNode) node;
+        } else if (node instanceof CopyOutNode copyOutNode) {
+            final int objectIndex = copyOutNode.getValue().getValue().getIndex();
+            bitcodeASM.transferToHost(objectIndex, dependencyBC, getOffset(batchConfiguration, objectIndex, chunk), getChunkSize(batchConfiguration, objectIndex, chunk));
+        } else if (node instanceof StreamInNode streamInNode) {
+            final int objectIndex = streamInNode.getValue().getIndex();
+            if (isFirstUseOfObject(batchConfiguration, objectIndex, chunk)) {
+                bitcodeASM.transferToDeviceAlways(objectIndex, dependencyBC, getOffset(batchConfiguration, objectIndex, chunk), getChunkSize(batchConfiguration, objectIndex, chunk));
+            }
+        } else if (node instanceof DeallocateNode deallocateNode) {
+            final int objectIndex = deallocateNode.getValue().getIndex();
+            if (isLastUseOfObject(batchConfiguration, objectIndex, chunk)) {
+                bitcodeASM.deallocate(objectIndex);
+            }
+        } else if (node instanceof TaskNode taskNode) {
+            final long offset = (batchConfiguration == null) ? 0 : batchConfiguration.getIterationOffset(chunk);
+            final long nThreads = (batchConfiguration == null) ? 0 : batchConfiguration.getNumThreads(chunk);
             bitcodeASM.launch(taskNode.getContext().getDeviceIndex(), taskNode.getTaskIndex(), taskNode.getNumArgs(), dependencyBC, offset, nThreads);
             emitArgList(taskNode);
         }
     }
 
+    /**
+     * Objects with different chunk sizes need a separate ALLOC bytecode, since
+     * the batch size is an operand of the bytecode.
+     */
+    private void emitAllocate(List<AbstractNode> values, BatchConfiguration batchConfiguration, int chunk) {
+        if (batchConfiguration == null) {
+            if (!values.isEmpty()) {
+                bitcodeASM.allocate(values, 0);
+            }
+            return;
+        }
+        Map<Long, List<AbstractNode>> valuesByChunkSize = new LinkedHashMap<>();
+        for (AbstractNode value : values) {
+            final int objectIndex = value.getIndex();
+            if (isFirstUseOfObject(batchConfiguration, objectIndex, chunk)) {
+                valuesByChunkSize.computeIfAbsent(getChunkSize(batchConfiguration, objectIndex, chunk), _ -> new ArrayList<>()).add(value);
+            }
+        }
+        valuesByChunkSize.forEach((chunkSize, valuesWithSameSize) -> bitcodeASM.allocate(valuesWithSameSize, chunkSize));
+    }
+
+    private static boolean isFirstUseOfObject(BatchConfiguration batchConfiguration, int objectIndex, int chunk) {
+        return batchConfiguration == null || !batchConfiguration.isBroadcast(objectIndex) || chunk == 0;
+    }
+
+    private static boolean isLastUseOfObject(BatchConfiguration batchConfiguration, int objectIndex, int chunk) {
+        return batchConfiguration == null || !batchConfiguration.isBroadcast(objectIndex) || chunk == batchConfiguration.getTotalChunks() - 1;
+    }
+
+    private static long getOffset(BatchConfiguration batchConfiguration, int objectIndex, int chunk) {
+        return (batchConfiguration == null) ? 0 : batchConfiguration.getOffset(objectIndex, chunk);
+    }
+
+    private static long getChunkSize(BatchConfiguration batchConfiguration, int objectIndex, int chunk) {
+        return (batchConfiguration == null) ? 0 : batchConfiguration.getChunkSize(objectIndex, chunk);
+    }
+
     private void emitArgList(TaskNode taskNode) {
         final int numArgs = taskNode.getNumArgs();
         for (int i = 0; i < numArgs; i++) {
@@ -129,6 +195,10 @@ public class TornadoVMBytecodeBuilder {
         bitcodeASM.addDependency(dep);
     }
 
+    void selectBufferSet(int bufferSet) {
+        bitcodeASM.selectBufferSet(bufferSet);
+    }
+
     public void dump() {
         bitcodeASM.dump();
     }
@@ -238,6 +308,11 @@ public class TornadoVMBytecodeBuilder {
             buffer.putLong(size);
         }
 
+        void selectBufferSet(int index) {
+            buffer.put(TornadoVMBytecodes.SELECT_BUFFER_SET.value);
+            buffer.putInt(index);
+        }
+
         public void barrier(int dep) {
             buffer.put(TornadoVMBytecodes.BARRIER.value);
             buffer.putInt(dep);
@@ -191,7 +191,20 @@ public enum TornadoVMBytecodes {
      * DEALLOC(obj,dest)
      * </code>
      */
-    DEALLOC((byte) 24);
+    DEALLOC((byte) 24),
+
+    /**
+     * Select the set of device buffers used by the bytecodes that follow. It is
+     * used by pipelined batches, in which consecutive chunks are in flight at
+     * the same time and cannot share device buffers. Buffer set 0 is the default.
+     * <p>
+     * Format:
+     *
+     * <code>
+     * SELECT_BUFFER_SET(index)
+     * </code>
+     */
+    SELECT_BUFFER_SET((byte) 25);
 
     final byte value;
 
@@ -32,6 +32,8 @@ import uk.ac.manchester.tornado.runtime.common.Tornado;
 import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 import uk.ac.manchester.tornado.runtime.graph.nodes.AbstractNode;
 import uk.ac.manchester.tornado.runtime.graph.nodes.ContextOpNode;
+import uk.ac.manchester.tornado.runtime.graph.nodes.CopyOutNode;
+import uk.ac.manchester.tornado.runtime.graph.nodes.DeallocateNode;
 import uk.ac.manchester.tornado.runtime.graph.nodes.DependentReadNode;
 
 public class TornadoVMGraphCompiler {
@@ -63,16 +65,19 @@ public class TornadoVMGraphCompiler {
 
         Tornado.debug("Compiling bytecodes...");
 
+        // Pipelined batches use a separate range of event lists per buffer set
+        final int numDependencyLists = intermediateTornadoGraph.getNumberOfDependencies() * getNumberOfBufferSets(executionContext);
+
         for (int i = 0; i < tornadoVMBytecodeResults.length; i++) {
 
             TornadoVMBytecodeBuilder tornadoVMBytecodeBuilder = new TornadoVMBytecodeBuilder(isSingleContextCompilation);
 
             // Generate Context + BEGIN bytecode
-            tornadoVMBytecodeBuilder.begin(1, 1, intermediateTornadoGraph.getNumberOfDependencies() + 1);
+            tornadoVMBytecodeBuilder.begin(1, 1, numDependencyLists + 1);
 
             // Generate bytecodes with no batches
             if (executionContext.getBatchSize() == TornadoExecutionContext.INIT_VALUE) {
-                scheduleAndEmitTornadoVMBytecodes(tornadoVMBytecodeBuilder, graph, intermediateTornadoGraph, 0, 0, 0, i, executionContext);
+                scheduleAndEmitTornadoVMBytecodes(tornadoVMBytecodeBuilder, graph, intermediateTornadoGraph, null, 0, i, executionContext);
             } else {
                 // Generate bytecodes for batch processing.
                 // It splits the iteration space and the input arrays into batches
@@ -81,9 +86,9 @@ public class TornadoVMGraphCompiler {
 
             // Last operation -> perform synchronisation
             if (TornadoOptions.ENABLE_STREAM_OUT_BLOCKING) {
-                synchronizeOperationLastByteCode(tornadoVMBytecodeBuilder, intermediateTornadoGraph.getNumberOfDependencies());
+                synchronizeOperationLastByteCode(tornadoVMBytecodeBuilder, numDependencyLists);
             } else {
-                tornadoVMBytecodeBuilder.barrier(intermediateTornadoGraph.getNumberOfDependencies());
+                tornadoVMBytecodeBuilder.barrier(numDependencyLists);
             }
 
             // Generate END bytecode
@@ -117,22 +122,72 @@ public class TornadoVMGraphCompiler {
 
         BatchConfiguration batchConfiguration = BatchConfiguration.computeChunkSizes(executionContext, batchSize);
 
-        long offset = 0;
-        long numberOfThreads = batchSize / batchConfiguration.getNumBytesType();
-        for (int i = 0; i < batchConfiguration.getTotalChunks(); i++) {
-            offset = (batchSize * i);
-            scheduleAndEmitTornadoVMBytecodes(tornadoVMBytecodeBuilder, graph, intermediateTornadoGraph, offset, batchSize, numberOfThreads, 1, executionContext);
+        if (getNumberOfBufferSets(executionContext) > 1) {
+            schedulePipelinedBatchBytecodes(executionContext, tornadoVMBytecodeBuilder, graph, intermediateTornadoGraph, batchConfiguration);
+            return;
+        }
+
+        for (int chunk = 0; chunk < batchConfiguration.getTotalChunks(); chunk++) {
+            scheduleAndEmitTornadoVMBytecodes(tornadoVMBytecodeBuilder, graph, intermediateTornadoGraph, batchConfiguration, chunk, 1, executionContext);
         }
-        // Last chunk
-        if (batchConfiguration.getRemainingChunkSize() != 0) {
-            offset += (batchSize);
-            numberOfThreads = batchConfiguration.getRemainingChunkSize() / batchConfiguration.getNumBytesType();
-            long realBatchSize = batchConfiguration.getTotalChunks() == 0 ? 0 : batchConfiguration.getRemainingChunkSize();
-            long realOffsetSize = batchConfiguration.getTotalChunks() == 0 ? 0 : offset;
-            scheduleAndEmitTornadoVMBytecodes(tornadoVMBytecodeBuilder, graph, intermediateTornadoGraph, realOffsetSize, realBatchSize, numberOfThreads, 1, executionContext);
+    }
+
+    /**
+     * It emits the bytecodes for pipelined batches. Chunks use a round-robin set
+     * of device buffers and event lists, and the bytecodes of consecutive chunks
+     * are interleaved: the copy-in and launch bytecodes of a chunk are emitted
+     * before the copy-out bytecodes of the chunks that are still in flight. The
+     * transfers of a chunk can therefore overlap with the kernels of the
+     * previous chunks.
+     *
+     * <p>
+     * A buffer set is reused when the copy-out of the chunk that used it has
+     * been emitted. Since copy-out bytecodes wait for the kernel that produces
+     * the data, the buffers are not overwritten while they are still in use.
+     * </p>
+     */
+    private static void schedulePipelinedBatchBytecodes(TornadoExecutionContext executionContext, TornadoVMBytecodeBuilder tornadoVMBytecodeBuilder, TornadoGraph graph,
+            IntermediateTornadoGraph intermediateTornadoGraph, BatchConfiguration batchConfiguration) {
+        final int numBufferSets = getNumberOfBufferSets(executionContext);
+        final int[] schedule = computeSchedule(graph, intermediateTornadoGraph);
+        final int[] depLists = computeDependencyLists(graph, intermediateTornadoGraph);
+        final int totalChunks = batchConfiguration.getTotalChunks();
+        final int chunksInFlight = numBufferSets - 1;
+
+        for (int step = 0; step < totalChunks + chunksInFlight; step++) {
+            if (step < totalChunks) {
+                emitPipelineStage(tornadoVMBytecodeBuilder, graph, intermediateTornadoGraph, schedule, depLists, batchConfiguration, step, false, executionContext);
+            }
+            final int chunkToDrain = step - chunksInFlight;
+            if (chunkToDrain >= 0) {
+                emitPipelineStage(tornadoVMBytecodeBuilder, graph, intermediateTornadoGraph, schedule, depLists, batchConfiguration, chunkToDrain, true, executionContext);
+            }
         }
     }
 
+    private static void emitPipelineStage(TornadoVMBytecodeBuilder tornadoVMBytecodeBuilder, TornadoGraph graph, IntermediateTornadoGraph intermediateTornadoGraph, int[] schedule, int[] depLists,
+            BatchConfiguration batchConfiguration, int chunk, boolean isDrainStage, TornadoExecutionContext executionContext) {
+        final int bufferSet = chunk % getNumberOfBufferSets(executionContext);
+        final int depListOffset = bufferSet * intermediateTornadoGraph.getNumberOfDependencies();
+        final int[] nodeIds = intermediateTornadoGraph.getNodeIds();
+
+        tornadoVMBytecodeBuilder.selectBufferSet(bufferSet);
+        for (int i : schedule) {
+            final AbstractNode node = graph.getNode(nodeIds[i]);
+            if ((node instanceof CopyOutNode || node instanceof DeallocateNode) == isDrainStage) {
+                emitNode(tornadoVMBytecodeBuilder, graph, intermediateTornadoGraph, i, depLists, depListOffset, batchConfiguration, chunk, 1, executionContext);
+            }
+        }
+    }
+
+    /**
+     * @return The number of sets of device buffers (and event lists) used by
+     *     the bytecodes. It is larger than one only for pipelined batches.
+     */
+    private static int getNumberOfBufferSets(TornadoExecutionContext executionContext) {
+        return (executionContext.getBatchSize() == TornadoExecutionContext.INIT_VALUE) ? 1 : executionContext.getBatchPipelineDepth();
+    }
+
     private static void synchronizeOperationLastByteCode(TornadoVMBytecodeBuilder result, int numDepLists) {
         final byte[] code = result.getCode();
         int position = result.getLastCopyOutPosition();
@@ -143,14 +198,20 @@ public class TornadoVMGraphCompiler {
         }
     }
 
-    private static void scheduleAndEmitTornadoVMBytecodes(TornadoVMBytecodeBuilder tornadoVMBytecodeBuilder, TornadoGraph graph, IntermediateTornadoGraph intermediateTornadoGraph, long offset,
-            long bufferBatchSize, long nThreads, int id, TornadoExecutionContext executionContext) {
+    private static void scheduleAndEmitTornadoVMBytecodes(TornadoVMBytecodeBuilder tornadoVMBytecodeBuilder, TornadoGraph graph, IntermediateTornadoGraph intermediateTornadoGraph,
+            BatchConfiguration batchConfiguration, int chunk, int id, TornadoExecutionContext executionContext) {
+        final int[] depLists = computeDependencyLists(graph, intermediateTornadoGraph);
+        for (int i : computeSchedule(graph, intermediateTornadoGraph)) {
+            emitNode(tornadoVMBytecodeBuilder, graph, intermediateTornadoGraph, i, depLists, 0, batchConfiguration, chunk, id, executionContext);
+        }
+    }
+
+    /**
+     * It assigns an event list to each node that has dependencies.
+     */
+    private static int[] computeDependencyLists(TornadoGraph graph, IntermediateTornadoGraph intermediateTornadoGraph) {
         final int[] nodeIds = intermediateTornadoGraph.getNodeIds();
         final BitSet[] dependencies = intermediateTornadoGraph.getDependencies();
-
-        final BitSet scheduled = new BitSet(dependencies.length);
-        scheduled.clear();
-        final BitSet nodes = new BitSet(graph.getValid().length());
         final int[] depLists = new int[dependencies.length];
         Arrays.fill(depLists, -1);
         int index = 0;
@@ -164,7 +225,21 @@ public class TornadoVMGraphCompiler {
                 index++;
             }
         }
+        return depLists;
+    }
 
+    /**
+     * It computes the order in which the nodes are emitted: a node is scheduled
+     * once all the nodes it depends on have been scheduled.
+     */
+    private static int[] computeSchedule(TornadoGraph graph, IntermediateTornadoGraph intermediateTornadoGraph) {
+        final int[] nodeIds = intermediateTornadoGraph.getNodeIds();
+        final BitSet[] dependencies = intermediateTornadoGraph.getDependencies();
+
+        final int[] schedule = new int[dependencies.length];
+        int scheduleSize = 0;
+        final BitSet scheduled = new BitSet(dependencies.length);
+        final BitSet nodes = new BitSet(graph.getValid().length());
         while (scheduled.cardinality() < dependencies.length) {
             for (int i = 0; i < dependencies.length; i++) {
                 if (!scheduled.get(i)) {
@@ -173,31 +248,39 @@ public class TornadoVMGraphCompiler {
                     outstandingDeps.andNot(nodes);
 
                     if (outstandingDeps.isEmpty()) {
-                        final ContextOpNode asyncNode = (ContextOpNode) graph.getNode(nodeIds[i]);
-
-                        if (shouldEmitAsyncNodeForTheCurrentContext(id, asyncNode, tornadoVMBytecodeBuilder.isSingleContext(), executionContext)) {
-                            try {
-                                tornadoVMBytecodeBuilder.emitAsyncNode(asyncNode, (dependencies[i].isEmpty()) ? -1 : depLists[i], offset, bufferBatchSize, nThreads);
-                            } catch (BufferOverflowException e) {
-                                throw new TornadoRuntimeException(
-                                        STR."[ERROR] Buffer Overflow exception. Use -Dtornado.tvm.maxbytecodesize=<value> with value > \{TornadoVMBytecodeBuilder.MAX_TORNADO_VM_BYTECODE_SIZE} to increase the buffer code size");
-                            }
-                        }
-
-                        for (int j = 0; j < dependencies.length; j++) {
-                            if (j == i) {
-                                continue;
-                            }
-                            if (dependencies[j].get(nodeIds[i]) && depLists[j] != -1) {
-                                tornadoVMBytecodeBuilder.emitAddDependency(depLists[j]);
-                            }
-                        }
+                        schedule[scheduleSize++] = i;
                         scheduled.set(i);
                         nodes.set(nodeIds[i]);
                     }
                 }
             }
         }
+        return schedule;
+    }
+
+    private static void emitNode(TornadoVMBytecodeBuilder tornadoVMBytecodeBuilder, TornadoGraph graph, IntermediateTornadoGraph intermediateTornadoGraph, int i, int[] depLists, int depListOffset,
+            BatchConfiguration batchConfiguration, int chunk, int id, TornadoExecutionContext executionContext) {
+        final int[] nodeIds = intermediateTornadoGraph.getNodeIds();
+        final BitSet[] dependencies = intermediateTornadoGraph.getDependencies();
+        final ContextOpNode asyncNode = (ContextOpNode) graph.getNode(nodeIds[i]);
+
+        if (shouldEmitAsyncNodeForTheCurrentContext(id, asyncNode, tornadoVMBytecodeBuilder.isSingleContext(), executionContext)) {
+            try {
+                tornadoVMBytecodeBuilder.emitAsyncNode(asyncNode, (dependencies[i].isEmpty()) ? -1 : depLists[i] + depListOffset, batchConfiguration, chunk);
+            } catch (BufferOverflowException e) {
+                throw new TornadoRuntimeException(
+                        STR."[ERROR] Buffer Overflow exception. Use -Dtornado.tvm.maxbytecodesize=<value> with value > \{TornadoVMBytecodeBuilder.MAX_TORNADO_VM_BYTECODE_SIZE} to increase the buffer code size");
+            }
+        }
+
+        for (int j = 0; j < dependencies.length; j++) {
+            if (j == i) {
+                continue;
+            }
+            if (dependencies[j].get(nodeIds[i]) && depLists[j] != -1) {
+                tornadoVMBytecodeBuilder.emitAddDependency(depLists[j] + depListOffset);
+            }
+        }
     }
 
     /**
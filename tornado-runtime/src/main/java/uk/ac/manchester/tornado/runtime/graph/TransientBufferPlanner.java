@@ -0,0 +1,160 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime.graph;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import uk.ac.manchester.tornado.api.common.SchedulableTask;
+import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
+import uk.ac.manchester.tornado.runtime.common.TornadoAcceleratorDevice;
+import uk.ac.manchester.tornado.runtime.tasks.LocalObjectState;
+
+/**
+ * Assigns device buffers to the transient objects of a task-graph. Transient
+ * objects are the objects passed to {@code TaskGraph::transientObjects} and the
+ * temporaries detected by the {@link TornadoGraphBuilder}.
+ *
+ * <p>
+ * The lifetime of a transient object goes from the first to the last task that
+ * uses it. Native arrays with non-overlapping lifetimes on the same device are
+ * assigned to the same buffer, which is allocated for the largest of them.
+ * </p>
+ */
+public final class TransientBufferPlanner {
+
+    /**
+     * Device buffer shared by a group of transient objects.
+     *
+     * @param device
+     *     Device in which the buffer is allocated.
+     * @param objectIndexes
+     *     Indexes of the objects in the execution context. The buffer is
+     *     allocated for the first object, and the rest of the objects reuse it.
+     */
+    public record BufferSlot(TornadoAcceleratorDevice device, List<Integer> objectIndexes) {
+    }
+
+    private record Lifetime(int objectIndex, int firstTask, int lastTask, long size) {
+        boolean overlaps(Lifetime other) {
+            return firstTask <= other.lastTask && other.firstTask <= lastTask;
+        }
+    }
+
+    private record Slot(TornadoAcceleratorDevice device, boolean aliasable, List<Lifetime> lifetimes) {
+        boolean accepts(TornadoAcceleratorDevice otherDevice, Lifetime lifetime) {
+            return aliasable && device == otherDevice && lifetimes.stream().noneMatch(lifetime::overlaps);
+        }
+    }
+
+    private TransientBufferPlanner() {
+    }
+
+    /**
+     * It assigns a device buffer to each transient object of the execution
+     * context.
+     *
+     * @param executionContext
+     *     The {@link TornadoExecutionContext} of the task-graph.
+     * @param aliasing
+     *     If false, each transient object gets its own buffer.
+     * @return the list of {@link BufferSlot}, ordered by the first use of each
+     *     buffer.
+     */
+    public static List<BufferSlot> plan(TornadoExecutionContext executionContext, boolean aliasing) {
+        final List<Object> objects = executionContext.getObjects();
+        final List<LocalObjectState> states = executionContext.getObjectStates();
+        final List<SchedulableTask> tasks = executionContext.getTasks();
+
+        List<Slot> slots = new ArrayList<>();
+        List<Lifetime> candidates = new ArrayList<>();
+        List<TornadoAcceleratorDevice> candidateDevices = new ArrayList<>();
+
+        for (int objectIndex = 0; objectIndex < objects.size(); objectIndex++) {
+            if (!states.get(objectIndex).isTransient()) {
+                continue;
+            }
+            final Object object = objects.get(objectIndex);
+            int firstTask = -1;
+            int lastTask = -1;
+            Set<TornadoAcceleratorDevice> devices = new LinkedHashSet<>();
+            for (int taskIndex = 0; taskIndex < tasks.size(); taskIndex++) {
+                if (usesObject(tasks.get(taskIndex), object)) {
+                    firstTask = (firstTask == -1) ? taskIndex : firstTask;
+                    lastTask = taskIndex;
+                    devices.add(executionContext.getDeviceForTask(taskIndex));
+                }
+            }
+            if (firstTask == -1) {
+                continue;
+            }
+
+            if (aliasing && devices.size() == 1 && object instanceof TornadoNativeArray nativeArray) {
+                candidates.add(new Lifetime(objectIndex, firstTask, lastTask, nativeArray.getNumBytesOfSegment()));
+                candidateDevices.add(devices.iterator().next());
+            } else {
+                // The object gets its own buffer on every device that uses it
+                for (TornadoAcceleratorDevice device : devices) {
+                    slots.add(new Slot(device, false, List.of(new Lifetime(objectIndex, firstTask, lastTask, 0))));
+                }
+            }
+        }
+
+        // Largest objects first, so the first object of each slot is the largest one
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            order.add(i);
+        }
+        order.sort(Comparator.comparingLong((Integer i) -> candidates.get(i).size()).reversed());
+        for (int i : order) {
+            Lifetime lifetime = candidates.get(i);
+            TornadoAcceleratorDevice device = candidateDevices.get(i);
+            Slot slot = slots.stream().filter(s -> s.accepts(device, lifetime)).findFirst().orElse(null);
+            if (slot == null) {
+                slot = new Slot(device, true, new ArrayList<>());
+                slots.add(slot);
+            }
+            slot.lifetimes().add(lifetime);
+        }
+
+        slots.sort(Comparator.comparingInt(slot -> slot.lifetimes().stream().mapToInt(Lifetime::firstTask).min().orElse(0)));
+        List<BufferSlot> bufferSlots = new ArrayList<>(slots.size());
+        for (Slot slot : slots) {
+            bufferSlots.add(new BufferSlot(slot.device(), slot.lifetimes().stream().map(Lifetime::objectIndex).toList()));
+        }
+        return bufferSlots;
+    }
+
+    private static boolean usesObject(SchedulableTask task, Object object) {
+        for (Object argument : task.getArguments()) {
+            if (argument == object) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
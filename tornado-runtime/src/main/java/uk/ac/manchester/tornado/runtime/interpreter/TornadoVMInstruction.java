@@ -0,0 +1,101 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime.interpreter;
+
+import java.util.HashMap;
+
+import uk.ac.manchester.tornado.runtime.common.DeviceObjectState;
+
+/**
+ * Pre-decoded form of a TornadoVM bytecode. The {@link TornadoVMInterpreter}
+ * decodes the {@link uk.ac.manchester.tornado.runtime.graph.TornadoVMBytecodeResult}
+ * once, right after the bytecodes are generated, and then dispatches over an
+ * array of instructions on every execution of the task-graph. Objects, wait
+ * lists and task indexes are resolved at decode time, so the dispatch loop does
+ * not allocate.
+ */
+public sealed interface TornadoVMInstruction {
+
+    /**
+     * ALLOC bytecode. The {@code objectStates} array is a scratch area that the
+     * interpreter fills on every execution with the current device states.
+     */
+    record Alloc(long sizeBatch, int[] objectIndexes, Object[] objects, DeviceObjectState[] objectStates) implements TornadoVMInstruction {
+    }
+
+    /**
+     * DEALLOC bytecode.
+     */
+    record Dealloc(int objectIndex, Object object) implements TornadoVMInstruction {
+    }
+
+    /**
+     * TRANSFER_HOST_TO_DEVICE_ONCE and TRANSFER_HOST_TO_DEVICE_ALWAYS bytecodes.
+     * {@code onlyIfModified} is set for native arrays transferred with
+     * {@link uk.ac.manchester.tornado.api.enums.DataTransferMode#EVERY_EXECUTION_IF_MODIFIED}.
+     */
+    record TransferHostToDevice(boolean always, boolean onlyIfModified, int objectIndex, Object object, int eventList, long offset, long sizeBatch, int[] waitList) implements TornadoVMInstruction {
+    }
+
+    /**
+     * TRANSFER_DEVICE_TO_HOST_ALWAYS and TRANSFER_DEVICE_TO_HOST_ALWAYS_BLOCKING
+     * bytecodes.
+     */
+    record TransferDeviceToHost(boolean blocking, int objectIndex, Object object, int eventList, long offset, long sizeBatch, int[] waitList) implements TornadoVMInstruction {
+    }
+
+    /**
+     * LAUNCH bytecode, including its PUSH_CONSTANT_ARGUMENT and
+     * PUSH_REFERENCE_ARGUMENT operands. The {@code kernelContext} map and the
+     * {@code globalWork} array cache the last {@link uk.ac.manchester.tornado.api.WorkerGrid}
+     * seen for the task, so the map is only rebuilt when the grid changes.
+     */
+    record Launch(int callWrapperIndex, int taskIndex, int localTaskIndex, int numArgs, int eventList, long offset, long batchThreads, int[] waitList, byte[] argTypes,
+            int[] argIndexes, HashMap<Integer, Integer> kernelContext, long[] globalWork) implements TornadoVMInstruction {
+    }
+
+    /**
+     * ADD_DEPENDENCY bytecode.
+     */
+    record AddDependency(int eventList) implements TornadoVMInstruction {
+    }
+
+    /**
+     * SELECT_BUFFER_SET bytecode.
+     */
+    record SelectBufferSet(int bufferSet) implements TornadoVMInstruction {
+    }
+
+    /**
+     * BARRIER bytecode.
+     */
+    record Barrier(int eventList, int[] waitList) implements TornadoVMInstruction {
+    }
+
+    /**
+     * END bytecode.
+     */
+    record End() implements TornadoVMInstruction {
+    }
+}
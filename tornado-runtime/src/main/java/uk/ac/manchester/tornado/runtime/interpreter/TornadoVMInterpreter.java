@@ -29,15 +29,19 @@ import static uk.ac.manchester.tornado.runtime.common.Tornado.USE_VM_FLUSH;
 import static uk.ac.manchester.tornado.runtime.common.Tornado.VM_USE_DEPS;
 import static uk.ac.manchester.tornado.runtime.common.TornadoOptions.VIRTUAL_DEVICE_ENABLED;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.BitSet;
 import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import uk.ac.manchester.tornado.api.GridScheduler;
 import uk.ac.manchester.tornado.api.KernelContext;
 import uk.ac.manchester.tornado.api.WorkerGrid;
+import uk.ac.manchester.tornado.api.common.Access;
 import uk.ac.manchester.tornado.api.common.Event;
 import uk.ac.manchester.tornado.api.common.SchedulableTask;
 import uk.ac.manchester.tornado.api.common.TornadoEvents;
@@ -51,10 +55,13 @@ import uk.ac.manchester.tornado.api.memory.ObjectBuffer;
 import uk.ac.manchester.tornado.api.memory.TaskMetaDataInterface;
 import uk.ac.manchester.tornado.api.profiler.ProfilerType;
 import uk.ac.manchester.tornado.api.profiler.TornadoProfiler;
+import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
 import uk.ac.manchester.tornado.runtime.EmptyEvent;
 import uk.ac.manchester.tornado.runtime.TornadoCoreRuntime;
+import uk.ac.manchester.tornado.runtime.common.BufferPoolStatistics;
 import uk.ac.manchester.tornado.runtime.common.DeviceObjectState;
 import uk.ac.manchester.tornado.runtime.common.KernelArgs;
+import uk.ac.manchester.tornado.runtime.common.RuntimeUtilities;
 import uk.ac.manchester.tornado.runtime.common.Tornado;
 import uk.ac.manchester.tornado.runtime.common.TornadoAcceleratorDevice;
 import uk.ac.manchester.tornado.runtime.common.TornadoInstalledCode;
@@ -64,7 +71,9 @@ import uk.ac.manchester.tornado.runtime.graph.TornadoExecutionContext;
 import uk.ac.manchester.tornado.runtime.graph.TornadoVMBytecodeResult;
 import uk.ac.manchester.tornado.runtime.graph.TornadoVMBytecodes;
 import uk.ac.manchester.tornado.runtime.profiler.TimeProfiler;
+import uk.ac.manchester.tornado.runtime.tasks.CompilableTask;
 import uk.ac.manchester.tornado.runtime.tasks.GlobalObjectState;
+import uk.ac.manchester.tornado.runtime.tasks.LoopBoundSpecialisation;
 import uk.ac.manchester.tornado.runtime.tasks.PrebuiltTask;
 import uk.ac.manchester.tornado.runtime.tasks.meta.TaskMetaData;
 
@@ -77,6 +86,7 @@ import uk.ac.manchester.tornado.runtime.tasks.meta.TaskMetaData;
  */
 public class TornadoVMInterpreter extends TornadoLogger {
     private static final Event EMPTY_EVENT = new EmptyEvent();
+    private static final KernelArgs.KernelContextArgument KERNEL_CONTEXT_ARGUMENT = new KernelArgs.KernelContextArgument();
 
     private static final int MAX_EVENTS = 32;
     private final boolean useDependencies;
@@ -89,6 +99,22 @@ public class TornadoVMInterpreter extends TornadoLogger {
     private final int[] eventsIndexes;
     private final TornadoAcceleratorDevice deviceForInterpreter;
     private final TornadoInstalledCode[] installedCodes;
+    private final TornadoVMInstruction[] instructions;
+
+    /**
+     * Device states of the objects for the buffer sets used by pipelined
+     * batches. Buffer set 0 uses the global object states, so this array holds
+     * the states for buffer sets 1 to N.
+     */
+    private DeviceObjectState[][] bufferSetStates;
+    private int currentBufferSet;
+
+    /**
+     * Set while the bytecodes of an asynchronous execution are enqueued. The
+     * copies of off-heap arrays back to the host are then not blocking, and the
+     * caller waits for the marker event returned by the interpreter.
+     */
+    private boolean asyncExecution;
 
     private final List<Object> constants;
     private final List<SchedulableTask> tasks;
@@ -103,6 +129,16 @@ public class TornadoVMInterpreter extends TornadoLogger {
     private boolean doUpdate;
     private GridScheduler gridScheduler;
 
+    /**
+     * Compilations of tasks submitted to the compiler thread pool, indexed by the
+     * local task index. The interpreter waits for a compilation only when it
+     * reaches the LAUNCH bytecode of the task.
+     */
+    private final HashMap<Integer, PendingCompilation> pendingCompilations;
+
+    private record PendingCompilation(Future<TornadoInstalledCode> installedCode, TornadoProfiler profiler) {
+    }
+
     /**
      * It constructs a new TornadoVMInterpreter object.
      *
@@ -138,6 +174,7 @@ public class TornadoVMInterpreter extends TornadoLogger {
         localTaskList = executionContext.getTasksForDevice(deviceForInterpreter.getDeviceContext(), deviceForInterpreter.getDriverIndex());
 
         installedCodes = new TornadoInstalledCode[localTaskList.size()];
+        pendingCompilations = new HashMap<>();
 
         for (int i = 0; i < events.length; i++) {
             Arrays.fill(events[i], -1);
@@ -156,9 +193,10 @@ public class TornadoVMInterpreter extends TornadoLogger {
         constants = executionContext.getConstants();
         tasks = executionContext.getTasks();
 
-        debug("interpreter for device %s is ready to go", device.toString());
-
         this.bytecodeResult.mark();
+        instructions = decodeBytecodes();
+
+        debug("interpreter for device %s is ready to go", device.toString());
     }
 
     public void setTimeProfiler(TornadoProfiler tornadoProfiler) {
@@ -175,6 +213,89 @@ public class TornadoVMInterpreter extends TornadoLogger {
         }
     }
 
+    /**
+     * It decodes the TornadoVM bytecodes, from the BEGIN bytecode until the END
+     * bytecode, into an array of {@link TornadoVMInstruction}. This is done only
+     * once per interpreter, so that every execution of the task-graph dispatches
+     * over the pre-decoded instructions instead of parsing the byte stream again.
+     *
+     * @return An array of {@link TornadoVMInstruction}.
+     */
+    private TornadoVMInstruction[] decodeBytecodes() {
+        List<TornadoVMInstruction> decoded = new ArrayList<>();
+        int numBufferSets = 1;
+        while (bytecodeResult.hasRemaining()) {
+            final byte op = bytecodeResult.get();
+            if (op == TornadoVMBytecodes.ALLOC.value()) {
+                final long sizeBatch = bytecodeResult.getLong();
+                final int argSize = bytecodeResult.getInt();
+                final int[] args = new int[argSize];
+                final Object[] allocObjects = new Object[argSize];
+                for (int i = 0; i < argSize; i++) {
+                    args[i] = bytecodeResult.getInt();
+                    allocObjects[i] = objects.get(args[i]);
+                }
+                decoded.add(new TornadoVMInstruction.Alloc(sizeBatch, args, allocObjects, new DeviceObjectState[argSize]));
+            } else if (op == TornadoVMBytecodes.DEALLOC.value()) {
+                final int objectIndex = bytecodeResult.getInt();
+                decoded.add(new TornadoVMInstruction.Dealloc(objectIndex, objects.get(objectIndex)));
+            } else if (op == TornadoVMBytecodes.TRANSFER_HOST_TO_DEVICE_ONCE.value() || op == TornadoVMBytecodes.TRANSFER_HOST_TO_DEVICE_ALWAYS.value()) {
+                final int objectIndex = bytecodeResult.getInt();
+                final int eventList = bytecodeResult.getInt();
+                final long offset = bytecodeResult.getLong();
+                final long sizeBatch = bytecodeResult.getLong();
+                final boolean always = op == TornadoVMBytecodes.TRANSFER_HOST_TO_DEVICE_ALWAYS.value();
+                final boolean onlyIfModified = always && executionContext.getObjectStates().get(objectIndex).isStreamInOnlyIfModified();
+                decoded.add(new TornadoVMInstruction.TransferHostToDevice(always, onlyIfModified, objectIndex, objects.get(objectIndex), eventList, offset, sizeBatch, resolveWaitList(eventList)));
+            } else if (op == TornadoVMBytecodes.TRANSFER_DEVICE_TO_HOST_ALWAYS.value() || op == TornadoVMBytecodes.TRANSFER_DEVICE_TO_HOST_ALWAYS_BLOCKING.value()) {
+                final int objectIndex = bytecodeResult.getInt();
+                final int eventList = bytecodeResult.getInt();
+                final long offset = bytecodeResult.getLong();
+                final long sizeBatch = bytecodeResult.getLong();
+                final boolean blocking = op == TornadoVMBytecodes.TRANSFER_DEVICE_TO_HOST_ALWAYS_BLOCKING.value();
+                decoded.add(new TornadoVMInstruction.TransferDeviceToHost(blocking, objectIndex, objects.get(objectIndex), eventList, offset, sizeBatch, resolveWaitList(eventList)));
+            } else if (op == TornadoVMBytecodes.LAUNCH.value()) {
+                final int callWrapperIndex = bytecodeResult.getInt();
+                final int taskIndex = bytecodeResult.getInt();
+                final int numArgs = bytecodeResult.getInt();
+                final int eventList = bytecodeResult.getInt();
+                final long offset = bytecodeResult.getLong();
+                final long batchThreads = bytecodeResult.getLong();
+                final byte[] argTypes = new byte[numArgs];
+                final int[] argIndexes = new int[numArgs];
+                for (int i = 0; i < numArgs; i++) {
+                    argTypes[i] = bytecodeResult.get();
+                    argIndexes[i] = bytecodeResult.getInt();
+                }
+                final long[] globalWork = new long[3];
+                Arrays.fill(globalWork, -1);
+                decoded.add(new TornadoVMInstruction.Launch(callWrapperIndex, taskIndex, globalToLocalTaskIndex(taskIndex), numArgs, eventList, offset, batchThreads, resolveWaitList(eventList),
+                        argTypes, argIndexes, new HashMap<>(), globalWork));
+            } else if (op == TornadoVMBytecodes.ADD_DEPENDENCY.value()) {
+                decoded.add(new TornadoVMInstruction.AddDependency(bytecodeResult.getInt()));
+            } else if (op == TornadoVMBytecodes.SELECT_BUFFER_SET.value()) {
+                final int bufferSet = bytecodeResult.getInt();
+                numBufferSets = Math.max(numBufferSets, bufferSet + 1);
+                decoded.add(new TornadoVMInstruction.SelectBufferSet(bufferSet));
+            } else if (op == TornadoVMBytecodes.BARRIER.value()) {
+                final int eventList = bytecodeResult.getInt();
+                decoded.add(new TornadoVMInstruction.Barrier(eventList, resolveWaitList(eventList)));
+            } else if (op == TornadoVMBytecodes.END.value()) {
+                decoded.add(new TornadoVMInstruction.End());
+                break;
+            } else {
+                throwError(op);
+            }
+        }
+        bytecodeResult.reset();
+        bufferSetStates = new DeviceObjectState[numBufferSets - 1][objects.size()];
+        return decoded.toArray(new TornadoVMInstruction[0]);
+    }
+
+    private int[] resolveWaitList(int eventList) {
+        return (useDependencies && eventList != -1) ? events[eventList] : null;
+    }
+
     private void rewindBufferToBegin() {
         byte op = bytecodeResult.get();
         while (op != TornadoVMBytecodes.BEGIN.value()) {
@@ -240,16 +361,48 @@ public class TornadoVMInterpreter extends TornadoLogger {
     }
 
     public void warmup() {
-        execute(true);
+        if (TornadoOptions.TORNADO_COMPILER_THREADS > 1) {
+            compileInBackground();
+        }
+        execute(true, false);
         finishedWarmup = true;
     }
 
+    /**
+     * It submits the compilation of all tasks that are not compiled yet to the
+     * compiler thread pool, and it returns without waiting for them. FPGAs compile
+     * all tasks of the task-graph into a single source, so their tasks are
+     * compiled when they are launched.
+     */
+    public void compileInBackground() {
+        if (deviceForInterpreter.getDeviceContext().isPlatformFPGA()) {
+            return;
+        }
+        for (final TornadoVMInstruction instruction : instructions) {
+            if (instruction instanceof TornadoVMInstruction.Launch launch) {
+                final int localTaskIndex = launch.localTaskIndex();
+                if (pendingCompilations.containsKey(localTaskIndex)) {
+                    continue;
+                }
+                final SchedulableTask task = prepareTaskForLaunch(launch);
+                if (shouldCompile(installedCodes[localTaskIndex])) {
+                    // Each compilation thread reports to its own profiler, merged when the
+                    // interpreter waits for the compilation
+                    final TornadoProfiler profiler = timeProfiler instanceof TimeProfiler ? new TimeProfiler() : timeProfiler;
+                    Future<TornadoInstalledCode> installedCode = TornadoCoreRuntime.getTornadoCompilerExecutor().submit(() -> installTask(task, launch.taskIndex(), profiler));
+                    pendingCompilations.put(localTaskIndex, new PendingCompilation(installedCode, profiler));
+                }
+            }
+        }
+    }
+
     private boolean isMemoryLimitEnabled() {
         return executionContext.isMemoryLimited();
     }
 
-    private Event execute(boolean isWarmup) {
+    private Event execute(boolean isWarmup, boolean isAsync) {
         isWarmup = isWarmup || VIRTUAL_DEVICE_ENABLED;
+        asyncExecution = isAsync && !isWarmup;
         deviceForInterpreter.enableThreadSharing();
 
         if (isMemoryLimitEnabled() && executionContext.doesExceedExecutionPlanLimit()) {
@@ -258,6 +411,7 @@ public class TornadoVMInterpreter extends TornadoLogger {
 
         final long t0 = System.nanoTime();
         int lastEvent = -1;
+        currentBufferSet = 0;
         initWaitEventList();
 
         StringBuilder tornadoVMBytecodeList = null;
@@ -267,109 +421,76 @@ public class TornadoVMInterpreter extends TornadoLogger {
                     .debugHighLightHelper(" Running in thread: ")).append(Thread.currentThread().getName()).append("\n");
         }
 
-        while (bytecodeResult.hasRemaining()) {
-            final byte op = bytecodeResult.get();
-            if (op == TornadoVMBytecodes.ALLOC.value()) {
-                final long sizeBatch = bytecodeResult.getLong();
-                final int argSize = bytecodeResult.getInt();
-                final int[] args = new int[argSize];
-                for (int i = 0; i < argSize; i++) {
-                    args[i] = bytecodeResult.getInt();
-                }
+        final boolean printVirtualBytecodes = VIRTUAL_DEVICE_ENABLED && TornadoOptions.PRINT_BYTECODES;
+        for (final TornadoVMInstruction instruction : instructions) {
+            if (printVirtualBytecodes) {
+                appendVirtualBytecode(tornadoVMBytecodeList, instruction);
+            }
+            if (instruction instanceof TornadoVMInstruction.Alloc alloc) {
                 if (isWarmup) {
                     continue;
                 }
-                lastEvent = executeAlloc(tornadoVMBytecodeList, args, sizeBatch);
-            } else if (op == TornadoVMBytecodes.DEALLOC.value()) {
-                final int objectIndex = bytecodeResult.getInt();
+                lastEvent = executeAlloc(tornadoVMBytecodeList, alloc);
+            } else if (instruction instanceof TornadoVMInstruction.Dealloc dealloc) {
                 if (isWarmup) {
                     continue;
                 }
-                lastEvent = executeDeAlloc(tornadoVMBytecodeList, objectIndex);
-            } else if (op == TornadoVMBytecodes.TRANSFER_HOST_TO_DEVICE_ONCE.value()) {
-                final int objectIndex = bytecodeResult.getInt();
-                final int eventList = bytecodeResult.getInt();
-                final long offset = bytecodeResult.getLong();
-                final long sizeBatch = bytecodeResult.getLong();
-                final int[] waitList = (useDependencies && eventList != -1) ? events[eventList] : null;
+                lastEvent = executeDeAlloc(tornadoVMBytecodeList, dealloc);
+            } else if (instruction instanceof TornadoVMInstruction.TransferHostToDevice transfer) {
                 if (isWarmup) {
                     continue;
                 }
-                transferHostToDeviceOnce(tornadoVMBytecodeList, objectIndex, offset, eventList, sizeBatch, waitList);
-            } else if (op == TornadoVMBytecodes.TRANSFER_HOST_TO_DEVICE_ALWAYS.value()) {
-                final int objectIndex = bytecodeResult.getInt();
-                final int eventList = bytecodeResult.getInt();
-                final long offset = bytecodeResult.getLong();
-                final long sizeBatch = bytecodeResult.getLong();
-                final int[] waitList = (useDependencies && eventList != -1) ? events[eventList] : null;
-                if (isWarmup) {
-                    continue;
+                if (transfer.always()) {
+                    transferHostToDeviceAlways(tornadoVMBytecodeList, transfer);
+                } else {
+                    transferHostToDeviceOnce(tornadoVMBytecodeList, transfer);
                 }
-                transferHostToDeviceAlways(tornadoVMBytecodeList, objectIndex, offset, eventList, sizeBatch, waitList);
-            } else if (op == TornadoVMBytecodes.TRANSFER_DEVICE_TO_HOST_ALWAYS.value()) {
-                final int objectIndex = bytecodeResult.getInt();
-                final int eventList = bytecodeResult.getInt();
-                final long offset = bytecodeResult.getLong();
-                final long sizeBatch = bytecodeResult.getLong();
-                final int[] waitList = (useDependencies) ? events[eventList] : null;
+            } else if (instruction instanceof TornadoVMInstruction.TransferDeviceToHost transfer) {
                 if (isWarmup) {
                     continue;
                 }
-                lastEvent = transferDeviceToHost(tornadoVMBytecodeList, objectIndex, offset, eventList, sizeBatch, waitList);
-            } else if (op == TornadoVMBytecodes.TRANSFER_DEVICE_TO_HOST_ALWAYS_BLOCKING.value()) {
-                final int objectIndex = bytecodeResult.getInt();
-                final int eventList = bytecodeResult.getInt();
-                final long offset = bytecodeResult.getLong();
-                final long sizeBatch = bytecodeResult.getLong();
-                final int[] waitList = (useDependencies) ? events[eventList] : null;
-                if (isWarmup) {
-                    continue;
+                if (transfer.blocking() && !isNonBlockingCopyOut(transfer.object())) {
+                    transferDeviceToHostBlocking(tornadoVMBytecodeList, transfer);
+                } else {
+                    lastEvent = transferDeviceToHost(tornadoVMBytecodeList, transfer);
                 }
-                transferDeviceToHostBlocking(tornadoVMBytecodeList, objectIndex, offset, eventList, sizeBatch, waitList);
-            } else if (op == TornadoVMBytecodes.LAUNCH.value()) {
-                final int callWrapperIndex = bytecodeResult.getInt();
-                final int taskIndex = bytecodeResult.getInt();
-                final int numArgs = bytecodeResult.getInt();
-                final int eventList = bytecodeResult.getInt();
-                final long offset = bytecodeResult.getLong();
-                final long batchThreads = bytecodeResult.getLong();
-                ExecutionInfo info = compileTaskFromBytecodeToBinary(callWrapperIndex, numArgs, eventList, taskIndex, batchThreads);
+            } else if (instruction instanceof TornadoVMInstruction.Launch launch) {
+                KernelArgs callWrapper = compileTaskFromBytecodeToBinary(launch);
                 if (isWarmup) {
-                    popArgumentsFromCall(numArgs);
                     continue;
                 }
-                lastEvent = executeLaunch(tornadoVMBytecodeList, numArgs, eventList, taskIndex, batchThreads, offset, info);
-            } else if (op == TornadoVMBytecodes.ADD_DEPENDENCY.value()) {
-                final int eventList = bytecodeResult.getInt();
+                lastEvent = executeLaunch(tornadoVMBytecodeList, launch, callWrapper);
+            } else if (instruction instanceof TornadoVMInstruction.AddDependency dependency) {
                 if (isWarmup) {
                     continue;
                 }
-                executeDependency(tornadoVMBytecodeList, lastEvent, eventList);
-            } else if (op == TornadoVMBytecodes.BARRIER.value()) {
-                final int eventList = bytecodeResult.getInt();
-                final int[] waitList = (useDependencies && eventList != -1) ? events[eventList] : null;
+                executeDependency(tornadoVMBytecodeList, lastEvent, dependency.eventList());
+            } else if (instruction instanceof TornadoVMInstruction.SelectBufferSet select) {
+                currentBufferSet = select.bufferSet();
+                if (!isWarmup && TornadoOptions.PRINT_BYTECODES) {
+                    tornadoVMBytecodeList.append("bc: ").append(InterpreterUtilities.debugHighLightBC("SELECT_BUFFER_SET")).append(" ").append(currentBufferSet).append("\n");
+                }
+            } else if (instruction instanceof TornadoVMInstruction.Barrier barrier) {
                 if (isWarmup) {
                     continue;
                 }
-                lastEvent = executeBarrier(tornadoVMBytecodeList, eventList, waitList);
-            } else if (op == TornadoVMBytecodes.END.value()) {
+                lastEvent = executeBarrier(tornadoVMBytecodeList, barrier.eventList(), barrier.waitList());
+            } else if (instruction instanceof TornadoVMInstruction.End) {
                 if (!isWarmup && TornadoOptions.PRINT_BYTECODES) {
                     tornadoVMBytecodeList.append("bc: ").append(InterpreterUtilities.debugHighLightBC("END\n")).append("\n");
                 }
                 break;
-            } else {
-                throwError(op);
             }
         }
 
         Event barrier = EMPTY_EVENT;
         if (!isWarmup) {
-            if (useDependencies) {
+            if (useDependencies || asyncExecution) {
                 final int event = deviceForInterpreter.enqueueMarker();
                 barrier = deviceForInterpreter.resolveEvent(event);
             }
 
-            if (USE_VM_FLUSH) {
+            if (USE_VM_FLUSH || asyncExecution) {
                 deviceForInterpreter.flush();
             }
         }
@@ -385,28 +506,53 @@ public class TornadoVMInterpreter extends TornadoLogger {
             debug("bc: complete elapsed=%.9f s (%d iterations, %.9f s mean)", elapsed, invocations, (totalTime / invocations));
         }
 
-        bytecodeResult.reset();
-
         if (TornadoOptions.PRINT_BYTECODES) {
-            System.out.println(tornadoVMBytecodeList);
+            RuntimeUtilities.dumpBytecodes(tornadoVMBytecodeList.toString());
         }
 
         return barrier;
     }
 
+    /**
+     * It prints a bytecode that is not executed because the interpreter runs on a
+     * virtual device. The schedule of the bytecodes (e.g., the interleaving of
+     * pipelined batches) can then be checked without a device.
+     */
+    private void appendVirtualBytecode(StringBuilder tornadoVMBytecodeList, TornadoVMInstruction instruction) {
+        String verbose = switch (instruction) {
+            case TornadoVMInstruction.Alloc alloc -> String.format("%s %s on %s, size=%d", InterpreterUtilities.debugHighLightNonExecBC("ALLOC"), Arrays.toString(alloc.objects()),
+                    deviceForInterpreter, alloc.sizeBatch());
+            case TornadoVMInstruction.Dealloc dealloc -> String.format("%s [0x%x] %s on %s", InterpreterUtilities.debugHighLightNonExecBC("DEALLOC"), dealloc.object().hashCode(), dealloc.object(),
+                    deviceForInterpreter);
+            case TornadoVMInstruction.TransferHostToDevice transfer -> String.format("%s [0x%x] %s on %s, size=%d, offset=%d [event list=%d]", InterpreterUtilities.debugHighLightNonExecBC(
+                    transfer.always() ? "TRANSFER_HOST_TO_DEVICE_ALWAYS" : "TRANSFER_HOST_TO_DEVICE_ONCE"), transfer.object().hashCode(), transfer.object(), deviceForInterpreter, transfer
+                            .sizeBatch(), transfer.offset(), transfer.eventList());
+            case TornadoVMInstruction.TransferDeviceToHost transfer -> String.format("%s [0x%x] %s on %s, size=%d, offset=%d [event list=%d]", InterpreterUtilities.debugHighLightNonExecBC(
+                    transfer.blocking() ? "TRANSFER_DEVICE_TO_HOST_ALWAYS_BLOCKING" : "TRANSFER_DEVICE_TO_HOST_ALWAYS"), transfer.object().hashCode(), transfer.object(), deviceForInterpreter,
+                    transfer.sizeBatch(), transfer.offset(), transfer.eventList());
+            case TornadoVMInstruction.Launch launch -> String.format("%s %s on %s, size=%d, offset=%d [event list=%d]", InterpreterUtilities.debugHighLightNonExecBC("LAUNCH"), tasks.get(launch
+                    .taskIndex()).getFullName(), deviceForInterpreter, launch.batchThreads(), launch.offset(), launch.eventList());
+            case TornadoVMInstruction.AddDependency dependency -> String.format("%s to event list %d", InterpreterUtilities.debugHighLightNonExecBC("ADD_DEPENDENCY"), dependency.eventList());
+            case TornadoVMInstruction.SelectBufferSet select -> String.format("%s %d", InterpreterUtilities.debugHighLightNonExecBC("SELECT_BUFFER_SET"), select.bufferSet());
+            case TornadoVMInstruction.Barrier barrier -> String.format("%s event-list %d", InterpreterUtilities.debugHighLightNonExecBC("BARRIER"), barrier.eventList());
+            case TornadoVMInstruction.End _ -> InterpreterUtilities.debugHighLightNonExecBC("END");
+        };
+        tornadoVMBytecodeList.append("bc: ").append(verbose).append("\n");
+    }
+
     private void initWaitEventList() {
         for (int[] waitList : events) {
             Arrays.fill(waitList, -1);
         }
     }
 
-    private int executeAlloc(StringBuilder tornadoVMBytecodeList, int[] args, long sizeBatch) {
+    private int executeAlloc(StringBuilder tornadoVMBytecodeList, TornadoVMInstruction.Alloc alloc) {
 
-        Object[] objects = new Object[args.length];
-        DeviceObjectState[] objectStates = new DeviceObjectState[args.length];
+        final Object[] objects = alloc.objects();
+        final DeviceObjectState[] objectStates = alloc.objectStates();
+        final long sizeBatch = alloc.sizeBatch();
         for (int i = 0; i < objects.length; i++) {
-            objects[i] = this.objects.get(args[i]);
-            objectStates[i] = resolveObjectState(args[i]);
+            objectStates[i] = resolveObjectState(alloc.objectIndexes()[i]);
 
             if (TornadoOptions.PRINT_BYTECODES) {
                 String verbose = String.format("bc: " + InterpreterUtilities.debugHighLightBC("ALLOC") + "%s on %s, size=%d", objects[i], InterpreterUtilities.debugDeviceBC(deviceForInterpreter),
@@ -415,11 +561,25 @@ public class TornadoVMInterpreter extends TornadoLogger {
             }
         }
 
+        if (TornadoOptions.isProfilerEnabled()) {
+            BufferPoolStatistics before = deviceForInterpreter.getBufferPoolStatistics();
+            int lastEvent = deviceForInterpreter.allocateObjects(objects, sizeBatch, objectStates);
+            profilerUpdateForBufferPool(before, deviceForInterpreter.getBufferPoolStatistics());
+            return lastEvent;
+        }
         return deviceForInterpreter.allocateObjects(objects, sizeBatch, objectStates);
     }
 
-    private int executeDeAlloc(StringBuilder tornadoVMBytecodeList, final int objectIndex) {
-        Object object = objects.get(objectIndex);
+    private void profilerUpdateForBufferPool(BufferPoolStatistics before, BufferPoolStatistics after) {
+        timeProfiler.addValueToMetric(ProfilerType.BUFFER_POOL_HITS, TimeProfiler.NO_TASK_NAME, after.hits() - before.hits());
+        timeProfiler.addValueToMetric(ProfilerType.BUFFER_POOL_MISSES, TimeProfiler.NO_TASK_NAME, after.misses() - before.misses());
+        timeProfiler.addValueToMetric(ProfilerType.BUFFER_POOL_EVICTIONS, TimeProfiler.NO_TASK_NAME, after.evictions() - before.evictions());
+        timeProfiler.setTimer(ProfilerType.BUFFER_POOL_SIZE_BYTES, after.pooledBytes());
+    }
+
+    private int executeDeAlloc(StringBuilder tornadoVMBytecodeList, TornadoVMInstruction.Dealloc dealloc) {
+        final Object object = dealloc.object();
+        final int objectIndex = dealloc.objectIndex();
 
         if (TornadoOptions.PRINT_BYTECODES && isObjectAtomic(object)) {
             String verbose = String.format("bc: " + InterpreterUtilities.debugHighLightBC("DEALLOC") + "[0x%x] %s on %s", object.hashCode(), object, InterpreterUtilities.debugDeviceBC(
@@ -432,8 +592,13 @@ public class TornadoVMInterpreter extends TornadoLogger {
         return deviceForInterpreter.deallocate(objectState);
     }
 
-    private int transferHostToDeviceOnce(StringBuilder tornadoVMBytecodeList, final int objectIndex, final long offset, final int eventList, final long sizeBatch, final int[] waitList) {
-        Object object = objects.get(objectIndex);
+    private int transferHostToDeviceOnce(StringBuilder tornadoVMBytecodeList, TornadoVMInstruction.TransferHostToDevice transfer) {
+        final Object object = transfer.object();
+        final int objectIndex = transfer.objectIndex();
+        final int eventList = transfer.eventList();
+        final long offset = transfer.offset();
+        final long sizeBatch = transfer.sizeBatch();
+        final int[] waitList = transfer.waitList();
 
         if (isObjectKernelContext(object)) {
             return 0;
@@ -484,8 +649,13 @@ public class TornadoVMInterpreter extends TornadoLogger {
         return 0;
     }
 
-    private int transferHostToDeviceAlways(StringBuilder tornadoVMBytecodeList, final int objectIndex, final long offset, final int eventList, final long sizeBatch, final int[] waitList) {
-        Object object = objects.get(objectIndex);
+    private int transferHostToDeviceAlways(StringBuilder tornadoVMBytecodeList, TornadoVMInstruction.TransferHostToDevice transfer) {
+        final Object object = transfer.object();
+        final int objectIndex = transfer.objectIndex();
+        final int eventList = transfer.eventList();
+        final long offset = transfer.offset();
+        final long sizeBatch = transfer.sizeBatch();
+        final int[] waitList = transfer.waitList();
 
         if (isObjectKernelContext(object)) {
             return 0;
@@ -499,7 +669,28 @@ public class TornadoVMInterpreter extends TornadoLogger {
         }
 
         final DeviceObjectState objectState = resolveObjectState(objectIndex);
+
+        // Native arrays transferred with EVERY_EXECUTION_IF_MODIFIED are only copied
+        // if the host modified them since the last full copy to this buffer
+        long version = -1;
+        if (transfer.onlyIfModified() && offset == 0 && sizeBatch == 0 && object instanceof TornadoNativeArray nativeArray) {
+            version = nativeArray.getModificationVersion();
+            if (objectState.hasContents() && objectState.getTransferredVersion() == version) {
+                resetEventIndexes(eventList);
+                if (TornadoOptions.PRINT_BYTECODES && isObjectAtomic(object)) {
+                    String verbose = String.format("bc: " + InterpreterUtilities.debugHighLightNonExecBC("TRANSFER_HOST_TO_DEVICE_ALWAYS") + " [0x%x] %s on %s, unmodified since version=%d", object
+                            .hashCode(), object, InterpreterUtilities.debugDeviceBC(deviceForInterpreter), version);
+                    tornadoVMBytecodeList.append(verbose).append("\n");
+                }
+                if (TornadoOptions.isProfilerEnabled()) {
+                    timeProfiler.addValueToMetric(ProfilerType.TOTAL_COPY_IN_SIZE_BYTES_ELIDED, TimeProfiler.NO_TASK_NAME, nativeArray.getNumBytesOfSegment());
+                }
+                return 0;
+            }
+        }
+
         List<Integer> allEvents = deviceForInterpreter.streamIn(object, sizeBatch, offset, objectState, waitList);
+        objectState.setTransferredVersion(version);
 
         resetEventIndexes(eventList);
 
@@ -521,8 +712,13 @@ public class TornadoVMInterpreter extends TornadoLogger {
         return 0;
     }
 
-    private int transferDeviceToHost(StringBuilder tornadoVMBytecodeList, final int objectIndex, final long offset, final int eventList, final long sizeBatch, final int[] waitList) {
-        Object object = objects.get(objectIndex);
+    private int transferDeviceToHost(StringBuilder tornadoVMBytecodeList, TornadoVMInstruction.TransferDeviceToHost transfer) {
+        final Object object = transfer.object();
+        final int objectIndex = transfer.objectIndex();
+        final int eventList = transfer.eventList();
+        final long offset = transfer.offset();
+        final long sizeBatch = transfer.sizeBatch();
+        final int[] waitList = transfer.waitList();
 
         if (isObjectKernelContext(object)) {
             return 0;
@@ -536,7 +732,9 @@ public class TornadoVMInterpreter extends TornadoLogger {
         }
 
         final DeviceObjectState objectState = resolveObjectState(objectIndex);
-        int lastEvent = deviceForInterpreter.streamOutBlocking(object, offset, objectState, waitList);
+        int lastEvent = isNonBlockingCopyOut(object) ? deviceForInterpreter.streamOut(object, offset, objectState, waitList)
+                : deviceForInterpreter.streamOutBlocking(object, offset, objectState, waitList);
+        updateTransferredVersionAfterCopyOut(object, objectState, offset, sizeBatch);
 
         resetEventIndexes(eventList);
 
@@ -556,9 +754,33 @@ public class TornadoVMInterpreter extends TornadoLogger {
         return lastEvent;
     }
 
-    private void transferDeviceToHostBlocking(StringBuilder tornadoVMBytecodeList, final int objectIndex, final long offset, final int eventList, final long sizeBatch, final int[] waitList) {
+    /**
+     * After a full copy to the host, the host array and the buffer hold the same
+     * contents again, so the current version of the array does not need to be
+     * copied back to the device.
+     */
+    private static void updateTransferredVersionAfterCopyOut(Object object, DeviceObjectState objectState, long offset, long sizeBatch) {
+        if (offset == 0 && sizeBatch == 0 && object instanceof TornadoNativeArray nativeArray) {
+            objectState.setTransferredVersion(nativeArray.getModificationVersion());
+        }
+    }
+
+    /**
+     * Off-heap arrays are not moved by the GC, so an asynchronous execution can
+     * copy them back to the host without blocking. Java arrays are always copied
+     * with a blocking transfer.
+     */
+    private boolean isNonBlockingCopyOut(Object object) {
+        return asyncExecution && object instanceof TornadoNativeArray;
+    }
 
-        Object object = objects.get(objectIndex);
+    private void transferDeviceToHostBlocking(StringBuilder tornadoVMBytecodeList, TornadoVMInstruction.TransferDeviceToHost transfer) {
+        final Object object = transfer.object();
+        final int objectIndex = transfer.objectIndex();
+        final int eventList = transfer.eventList();
+        final long offset = transfer.offset();
+        final long sizeBatch = transfer.sizeBatch();
+        final int[] waitList = transfer.waitList();
 
         if (isObjectKernelContext(object)) {
             return;
@@ -574,6 +796,7 @@ public class TornadoVMInterpreter extends TornadoLogger {
         final DeviceObjectState objectState = resolveObjectState(objectIndex);
 
         final int tornadoEventID = deviceForInterpreter.streamOutBlocking(object, offset, objectState, waitList);
+        updateTransferredVersionAfterCopyOut(object, objectState, offset, sizeBatch);
 
         if (TornadoOptions.isProfilerEnabled() && tornadoEventID != -1) {
             Event event = deviceForInterpreter.resolveEvent(tornadoEventID);
@@ -591,26 +814,44 @@ public class TornadoVMInterpreter extends TornadoLogger {
         resetEventIndexes(eventList);
     }
 
-    private ExecutionInfo compileTaskFromBytecodeToBinary(final int callWrapperIndex, final int numArgs, final int eventList, final int taskIndex, final long batchThreads) {
+    private KernelArgs compileTaskFromBytecodeToBinary(TornadoVMInstruction.Launch launch) {
+        final int localTaskIndex = launch.localTaskIndex();
 
         if (deviceForInterpreter.getDeviceContext().wasReset() && finishedWarmup) {
             throw new TornadoFailureException("[ERROR] reset() was called after warmup() on device: " + deviceForInterpreter + "!");
         }
 
+        waitForPendingCompilation(launch);
+
         boolean redeployOnDevice = executionContext.redeployOnDevice();
 
-        final KernelArgs callWrapper = resolveCallWrapper(callWrapperIndex, numArgs, callWrappers, deviceForInterpreter, redeployOnDevice);
+        final KernelArgs callWrapper = resolveCallWrapper(launch.callWrapperIndex(), launch.numArgs(), callWrappers, deviceForInterpreter, redeployOnDevice);
+
+        final SchedulableTask task = prepareTaskForLaunch(launch);
+
+        if (shouldCompile(installedCodes[localTaskIndex])) {
+            installedCodes[localTaskIndex] = installTask(task, launch.taskIndex(), timeProfiler);
+        }
+        return callWrapper;
+    }
 
-        final int[] waitList = (useDependencies && eventList != -1) ? events[eventList] : null;
-        final SchedulableTask task = tasks.get(taskIndex);
+    private SchedulableTask prepareTaskForLaunch(TornadoVMInstruction.Launch launch) {
+        final int localTaskIndex = launch.localTaskIndex();
+        final long batchThreads = launch.batchThreads();
+
+        final SchedulableTask task = tasks.get(launch.taskIndex());
         TaskMetaDataInterface meta = task.meta();
         meta.setPrintKernelFlag(executionContext.meta().isPrintKernelEnabled());
 
-        // Check if a different batch size was used for the same kernel. If true, then
-        // the kernel needs to be recompiled.
-        if (!shouldCompile(installedCodes[globalToLocalTaskIndex(taskIndex)]) && task.getBatchThreads() != 0 && task.getBatchThreads() != batchThreads) {
+        // Check if a different batch size, or different broadcast objects, were used
+        // for the same kernel. If true, then the kernel needs to be recompiled.
+        boolean batchChanged = task.getBatchThreads() != 0 && task.getBatchThreads() != batchThreads;
+        if (meta instanceof TaskMetaData taskMetaData && taskMetaData.updateBatchBroadcastObjects(executionContext.getBatchBroadcastObjects())) {
+            batchChanged |= batchThreads != 0;
+        }
+        if (!shouldCompile(installedCodes[localTaskIndex]) && batchChanged) {
             task.forceCompilation();
-            installedCodes[globalToLocalTaskIndex(taskIndex)].invalidate();
+            installedCodes[localTaskIndex].invalidate();
         }
         // Set the batch size in the task information
         task.setBatchThreads(batchThreads);
@@ -627,52 +868,123 @@ public class TornadoVMInterpreter extends TornadoLogger {
             timeProfiler.registerDeviceID(task.getId(), task.meta().getDriverIndex() + ":" + task.meta().getDeviceIndex());
             timeProfiler.registerDeviceName(task.getId(), task.getDevice().getPhysicalDevice().getDeviceName());
         }
+        return task;
+    }
 
-        if (shouldCompile(installedCodes[globalToLocalTaskIndex(taskIndex)])) {
-            task.mapTo(deviceForInterpreter);
-            try {
-                task.attachProfiler(timeProfiler);
-                if (taskIndex == (tasks.size() - 1)) {
-                    // If it is the last task within the task-schedule or doUpdate is true -> we
-                    // force compilation. This is useful when compiling code for Xilinx/Altera
-                    // FPGAs, that has to be a single source.
-                    task.forceCompilation();
-                }
+    private TornadoInstalledCode installTask(SchedulableTask task, int taskIndex, TornadoProfiler profiler) {
+        task.mapTo(deviceForInterpreter);
+        try {
+            task.attachProfiler(profiler);
+            if (taskIndex == (tasks.size() - 1)) {
+                // If it is the last task within the task-schedule or doUpdate is true -> we
+                // force compilation. This is useful when compiling code for Xilinx/Altera
+                // FPGAs, that has to be a single source.
+                task.forceCompilation();
+            }
 
-                installedCodes[globalToLocalTaskIndex(taskIndex)] = deviceForInterpreter.installCode(task);
-                profilerUpdateForPreCompiledTask(task);
-            } catch (TornadoBailoutRuntimeException e) {
-                throw new TornadoBailoutRuntimeException("Unable to compile " + task.getFullName() + "\n" + "The internal error is: " + e.getMessage() + "\n" + "Stacktrace: " + Arrays.toString(e
-                        .getStackTrace()), e);
-            } catch (TornadoDeviceFP64NotSupported e) {
-                throw e;
-            } catch (InternalError e) {
-                throw new TornadoBailoutRuntimeException("[Internal Error] Unable to compile " + task.getFullName() + "\n" + Arrays.toString(e.getStackTrace()));
+            if (task instanceof CompilableTask compilableTask) {
+                compilableTask.meta().setDynamicLoopBounds(LoopBoundSpecialisation.shouldUseDynamicLoopBounds(compilableTask));
             }
+
+            TornadoInstalledCode installedCode = deviceForInterpreter.installCode(task);
+            profilerUpdateForPreCompiledTask(task);
+            return installedCode;
+        } catch (TornadoBailoutRuntimeException e) {
+            throw new TornadoBailoutRuntimeException("Unable to compile " + task.getFullName() + "\n" + "The internal error is: " + e.getMessage() + "\n" + "Stacktrace: " + Arrays.toString(e
+                    .getStackTrace()), e);
+        } catch (TornadoDeviceFP64NotSupported e) {
+            throw e;
+        } catch (InternalError e) {
+            throw new TornadoBailoutRuntimeException("[Internal Error] Unable to compile " + task.getFullName() + "\n" + Arrays.toString(e.getStackTrace()));
         }
-        return new ExecutionInfo(callWrapper, waitList);
     }
 
-    private void popArgumentsFromCall(int numArgs) {
-        for (int i = 0; i < numArgs; i++) {
-            bytecodeResult.get();
-            bytecodeResult.getInt();
+    /**
+     * It waits for the compilation of the task of a LAUNCH bytecode, if it was
+     * submitted to the compiler thread pool. The time spent waiting is reported as
+     * {@link ProfilerType#TASK_COMPILE_WAIT_TIME}.
+     */
+    private void waitForPendingCompilation(TornadoVMInstruction.Launch launch) {
+        final PendingCompilation pending = pendingCompilations.remove(launch.localTaskIndex());
+        if (pending == null) {
+            return;
+        }
+        final String taskId = tasks.get(launch.taskIndex()).getId();
+        timeProfiler.start(ProfilerType.TASK_COMPILE_WAIT_TIME, taskId);
+        try {
+            installedCodes[launch.localTaskIndex()] = pending.installedCode().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TornadoRuntimeException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new TornadoBailoutRuntimeException("Unable to compile " + taskId + "\n" + "The internal error is: " + e.getCause(), e);
+        } finally {
+            timeProfiler.stop(ProfilerType.TASK_COMPILE_WAIT_TIME, taskId);
+        }
+
+        final SchedulableTask task = tasks.get(launch.taskIndex());
+        task.attachProfiler(timeProfiler);
+        if (pending.profiler() != timeProfiler) {
+            mergeCompilationProfiler(pending.profiler(), taskId);
+        }
+    }
+
+    private void mergeCompilationProfiler(TornadoProfiler compilationProfiler, String taskId) {
+        final ProfilerType[][] timers = { //
+                { ProfilerType.TASK_COMPILE_GRAAL_TIME, ProfilerType.TOTAL_GRAAL_COMPILE_TIME }, //
+                { ProfilerType.TASK_COMPILE_DRIVER_TIME, ProfilerType.TOTAL_DRIVER_COMPILE_TIME }, //
+                { ProfilerType.TASK_CODE_GENERATION_TIME, ProfilerType.TOTAL_CODE_GENERATION_TIME } };
+        for (ProfilerType[] timer : timers) {
+            long value = compilationProfiler.getTaskTimer(timer[0], taskId);
+            timeProfiler.setTaskTimer(timer[0], taskId, value);
+            timeProfiler.sum(timer[1], value);
         }
     }
 
-    private int executeLaunch(StringBuilder tornadoVMBytecodeList, final int numArgs, final int eventList, final int taskIndex, final long batchThreads, final long offset, ExecutionInfo info) {
+    /**
+     * It counts the launch of a task for its current input sizes. When the sizes
+     * become hot, a task compiled with dynamic loop bounds is compiled again with
+     * the bounds specialised for them.
+     */
+    private void specialiseHotLoopBounds(SchedulableTask task, TornadoVMInstruction.Launch launch) {
+        if (!(task instanceof CompilableTask compilableTask) || !LoopBoundSpecialisation.recordLaunch(compilableTask)) {
+            return;
+        }
+        final int localTaskIndex = launch.localTaskIndex();
+        if (compilableTask.meta().shouldUseDynamicLoopBounds() && !shouldCompile(installedCodes[localTaskIndex])) {
+            task.forceCompilation();
+            installedCodes[localTaskIndex].invalidate();
+            installedCodes[localTaskIndex] = installTask(task, launch.taskIndex(), timeProfiler);
+        }
+    }
 
-        final SchedulableTask task = tasks.get(taskIndex);
-        KernelArgs callWrapper = info.callWrapper;
-        int[] waitList = info.waitList;
+    private static boolean isReadOnlyArgument(SchedulableTask task, int argIndex) {
+        final Access[] accesses = task.getArgumentsAccess();
+        return accesses != null && argIndex < accesses.length && accesses[argIndex] == Access.READ_ONLY;
+    }
+
+    private int executeLaunch(StringBuilder tornadoVMBytecodeList, TornadoVMInstruction.Launch launch, KernelArgs callWrapper) {
+
+        final SchedulableTask task = tasks.get(launch.taskIndex());
+        final int localTaskIndex = launch.localTaskIndex();
+        final int numArgs = launch.numArgs();
+        final int eventList = launch.eventList();
+        final long batchThreads = launch.batchThreads();
+        final long offset = launch.offset();
+        final int[] waitList = launch.waitList();
 
-        if (installedCodes[globalToLocalTaskIndex(taskIndex)] == null) {
+        specialiseHotLoopBounds(task, launch);
+
+        if (installedCodes[localTaskIndex] == null) {
             // After warming-up, it is possible to get a null pointer in the task-cache due
             // to lazy compilation for FPGAs. In tha case, we check again the code cache.
-            installedCodes[globalToLocalTaskIndex(taskIndex)] = deviceForInterpreter.getCodeFromCache(task);
+            installedCodes[localTaskIndex] = deviceForInterpreter.getCodeFromCache(task);
         }
 
-        final TornadoInstalledCode installedCode = installedCodes[globalToLocalTaskIndex(taskIndex)];
+        final TornadoInstalledCode installedCode = installedCodes[localTaskIndex];
 
         if (installedCode == null) {
             throw new TornadoBailoutRuntimeException("Code generator Failed");
@@ -682,23 +994,14 @@ public class TornadoVMInterpreter extends TornadoLogger {
 
         atomicsArray = (task instanceof PrebuiltTask prebuiltTask) ? prebuiltTask.getAtomics() : deviceForInterpreter.checkAtomicsForTask(task);
 
-        HashMap<Integer, Integer> map = new HashMap<>();
-        if (gridScheduler != null && gridScheduler.get(task.getId()) != null) {
-            WorkerGrid workerGrid = gridScheduler.get(task.getId());
-            long[] global = workerGrid.getGlobalWork();
-            int i = 0;
-            for (long maxThread : global) {
-                map.put(i++, (int) maxThread);
-            }
-        }
         callWrapper.reset();
-        callWrapper.setKernelContext(map);
+        callWrapper.setKernelContext(resolveKernelContext(launch));
 
         ObjectBuffer bufferAtomics = null;
 
         for (int i = 0; i < numArgs; i++) {
-            final byte argType = bytecodeResult.get();
-            final int argIndex = bytecodeResult.getInt();
+            final byte argType = launch.argTypes()[i];
+            final int argIndex = launch.argIndexes()[i];
 
             if (argType == TornadoVMBytecodes.PUSH_CONSTANT_ARGUMENT.value()) {
                 // Add a constant argument
@@ -707,12 +1010,15 @@ public class TornadoVMInterpreter extends TornadoLogger {
 
                 if (isObjectKernelContext(objects.get(argIndex))) {
                     // Mark a kernel context
-                    callWrapper.addCallArgument(new KernelArgs.KernelContextArgument(), false);
+                    callWrapper.addCallArgument(KERNEL_CONTEXT_ARGUMENT, false);
                     continue;
                 }
 
-                final GlobalObjectState globalState = resolveGlobalObjectState(argIndex);
-                final DeviceObjectState objectState = globalState.getDeviceState(deviceForInterpreter);
+                final DeviceObjectState objectState = resolveObjectState(argIndex);
+                if (!isReadOnlyArgument(task, i)) {
+                    // The kernel may write the buffer, so it no longer holds a version of the host array
+                    objectState.setTransferredVersion(-1);
+                }
 
                 if (!isObjectInAtomicRegion(objectState, deviceForInterpreter, task)) {
                     // Add a reference (arrays, vector types, panama regions)
@@ -762,6 +1068,7 @@ public class TornadoVMInterpreter extends TornadoLogger {
         metadata.attachProfiler(timeProfiler);
         metadata.setGridScheduler(gridScheduler);
         metadata.setThreadInfo(executionContext.meta().isThreadInfoEnabled());
+        metadata.setAutotuning(executionContext.meta().isAutotuningEnabled());
 
         try {
             int lastEvent = useDependencies
@@ -778,6 +1085,45 @@ public class TornadoVMInterpreter extends TornadoLogger {
         }
     }
 
+    /**
+     * It returns the kernel-context map for a LAUNCH instruction. With a
+     * {@link WorkerGrid}, the map holds the task global work per dimension; it is
+     * cached in the instruction and it is only rebuilt if the grid has changed
+     * since the last execution. Otherwise, the map holds the loop bounds that the
+     * task receives at runtime, if any, taken from the current arguments.
+     */
+    private HashMap<Integer, Integer> resolveKernelContext(TornadoVMInstruction.Launch launch) {
+        final HashMap<Integer, Integer> map = launch.kernelContext();
+        final SchedulableTask task = tasks.get(launch.taskIndex());
+        final WorkerGrid workerGrid = (gridScheduler != null) ? gridScheduler.get(task.getId()) : null;
+        if (workerGrid == null) {
+            if (!map.isEmpty()) {
+                map.clear();
+                Arrays.fill(launch.globalWork(), -1);
+            }
+            if (task instanceof CompilableTask compilableTask && compilableTask.meta().hasLoopBounds()) {
+                compilableTask.meta().updateLoopBounds(compilableTask.getArguments(), map);
+            }
+            return map;
+        }
+
+        final long[] global = workerGrid.getGlobalWork();
+        final long[] cachedGlobalWork = launch.globalWork();
+        boolean hasChanged = map.size() != global.length;
+        for (int i = 0; i < global.length && !hasChanged; i++) {
+            hasChanged = cachedGlobalWork[i] != global[i];
+        }
+        if (hasChanged) {
+            map.clear();
+            Arrays.fill(cachedGlobalWork, -1);
+            for (int i = 0; i < global.length; i++) {
+                map.put(i, (int) global[i]);
+                cachedGlobalWork[i] = global[i];
+            }
+        }
+        return map;
+    }
+
     private void executeDependency(StringBuilder tornadoVMBytecodeList, int lastEvent, int eventList) {
         if (useDependencies && lastEvent != -1) {
             if (TornadoOptions.PRINT_BYTECODES) {
@@ -810,7 +1156,16 @@ public class TornadoVMInterpreter extends TornadoLogger {
     }
 
     private DeviceObjectState resolveObjectState(int index) {
-        return globalStates[index].getDeviceState(deviceForInterpreter);
+        if (currentBufferSet == 0 || executionContext.isBatchBroadcastObject(objects.get(index))) {
+            return globalStates[index].getDeviceState(deviceForInterpreter);
+        }
+        // Pipelined batches: each buffer set keeps its own device buffers, so
+        // consecutive chunks do not share them. Broadcast objects are shared.
+        DeviceObjectState[] states = bufferSetStates[currentBufferSet - 1];
+        if (states[index] == null) {
+            states[index] = new DeviceObjectState();
+        }
+        return states[index];
     }
 
     private boolean isObjectKernelContext(Object object) {
@@ -861,34 +1216,32 @@ public class TornadoVMInterpreter extends TornadoLogger {
         }
     }
 
-    private GlobalObjectState resolveGlobalObjectState(int index) {
-        return globalStates[index];
-    }
-
     private boolean isObjectInAtomicRegion(DeviceObjectState objectState, TornadoAcceleratorDevice device, SchedulableTask task) {
         return objectState.isAtomicRegionPresent() && device.checkAtomicsParametersForTask(task);
     }
 
     public void compile() {
-        execute(true);
+        execute(true, false);
     }
 
     public Event execute() {
-        return execute(false);
+        return execute(false, false);
     }
 
-    public void clearInstalledCode() {
-        Arrays.fill(installedCodes, null);
+    /**
+     * It enqueues the bytecodes without waiting for the device to finish.
+     *
+     * @return An {@link Event} that completes once the outputs have been copied
+     *     back to the host.
+     */
+    public Event executeAsync() {
+        return execute(false, true);
     }
 
-    private static class ExecutionInfo {
-        KernelArgs callWrapper;
-        int[] waitList;
-
-        ExecutionInfo(KernelArgs callWrapper, int[] waitList) {
-            this.callWrapper = callWrapper;
-            this.waitList = waitList;
-        }
+    public void clearInstalledCode() {
+        pendingCompilations.values().forEach(pending -> pending.installedCode().cancel(false));
+        pendingCompilations.clear();
+        Arrays.fill(installedCodes, null);
     }
 
 }
@@ -32,12 +32,57 @@ import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
+import org.graalvm.compiler.graph.Node;
+import org.graalvm.compiler.nodes.ConstantNode;
+import org.graalvm.compiler.nodes.IfNode;
+import org.graalvm.compiler.nodes.LoopBeginNode;
+import org.graalvm.compiler.nodes.ParameterNode;
 import org.graalvm.compiler.nodes.StructuredGraph;
+import org.graalvm.compiler.nodes.ValueNode;
+import org.graalvm.compiler.nodes.calc.AddNode;
+import org.graalvm.compiler.nodes.calc.AndNode;
+import org.graalvm.compiler.nodes.calc.FloatEqualsNode;
+import org.graalvm.compiler.nodes.calc.FloatLessThanNode;
+import org.graalvm.compiler.nodes.calc.IntegerDivRemNode;
+import org.graalvm.compiler.nodes.calc.IntegerEqualsNode;
+import org.graalvm.compiler.nodes.calc.IntegerLessThanNode;
+import org.graalvm.compiler.nodes.calc.LeftShiftNode;
+import org.graalvm.compiler.nodes.calc.MulNode;
+import org.graalvm.compiler.nodes.calc.OrNode;
+import org.graalvm.compiler.nodes.calc.RemNode;
+import org.graalvm.compiler.nodes.calc.RightShiftNode;
+import org.graalvm.compiler.nodes.calc.ShiftNode;
+import org.graalvm.compiler.nodes.calc.SignExtendNode;
+import org.graalvm.compiler.nodes.calc.SignedDivNode;
+import org.graalvm.compiler.nodes.calc.SignedRemNode;
+import org.graalvm.compiler.nodes.calc.SubNode;
+import org.graalvm.compiler.nodes.calc.UnaryArithmeticNode;
+import org.graalvm.compiler.nodes.calc.UnsignedRightShiftNode;
+import org.graalvm.compiler.nodes.calc.XorNode;
+import org.graalvm.compiler.nodes.extended.IntegerSwitchNode;
+import org.graalvm.compiler.nodes.extended.JavaReadNode;
+import org.graalvm.compiler.nodes.extended.JavaWriteNode;
+import org.graalvm.compiler.nodes.java.LoadIndexedNode;
+import org.graalvm.compiler.nodes.java.StoreIndexedNode;
+import org.graalvm.compiler.nodes.memory.FloatingReadNode;
+import org.graalvm.compiler.nodes.memory.ReadNode;
+import org.graalvm.compiler.nodes.memory.WriteNode;
+import org.graalvm.compiler.nodes.memory.address.AddressNode;
 
+import jdk.vm.ci.meta.JavaKind;
 import uk.ac.manchester.tornado.api.TornadoDeviceContext;
 import uk.ac.manchester.tornado.runtime.common.Tornado;
 import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 import uk.ac.manchester.tornado.runtime.common.TornadoVMClient;
+import uk.ac.manchester.tornado.runtime.graal.nodes.ParallelRangeNode;
+import uk.ac.manchester.tornado.runtime.graal.nodes.interfaces.MarkCastNode;
+import uk.ac.manchester.tornado.runtime.graal.nodes.interfaces.MarkFloatingPointIntrinsicsNode;
+import uk.ac.manchester.tornado.runtime.graal.nodes.interfaces.MarkGlobalThreadID;
+import uk.ac.manchester.tornado.runtime.graal.nodes.interfaces.MarkIntIntrinsicNode;
+import uk.ac.manchester.tornado.runtime.graal.nodes.interfaces.MarkLocalArray;
+import uk.ac.manchester.tornado.runtime.graal.nodes.interfaces.MarkOCLWriteNode;
+import uk.ac.manchester.tornado.runtime.graal.nodes.interfaces.MarkVectorLoad;
+import uk.ac.manchester.tornado.runtime.graal.nodes.interfaces.MarkVectorValueNode;
 import uk.ac.manchester.tornado.runtime.utils.JsonHandler;
 
 public final class FeatureExtractionUtilities {
@@ -100,6 +145,112 @@ public final class FeatureExtractionUtilities {
         return encodeMap;
     }
 
+    /**
+     * It counts the features of the code of a kernel. It is used by the feature
+     * extraction phase of the backends, on the low-tier graph, and by the cost
+     * model of the dynamic reconfiguration, on the sketch of each task. In the
+     * sketch, the parallel loops and the array accesses are not lowered yet, so
+     * {@link ParallelRangeNode}s and indexed or off-heap accesses are counted as
+     * parallel loops and global memory accesses.
+     *
+     * @param graph
+     *     Graph of the kernel.
+     * @return the number of occurrences of each {@link ProfilerCodeFeatures}.
+     */
+    public static LinkedHashMap<ProfilerCodeFeatures, Integer> extractFeatures(StructuredGraph graph) {
+        LinkedHashMap<ProfilerCodeFeatures, Integer> irFeatures = initializeFeatureMap();
+        for (Node node : graph.getNodes().snapshot()) {
+            if (node instanceof MulNode || node instanceof AddNode || node instanceof SubNode //
+                    || node instanceof SignedDivNode || node instanceof IntegerDivRemNode //
+                    || node instanceof RemNode || node instanceof SignedRemNode || node instanceof FloatEqualsNode || node instanceof IntegerEqualsNode //
+            ) {
+                updateWithType(irFeatures, node);
+            } else if (node instanceof MarkOCLWriteNode || node instanceof WriteNode) {
+                updateMemoryAccesses(irFeatures, node, false);
+            } else if (node instanceof FloatingReadNode || node instanceof ReadNode) {
+                updateMemoryAccesses(irFeatures, node, true);
+            } else if (node instanceof LoopBeginNode) {
+                updateCounter(irFeatures, ProfilerCodeFeatures.LOOPS);
+            } else if (node instanceof IfNode) {
+                updateCounter(irFeatures, ProfilerCodeFeatures.IFS);
+            } else if (node instanceof IntegerSwitchNode) {
+                updateCounter(irFeatures, ProfilerCodeFeatures.SWITCH);
+                int countCases = irFeatures.get(ProfilerCodeFeatures.CASE);
+                irFeatures.put(ProfilerCodeFeatures.CASE, (countCases + ((IntegerSwitchNode) node).getSuccessorCount()));
+            } else if (node instanceof MarkVectorLoad || node instanceof MarkVectorValueNode) {
+                updateCounter(irFeatures, ProfilerCodeFeatures.VECTORS);
+            } else if (node instanceof IntegerLessThanNode) {
+                updateCounter(irFeatures, ProfilerCodeFeatures.I_CMP);
+            } else if (node instanceof OrNode || node instanceof AndNode || node instanceof LeftShiftNode //
+                    || node instanceof RightShiftNode || node instanceof UnsignedRightShiftNode //
+                    || node instanceof ShiftNode || node instanceof XorNode) {
+                updateWithType(irFeatures, node);
+            } else if (node instanceof MarkGlobalThreadID || node instanceof ParallelRangeNode) {
+                updateCounter(irFeatures, ProfilerCodeFeatures.PARALLEL_LOOPS);
+            } else if (node instanceof ConstantNode || node instanceof ParameterNode || node instanceof SignExtendNode) {
+                updateCounter(irFeatures, ProfilerCodeFeatures.PRIVATE_LOADS);
+                updateCounter(irFeatures, ProfilerCodeFeatures.PRIVATE_STORES);
+            } else if (node instanceof MarkCastNode) {
+                updateCounter(irFeatures, ProfilerCodeFeatures.CAST);
+            } else if (node instanceof FloatLessThanNode) {
+                updateCounter(irFeatures, ProfilerCodeFeatures.F_CMP);
+            } else if (node instanceof MarkFloatingPointIntrinsicsNode || node instanceof UnaryArithmeticNode) {
+                updateCounter(irFeatures, ProfilerCodeFeatures.F_MATH);
+            } else if (node instanceof MarkIntIntrinsicNode) {
+                updateCounter(irFeatures, ProfilerCodeFeatures.I_MATH);
+            } else if (node instanceof LoadIndexedNode || node instanceof JavaReadNode) {
+                updateCounter(irFeatures, ProfilerCodeFeatures.GLOBAL_LOADS);
+            } else if (node instanceof StoreIndexedNode || node instanceof JavaWriteNode) {
+                updateCounter(irFeatures, ProfilerCodeFeatures.GLOBAL_STORES);
+            }
+        }
+        return irFeatures;
+    }
+
+    private static JavaKind getPrimitiveType(Node inputNode) {
+        return ((ValueNode) inputNode).getStackKind();
+    }
+
+    private static void updateCounter(LinkedHashMap<ProfilerCodeFeatures, Integer> irFeatures, ProfilerCodeFeatures feature) {
+        irFeatures.put(feature, (irFeatures.get(feature) + 1));
+    }
+
+    private static void updateWithType(LinkedHashMap<ProfilerCodeFeatures, Integer> irFeatures, Node node) {
+        JavaKind opType = getPrimitiveType(node);
+        if (opType == (JavaKind.Boolean) || (opType == JavaKind.Char) || (opType == JavaKind.Int) || (opType == JavaKind.Short) || (opType == JavaKind.Long)) {
+            updateCounter(irFeatures, ProfilerCodeFeatures.INTEGER_OPS);
+        } else if ((opType == (JavaKind.Double))) {
+            updateCounter(irFeatures, ProfilerCodeFeatures.FLOAT_OPS);
+            updateCounter(irFeatures, ProfilerCodeFeatures.DOUBLES);
+        } else if ((opType == JavaKind.Float)) {
+            updateCounter(irFeatures, ProfilerCodeFeatures.FLOAT_OPS);
+            updateCounter(irFeatures, ProfilerCodeFeatures.FP32);
+        }
+    }
+
+    private static void updateMemoryAccesses(LinkedHashMap<ProfilerCodeFeatures, Integer> irFeatures, Node node, boolean isLoad) {
+        for (Node memOpNode : node.inputs().filter(AddressNode.class)) {
+            for (Node addressInput : memOpNode.inputs()) {
+                if (addressInput instanceof MarkLocalArray) {
+                    if (isLoad) {
+                        updateCounter(irFeatures, ProfilerCodeFeatures.LOCAL_LOADS);
+                    } else {
+                        updateCounter(irFeatures, ProfilerCodeFeatures.LOCAL_STORES);
+                    }
+                } else if (addressInput instanceof ParameterNode) {
+                    if (isLoad) {
+                        updateCounter(irFeatures, ProfilerCodeFeatures.GLOBAL_LOADS);
+                    } else {
+                        updateCounter(irFeatures, ProfilerCodeFeatures.GLOBAL_STORES);
+                    }
+                } else if (addressInput instanceof FloatingReadNode && !isLoad) {
+                    // This covers the case of storing to global from a vector type
+                    updateCounter(irFeatures, ProfilerCodeFeatures.GLOBAL_STORES);
+                }
+            }
+        }
+    }
+
     public static LinkedHashMap<ProfilerCodeFeatures, Integer> initializeFeatureMap() {
         LinkedHashMap<ProfilerCodeFeatures, Integer> myMap = new LinkedHashMap<>();
         for (ProfilerCodeFeatures feature : ProfilerCodeFeatures.values()) {
@@ -146,7 +146,7 @@ public class TimeProfiler implements TornadoProfiler {
     }
 
     @Override
-    public long getTimer(ProfilerType type) {
+    public synchronized long getTimer(ProfilerType type) {
         if (!profilerTime.containsKey(type)) {
             return 0;
         }
@@ -154,7 +154,7 @@ public class TimeProfiler implements TornadoProfiler {
     }
 
     @Override
-    public long getTaskTimer(ProfilerType type, String taskName) {
+    public synchronized long getTaskTimer(ProfilerType type, String taskName) {
         if (!taskTimers.containsKey(taskName)) {
             return 0;
         }
@@ -198,7 +198,7 @@ public class TimeProfiler implements TornadoProfiler {
     }
 
     @Override
-    public String createJson(StringBuilder json, String sectionName) {
+    public synchronized String createJson(StringBuilder json, String sectionName) {
         json.append("{\n");
         increaseIndent();
         json.append(indent.toString() + "\"" + sectionName + "\": " + "{\n");
@@ -0,0 +1,170 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime.tasks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import uk.ac.manchester.tornado.api.Policy;
+import uk.ac.manchester.tornado.runtime.common.TornadoLogger;
+import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
+import uk.ac.manchester.tornado.runtime.tasks.DeviceCostModel.Device;
+import uk.ac.manchester.tornado.runtime.tasks.DeviceCostModel.Kernel;
+import uk.ac.manchester.tornado.runtime.tasks.DeviceCostModel.Workload;
+
+/**
+ * Device selection of the dynamic reconfiguration with
+ * {@code DRMode.COST_MODEL}. It ranks the devices with the predictions of a
+ * {@link DeviceCostModel}, corrected per task-graph and device with the ratio
+ * between the observed and the predicted times.
+ *
+ * <p>
+ * The corrections are seeded from the times of the winners recorded in the
+ * {@link DynamicReconfigurationHistory}, and they are refined with the times
+ * observed every time the task-graph runs. Once the observed time of the
+ * selected device is worse than the corrected prediction of another device,
+ * the other device is selected. Since observations replace predictions, the
+ * selection settles after a few executions.
+ * </p>
+ */
+public final class CostModelDeviceSelection {
+
+    private static final CostModelDeviceSelection INSTANCE = new CostModelDeviceSelection(loadCostModel(TornadoOptions.DYNAMIC_RECONFIGURATION_COST_MODEL));
+
+    // Weight of a new observation in the correction factor
+    private static final double SMOOTHING = 0.5;
+
+    private final DeviceCostModel costModel;
+
+    // Correction factors, indexed by policy, task-graph signature and device
+    private final Map<String, Double> corrections = new ConcurrentHashMap<>();
+    private final Set<String> calibrated = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param costModel
+     *     {@link DeviceCostModel} that predicts the times of the devices.
+     */
+    public CostModelDeviceSelection(DeviceCostModel costModel) {
+        this.costModel = costModel;
+    }
+
+    /**
+     * @return the device selection used by the runtime, with the cost model of
+     *     the option {@code tornado.dynamic.costmodel}.
+     */
+    static CostModelDeviceSelection getInstance() {
+        return INSTANCE;
+    }
+
+    private static DeviceCostModel loadCostModel(String className) {
+        if (!className.isEmpty()) {
+            try {
+                return (DeviceCostModel) Class.forName(className).getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | ClassCastException e) {
+                TornadoLogger.warn(STR."Unable to load the cost model \{className}, using the roofline model: \{e.getMessage()}");
+            }
+        }
+        return new RooflineCostModel();
+    }
+
+    private static String getKey(Policy policy, String signature, Device device) {
+        return policy.name() + "\t" + signature + "\t" + device.name();
+    }
+
+    /**
+     * It seeds the correction factors of a task-graph with the times of the
+     * winners recorded in the history. This is done only once per task-graph and
+     * policy.
+     *
+     * @param history
+     *     Entries of the history, indexed by the input-size bucket.
+     * @param inputSize
+     *     Input size of the workload.
+     * @param timeInNanoseconds
+     *     True if the times of the history are in nanoseconds, false if they are
+     *     in milliseconds.
+     */
+    void calibrate(Policy policy, String signature, Workload workload, List<Device> devices, Map<Integer, DynamicReconfigurationHistory.Entry> history, int inputSize,
+            boolean timeInNanoseconds) {
+        if (!calibrated.add(policy.name() + "\t" + signature)) {
+            return;
+        }
+        for (Map.Entry<Integer, DynamicReconfigurationHistory.Entry> bucket : history.entrySet()) {
+            DynamicReconfigurationHistory.Entry entry = bucket.getValue();
+            if (entry.device() < 0 || entry.device() >= devices.size() || inputSize <= 0) {
+                continue;
+            }
+            // The smallest size of the bucket
+            final long size = 1L << Math.max(bucket.getKey() - 1, 0);
+            final long time = timeInNanoseconds ? entry.time() : entry.time() * 1_000_000;
+            observe(policy, signature, scale(workload, (double) size / inputSize), devices.get(entry.device()), time);
+        }
+    }
+
+    /**
+     * It selects the device with the best corrected prediction.
+     *
+     * @return the index of the device in the list.
+     */
+    public int select(Policy policy, String signature, Workload workload, List<Device> devices) {
+        int best = 0;
+        double bestTime = Double.MAX_VALUE;
+        for (int i = 0; i < devices.size(); i++) {
+            double time = estimate(policy, signature, workload, devices.get(i));
+            if (time < bestTime) {
+                best = i;
+                bestTime = time;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * It returns the prediction of the model for a device, corrected with the
+     * previous observations.
+     */
+    public double estimate(Policy policy, String signature, Workload workload, Device device) {
+        return costModel.predict(policy, workload, device) * corrections.getOrDefault(getKey(policy, signature, device), 1.0);
+    }
+
+    /**
+     * It records the time, in nanoseconds, observed for a device.
+     */
+    public void observe(Policy policy, String signature, Workload workload, Device device, long time) {
+        final double predicted = Math.max(costModel.predict(policy, workload, device), 1);
+        final double ratio = time / predicted;
+        corrections.merge(getKey(policy, signature, device), ratio, (previous, _) -> (1 - SMOOTHING) * previous + SMOOTHING * ratio);
+    }
+
+    private static Workload scale(Workload workload, double factor) {
+        List<Kernel> kernels = new ArrayList<>();
+        for (Kernel kernel : workload.kernels()) {
+            kernels.add(new Kernel(kernel.name(), kernel.features(), Math.max((long) (kernel.iterations() * factor), 1)));
+        }
+        return new Workload(kernels, (long) (workload.transferBytes() * factor));
+    }
+}
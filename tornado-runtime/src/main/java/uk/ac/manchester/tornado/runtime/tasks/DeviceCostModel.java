@@ -0,0 +1,111 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime.tasks;
+
+import java.util.List;
+import java.util.Map;
+
+import uk.ac.manchester.tornado.api.Policy;
+import uk.ac.manchester.tornado.api.enums.TornadoDeviceType;
+import uk.ac.manchester.tornado.runtime.profiler.ProfilerCodeFeatures;
+
+/**
+ * Model that predicts the execution time of a task-graph on a device, used by
+ * the dynamic reconfiguration with {@code DRMode.COST_MODEL} to select a device
+ * without running the task-graph on all devices. A custom model can be
+ * provided with the option {@code tornado.dynamic.costmodel}.
+ *
+ * <p>
+ * The predictions do not need to be accurate: the runtime corrects them with
+ * the times observed in previous executions of the same task-graph. They only
+ * need to be in nanoseconds and to rank the devices.
+ * </p>
+ */
+public interface DeviceCostModel {
+
+    /**
+     * Characteristics of a device.
+     *
+     * @param name
+     *     Name of the device.
+     * @param type
+     *     Type of the device.
+     * @param computeUnits
+     *     Number of compute units. For the Java execution, it is the number of
+     *     cores used.
+     * @param frequency
+     *     Maximum clock frequency, in MHz.
+     * @param host
+     *     True for the Java execution on the host, which does not need any data
+     *     transfer.
+     */
+    record Device(String name, TornadoDeviceType type, int computeUnits, int frequency, boolean host) {
+    }
+
+    /**
+     * Code of a task.
+     *
+     * @param name
+     *     Name of the task.
+     * @param features
+     *     Number of occurrences of each feature in the code of the task,
+     *     extracted by the compiler.
+     * @param iterations
+     *     Number of iterations of the parallel loops, estimated from the input
+     *     size.
+     */
+    record Kernel(String name, Map<ProfilerCodeFeatures, Integer> features, long iterations) {
+
+        public int getFeature(ProfilerCodeFeatures feature) {
+            return features.getOrDefault(feature, 0);
+        }
+    }
+
+    /**
+     * Tasks of a task-graph, with the data copied in and out in every
+     * execution.
+     *
+     * @param kernels
+     *     Code of the tasks.
+     * @param transferBytes
+     *     Number of bytes copied between the host and the device in every
+     *     execution.
+     */
+    record Workload(List<Kernel> kernels, long transferBytes) {
+    }
+
+    /**
+     * It predicts the time of a workload on a device.
+     *
+     * @param policy
+     *     Policy of the dynamic reconfiguration. The data transfers are
+     *     included for {@link Policy#END_2_END} and {@link Policy#LATENCY}.
+     * @param workload
+     *     {@link Workload}
+     * @param device
+     *     {@link Device}
+     * @return the predicted time in nanoseconds.
+     */
+    long predict(Policy policy, Workload workload, Device device);
+}
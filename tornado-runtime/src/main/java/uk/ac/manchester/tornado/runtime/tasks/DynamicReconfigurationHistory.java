@@ -0,0 +1,233 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime.tasks;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import uk.ac.manchester.tornado.api.Policy;
+import uk.ac.manchester.tornado.runtime.common.TornadoLogger;
+
+/**
+ * History of the devices selected by the dynamic reconfiguration. For each
+ * policy and task-graph signature, it keeps the winning device per input-size
+ * bucket, together with the time measured for that device. Input sizes are
+ * grouped in power-of-two buckets, so a task-graph that runs again with a
+ * similar input size reuses the device without profiling all devices again.
+ *
+ * <p>
+ * If a file is provided (option {@code tornado.dynamic.history.file}), the
+ * history is loaded when TornadoVM starts, and it is written back every time it
+ * is updated. Entries older than {@code tornado.dynamic.history.maxAge} seconds
+ * are stale: they are ignored and dropped, so that the devices are profiled
+ * again and the entry is refreshed.
+ * </p>
+ */
+public final class DynamicReconfigurationHistory {
+
+    private static final String SEPARATOR = "\t";
+    private static final String HEADER = "# TornadoVM dynamic reconfiguration history: policy, size bucket, device, time, timestamp (ms), signature";
+
+    /**
+     * Winning device for an input-size bucket.
+     *
+     * @param device
+     *     Index of the device. The index after the last device corresponds to
+     *     the Java execution, which is multi-core unless the option
+     *     {@code tornado.fallback.sequential} is enabled.
+     * @param time
+     *     Time measured for the device.
+     * @param timestamp
+     *     Time, in milliseconds since the epoch, in which the entry was
+     *     recorded.
+     */
+    public record Entry(int device, long time, long timestamp) {
+    }
+
+    private final Path file;
+    private final long maxAgeMillis;
+    private final Map<String, TreeMap<Integer, Entry>> tables;
+
+    private DynamicReconfigurationHistory(Path file, long maxAgeMillis) {
+        this.file = file;
+        this.maxAgeMillis = maxAgeMillis;
+        this.tables = new HashMap<>();
+    }
+
+    /**
+     * It creates the history and loads the entries from the given file, if any.
+     *
+     * @param fileName
+     *     File in which the history is persisted. If it is empty, the history
+     *     is kept in memory only.
+     * @param maxAgeSeconds
+     *     Time after which an entry is stale.
+     * @return {@link DynamicReconfigurationHistory}
+     */
+    public static DynamicReconfigurationHistory load(String fileName, long maxAgeSeconds) {
+        Path path = fileName.isEmpty() ? null : Paths.get(fileName);
+        DynamicReconfigurationHistory history = new DynamicReconfigurationHistory(path, maxAgeSeconds * 1000);
+        if (path != null && Files.exists(path)) {
+            history.read();
+        }
+        return history;
+    }
+
+    /**
+     * It returns the power-of-two bucket of an input size.
+     */
+    public static int getSizeBucket(int inputSize) {
+        return Integer.SIZE - Integer.numberOfLeadingZeros(Math.max(inputSize, 0));
+    }
+
+    /**
+     * It looks for the device that won a previous execution of the same
+     * task-graph, with the same policy and an input size in the same bucket.
+     *
+     * @return The device index, or null if there is no entry or if the entry is
+     *     stale.
+     */
+    public synchronized Integer findDevice(Policy policy, String signature, int inputSize) {
+        TreeMap<Integer, Entry> table = tables.get(getKey(policy, signature));
+        if (table == null) {
+            return null;
+        }
+        final int bucket = getSizeBucket(inputSize);
+        Entry entry = table.get(bucket);
+        if (entry == null) {
+            return null;
+        }
+        if (isStale(entry, System.currentTimeMillis())) {
+            table.remove(bucket);
+            return null;
+        }
+        return entry.device();
+    }
+
+    /**
+     * It records the winning device for a task-graph and input size, and it
+     * persists the history if a file was provided.
+     */
+    public synchronized void update(Policy policy, String signature, int inputSize, int device, long time) {
+        tables.computeIfAbsent(getKey(policy, signature), _ -> new TreeMap<>()).put(getSizeBucket(inputSize), new Entry(device, time, System.currentTimeMillis()));
+        if (file != null) {
+            write();
+        }
+    }
+
+    /**
+     * It returns the entries that are not stale for a task-graph and policy,
+     * indexed by the input-size bucket.
+     */
+    public synchronized Map<Integer, Entry> getEntries(Policy policy, String signature) {
+        TreeMap<Integer, Entry> entries = new TreeMap<>();
+        TreeMap<Integer, Entry> table = tables.get(getKey(policy, signature));
+        if (table != null) {
+            final long now = System.currentTimeMillis();
+            table.forEach((bucket, entry) -> {
+                if (!isStale(entry, now)) {
+                    entries.put(bucket, entry);
+                }
+            });
+        }
+        return entries;
+    }
+
+    private boolean isStale(Entry entry, long now) {
+        return now - entry.timestamp() > maxAgeMillis;
+    }
+
+    private static String getKey(Policy policy, String signature) {
+        return policy.name() + SEPARATOR + signature;
+    }
+
+    private void read() {
+        final long now = System.currentTimeMillis();
+        try {
+            List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+            for (String line : lines) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                // The signature is the last field, so it can contain any character
+                // except the separator
+                String[] fields = line.split(SEPARATOR, 6);
+                if (fields.length != 6) {
+                    TornadoLogger.warn(STR."Skipping malformed entry in the dynamic reconfiguration history \{file}: \{line}");
+                    continue;
+                }
+                Policy policy = Policy.valueOf(fields[0]);
+                Entry entry = new Entry(Integer.parseInt(fields[2]), Long.parseLong(fields[3]), Long.parseLong(fields[4]));
+                if (!isStale(entry, now)) {
+                    tables.computeIfAbsent(getKey(policy, fields[5]), _ -> new TreeMap<>()).put(Integer.parseInt(fields[1]), entry);
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // A corrupted history only costs a new profiling run
+            TornadoLogger.warn(STR."Unable to load the dynamic reconfiguration history from \{file}: \{e.getMessage()}");
+            tables.clear();
+        }
+    }
+
+    private void write() {
+        final long now = System.currentTimeMillis();
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            // Write to a temporary file first, so that a concurrent reader never
+            // sees a partial history
+            Path tmp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                writer.write(HEADER);
+                writer.newLine();
+                for (Map.Entry<String, TreeMap<Integer, Entry>> table : tables.entrySet()) {
+                    String[] key = table.getKey().split(SEPARATOR, 2);
+                    for (Map.Entry<Integer, Entry> bucket : table.getValue().entrySet()) {
+                        Entry entry = bucket.getValue();
+                        if (isStale(entry, now)) {
+                            continue;
+                        }
+                        writer.write(String.join(SEPARATOR, key[0], Integer.toString(bucket.getKey()), Integer.toString(entry.device()), Long.toString(entry.time()), Long.toString(entry
+                                .timestamp()), key[1]));
+                        writer.newLine();
+                    }
+                }
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            TornadoLogger.warn(STR."Unable to save the dynamic reconfiguration history to \{file}: \{e.getMessage()}");
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime.tasks;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Set;
+
+import uk.ac.manchester.tornado.runtime.tasks.meta.ScheduleMetaData;
+
+/**
+ * A task that runs several {@link CompilableTask}s of a task-graph as a single
+ * kernel. The method of a fused task is generated: it calls the methods of the
+ * fused tasks in order, and the compiler inlines these calls.
+ */
+public class FusedTask extends CompilableTask {
+
+    private final List<CompilableTask> fusedTasks;
+    private final Set<Object> writtenBeforeRead;
+
+    public FusedTask(ScheduleMetaData meta, String id, Method method, List<CompilableTask> fusedTasks, Set<Object> writtenBeforeRead, Object... args) {
+        super(meta, id, method, args);
+        this.fusedTasks = fusedTasks;
+        this.writtenBeforeRead = writtenBeforeRead;
+    }
+
+    /**
+     * It returns the tasks that run in this kernel, in execution order.
+     *
+     * @return {@link List<CompilableTask>}
+     */
+    public List<CompilableTask> getFusedTasks() {
+        return fusedTasks;
+    }
+
+    /**
+     * It checks if the first fused task that accesses an object only writes it.
+     * Such an object does not need to be copied to the device before the kernel.
+     *
+     * @param object
+     *     Argument of the fused task.
+     * @return boolean
+     */
+    public boolean isWrittenBeforeRead(Object object) {
+        return writtenBeforeRead.contains(object);
+    }
+
+    /**
+     * It checks if a task of the task-graph was fused into this task, and it is
+     * not the first fused task, whose ID is the ID of this task.
+     *
+     * @param taskId
+     *     ID of a task, including the name of the task-graph.
+     * @return boolean
+     */
+    public boolean hasFusedAway(String taskId) {
+        return !taskId.equals(getId()) && fusedTasks.stream().anyMatch(task -> task.getId().equals(taskId));
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder buffer = new StringBuilder(super.toString());
+        for (CompilableTask task : fusedTasks) {
+            buffer.append("\nfused: ").append(task.getId()).append(" ").append(task.getMethod().getName()).append("()");
+        }
+        return buffer.toString();
+    }
+}
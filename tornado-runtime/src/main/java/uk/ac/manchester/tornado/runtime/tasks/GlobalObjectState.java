@@ -43,8 +43,11 @@ public class GlobalObjectState implements TornadoGlobalObjectState {
         if (!(device instanceof TornadoAcceleratorDevice)) {
             throw new TornadoRuntimeException("Device not compatible");
         }
-        deviceStates.computeIfAbsent((TornadoAcceleratorDevice) device, k -> new DeviceObjectState());
-        return deviceStates.get(device);
+        DeviceObjectState deviceState = deviceStates.get(device);
+        if (deviceState == null) {
+            deviceState = deviceStates.computeIfAbsent((TornadoAcceleratorDevice) device, k -> new DeviceObjectState());
+        }
+        return deviceState;
     }
 
     public void clear() {
@@ -0,0 +1,155 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime.tasks;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of the {@link GlobalObjectState} of every object used by a
+ * task-graph. Objects are compared by identity, not with
+ * {@link Object#equals(Object)}, so that two different arrays with the same
+ * contents get different device buffers. The registry only holds weak
+ * references to the objects: the state of an object is removed once the object
+ * is garbage collected.
+ *
+ * <p>
+ * The registry is safe to use from multiple threads. Looking up an object that
+ * is already registered takes a single lookup in a {@link ConcurrentHashMap}
+ * and does not take any lock.
+ * </p>
+ */
+public class GlobalObjectStateRegistry {
+
+    private final ConcurrentHashMap<IdentityKey, GlobalObjectState> states;
+    private final ReferenceQueue<Object> collectedObjects;
+
+    public GlobalObjectStateRegistry() {
+        states = new ConcurrentHashMap<>();
+        collectedObjects = new ReferenceQueue<>();
+    }
+
+    /**
+     * It returns the state of an object, and it registers a new state if the
+     * object is not registered yet.
+     *
+     * @param object
+     *     Object to look up.
+     * @return {@link GlobalObjectState}
+     */
+    public GlobalObjectState resolve(Object object) {
+        GlobalObjectState state = states.get(new LookupKey(object));
+        if (state == null) {
+            expungeCollectedObjects();
+            state = states.computeIfAbsent(new WeakKey(object, collectedObjects), key -> new GlobalObjectState());
+        }
+        return state;
+    }
+
+    /**
+     * It clears the device states of all registered objects and it empties the
+     * registry.
+     */
+    public void clear() {
+        for (GlobalObjectState state : states.values()) {
+            state.clear();
+        }
+        states.clear();
+        expungeCollectedObjects();
+    }
+
+    public int size() {
+        expungeCollectedObjects();
+        return states.size();
+    }
+
+    private void expungeCollectedObjects() {
+        for (Object key = collectedObjects.poll(); key != null; key = collectedObjects.poll()) {
+            states.remove(key);
+        }
+    }
+
+    /**
+     * Key of the registry. Two keys are equal if they refer to the same object.
+     */
+    private interface IdentityKey {
+        Object get();
+    }
+
+    private static boolean isSameObject(IdentityKey key, Object other) {
+        if (key == other) {
+            return true;
+        }
+        if (!(other instanceof IdentityKey otherKey)) {
+            return false;
+        }
+        final Object object = key.get();
+        return object != null && object == otherKey.get();
+    }
+
+    /**
+     * Key stored in the registry. It does not keep the object alive.
+     */
+    private static final class WeakKey extends WeakReference<Object> implements IdentityKey {
+        private final int hash;
+
+        WeakKey(Object object, ReferenceQueue<Object> queue) {
+            super(object, queue);
+            hash = System.identityHashCode(object);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return isSameObject(this, other);
+        }
+    }
+
+    /**
+     * Short-lived key used to look up an object without registering a weak
+     * reference.
+     */
+    private record LookupKey(Object object) implements IdentityKey {
+
+        @Override
+        public Object get() {
+            return object;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(object);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return isSameObject(this, other);
+        }
+    }
+}
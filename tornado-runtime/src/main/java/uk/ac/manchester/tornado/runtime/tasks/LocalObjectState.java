@@ -34,6 +34,9 @@ public class LocalObjectState {
     private boolean streamIn;
     private boolean forceStreamIn;
     private boolean streamOut;
+    private boolean streamInOnlyIfModified;
+    private boolean hostVisible;
+    private boolean transientObject;
 
     private final GlobalObjectState global;
 
@@ -59,6 +62,14 @@ public class LocalObjectState {
         return this.forceStreamIn;
     }
 
+    public boolean isStreamInOnlyIfModified() {
+        return streamInOnlyIfModified;
+    }
+
+    public void setStreamInOnlyIfModified(boolean streamInOnlyIfModified) {
+        this.streamInOnlyIfModified = streamInOnlyIfModified;
+    }
+
     public boolean isStreamOut() {
         return streamOut;
     }
@@ -67,6 +78,31 @@ public class LocalObjectState {
         this.streamOut = streamOut;
     }
 
+    /**
+     * An object is host-visible if it is listed in a {@code transferToDevice} or
+     * {@code transferToHost} call of the task-graph.
+     */
+    public boolean isHostVisible() {
+        return hostVisible;
+    }
+
+    public void setHostVisible(boolean hostVisible) {
+        this.hostVisible = hostVisible;
+    }
+
+    /**
+     * A transient object lives only on the device: it is allocated once, it is
+     * never transferred in either direction, and its device buffer can be shared
+     * with other transient objects of the task-graph.
+     */
+    public boolean isTransient() {
+        return transientObject;
+    }
+
+    public void setTransient(boolean transientObject) {
+        this.transientObject = transientObject;
+    }
+
     public GlobalObjectState getGlobalState() {
         return global;
     }
@@ -82,6 +118,6 @@ public class LocalObjectState {
 
     @Override
     public String toString() {
-        return (streamIn ? "SI" : "--") + (streamOut ? "SO" : "--") + " " + global.toString() + " ";
+        return (streamIn ? "SI" : "--") + (streamOut ? "SO" : "--") + (transientObject ? "TR" : "--") + " " + global.toString() + " ";
     }
 }
@@ -0,0 +1,108 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime.tasks;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
+import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
+
+/**
+ * It decides if a task is compiled with the bounds of its parallel loops
+ * passed at runtime ({@code tornado.loop.bounds.dynamic}), or specialised for
+ * the sizes of its current input.
+ *
+ * <p>
+ * Dynamic loop bounds let one kernel serve all input sizes. If
+ * {@code tornado.loop.bounds.hotSizes} is set, the sizes that are launched
+ * that number of times are considered hot, and they get a kernel specialised
+ * for them.
+ * </p>
+ */
+public final class LoopBoundSpecialisation {
+
+    /**
+     * Upper bound of the number of input sizes tracked. The counters are reset
+     * when it is reached, so an input that changes all the time does not grow
+     * the table.
+     */
+    private static final int MAX_TRACKED_SIZES = 4096;
+
+    // Number of launches per method and input sizes
+    private static final ConcurrentHashMap<List<Object>, Integer> sizeCounters = new ConcurrentHashMap<>();
+
+    private LoopBoundSpecialisation() {
+    }
+
+    public static boolean shouldUseDynamicLoopBounds(CompilableTask task) {
+        // Batches and worker grids set the loop bounds by themselves
+        if (!TornadoOptions.DYNAMIC_LOOP_BOUNDS || task.getBatchThreads() > 0 || task.meta().isGridSchedulerEnabled()) {
+            return false;
+        }
+        if (TornadoOptions.DYNAMIC_LOOP_BOUNDS_HOT_SIZE_THRESHOLD <= 0) {
+            return true;
+        }
+        return sizeCounters.getOrDefault(getSizeSignature(task), 0) < TornadoOptions.DYNAMIC_LOOP_BOUNDS_HOT_SIZE_THRESHOLD;
+    }
+
+    /**
+     * It counts a launch of a task with its current input sizes.
+     *
+     * @return true if the sizes have just become hot with this launch, so a
+     *     task compiled with dynamic loop bounds has to be compiled again.
+     */
+    public static boolean recordLaunch(CompilableTask task) {
+        if (!TornadoOptions.DYNAMIC_LOOP_BOUNDS || TornadoOptions.DYNAMIC_LOOP_BOUNDS_HOT_SIZE_THRESHOLD <= 0) {
+            return false;
+        }
+        if (sizeCounters.size() >= MAX_TRACKED_SIZES) {
+            sizeCounters.clear();
+        }
+        final int count = sizeCounters.merge(getSizeSignature(task), 1, Integer::sum);
+        return count == TornadoOptions.DYNAMIC_LOOP_BOUNDS_HOT_SIZE_THRESHOLD;
+    }
+
+    private static List<Object> getSizeSignature(CompilableTask task) {
+        final Object[] arguments = task.getArguments();
+        List<Object> signature = new ArrayList<>(arguments.length + 1);
+        signature.add(task.getMethod());
+        for (Object arg : arguments) {
+            if (arg == null) {
+                signature.add(null);
+            } else if (arg.getClass().isArray()) {
+                signature.add(Array.getLength(arg));
+            } else if (arg instanceof TornadoNativeArray nativeArray) {
+                signature.add(nativeArray.getSize());
+            } else if (arg instanceof Integer value) {
+                signature.add(value);
+            } else {
+                signature.add(null);
+            }
+        }
+        return signature;
+    }
+}
@@ -93,6 +93,8 @@ class ReduceTaskGraph {
     private List<HybridThreadMeta> hybridThreadMetas;
     private Map<Object, Object> neutralElementsNew = new HashMap<>();
     private Map<Object, Object> neutralElementsOriginal = new HashMap<>();
+    private Map<Object, Object> initialValues = new HashMap<>();
+    private Map<Object, REDUCE_OPERATION> initialValueOperations = new HashMap<>();
     private TaskGraph rewrittenTaskGraph;
     private Map<Object, List<Integer>> reduceOperandTable;
     private boolean hybridMode;
@@ -374,13 +376,12 @@ class ReduceTaskGraph {
         }
     }
 
-    private Object createHostArrayForHybridMode(Object originalReduceArray, TaskPackage taskPackage, int sizeTargetDevice) {
+    private Object createHostArrayForHybridMode(Object originalReduceArray, Object neutralElement, TaskPackage taskPackage, int sizeTargetDevice) {
         hybridMode = true;
         if (hostHybridVariables == null) {
             hostHybridVariables = new HashMap<>();
         }
         Object hybridArray = createNewReduceArray(originalReduceArray);
-        Object neutralElement = getNeutralElement(originalReduceArray);
         fillOutputArrayWithNeutral(hybridArray, neutralElement);
         taskPackage.setNumThreadsToRun(sizeTargetDevice);
         return hybridArray;
@@ -458,6 +459,20 @@ class ReduceTaskGraph {
 
                     updateGlobalAndLocalDimensionsFPGA(deviceToRun, taskScheduleReduceName, taskPackage, inputSize);
 
+                    // Reductions found by the auto-parallelisation start from the initial value of
+                    // the accumulator, instead of the value of the array
+                    Object neutralElement = metaReduceTasks.getNeutralElement(paramIndex);
+                    if (neutralElement == null) {
+                        neutralElement = getNeutralElement(originalReduceArray);
+                    }
+
+                    // The value of the array is then combined once with the final result
+                    REDUCE_OPERATION initialValueOperation = metaReduceTasks.getInitialValueOperation(paramIndex);
+                    if (initialValueOperation != null) {
+                        initialValues.put(originalReduceArray, getNeutralElement(originalReduceArray));
+                        initialValueOperations.put(originalReduceArray, initialValueOperation);
+                    }
+
                     // Analyse Input Size - if not power of 2 -> split host and device executions
                     boolean isInputPowerOfTwo = isPowerOfTwo(inputSize);
                     Object hostHybridModeArray = null;
@@ -468,14 +483,13 @@ class ReduceTaskGraph {
                         inputSize -= elementsReductionLeftOver;
                         final int sizeTargetDevice = inputSize;
                         if (isTaskEligibleSplitHostAndDevice(deviceToRun, elementsReductionLeftOver)) {
-                            hostHybridModeArray = createHostArrayForHybridMode(originalReduceArray, taskPackage, sizeTargetDevice);
+                            hostHybridModeArray = createHostArrayForHybridMode(originalReduceArray, neutralElement, taskPackage, sizeTargetDevice);
                         }
                     }
 
                     // Set the new array size
                     int sizeReductionArray = obtainSizeArrayResult(driverToRun, deviceToRun, inputSize);
                     Object newDeviceArray = createNewReduceArray(originalReduceArray, sizeReductionArray);
-                    Object neutralElement = getNeutralElement(originalReduceArray);
                     fillOutputArrayWithNeutral(newDeviceArray, neutralElement);
 
                     neutralElementsNew.put(newDeviceArray, neutralElement);
@@ -577,6 +591,9 @@ class ReduceTaskGraph {
                             case MUL -> ReduceFactory.handleMul(newArray, rewrittenTaskGraph, sizeReduceArray, newTaskSequentialName);
                             case MAX -> ReduceFactory.handleMax(newArray, rewrittenTaskGraph, sizeReduceArray, newTaskSequentialName);
                             case MIN -> ReduceFactory.handleMin(newArray, rewrittenTaskGraph, sizeReduceArray, newTaskSequentialName);
+                            case AND -> ReduceFactory.handleAnd(newArray, rewrittenTaskGraph, sizeReduceArray, newTaskSequentialName);
+                            case OR -> ReduceFactory.handleOr(newArray, rewrittenTaskGraph, sizeReduceArray, newTaskSequentialName);
+                            case XOR -> ReduceFactory.handleXor(newArray, rewrittenTaskGraph, sizeReduceArray, newTaskSequentialName);
                             default -> throw new TornadoRuntimeException("[ERROR] Reduce operation not supported yet.");
                         }
 
@@ -692,6 +709,9 @@ class ReduceTaskGraph {
             case MUL -> a * b;
             case MAX -> Math.max(a, b);
             case MIN -> Math.min(a, b);
+            case AND -> a & b;
+            case OR -> a | b;
+            case XOR -> a ^ b;
             default -> throw new TornadoRuntimeException(OPERATION_NOT_SUPPORTED_MESSAGE);
         };
     }
@@ -722,6 +742,9 @@ class ReduceTaskGraph {
             case MUL -> a * b;
             case MAX -> Math.max(a, b);
             case MIN -> Math.min(a, b);
+            case AND -> a & b;
+            case OR -> a | b;
+            case XOR -> a ^ b;
             default -> throw new TornadoRuntimeException(OPERATION_NOT_SUPPORTED_MESSAGE);
         };
     }
@@ -793,6 +816,11 @@ class ReduceTaskGraph {
      * If the hybrid mode is enabled, it performs the final 1D reduction between the
      * two elements left (one from the accelerator and the other from the CPU)
      * </p>
+     *
+     * <p>
+     * Reductions found by the auto-parallelisation that start from the identity of
+     * the operation are then combined once with the initial value of the array.
+     * </p>
      */
     private void updateOutputArrays() {
         joinHostThreads();
@@ -805,6 +833,19 @@ class ReduceTaskGraph {
                 updateVariableFromAccelerator(originalReduceVariable, newArray);
             }
         }
+        for (Entry<Object, Object> pair : initialValues.entrySet()) {
+            applyInitialValue(pair.getKey(), pair.getValue(), initialValueOperations.get(pair.getKey()));
+        }
+    }
+
+    private void applyInitialValue(Object originalReduceVariable, Object initialValue, REDUCE_OPERATION operation) {
+        switch (originalReduceVariable) {
+            case int[] intArray -> intArray[0] = operateFinalReduction((int) initialValue, intArray[0], operation);
+            case float[] floatArray -> floatArray[0] = operateFinalReduction((float) initialValue, floatArray[0], operation);
+            case double[] doubleArray -> doubleArray[0] = operateFinalReduction((double) initialValue, doubleArray[0], operation);
+            case long[] longArray -> longArray[0] = operateFinalReduction((long) initialValue, longArray[0], operation);
+            default -> throw new TornadoRuntimeException(STR."[ERROR] Reduce data type not supported yet: \{originalReduceVariable.getClass().getTypeName()}");
+        }
     }
 
     private static class ReduceCompilationThread extends Thread {
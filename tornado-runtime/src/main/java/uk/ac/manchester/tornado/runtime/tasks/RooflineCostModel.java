@@ -0,0 +1,148 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime.tasks;
+
+import uk.ac.manchester.tornado.api.Policy;
+import uk.ac.manchester.tornado.runtime.profiler.ProfilerCodeFeatures;
+
+/**
+ * Default {@link DeviceCostModel} of the dynamic reconfiguration. Each task is
+ * bound either by the arithmetic throughput or by the memory bandwidth of the
+ * device, whichever is slower, plus the cost of launching the task. The
+ * throughput is derived from the compute units and the frequency reported by
+ * the device, and the bandwidth from the class of the device.
+ *
+ * <p>
+ * The numbers are rough on purpose: they only need to rank the devices until
+ * the runtime has observed real times.
+ * </p>
+ */
+public final class RooflineCostModel implements DeviceCostModel {
+
+    private static final int DEFAULT_FREQUENCY = 2000;
+
+    // Weight of each math intrinsic, relative to a simple operation
+    private static final int FLOAT_MATH_WEIGHT = 8;
+    private static final int INT_MATH_WEIGHT = 4;
+    // Extra cost of double precision on accelerators
+    private static final int DOUBLE_WEIGHT = 7;
+    private static final int BYTES_PER_ACCESS = 4;
+
+    // Bandwidth of the PCIe link between the host and a discrete device, in
+    // bytes per nanosecond (GB/s)
+    private static final double LINK_BANDWIDTH = 12.0;
+    private static final double HOST_COPY_BANDWIDTH = 20.0;
+
+    @Override
+    public long predict(Policy policy, Workload workload, Device device) {
+        double time = 0;
+        for (Kernel kernel : workload.kernels()) {
+            time += predictKernel(kernel, device);
+        }
+        if (!device.host() && (policy == Policy.END_2_END || policy == Policy.LATENCY)) {
+            double linkBandwidth = switch (device.type()) {
+                case CPU -> HOST_COPY_BANDWIDTH;
+                default -> LINK_BANDWIDTH;
+            };
+            time += workload.transferBytes() / linkBandwidth;
+        }
+        return (long) time;
+    }
+
+    private static double predictKernel(Kernel kernel, Device device) {
+        final boolean parallel = kernel.getFeature(ProfilerCodeFeatures.PARALLEL_LOOPS) > 0;
+
+        double ops = kernel.getFeature(ProfilerCodeFeatures.INTEGER_OPS) + kernel.getFeature(ProfilerCodeFeatures.FLOAT_OPS) //
+                + kernel.getFeature(ProfilerCodeFeatures.CAST) + kernel.getFeature(ProfilerCodeFeatures.IFS) //
+                + kernel.getFeature(ProfilerCodeFeatures.I_CMP) + kernel.getFeature(ProfilerCodeFeatures.F_CMP) //
+                + FLOAT_MATH_WEIGHT * kernel.getFeature(ProfilerCodeFeatures.F_MATH) //
+                + INT_MATH_WEIGHT * kernel.getFeature(ProfilerCodeFeatures.I_MATH);
+        if (!device.host()) {
+            ops += DOUBLE_WEIGHT * kernel.getFeature(ProfilerCodeFeatures.DOUBLES);
+        }
+        ops = Math.max(ops, 1);
+        final double bytes = BYTES_PER_ACCESS * (kernel.getFeature(ProfilerCodeFeatures.GLOBAL_LOADS) + kernel.getFeature(ProfilerCodeFeatures.GLOBAL_STORES));
+
+        // The trip count of the sequential loops is unknown. Nested loops usually
+        // traverse one dimension of the input, so each of them is assumed to run
+        // sqrt(n) iterations.
+        final int sequentialLoops = Math.min(Math.max(kernel.getFeature(ProfilerCodeFeatures.LOOPS) - kernel.getFeature(ProfilerCodeFeatures.PARALLEL_LOOPS), 0), 2);
+        final long iterations = Math.max(kernel.iterations(), 1);
+        final double work = iterations * Math.pow(Math.sqrt(iterations), sequentialLoops);
+
+        // A task without parallel loops runs on a single thread
+        final int computeUnits = parallel ? Math.max(device.computeUnits(), 1) : 1;
+        final int lanes = parallel ? getLanes(device) : 1;
+        final int frequency = device.frequency() > 0 ? device.frequency() : DEFAULT_FREQUENCY;
+        // Operations per nanosecond
+        final double throughput = computeUnits * lanes * (frequency / 1000.0);
+
+        final double computeTime = work * ops / throughput;
+        final double memoryTime = work * bytes / getBandwidth(device, parallel);
+        return getLaunchOverhead(device) + Math.max(computeTime, memoryTime);
+    }
+
+    /**
+     * Number of operations that a compute unit issues per cycle.
+     */
+    private static int getLanes(Device device) {
+        if (device.host()) {
+            return 1;
+        }
+        return switch (device.type()) {
+            case GPU -> 64;
+            case ACCELERATOR -> 32;
+            case FPGA -> 16;
+            default -> 8;
+        };
+    }
+
+    /**
+     * Memory bandwidth, in bytes per nanosecond (GB/s).
+     */
+    private static double getBandwidth(Device device, boolean parallel) {
+        if (device.host()) {
+            return parallel && device.computeUnits() > 1 ? 20.0 : 10.0;
+        }
+        return switch (device.type()) {
+            case GPU -> 300.0;
+            case ACCELERATOR -> 100.0;
+            case FPGA -> 20.0;
+            default -> 40.0;
+        };
+    }
+
+    /**
+     * Time, in nanoseconds, to launch a task.
+     */
+    private static double getLaunchOverhead(Device device) {
+        if (device.host()) {
+            return device.computeUnits() > 1 ? 10_000 : 0;
+        }
+        return switch (device.type()) {
+            case FPGA -> 100_000;
+            default -> 20_000;
+        };
+    }
+}
@@ -29,6 +29,7 @@ import java.io.IOException;
 import java.lang.foreign.MemorySegment;
 import java.lang.reflect.Array;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.util.ArrayList;
@@ -37,18 +38,24 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
-import java.util.TreeMap;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.graalvm.compiler.graph.Graph;
+import org.graalvm.compiler.nodes.StructuredGraph;
 import org.graalvm.compiler.phases.util.Providers;
 
 import jdk.vm.ci.meta.ResolvedJavaMethod;
@@ -59,6 +66,7 @@ import uk.ac.manchester.tornado.api.Policy;
 import uk.ac.manchester.tornado.api.TaskGraph;
 import uk.ac.manchester.tornado.api.TornadoDriver;
 import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.TornadoTargetDevice;
 import uk.ac.manchester.tornado.api.TornadoTaskGraphInterface;
 import uk.ac.manchester.tornado.api.common.Event;
 import uk.ac.manchester.tornado.api.common.PrebuiltTaskPackage;
@@ -88,17 +96,25 @@ import uk.ac.manchester.tornado.api.exceptions.TornadoBailoutRuntimeException;
 import uk.ac.manchester.tornado.api.exceptions.TornadoDynamicReconfigurationException;
 import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
 import uk.ac.manchester.tornado.api.exceptions.TornadoTaskRuntimeException;
+import uk.ac.manchester.tornado.api.memory.ObjectBuffer;
 import uk.ac.manchester.tornado.api.profiler.ProfilerType;
 import uk.ac.manchester.tornado.api.profiler.TornadoProfiler;
 import uk.ac.manchester.tornado.api.runtime.TornadoRuntime;
+import uk.ac.manchester.tornado.api.types.arrays.ByteArray;
+import uk.ac.manchester.tornado.api.types.arrays.CharArray;
 import uk.ac.manchester.tornado.api.types.arrays.DoubleArray;
 import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.api.types.arrays.HalfFloatArray;
 import uk.ac.manchester.tornado.api.types.arrays.IntArray;
 import uk.ac.manchester.tornado.api.types.arrays.LongArray;
 import uk.ac.manchester.tornado.api.types.arrays.ShortArray;
+import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
+import uk.ac.manchester.tornado.runtime.EventPoller;
 import uk.ac.manchester.tornado.runtime.TornadoCoreRuntime;
 import uk.ac.manchester.tornado.runtime.TornadoVM;
+import uk.ac.manchester.tornado.runtime.analyzer.KernelFusion;
 import uk.ac.manchester.tornado.runtime.analyzer.MetaReduceCodeAnalysis;
+import uk.ac.manchester.tornado.runtime.analyzer.MultiCoreJavaCode;
 import uk.ac.manchester.tornado.runtime.analyzer.ReduceCodeAnalysis;
 import uk.ac.manchester.tornado.runtime.analyzer.TaskUtils;
 import uk.ac.manchester.tornado.runtime.common.DeviceObjectState;
@@ -107,12 +123,16 @@ import uk.ac.manchester.tornado.runtime.common.Tornado;
 import uk.ac.manchester.tornado.runtime.common.TornadoAcceleratorDevice;
 import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 import uk.ac.manchester.tornado.runtime.common.TornadoVMClient;
+import uk.ac.manchester.tornado.runtime.common.enums.DataTypeSize;
 import uk.ac.manchester.tornado.runtime.graal.compiler.TornadoSuitesProvider;
 import uk.ac.manchester.tornado.runtime.graph.TornadoExecutionContext;
 import uk.ac.manchester.tornado.runtime.graph.TornadoGraph;
 import uk.ac.manchester.tornado.runtime.graph.TornadoGraphBuilder;
 import uk.ac.manchester.tornado.runtime.graph.TornadoVMBytecodeBuilder;
+import uk.ac.manchester.tornado.runtime.graph.TransientBufferPlanner;
+import uk.ac.manchester.tornado.runtime.graph.TransientBufferPlanner.BufferSlot;
 import uk.ac.manchester.tornado.runtime.profiler.EmptyProfiler;
+import uk.ac.manchester.tornado.runtime.profiler.FeatureExtractionUtilities;
 import uk.ac.manchester.tornado.runtime.profiler.TimeProfiler;
 import uk.ac.manchester.tornado.runtime.sketcher.Sketch;
 import uk.ac.manchester.tornado.runtime.sketcher.SketchRequest;
@@ -133,13 +153,14 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
     private static final int PERFORMANCE_WARMUP_DYNAMIC_RECONF_PARALLEL = 3;
     private static final boolean TIME_IN_NANOSECONDS = TornadoOptions.TIME_IN_NANOSECONDS;
     private static final String TASK_GRAPH_PREFIX = "XXX";
-    private static final ConcurrentHashMap<Policy, ConcurrentHashMap<String, HistoryTable>> executionHistoryPolicy = new ConcurrentHashMap<>();
+    private static final DynamicReconfigurationHistory executionHistory = DynamicReconfigurationHistory.load(TornadoOptions.DYNAMIC_RECONFIGURATION_HISTORY_FILE,
+            TornadoOptions.DYNAMIC_RECONFIGURATION_HISTORY_MAX_AGE);
 
     private static final boolean USE_GLOBAL_TASK_CACHE = false;
 
     private static final String RESET = "\u001B[0m";
     private static final String RED = "\u001B[31m";
-    private static final String WARNING_DEOPT_MESSAGE = RED + "WARNING: Code Bailout to Java sequential. Use --debug to see the reason" + RESET;
+    private static final String WARNING_DEOPT_MESSAGE = RED + "WARNING: Code Bailout to Java. Use --debug to see the reason" + RESET;
     private static final CompileInfo COMPILE_ONLY = new CompileInfo(true, false);
     private static final CompileInfo COMPILE_AND_UPDATE = new CompileInfo(true, true);
     private static final CompileInfo NOT_COMPILE_UPDATE = new CompileInfo(false, false);
@@ -147,7 +168,6 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
     private static final int MAX_ITERATIONS_DYNAMIC_RECONF_SEQUENTIAL = 100;
 
     private static ConcurrentHashMap<Integer, TaskGraph> globalTaskGraphIndex = new ConcurrentHashMap<>();
-    private static int baseGlobalIndex = 0;
     private static AtomicInteger offsetGlobalIndex = new AtomicInteger(0);
     MetaReduceCodeAnalysis analysisTaskGraph;
     private TornadoExecutionContext executionContext;
@@ -175,6 +195,18 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
     private ConcurrentHashMap<Integer, ArrayList<Object>> multiHeapManagerOutputs = new ConcurrentHashMap<>();
     private ConcurrentHashMap<Integer, ArrayList<Object>> multiHeapManagerInputs = new ConcurrentHashMap<>();
     private ConcurrentHashMap<Integer, TaskGraph> taskGraphIndex = new ConcurrentHashMap<>();
+    /**
+     * Features of the tasks used by the dynamic reconfiguration with a cost
+     * model, and the devices in which the task-graph has already been compiled.
+     */
+    private DeviceCostModel.Workload costModelWorkload;
+    private Set<Integer> costModelCompiledDevices = ConcurrentHashMap.newKeySet();
+    /**
+     * Multi-core Java code of each task, used by the Java fallback and by the Java
+     * contender of the dynamic reconfiguration. It is empty for the tasks that run
+     * with the sequential Java code.
+     */
+    private ConcurrentHashMap<String, Optional<MultiCoreJavaCode>> javaCodes = new ConcurrentHashMap<>();
     private StringBuilder bufferLogProfiler = new StringBuilder();
     private Graph compilationGraph;
     /**
@@ -191,6 +223,23 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
     private ProfilerMode profilerMode;
 
     private boolean cocurrentDevices;
+    private boolean backgroundCompilation;
+
+    /**
+     * Set while an asynchronous execution is scheduled. The completion is set by
+     * {@link #scheduleInner()} when the bytecodes are enqueued without waiting,
+     * and it stays null when the task-graph runs synchronously.
+     */
+    private boolean asyncExecution;
+    private CompletableFuture<Void> asyncCompletion;
+
+    /**
+     * Last task added to the task-graph, which can be fused with the next task.
+     */
+    private FusionCandidate lastTask;
+
+    private record FusionCandidate(CompilableTask task, int index, int globalTaskId, int position) {
+    }
 
     /**
      * Task Schedule implementation that uses GPU/FPGA and multicore backends. This constructor must be public. It is invoked using the reflection API.
@@ -419,7 +468,7 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
 
     @Override
     public Collection<?> getOutputs() {
-        return streamOutObjects;
+        return streamOutObjects.stream().filter(object -> !executionContext.getObjectState(object).isTransient()).toList();
     }
 
     @Override
@@ -449,6 +498,19 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
         this.cocurrentDevices = false;
     }
 
+    @Override
+    public void withBackgroundCompilation() {
+        this.backgroundCompilation = true;
+        setupProfiler();
+        compileToTornadoVMBytecode();
+        vm.compileInBackground();
+    }
+
+    @Override
+    public void withoutBackgroundCompilation() {
+        this.backgroundCompilation = false;
+    }
+
     @Override
     public void withThreadInfo() {
         meta().enableThreadInfo();
@@ -459,6 +521,16 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
         meta().disableThreadInfo();
     }
 
+    @Override
+    public void withAutotuning() {
+        meta().enableAutotuning();
+    }
+
+    @Override
+    public void withoutAutotuning() {
+        meta().disableAutotuning();
+    }
+
     @Override
     public void withPrintKernel() {
         meta().enablePrintKernel();
@@ -529,6 +601,7 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
 
     @Override
     public void setDevice(String taskName, TornadoDevice device) {
+        checkNotFusedAway(taskName);
 
         TornadoDevice oldDevice = meta().getLogicDevice();
 
@@ -565,42 +638,52 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
     }
 
     private void updateInner(int index, SchedulableTask task) {
-        int driverIndex = task.meta().getDriverIndex();
-        Providers providers = TornadoCoreRuntime.getTornadoRuntime().getDriver(driverIndex).getProviders();
-        TornadoSuitesProvider suites = TornadoCoreRuntime.getTornadoRuntime().getDriver(driverIndex).getSuitesProvider();
-
         executionContext.setTask(index, task);
+        lastTask = null;
 
         if (task instanceof CompilableTask compilableTask) {
-            final ResolvedJavaMethod resolvedMethod = TornadoCoreRuntime.getTornadoRuntime().resolveMethod(compilableTask.getMethod());
-            final TaskMetaData taskMetaData = compilableTask.meta();
-            new SketchRequest(resolvedMethod, providers, suites.getGraphBuilderSuite(), suites.getSketchTier(), taskMetaData.getDriverIndex(), taskMetaData.getDeviceIndex()).run();
-
-            Sketch sketchGraph = TornadoSketcher.lookup(resolvedMethod, taskMetaData.getDriverIndex(), taskMetaData.getDeviceIndex());
-            this.compilationGraph = sketchGraph.getGraph();
+            this.compilationGraph = buildSketch(compilableTask).getGraph();
         }
     }
 
     @Override
     public void addInner(SchedulableTask task) {
-        int driverIndex = task.meta().getDriverIndex();
-        Providers providers = TornadoCoreRuntime.getTornadoRuntime().getDriver(driverIndex).getProviders();
-        TornadoSuitesProvider suites = TornadoCoreRuntime.getTornadoRuntime().getDriver(driverIndex).getSuitesProvider();
+        if (TornadoOptions.isKernelFusionEnabled() && fuseWithLastTask(task)) {
+            return;
+        }
 
         int index = executionContext.addTask(task);
 
         if (task instanceof CompilableTask compilableTask) {
-            final ResolvedJavaMethod resolvedMethod = TornadoCoreRuntime.getTornadoRuntime().resolveMethod(compilableTask.getMethod());
-            final TaskMetaData taskMetaData = compilableTask.meta();
-            new SketchRequest(resolvedMethod, providers, suites.getGraphBuilderSuite(), suites.getSketchTier(), taskMetaData.getDriverIndex(), taskMetaData.getDeviceIndex()).run();
+            this.compilationGraph = buildSketch(compilableTask).getGraph();
+        }
 
-            Sketch lookup = TornadoSketcher.lookup(resolvedMethod, compilableTask.meta().getDriverIndex(), compilableTask.meta().getDeviceIndex());
-            this.compilationGraph = lookup.getGraph();
+        int position = hlBuffer.position();
+        int globalTaskId = executionContext.getTaskCountAndIncrement();
+        emitTaskBitcodes(globalTaskId, index, task);
+
+        if (task instanceof CompilableTask compilableTask) {
+            lastTask = new FusionCandidate(compilableTask, index, globalTaskId, position);
+        } else {
+            lastTask = null;
         }
+    }
+
+    private Sketch buildSketch(CompilableTask task) {
+        int driverIndex = task.meta().getDriverIndex();
+        Providers providers = TornadoCoreRuntime.getTornadoRuntime().getDriver(driverIndex).getProviders();
+        TornadoSuitesProvider suites = TornadoCoreRuntime.getTornadoRuntime().getDriver(driverIndex).getSuitesProvider();
+
+        final ResolvedJavaMethod resolvedMethod = TornadoCoreRuntime.getTornadoRuntime().resolveMethod(task.getMethod());
+        final TaskMetaData taskMetaData = task.meta();
+        new SketchRequest(resolvedMethod, providers, suites.getGraphBuilderSuite(), suites.getSketchTier(), taskMetaData.getDriverIndex(), taskMetaData.getDeviceIndex()).run();
+
+        return TornadoSketcher.lookup(resolvedMethod, taskMetaData.getDriverIndex(), taskMetaData.getDeviceIndex());
+    }
 
+    private void emitTaskBitcodes(int globalTaskId, int index, SchedulableTask task) {
         // Prepare Initial Graph before the TornadoVM bytecode generation
         hlBuffer.put(TornadoGraphBitcodes.CONTEXT.index());
-        int globalTaskId = executionContext.getTaskCountAndIncrement();
         hlBuffer.putInt(globalTaskId);
         hlBuffer.putInt(index);
 
@@ -610,19 +693,60 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
         hlBuffer.putInt(args.length);
 
         for (final Object arg : args) {
-            index = executionContext.insertVariable(arg);
+            int variableIndex = executionContext.insertVariable(arg);
             if (arg.getClass().isPrimitive() || RuntimeUtilities.isBoxedPrimitiveClass(arg.getClass())) {
                 hlBuffer.put(TornadoGraphBitcodes.LOAD_PRIM.index());
             } else {
                 hlBuffer.put(TornadoGraphBitcodes.LOAD_REF.index());
             }
-            hlBuffer.putInt(index);
+            hlBuffer.putInt(variableIndex);
         }
 
         // launch code
         hlBuffer.put(TornadoGraphBitcodes.LAUNCH.index());
     }
 
+    /**
+     * It fuses a task with the last task added to the task-graph. The fused task
+     * replaces the last task, and its bitcodes replace the bitcodes of the last
+     * task, which are always at the end of the buffer.
+     *
+     * @param task
+     *     Task to add.
+     * @return true if the task was fused.
+     */
+    private boolean fuseWithLastTask(SchedulableTask task) {
+        if (lastTask == null || !(task instanceof CompilableTask compilableTask)) {
+            return false;
+        }
+        final CompilableTask producer = lastTask.task();
+        FusedTask fusedTask = KernelFusion.fuse(meta(), producer, buildSketch(producer), compilableTask, buildSketch(compilableTask));
+        if (fusedTask == null) {
+            return false;
+        }
+
+        Sketch fusedSketch;
+        try {
+            fusedSketch = buildSketch(fusedTask);
+        } catch (TornadoBailoutRuntimeException e) {
+            // The tasks run as separate kernels
+            return false;
+        }
+        if (!KernelFusion.isFullyInlined(fusedSketch)) {
+            return false;
+        }
+
+        if (Tornado.DEBUG) {
+            System.out.println(STR."[DEBUG] Task \{compilableTask.getId()} fused into task \{producer.getId()}");
+        }
+        executionContext.setTask(lastTask.index(), fusedTask);
+        hlBuffer.position(lastTask.position());
+        emitTaskBitcodes(lastTask.globalTaskId(), lastTask.index(), fusedTask);
+        lastTask = new FusionCandidate(fusedTask, lastTask.index(), lastTask.globalTaskId(), lastTask.position());
+        this.compilationGraph = fusedSketch.getGraph();
+        return true;
+    }
+
     private void logTaskMethodHandle(SchedulableTask task) {
         if ((task.getTaskName() != null) && (task.getId() != null)) {
             String methodName = (task instanceof PrebuiltTask prebuiltTask)
@@ -694,7 +818,7 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
             return COMPILE_AND_UPDATE;
         }
 
-        if (updateData && (gridScheduler == null || !hasWorkerGridForAllTasks())) {
+        if (updateData && !hasRuntimeLoopBoundsForAllTasks()) {
             return COMPILE_ONLY;
         }
 
@@ -706,16 +830,18 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
     }
 
     /*
-     * TornadoVM should not recompile if there is a worker grid for each task.
-     * Otherwise, there is a combination of the
-     *
-     * @Parallel API and the Grid Task. The @Parallel task might need the loop bound
-     * updated. TODO This check will no longer be needed once we pass the loop
-     * bounds via the call wrapper instead of constant folding.
+     * TornadoVM should not recompile if the loop bounds of each task are set at
+     * runtime: either there is a worker grid for the task, or the task was compiled
+     * with dynamic loop bounds (tornado.loop.bounds.dynamic) and all its parallel
+     * loops read the bounds from the call wrapper. Otherwise, the @Parallel task
+     * might need the loop bound updated.
      */
-    private boolean hasWorkerGridForAllTasks() {
-        for (TaskPackage taskPackage : taskPackages) {
-            if (!gridScheduler.contains(taskGraphName, taskPackage.getId())) {
+    private boolean hasRuntimeLoopBoundsForAllTasks() {
+        for (int i = 0; i < executionContext.getTaskCount(); i++) {
+            SchedulableTask task = executionContext.getTask(i);
+            boolean hasWorkerGrid = gridScheduler != null && gridScheduler.get(task.getId()) != null;
+            boolean hasDynamicDomain = task instanceof CompilableTask compilableTask && compilableTask.meta().hasDynamicDomain();
+            if (!hasWorkerGrid && !hasDynamicDomain) {
                 return false;
             }
         }
@@ -805,7 +931,7 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
 
     private void dumpDeoptReason(TornadoBailoutRuntimeException e) {
         if (!Tornado.DEBUG) {
-            System.err.println(STR."\{RED}[Bailout] Running the sequential implementation. Enable --debug to see the reason.\{RESET}");
+            System.err.println(STR."\{RED}[Bailout] Running the Java implementation. Enable --debug to see the reason.\{RESET}");
         } else {
             System.err.println(e.getMessage());
             for (StackTraceElement s : e.getStackTrace()) {
@@ -815,24 +941,32 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
     }
 
     private void deoptimizeToSequentialJava(TornadoBailoutRuntimeException e) {
-        // Execute the sequential code
+        // Execute the Java code, multi-core unless the sequential fallback is enabled
         dumpDeoptReason(e);
-        runAllTasksJavaSequential();
+        runAllTasksJava();
     }
 
     @Override
     public void scheduleInner() {
 
         boolean compile = compileToTornadoVMBytecode();
+        allocateTransientObjects();
         TornadoAcceleratorDevice deviceForTask = executionContext.getDeviceForTask(0);
         if (compile && deviceForTask.getDeviceContext().isPlatformFPGA()) {
             preCompilationForFPGA();
+        } else if (compile && backgroundCompilation) {
+            vm.compileInBackground();
         }
 
         try {
-            event = vm.execute(cocurrentDevices, timeProfiler);
-            timeProfiler.stop(ProfilerType.TOTAL_TASK_GRAPH_TIME);
-            updateProfiler();
+            if (asyncExecution && canEnqueueAsync(deviceForTask)) {
+                event = vm.executeAsync(timeProfiler);
+                // The profiler is updated once the device has finished
+                asyncCompletion = EventPoller.onCompletion(event).thenRun(this::stopProfiler);
+            } else {
+                event = vm.execute(cocurrentDevices, timeProfiler);
+                stopProfiler();
+            }
         } catch (TornadoBailoutRuntimeException e) {
             if (TornadoOptions.RECOVER_BAILOUT) {
                 deoptimizeToSequentialJava(e);
@@ -846,6 +980,19 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
 
     }
 
+    private void stopProfiler() {
+        timeProfiler.stop(ProfilerType.TOTAL_TASK_GRAPH_TIME);
+        updateProfiler();
+    }
+
+    /**
+     * FPGAs and task-graphs spread across several devices are executed
+     * synchronously.
+     */
+    private boolean canEnqueueAsync(TornadoAcceleratorDevice deviceForTask) {
+        return !deviceForTask.getDeviceContext().isPlatformFPGA() && executionContext.getValidContextSize() == 1;
+    }
+
     @Override
     public void apply(Consumer<SchedulableTask> consumer) {
         executionContext.apply(consumer);
@@ -897,14 +1044,16 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
             }
 
             // Only add the object is the streamIn list if the data transfer mode is set to
-            // EVERY_EXECUTION
+            // EVERY_EXECUTION or EVERY_EXECUTION_IF_MODIFIED
             boolean isObjectForStreaming = false;
-            if (mode == DataTransferMode.EVERY_EXECUTION) {
+            if (mode == DataTransferMode.EVERY_EXECUTION || mode == DataTransferMode.EVERY_EXECUTION_IF_MODIFIED) {
                 streamInObjects.add(functionParameter);
                 isObjectForStreaming = true;
             }
 
             executionContext.getObjectState(functionParameter).setStreamIn(isObjectForStreaming);
+            executionContext.getObjectState(functionParameter).setStreamInOnlyIfModified(mode == DataTransferMode.EVERY_EXECUTION_IF_MODIFIED && functionParameter instanceof TornadoNativeArray);
+            executionContext.getObjectState(functionParameter).setHostVisible(true);
 
             argumentsLookUp.add(functionParameter);
 
@@ -943,6 +1092,7 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
                 streamOutObjects.add(functionParameter);
                 executionContext.getObjectState(functionParameter).setStreamOut(true);
             }
+            executionContext.getObjectState(functionParameter).setHostVisible(true);
 
             argumentsLookUp.add(functionParameter);
 
@@ -955,6 +1105,24 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
         }
     }
 
+    @Override
+    public void transientObjects(Object... objects) {
+        for (Object functionParameter : objects) {
+            if (functionParameter == null) {
+                throw new TornadoRuntimeException(STR."[ERROR] null object passed into transientObjects() in schedule \{executionContext.getId()}");
+            }
+
+            if (isANumber(functionParameter)) {
+                throw new TornadoRuntimeException("[ERROR] Scalar value used as a transient object. Use an array or a vector-type instead");
+            }
+
+            // Transient objects are never transferred, even if they are also listed in a
+            // transferToDevice or transferToHost call
+            executionContext.getObjectState(functionParameter).setTransient(true);
+            argumentsLookUp.add(functionParameter);
+        }
+    }
+
     @Override
     public void dump() {
         final int width = 16;
@@ -1016,6 +1184,7 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
         if (vm == null) {
             return;
         }
+        freeTransientObjects();
         inputModesObjects.forEach(streamingObject -> freeDeviceMemoryObject(streamingObject.getObject()));
         outputModeObjects.forEach(streamingObject -> freeDeviceMemoryObject(streamingObject.getObject()));
     }
@@ -1034,6 +1203,66 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
         }
     }
 
+    /**
+     * Transient objects are allocated once and kept on the device across
+     * executions of the task-graph. Objects with non-overlapping lifetimes share
+     * the buffer of the first object of their {@link BufferSlot}. Sharing buffers
+     * relies on the in-order execution of the tasks on each device, so it is
+     * disabled with out-of-order command queues.
+     */
+    private void allocateTransientObjects() {
+        if (executionContext.getBatchSize() != TornadoExecutionContext.INIT_VALUE) {
+            return;
+        }
+        final List<Object> objects = executionContext.getObjects();
+        final List<LocalObjectState> states = executionContext.getObjectStates();
+        final boolean aliasing = TornadoOptions.isTransientAliasingEnabled() && !Tornado.ENABLE_OOO_EXECUTION;
+        for (BufferSlot slot : TransientBufferPlanner.plan(executionContext, aliasing)) {
+            final TornadoAcceleratorDevice device = slot.device();
+            final int owner = slot.objectIndexes().getFirst();
+            final DeviceObjectState ownerState = states.get(owner).getGlobalState().getDeviceState(device);
+            ownerState.setLockBuffer(true);
+            device.allocate(objects.get(owner), 0, ownerState);
+
+            for (int objectIndex : slot.objectIndexes().subList(1, slot.objectIndexes().size())) {
+                final DeviceObjectState aliasState = states.get(objectIndex).getGlobalState().getDeviceState(device);
+                aliasState.setLockBuffer(true);
+                if (!aliasState.hasObjectBuffer()) {
+                    aliasState.setObjectBuffer(ownerState.getObjectBuffer());
+                }
+                // The contents of a shared buffer are overwritten by the other objects of the slot
+                aliasState.setContents(false);
+            }
+            ownerState.setContents(false);
+        }
+    }
+
+    private void freeTransientObjects() {
+        Set<ObjectBuffer> releasedBuffers = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (LocalObjectState localState : executionContext.getObjectStates()) {
+            if (!localState.isTransient()) {
+                continue;
+            }
+            for (TornadoAcceleratorDevice device : executionContext.getDevices()) {
+                if (device == null) {
+                    continue;
+                }
+                final DeviceObjectState deviceState = localState.getGlobalState().getDeviceState(device);
+                deviceState.setLockBuffer(false);
+                if (!deviceState.hasObjectBuffer()) {
+                    continue;
+                }
+                if (releasedBuffers.add(deviceState.getObjectBuffer())) {
+                    device.deallocate(deviceState);
+                } else {
+                    // The buffer is shared with a transient object that has already released it
+                    deviceState.setContents(false);
+                    deviceState.setObjectBuffer(null);
+                }
+            }
+        }
+    }
+
     private void syncField(Object object) {
         /*
          * Clean the profiler -- avoids the possibility of reporting the `execute`
@@ -1044,8 +1273,20 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
         updateProfiler();
     }
 
+    /**
+     * Transient objects are never copied back to the host. Their device buffer
+     * can be shared with other transient objects, so its contents after the
+     * execution are not the contents of the object.
+     */
+    private void checkNotTransient(LocalObjectState localState) {
+        if (localState.isTransient()) {
+            throw new TornadoRuntimeException(STR."[ERROR] A transient object of the task-graph \{executionContext.getId()} cannot be transferred to the host. Transient objects are declared with transientObjects(), detected with -Dtornado.transient.detection=True, or are intermediates of fused tasks");
+        }
+    }
+
     private Event syncObjectInner(Object object) {
         final LocalObjectState localState = executionContext.getObjectState(object);
+        checkNotTransient(localState);
         final GlobalObjectState globalState = localState.getGlobalState();
         final TornadoAcceleratorDevice device = meta().getLogicDevice();
         final DeviceObjectState deviceState = globalState.getDeviceState(device);
@@ -1057,6 +1298,7 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
 
     private Event syncObjectInner(Object object, long offset, long partialCopySize) {
         final LocalObjectState localState = executionContext.getObjectState(object);
+        checkNotTransient(localState);
         final GlobalObjectState globalState = localState.getGlobalState();
         final TornadoAcceleratorDevice device = meta().getLogicDevice();
         final DeviceObjectState deviceState = globalState.getDeviceState(device);
@@ -1266,7 +1508,7 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
             if (!TornadoOptions.RECOVER_BAILOUT) {
                 throw new TornadoBailoutRuntimeException("[TornadoVM] Error - Recover option disabled");
             } else {
-                runAllTasksJavaSequential();
+                runAllTasksJava();
                 return this;
             }
         }
@@ -1309,6 +1551,31 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
         return schedule();
     }
 
+    @Override
+    public CompletableFuture<Void> scheduleAsync() {
+        TornadoTaskGraphInterface executedTaskGraph;
+        asyncExecution = true;
+        asyncCompletion = null;
+        try {
+            executedTaskGraph = schedule();
+        } finally {
+            asyncExecution = false;
+        }
+        if (asyncCompletion == null) {
+            // The task-graph ran synchronously
+            executedTaskGraph.waitOn();
+            return CompletableFuture.completedFuture(null);
+        }
+        return asyncCompletion;
+    }
+
+    @Override
+    public CompletableFuture<Void> scheduleAsync(GridScheduler gridScheduler) {
+        this.gridScheduler = gridScheduler;
+        checkGridSchedulerNames();
+        return scheduleAsync();
+    }
+
     private boolean isTaskNamePresent(String taskName) {
         for (TaskPackage taskPackage : taskPackages) {
             if (taskName.equals(STR."\{taskGraphName}.\{taskPackage.getId()}")) {
@@ -1324,10 +1591,23 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
             if (!isTaskNamePresent(gridName)) {
                 throw new TornadoRuntimeException(STR."[ERROR] Grid scheduler with name \{gridName} not found in the Task-Graph");
             }
+            checkNotFusedAway(gridName);
         }
 
     }
 
+    /**
+     * Settings of a single task cannot be applied to a task that was fused into
+     * the kernel of a previous task.
+     */
+    private void checkNotFusedAway(String taskName) {
+        for (SchedulableTask task : executionContext.getTasks()) {
+            if (task instanceof FusedTask fusedTask && fusedTask.hasFusedAway(taskName)) {
+                throw new TornadoRuntimeException(STR."[ERROR] Task \{taskName} was fused into task \{fusedTask.getId()}. Use the name of the fused task, or disable kernel fusion with -Dtornado.kernel.fusion=False");
+            }
+        }
+    }
+
     @SuppressWarnings("unchecked")
     private void runSequentialCodeInThread(TaskPackage taskPackage) {
         int type = taskPackage.getTaskType();
@@ -1431,6 +1711,9 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
         switch (policy) {
             case END_2_END:
             case PERFORMANCE:
+            case LATENCY:
+                // For LATENCY, the device with the lowest total time is also the
+                // first one to finish
                 int position = 0;
                 long min = Long.MAX_VALUE;
                 for (int i = 0; i < totalTimers.length; i++) {
@@ -1448,81 +1731,106 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
         return deviceWinnerIndex;
     }
 
-    public record Tuple2(int threadWinnerIndex, Thread join) {
+    /**
+     * It runs a task on the host. The outermost {@code @Parallel} loop of static
+     * methods without captured variables is split across the cores of the host.
+     * The bound of the loop is evaluated for the arguments of the task in each
+     * run, since the domain of the task is not set when the task is not compiled
+     * for a device. The rest of the tasks, and all of them if the option
+     * {@code tornado.fallback.sequential} is enabled, run the sequential Java
+     * code.
+     */
+    private void runTaskInJava(TaskPackage taskPackage) {
+        Optional<MultiCoreJavaCode> javaCode = Optional.empty();
+        if (!TornadoOptions.SEQUENTIAL_JAVA_FALLBACK) {
+            javaCode = javaCodes.computeIfAbsent(taskPackage.getId(), id -> buildMultiCoreJavaCode(taskPackage));
+        }
+        if (javaCode.isPresent()) {
+            Object[] parameters = taskPackage.getTaskParameters();
+            javaCode.get().execute(Arrays.copyOfRange(parameters, 1, parameters.length), ForkJoinPool.commonPool(), Runtime.getRuntime().availableProcessors());
+        } else {
+            runSequentialCodeInThread(taskPackage);
+        }
     }
 
-    private Tuple2 syncWinner(Thread[] threads) {
-        int winner = 0;
-        boolean isAlive = true;
-        Thread join = null;
-        while (isAlive) {
-            for (int i = 0; i < threads.length; i++) {
-                isAlive = threads[i].isAlive();
-                if (!isAlive) {
-                    if (Tornado.DEBUG) {
-                        System.out.println(STR."SELECTED Thread-Device: \{threads[i].getName()} ");
-                    }
-                    winner = i;
-                    join = new Thread(() -> {
-                        // kill the others
-                        for (Thread thread : threads) {
-                            if (thread.isAlive()) {
-                                try {
-                                    thread.join();
-                                } catch (InterruptedException e) {
-                                    throw new RuntimeException(e);
-                                }
-                            }
-                        }
-                    });
-                }
+    private Optional<MultiCoreJavaCode> buildMultiCoreJavaCode(TaskPackage taskPackage) {
+        if (taskPackage instanceof PrebuiltTaskPackage) {
+            return Optional.empty();
+        }
+        Object[] parameters = taskPackage.getTaskParameters();
+        try {
+            Method method = TaskUtils.resolveMethodHandle(parameters[0]);
+            // The lambdas that capture variables pass them before the task arguments
+            if (!Modifier.isStatic(method.getModifiers()) || method.getParameterCount() != parameters.length - 1) {
+                return Optional.empty();
+            }
+            MultiCoreJavaCode javaCode = new MultiCoreJavaCode(STR."\{taskGraphName}.\{taskPackage.getId()}", method);
+            return javaCode.isParallel() ? Optional.of(javaCode) : Optional.empty();
+        } catch (RuntimeException e) {
+            if (Tornado.DEBUG) {
+                System.out.println(STR."Task \{taskPackage.getId()} runs with the sequential Java code: \{e.getMessage()}");
             }
+            return Optional.empty();
         }
-        return new Tuple2(winner, join);
     }
 
-    private void runAllTasksJavaSequential() {
+    private static String getJavaDeviceName() {
+        return TornadoOptions.SEQUENTIAL_JAVA_FALLBACK ? "Java" : "Multi-core Java";
+    }
+
+    private void runAllTasksJava() {
         for (TaskPackage taskPackage : taskPackages) {
-            runSequentialCodeInThread(taskPackage);
+            runTaskInJava(taskPackage);
         }
     }
 
-    private void runThreadSequentialVersion(Policy policy, Thread[] threads, int indexSequential, Timer timer, long[] totalTimers) {
-        // Last Thread runs the sequential code
-        threads[indexSequential] = new Thread(() -> {
-            Thread.currentThread().setName("Thread-sequential");
+    private void runThreadSequentialVersion(Policy policy, Thread[] threads, int indexSequential, Timer timer, long[] totalTimers, ThreadCompletion completion,
+            Map<Object, Object> privateOutputs) {
+        final List<TaskPackage> contenderTaskPackages = withPrivateOutputs(taskPackages, privateOutputs);
+        // Last Thread runs the Java code
+        threads[indexSequential] = new Thread(completion.track(indexSequential, () -> {
+            Thread.currentThread().setName(TornadoOptions.SEQUENTIAL_JAVA_FALLBACK ? "Thread-sequential" : "Thread-multicore-java");
 
             if (policy == Policy.PERFORMANCE) {
                 for (int k = 0; k < MAX_ITERATIONS_DYNAMIC_RECONF_SEQUENTIAL; k++) {
-                    runAllTasksJavaSequential();
+                    runAllTasksJava();
                 }
             }
 
             final long start = timer.time();
-            runAllTasksJavaSequential();
+            for (TaskPackage taskPackage : contenderTaskPackages) {
+                // A running task cannot be stopped, but the remaining tasks are
+                // skipped once another device has won the LATENCY race
+                if (completion.isCancelled()) {
+                    return;
+                }
+                runTaskInJava(taskPackage);
+            }
             final long endSequentialCode = timer.time();
             if (Tornado.DEBUG) {
                 System.out.println(STR."Seq finished: \{Thread.currentThread().getName()}");
             }
 
             totalTimers[indexSequential] = (endSequentialCode - start);
-        });
+        }));
     }
 
-    private void runParallelTaskGraphs(int numDevices, Thread[] threads, Timer timer, Policy policy, long[] totalTimers) {
+    private void runParallelTaskGraphs(int numDevices, Thread[] threads, Timer timer, Policy policy, long[] totalTimers, ThreadCompletion completion, List<Map<Object, Object>> privateOutputs) {
         for (int i = 0; i < numDevices; i++) {
             final int taskScheduleNumber = i;
-            threads[i] = new Thread(() -> {
+            final Map<Object, Object> contenderOutputs = privateOutputs.get(i);
+            final List<TaskPackage> contenderTaskPackages = withPrivateOutputs(taskPackages, contenderOutputs);
+            threads[i] = new Thread(completion.track(taskScheduleNumber, () -> {
                 String newTaskScheduleName = TASK_GRAPH_PREFIX + taskScheduleNumber;
                 TaskGraph task = new TaskGraph(newTaskScheduleName);
 
                 Thread.currentThread().setName(STR."Thread-DEV: \{TornadoRuntime.getTornadoRuntime().getDriver(0).getDevice(taskScheduleNumber).getPhysicalDevice().getDeviceName()}");
 
                 for (StreamingObject streamingObject : inputModesObjects) {
-                    performStreamInObject(task, streamingObject.object, streamingObject.mode);
+                    performStreamInObject(task, contenderOutputs.getOrDefault(streamingObject.object, streamingObject.object), streamingObject.mode);
                 }
 
-                for (TaskPackage taskPackage : taskPackages) {
+                for (TaskPackage taskPackage : contenderTaskPackages) {
                     String taskID = taskPackage.getId();
                     TornadoRuntime.setProperty(STR."\{newTaskScheduleName}.\{taskID}.device", STR."0:\{taskScheduleNumber}");
                     if (Tornado.DEBUG) {
@@ -1532,7 +1840,7 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
                 }
 
                 for (StreamingObject streamingObject : outputModeObjects) {
-                    performStreamOutThreads(streamingObject.mode, task, streamingObject.object);
+                    performStreamOutThreads(streamingObject.mode, task, contenderOutputs.getOrDefault(streamingObject.object, streamingObject.object));
                 }
                 // performStreamOutThreads(task, streamOutObjects);
 
@@ -1546,20 +1854,28 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
                     }
                 }
 
+                if (completion.isCancelled()) {
+                    return;
+                }
                 long start = timer.time();
                 executor.execute();
                 final long end = timer.time();
-                taskGraphIndex.put(taskScheduleNumber, task);
 
-                if (USE_GLOBAL_TASK_CACHE) {
-                    globalTaskGraphIndex.put(offsetGlobalIndex.get(), task);
-                    offsetGlobalIndex.incrementAndGet();
-                } else {
-                    globalTaskGraphIndex.put(taskScheduleNumber, task);
+                // A task-graph that writes private outputs cannot be reused for
+                // the next executions
+                if (contenderOutputs.isEmpty()) {
+                    taskGraphIndex.put(taskScheduleNumber, task);
+
+                    if (USE_GLOBAL_TASK_CACHE) {
+                        globalTaskGraphIndex.put(offsetGlobalIndex.get(), task);
+                        offsetGlobalIndex.incrementAndGet();
+                    } else {
+                        globalTaskGraphIndex.put(taskScheduleNumber, task);
+                    }
                 }
 
                 totalTimers[taskScheduleNumber] = (end - start);
-            });
+            }));
         }
 
     }
@@ -1571,42 +1887,58 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
         int numDevices = tornadoDriver.getDeviceCount();
         long masterThreadID = Thread.currentThread().getId();
 
-        // One additional threads is reserved for sequential CPU execution
+        // One additional threads is reserved for the Java execution on the CPU
         final int numThreads = numDevices + 1;
         Thread[] threads = new Thread[numThreads];
         long[] totalTimers = new long[numThreads];
+        ThreadCompletion completion = new ThreadCompletion(numThreads);
 
-        // Last Thread runs the sequential code
-        runThreadSequentialVersion(policy, threads, numDevices, timer, totalTimers);
+        // With the LATENCY policy, each thread writes a private copy of the
+        // outputs, so the threads that lose the race do not have to be joined
+        List<Map<Object, Object>> privateOutputs = new ArrayList<>();
+        for (int i = 0; i < numThreads; i++) {
+            privateOutputs.add(policy == Policy.LATENCY ? createPrivateOutputs() : Collections.emptyMap());
+        }
+
+        // Last Thread runs the Java code
+        runThreadSequentialVersion(policy, threads, numDevices, timer, totalTimers, completion, privateOutputs.get(numDevices));
 
         // Run all task schedules in parallel
-        runParallelTaskGraphs(numDevices, threads, timer, policy, totalTimers);
+        runParallelTaskGraphs(numDevices, threads, timer, policy, totalTimers, completion, privateOutputs);
 
         // FORK
         for (int i = 0; i < numThreads; i++) {
             threads[i].start();
         }
 
-        // Define the winner, based on the first thread to finish
+        // Define the winner, based on the first thread to finish. The rest of the
+        // threads are cancelled and left to finish in the background: only the
+        // outputs of the winner are copied back.
         if (policy == Policy.LATENCY) {
-            Tuple2 tuple = syncWinner(threads);
-            int deviceWinnerIndex = tuple.threadWinnerIndex;
-            tuple.join.start();
+            int deviceWinnerIndex = completion.awaitFirst();
+            completion.cancel();
+            privateOutputs.get(deviceWinnerIndex).forEach((output, privateOutput) -> copyContents(privateOutput, output));
+            if (Tornado.DEBUG) {
+                System.out.println(STR."SELECTED Thread-Device: \{threads[deviceWinnerIndex].getName()} ");
+            }
             policyTimeTable.put(Policy.LATENCY, deviceWinnerIndex);
-        } else {
-            // JOIN for the PERFORMANCE and END_TO_END policies.
-            for (Thread t : threads) {
-                try {
-                    t.join();
-                } catch (InterruptedException e) {
-                    throw new TornadoDynamicReconfigurationException(e);
-                }
+            updateHistoryTables(Policy.LATENCY, deviceWinnerIndex, totalTimers[deviceWinnerIndex]);
+            return;
+        }
+
+        // JOIN
+        for (Thread t : threads) {
+            try {
+                t.join();
+            } catch (InterruptedException e) {
+                throw new TornadoDynamicReconfigurationException(e);
             }
         }
 
         if ((policy == Policy.PERFORMANCE || policy == Policy.END_2_END) && (masterThreadID == Thread.currentThread().getId())) {
             int deviceWinnerIndex = synchronizeWithPolicy(policy, totalTimers);
             policyTimeTable.put(policy, deviceWinnerIndex);
+            updateHistoryTables(policy, deviceWinnerIndex, totalTimers[deviceWinnerIndex]);
             if (Tornado.DEBUG) {
                 System.out.println(getListDevices());
                 System.out.println(STR."BEST Position: #\{deviceWinnerIndex} \{Arrays.toString(totalTimers)}");
@@ -1614,12 +1946,73 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
         }
     }
 
-    private void runSequential() {
+    /**
+     * It allocates a private copy of each output of the task-graph, for a thread
+     * that runs the task-graph with the LATENCY policy.
+     *
+     * @return A map from each output to its private copy.
+     */
+    private Map<Object, Object> createPrivateOutputs() {
+        Map<Object, Object> privateOutputs = new IdentityHashMap<>();
+        for (StreamingObject streamingObject : outputModeObjects) {
+            privateOutputs.computeIfAbsent(streamingObject.object, TornadoTaskGraph::copyObject);
+        }
+        return privateOutputs;
+    }
+
+    private static List<TaskPackage> withPrivateOutputs(List<TaskPackage> taskPackages, Map<Object, Object> privateOutputs) {
+        if (privateOutputs.isEmpty()) {
+            return taskPackages;
+        }
+        List<TaskPackage> contenderTaskPackages = new ArrayList<>();
         for (TaskPackage taskPackage : taskPackages) {
-            runSequentialCodeInThread(taskPackage);
+            if (taskPackage instanceof PrebuiltTaskPackage) {
+                throw new TornadoDynamicReconfigurationException("[UNSUPPORTED] The LATENCY policy is not supported for prebuilt tasks");
+            }
+            Object[] parameters = taskPackage.getTaskParameters().clone();
+            // The first parameter is the code of the task
+            for (int i = 1; i < parameters.length; i++) {
+                parameters[i] = privateOutputs.getOrDefault(parameters[i], parameters[i]);
+            }
+            contenderTaskPackages.add(taskPackage.withTaskParameters(parameters));
+        }
+        return contenderTaskPackages;
+    }
+
+    private static Object copyObject(Object object) {
+        Object copy = switch (object) {
+            case ByteArray array -> new ByteArray(array.getSize());
+            case CharArray array -> new CharArray(array.getSize());
+            case DoubleArray array -> new DoubleArray(array.getSize());
+            case FloatArray array -> new FloatArray(array.getSize());
+            case HalfFloatArray array -> new HalfFloatArray(array.getSize());
+            case IntArray array -> new IntArray(array.getSize());
+            case LongArray array -> new LongArray(array.getSize());
+            case ShortArray array -> new ShortArray(array.getSize());
+            default -> {
+                if (!object.getClass().isArray() || !object.getClass().getComponentType().isPrimitive()) {
+                    throw new TornadoDynamicReconfigurationException(STR."[UNSUPPORTED] The LATENCY policy cannot copy the output \{object.getClass()}. Use the PERFORMANCE or END_2_END policies instead");
+                }
+                yield Array.newInstance(object.getClass().getComponentType(), Array.getLength(object));
+            }
+        };
+        copyContents(object, copy);
+        return copy;
+    }
+
+    private static void copyContents(Object source, Object destination) {
+        if (destination instanceof TornadoNativeArray nativeArray) {
+            MemorySegment.copy(((TornadoNativeArray) source).getSegment(), 0, nativeArray.getSegment(), 0, nativeArray.getNumBytesOfSegment());
+            nativeArray.markModified();
+        } else {
+            System.arraycopy(source, 0, destination, 0, Array.getLength(destination));
         }
     }
 
+    private void runSequential() {
+        runAllTasksJava();
+    }
+
     private TaskGraph recompileTask(int deviceWinnerIndex) {
         // Force re-compilation in device <deviceWinnerIndex>
         String newTaskScheduleName = TASK_GRAPH_PREFIX + deviceWinnerIndex;
@@ -1642,15 +2035,14 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
             System.out.println(STR."Running in parallel device: \{deviceWinnerIndex}");
         }
         TaskGraph task = taskGraphIndex.get(deviceWinnerIndex);
+        if (task == null && USE_GLOBAL_TASK_CACHE) {
+            // This is only if compilation is not using Partial Evaluation
+            task = globalTaskGraphIndex.get(deviceWinnerIndex);
+        }
         if (task == null) {
-            if (USE_GLOBAL_TASK_CACHE) {
-                // This is only if compilation is not using Partial Evaluation
-                task = globalTaskGraphIndex.get(deviceWinnerIndex);
-            } else {
-                task = recompileTask(deviceWinnerIndex);
-                // Save the TaskSchedule in cache
-                taskGraphIndex.put(deviceWinnerIndex, task);
-            }
+            task = recompileTask(deviceWinnerIndex);
+            // Save the TaskSchedule in cache
+            taskGraphIndex.put(deviceWinnerIndex, task);
         }
 
         ImmutableTaskGraph immutableTaskGraph = task.snapshot();
@@ -1660,6 +2052,10 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
 
     @Override
     public TornadoTaskGraphInterface scheduleWithProfile(Policy policy) {
+        if (policyTimeTable.get(policy) == null) {
+            restoreWinnerFromHistory(policy);
+        }
+
         if (policyTimeTable.get(policy) == null) {
             runScheduleWithParallelProfiler(policy);
         } else {
@@ -1718,11 +2114,11 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
     private void runSequentialTaskGraph(Policy policy, Timer timer, long[] totalTimers, int indexSequential) {
         if (policy == Policy.PERFORMANCE) {
             for (int k = 0; k < MAX_ITERATIONS_DYNAMIC_RECONF_SEQUENTIAL; k++) {
-                runAllTasksJavaSequential();
+                runAllTasksJava();
             }
         }
         long startSequential = timer.time();
-        runAllTasksJavaSequential();
+        runAllTasksJava();
         final long endSequentialCode = timer.time();
         totalTimers[indexSequential] = (endSequentialCode - startSequential);
     }
@@ -1792,40 +2188,60 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
         }
     }
 
-    private void updateHistoryTables(Policy policy, int deviceWinnerIndex) {
-        // Matching the name
+    /**
+     * It builds the key used to look up this task-graph in the history of the
+     * dynamic reconfiguration: the code of all tasks and the list of devices in
+     * which they can run. A change in either of them invalidates the history.
+     */
+    private String getHistorySignature() {
+        StringJoiner signature = new StringJoiner(";");
         for (TaskPackage taskPackage : taskPackages) {
-            Object code = taskPackage.getTaskParameters()[0];
-            Method m = TaskUtils.resolveMethodHandle(code);
-            ConcurrentHashMap<String, HistoryTable> tableSizes = null;
-
-            int dev = baseGlobalIndex + deviceWinnerIndex;
+            Method m = TaskUtils.resolveMethodHandle(taskPackage.getTaskParameters()[0]);
+            signature.add(m.toGenericString());
+        }
+        TornadoDriver driver = TornadoRuntime.getTornadoRuntime().getDriver(DEFAULT_DRIVER_INDEX);
+        StringJoiner devices = new StringJoiner(",", "[", "]");
+        for (int i = 0; i < driver.getDeviceCount(); i++) {
+            devices.add(driver.getDevice(i).getPhysicalDevice().getDeviceName());
+        }
+        // The winners of the sequential and the multi-core Java contender are not
+        // comparable
+        devices.add(getJavaDeviceName());
+        return signature + "@" + devices;
+    }
 
-            if (!executionHistoryPolicy.containsKey(policy)) {
-                tableSizes = new ConcurrentHashMap<>();
-                HistoryTable table = new HistoryTable();
-                int size = getMaxInputSize();
-                table.getTree().put(size, dev);
+    private void updateHistoryTables(Policy policy, int deviceWinnerIndex, long time) {
+        executionHistory.update(policy, getHistorySignature(), getMaxInputSize(), deviceWinnerIndex, time);
+    }
 
-                tableSizes.put(m.toGenericString(), table);
+    /**
+     * It looks for the device that won a previous execution of the same
+     * task-graph, on the same devices, with an input size in the same bucket.
+     *
+     * @param policy
+     *     Policy of the dynamic reconfiguration.
+     * @return The device index, or null if there is no previous execution with a
+     *     similar input size.
+     */
+    private Integer findDeviceInHistoryTable(Policy policy) {
+        Integer device = executionHistory.findDevice(policy, getHistorySignature(), getMaxInputSize());
+        int numDevices = TornadoRuntime.getTornadoRuntime().getDriver(DEFAULT_DRIVER_INDEX).getDeviceCount();
+        // The index numDevices corresponds to the Java execution
+        return (device != null && device >= 0 && device <= numDevices) ? device : null;
+    }
 
-            } else {
-                tableSizes = executionHistoryPolicy.get(policy);
-                if (!tableSizes.containsKey(m.toGenericString())) {
-                    HistoryTable table = new HistoryTable();
-                    int size = getMaxInputSize();
-                    table.getTree().put(size, dev);
-                    tableSizes.put(m.toGenericString(), table);
-                } else {
-                    // update the size
-                    HistoryTable table = tableSizes.get(m.toGenericString());
-                    int size = getMaxInputSize();
-                    table.getTree().put(size, dev);
-                    tableSizes.put(m.toGenericString(), table);
-                }
+    /**
+     * It skips the profiling of all devices if the history, which can be loaded
+     * from a previous run, already has a winner for this task-graph and input
+     * size.
+     */
+    private void restoreWinnerFromHistory(Policy policy) {
+        Integer deviceWinnerIndex = findDeviceInHistoryTable(policy);
+        if (deviceWinnerIndex != null) {
+            if (Tornado.DEBUG) {
+                System.out.println(STR."Device selected from the history: #\{deviceWinnerIndex}");
             }
-            executionHistoryPolicy.put(policy, tableSizes);
-            baseGlobalIndex = offsetGlobalIndex.get();
+            policyTimeTable.put(policy, deviceWinnerIndex);
         }
     }
 
@@ -1844,7 +2260,7 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
             };
             str.append(type).append(",").append("\t ");
         }
-        str.append("JVM]");
+        str.append(getJavaDeviceName()).append("]");
         return str.toString();
     }
 
@@ -1864,7 +2280,7 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
             int deviceWinnerIndex = synchronizeWithPolicy(policy, totalTimers);
             policyTimeTable.put(policy, deviceWinnerIndex);
 
-            updateHistoryTables(policy, deviceWinnerIndex);
+            updateHistoryTables(policy, deviceWinnerIndex, totalTimers[deviceWinnerIndex]);
 
             if (Tornado.DEBUG) {
                 System.out.println(getListDevices());
@@ -1910,6 +2326,8 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
             if (o.getClass().isArray()) {
                 int currentSize = Array.getLength(o);
                 size = Math.max(currentSize, size);
+            } else if (o instanceof TornadoNativeArray nativeArray) {
+                size = Math.max(nativeArray.getSize(), size);
             } else {
                 size = Math.max(1, size);
             }
@@ -1921,14 +2339,16 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
     public TornadoTaskGraphInterface scheduleWithProfileSequential(Policy policy) {
 
         if (policy == Policy.LATENCY) {
-            if (Tornado.DEBUG) {
-                System.out.println("[WARNING]: LATENCY policy using the DRMode.SERIAL is not allowed. Changing to PERFORMANCE mode");
-            }
-            policy = Policy.PERFORMANCE;
+            // The devices run one after the other, so there is no first device to finish
+            throw new TornadoDynamicReconfigurationException("[UNSUPPORTED] The LATENCY policy requires DRMode.PARALLEL");
         }
 
         int numDevices = TornadoRuntime.getTornadoRuntime().getDriver(DEFAULT_DRIVER_INDEX).getDeviceCount();
 
+        if (policyTimeTable.get(policy) == null) {
+            restoreWinnerFromHistory(policy);
+        }
+
         if (policyTimeTable.get(policy) == null) {
             runWithSequentialProfiler(policy);
 
@@ -1939,7 +2359,7 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
             // Run with the winner device
             int deviceWinnerIndex = policyTimeTable.get(policy);
             if (deviceWinnerIndex >= numDevices) {
-                // if the winner is the last index => it is the sequential (HotSpot)
+                // if the winner is the last index => it is the Java execution (HotSpot)
                 runSequential();
             } else {
                 // Otherwise, it runs the parallel in the corresponding device
@@ -1949,6 +2369,106 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
         return this;
     }
 
+    /**
+     * It selects the device with a {@link DeviceCostModel} instead of running the
+     * task-graph on all devices. The winner of a previous profiling run, if it is
+     * in the history, is used directly. Otherwise, the features of the tasks are
+     * extracted from their sketches, and the device with the best prediction is
+     * selected. The time of every execution after the compilation refines the
+     * predictions, so the selection can change in the next executions.
+     */
+    @Override
+    public TornadoTaskGraphInterface scheduleWithCostModel(Policy policy) {
+        int numDevices = TornadoRuntime.getTornadoRuntime().getDriver(DEFAULT_DRIVER_INDEX).getDeviceCount();
+
+        if (policyTimeTable.get(policy) == null) {
+            restoreWinnerFromHistory(policy);
+        }
+
+        if (policyTimeTable.get(policy) != null) {
+            int deviceWinnerIndex = policyTimeTable.get(policy);
+            if (deviceWinnerIndex >= numDevices) {
+                runSequential();
+            } else {
+                runTaskGraphParallelSelected(deviceWinnerIndex);
+            }
+            return this;
+        }
+
+        final String signature = getHistorySignature();
+        if (costModelWorkload == null) {
+            costModelWorkload = buildCostModelWorkload();
+        }
+        List<DeviceCostModel.Device> devices = getCostModelDevices(numDevices);
+        CostModelDeviceSelection.getInstance().calibrate(policy, signature, costModelWorkload, devices, executionHistory.getEntries(policy, signature), getMaxInputSize(), TIME_IN_NANOSECONDS);
+
+        int deviceIndex = CostModelDeviceSelection.getInstance().select(policy, signature, costModelWorkload, devices);
+        if (Tornado.DEBUG) {
+            System.out.println(STR."Device selected by the cost model: #\{deviceIndex} (\{devices.get(deviceIndex).name()})");
+        }
+
+        final long start = System.nanoTime();
+        if (deviceIndex >= numDevices) {
+            runSequential();
+        } else {
+            runTaskGraphParallelSelected(deviceIndex);
+        }
+        final long end = System.nanoTime();
+
+        // The first execution in a device includes the compilation
+        if (!costModelCompiledDevices.add(deviceIndex)) {
+            CostModelDeviceSelection.getInstance().observe(policy, signature, costModelWorkload, devices.get(deviceIndex), end - start);
+        }
+        return this;
+    }
+
+    private List<DeviceCostModel.Device> getCostModelDevices(int numDevices) {
+        List<DeviceCostModel.Device> devices = new ArrayList<>();
+        TornadoDriver driver = TornadoRuntime.getTornadoRuntime().getDriver(DEFAULT_DRIVER_INDEX);
+        for (int i = 0; i < numDevices; i++) {
+            TornadoDevice device = driver.getDevice(i);
+            TornadoTargetDevice physicalDevice = device.getPhysicalDevice();
+            devices.add(new DeviceCostModel.Device(physicalDevice.getDeviceName(), device.getDeviceType(), physicalDevice.getDeviceMaxComputeUnits(), physicalDevice
+                    .getDeviceMaxClockFrequency(), false));
+        }
+        // The index numDevices corresponds to the Java execution
+        final int cores = TornadoOptions.SEQUENTIAL_JAVA_FALLBACK ? 1 : Runtime.getRuntime().availableProcessors();
+        devices.add(new DeviceCostModel.Device(getJavaDeviceName(), TornadoDeviceType.CPU, cores, 0, true));
+        return devices;
+    }
+
+    private DeviceCostModel.Workload buildCostModelWorkload() {
+        final long iterations = getMaxInputSize();
+        List<DeviceCostModel.Kernel> kernels = new ArrayList<>();
+        for (SchedulableTask task : executionContext.getTasks()) {
+            if (task instanceof CompilableTask compilableTask && buildSketch(compilableTask).getGraph() instanceof StructuredGraph graph) {
+                kernels.add(new DeviceCostModel.Kernel(task.getId(), FeatureExtractionUtilities.extractFeatures(graph), iterations));
+            }
+        }
+        long transferBytes = 0;
+        for (StreamingObject streamingObject : inputModesObjects) {
+            if (streamingObject.mode == DataTransferMode.EVERY_EXECUTION) {
+                transferBytes += getTransferSize(streamingObject.object);
+            }
+        }
+        for (StreamingObject streamingObject : outputModeObjects) {
+            if (streamingObject.mode == DataTransferMode.EVERY_EXECUTION) {
+                transferBytes += getTransferSize(streamingObject.object);
+            }
+        }
+        return new DeviceCostModel.Workload(kernels, transferBytes);
+    }
+
+    private static long getTransferSize(Object object) {
+        if (object.getClass().isArray()) {
+            DataTypeSize dataTypeSize = DataTypeSize.findDataTypeSize(object.getClass().getComponentType());
+            return (dataTypeSize == null) ? 0 : Array.getLength(object) * dataTypeSize.getSize();
+        } else if (object instanceof TornadoNativeArray nativeArray) {
+            return nativeArray.getNumBytesWithoutHeader();
+        }
+        return 0;
+    }
+
     private void addInner(int index, int type, Method method, ScheduleMetaData meta, String id, Object[] parameters) {
         switch (type) {
             case 0:
@@ -2139,9 +2659,14 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
     }
 
     @Override
-    public void withBatch(String batchSize) {
+    public void withBatch(String batchSize, int pipelineDepth, Object[] broadcastObjects) {
+        if (pipelineDepth < 1) {
+            throw new TornadoRuntimeException(STR."[ERROR] The pipeline depth for batch processing must be at least 1, but it was \{pipelineDepth}");
+        }
         this.batchSizeBytes = parseSizeToBytes(batchSize);
         executionContext.setBatchSize(this.batchSizeBytes);
+        executionContext.setBatchBroadcastObjects(broadcastObjects);
+        executionContext.setBatchPipelineDepth(pipelineDepth);
     }
 
     @Override
@@ -2301,34 +2826,56 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
     }
 
     /**
-     * Class that keeps the history of executions based on their data sizes. It has a sorted map (TreeMap) that keeps the relationship between the input size and the actual Tornado device in which the
-     * task was executed based on the profiler for the dynamic reconfiguration.
+     * Completion of the threads that run the task-graph on each device for the
+     * dynamic reconfiguration. The LATENCY policy blocks on the first thread to
+     * finish, rather than polling the state of the threads, and then it cancels
+     * the rest. A cancelled thread does not start any new execution, but the
+     * kernel or the Java task that is already running is not interrupted.
      */
-    private static class HistoryTable {
-        /**
-         * TreeMap between input size -> device index.
-         */
-        private TreeMap<Integer, Integer> table = new TreeMap<>();
+    private static final class ThreadCompletion {
 
-        private int getClosestKey(int goal) {
-            Set<Integer> keySet = table.keySet();
-            return keySet.stream().reduce((prev, current) -> Math.abs(current - goal) < Math.abs(prev - goal) ? current : prev).get();
+        private final CompletableFuture<Integer> first;
+        private final AtomicInteger running;
+        private volatile boolean cancelled;
+
+        private ThreadCompletion(int numThreads) {
+            this.first = new CompletableFuture<>();
+            this.running = new AtomicInteger(numThreads);
         }
 
-        private TreeMap<Integer, Integer> getTree() {
-            return table;
+        private Runnable track(int threadIndex, Runnable body) {
+            return () -> {
+                try {
+                    body.run();
+                    if (!cancelled) {
+                        first.complete(threadIndex);
+                    }
+                } finally {
+                    if (running.decrementAndGet() == 0) {
+                        // No effect if a thread has already finished
+                        first.completeExceptionally(new TornadoDynamicReconfigurationException("[ERROR] No device finished the execution of the task-graph"));
+                    }
+                }
+            };
         }
 
-        private int getNumKeys() {
-            return table.keySet().size();
+        private void cancel() {
+            cancelled = true;
         }
 
-        private int getDeviceNumber(int key) {
-            return table.get(key);
+        private boolean isCancelled() {
+            return cancelled;
         }
 
-        private boolean isKeyInTable(int key) {
-            return table.containsKey(key);
+        private int awaitFirst() {
+            try {
+                return first.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new TornadoDynamicReconfigurationException(e);
+            } catch (ExecutionException e) {
+                throw new TornadoDynamicReconfigurationException(e);
+            }
         }
     }
 }
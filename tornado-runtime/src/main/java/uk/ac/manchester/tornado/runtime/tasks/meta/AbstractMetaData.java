@@ -66,6 +66,10 @@ public abstract class AbstractMetaData implements TaskMetaDataInterface {
      * Forces the executing kernel to output its arguments before execution
      */
     private boolean threadInfo;
+    /*
+     * Explores the local work-group sizes of the parallel kernels
+     */
+    private boolean autotuning;
     private final boolean debug;
     private final boolean dumpEvents;
     private final boolean dumpProfiles;
@@ -154,6 +158,7 @@ public abstract class AbstractMetaData implements TaskMetaDataInterface {
         enableVectors = parseBoolean(getDefault("vectors.enable", id, TRUE));
         openclEnableBifs = parseBoolean(getDefault("bifs.enable", id, FALSE));
         threadInfo = TornadoOptions.THREAD_INFO;
+        autotuning = TornadoOptions.AUTOTUNE_LOCAL_WORK;
         printKernel = TornadoOptions.PRINT_KERNEL_SOURCE;
         debug = parseBoolean(getDefault("debug", id, FALSE));
         enableMemChecks = parseBoolean(getDefault("memory.check", id, FALSE));
@@ -532,4 +537,20 @@ public abstract class AbstractMetaData implements TaskMetaDataInterface {
     public void setThreadInfo(boolean threadInfoEnabled) {
         this.threadInfo = threadInfoEnabled;
     }
+
+    public boolean isAutotuningEnabled() {
+        return autotuning;
+    }
+
+    public void enableAutotuning() {
+        this.autotuning = true;
+    }
+
+    public void disableAutotuning() {
+        this.autotuning = false;
+    }
+
+    public void setAutotuning(boolean autotuningEnabled) {
+        this.autotuning = autotuningEnabled;
+    }
 }
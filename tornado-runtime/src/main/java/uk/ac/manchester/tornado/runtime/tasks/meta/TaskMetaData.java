@@ -31,9 +31,13 @@ import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.BitSet;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import uk.ac.manchester.tornado.api.common.Access;
 import uk.ac.manchester.tornado.api.common.TornadoEvents;
@@ -41,6 +45,8 @@ import uk.ac.manchester.tornado.api.enums.TornadoVMBackendType;
 import uk.ac.manchester.tornado.runtime.EventSet;
 import uk.ac.manchester.tornado.runtime.common.TornadoAcceleratorDevice;
 import uk.ac.manchester.tornado.runtime.domain.DomainTree;
+import uk.ac.manchester.tornado.runtime.domain.IntDomain;
+import uk.ac.manchester.tornado.runtime.domain.LoopBound;
 
 public class TaskMetaData extends AbstractMetaData {
 
@@ -58,6 +64,10 @@ public class TaskMetaData extends AbstractMetaData {
     private long[] localWork;
     private boolean localWorkDefined;
     private boolean globalWorkDefined;
+    private boolean dynamicLoopBounds;
+    private List<LoopBound> loopBounds;
+    private final Set<Integer> constantSizeParameters;
+    private final Set<Object> batchBroadcastObjects;
 
     public TaskMetaData(ScheduleMetaData scheduleMetaData, String taskID, int numParameters) {
         super(STR."\{scheduleMetaData.getId()}.\{taskID}", scheduleMetaData);
@@ -68,6 +78,9 @@ public class TaskMetaData extends AbstractMetaData {
         profiles = new HashMap<>();
         argumentsAccess = new Access[numParameters];
         Arrays.fill(argumentsAccess, Access.NONE);
+        loopBounds = new ArrayList<>();
+        constantSizeParameters = new HashSet<>();
+        batchBroadcastObjects = Collections.newSetFromMap(new IdentityHashMap<>());
 
         inspectLocalWork();
         inspectGlobalWork();
@@ -310,6 +323,129 @@ public class TaskMetaData extends AbstractMetaData {
         return domain != null;
     }
 
+    /**
+     * It sets whether the next compilation of the task passes the bounds of the
+     * parallel loops at runtime instead of specialising them. The loop bounds of
+     * the previous compilation are dropped.
+     */
+    public void setDynamicLoopBounds(boolean dynamicLoopBounds) {
+        this.dynamicLoopBounds = dynamicLoopBounds;
+        clearLoopBounds();
+    }
+
+    public boolean shouldUseDynamicLoopBounds() {
+        return dynamicLoopBounds;
+    }
+
+    public void addLoopBound(LoopBound loopBound) {
+        loopBounds.add(loopBound);
+    }
+
+    public void setLoopBounds(List<LoopBound> loopBounds) {
+        this.loopBounds = new ArrayList<>(loopBounds);
+    }
+
+    public List<LoopBound> getLoopBounds() {
+        return loopBounds;
+    }
+
+    public void clearLoopBounds() {
+        loopBounds.clear();
+        constantSizeParameters.clear();
+    }
+
+    /**
+     * It records that the size of an array parameter is folded as a constant in
+     * a kernel compiled with dynamic loop bounds.
+     */
+    public void addConstantSizeParameter(int parameterIndex) {
+        constantSizeParameters.add(parameterIndex);
+    }
+
+    public Set<Integer> getConstantSizeParameters() {
+        return constantSizeParameters;
+    }
+
+    /**
+     * It sets the objects that are not split when processing in batches, so the
+     * compiler does not fold their sizes to the number of threads of a batch.
+     *
+     * @return True if the broadcast objects have changed, and the kernel has to
+     *     be recompiled.
+     */
+    public boolean updateBatchBroadcastObjects(Set<Object> objects) {
+        if (batchBroadcastObjects.equals(objects)) {
+            return false;
+        }
+        batchBroadcastObjects.clear();
+        batchBroadcastObjects.addAll(objects);
+        return true;
+    }
+
+    public boolean isBatchBroadcastObject(Object object) {
+        return batchBroadcastObjects.contains(object);
+    }
+
+    public boolean hasLoopBounds() {
+        return !loopBounds.isEmpty();
+    }
+
+    /**
+     * It records the dimension of the parallel domain bounded by the value in
+     * the given kernel-context slot.
+     */
+    public void setLoopBoundDimension(int slot, int dimension) {
+        for (int i = 0; i < loopBounds.size(); i++) {
+            if (loopBounds.get(i).slot() == slot) {
+                loopBounds.set(i, loopBounds.get(i).withDimension(dimension));
+            }
+        }
+    }
+
+    /**
+     * @return The loop bound passed at runtime for a dimension of the parallel
+     *     domain, or null if the bound of this dimension is a constant.
+     */
+    public LoopBound getLoopBound(int dimension) {
+        for (LoopBound loopBound : loopBounds) {
+            if (loopBound.dimension() == dimension) {
+                return loopBound;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return true if the bounds of all the dimensions of the parallel domain are
+     *     passed at runtime, so the kernel does not depend on the input sizes.
+     */
+    public boolean hasDynamicDomain() {
+        if (!hasDomain() || domain.getDepth() == 0) {
+            return false;
+        }
+        for (int i = 0; i < domain.getDepth(); i++) {
+            if (getLoopBound(i) == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * It evaluates the loop bounds with the arguments of the current launch. The
+     * values are stored in the kernel context, and the parallel domain is
+     * resized, so the global work is computed for the current input.
+     */
+    public void updateLoopBounds(Object[] args, Map<Integer, Integer> kernelContext) {
+        for (LoopBound loopBound : loopBounds) {
+            final int value = loopBound.evaluate(args);
+            kernelContext.put(loopBound.slot(), value);
+            if (loopBound.dimension() >= 0 && hasDomain() && domain.get(loopBound.dimension()) instanceof IntDomain intDomain) {
+                intDomain.setLength(value);
+            }
+        }
+    }
+
     @Override
     public boolean isDebug() {
         return super.isDebug() || scheduleMetaData.isDebug();
@@ -1,6 +1,8 @@
 open module tornado.unittests {
     requires transitive junit;
     requires transitive tornado.api;
+    requires tornado.drivers.common;
+    requires tornado.matrices;
     requires lucene.core;
     requires java.desktop;
 
@@ -21,6 +23,7 @@ open module tornado.unittests {
     exports uk.ac.manchester.tornado.unittests.kernelcontext.matrices;
     exports uk.ac.manchester.tornado.unittests.kernelcontext.reductions;
     exports uk.ac.manchester.tornado.unittests.instances;
+    exports uk.ac.manchester.tornado.unittests.jvm;
     exports uk.ac.manchester.tornado.unittests.lambdas;
     exports uk.ac.manchester.tornado.unittests.logic;
     exports uk.ac.manchester.tornado.unittests.loops;
@@ -27,6 +27,7 @@ import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
 import uk.ac.manchester.tornado.api.TaskGraph;
 import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
 import uk.ac.manchester.tornado.api.TornadoExecutionResult;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
 import uk.ac.manchester.tornado.api.enums.DataTransferMode;
 import uk.ac.manchester.tornado.api.runtime.TornadoRuntime;
 import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
@@ -210,5 +211,130 @@ public class TestIO extends TornadoTestBase {
         assertEquals(copyInSumSimpleExec, copyInSumSimpleExecWithDev, (float) copyInSumSimpleExec / 12);
 
     }
+
+    /**
+     * This test case uses the
+     * {@link uk.ac.manchester.tornado.api.enums.DataTransferMode#EVERY_EXECUTION_IF_MODIFIED}
+     * mode. Input arrays are only copied when the host modified them since the
+     * last execution, either with {@code init} or with {@code set}.
+     */
+    @Test
+    public void testCopyInIfModified() {
+        final int N = 128;
+
+        FloatArray arrayA = createAndInitializeArray(N);
+        FloatArray arrayB = createAndInitializeArray(N);
+        FloatArray arrayC = new FloatArray(N);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION_IF_MODIFIED, arrayA, arrayB) //
+                .task("t0", TestArrays::vectorAddFloat, arrayA, arrayB, arrayC) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, arrayC);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+
+        for (int i = 0; i < 4; i++) {
+            executionPlan.execute();
+        }
+
+        for (int i = 0; i < N; i++) {
+            assertEquals(2 * i, arrayC.get(i), 0.0f);
+        }
+
+        // Writes through set are tracked by the array
+        for (int i = 0; i < N; i++) {
+            arrayA.set(i, 2 * i);
+        }
+        executionPlan.execute();
+
+        for (int i = 0; i < N; i++) {
+            assertEquals(3 * i, arrayC.get(i), 0.0f);
+        }
+
+        // init is tracked by the array
+        arrayB.init(1.0f);
+        executionPlan.execute();
+
+        for (int i = 0; i < N; i++) {
+            assertEquals(2 * i + 1, arrayC.get(i), 0.0f);
+        }
+    }
+
+    private static void incrementInPlace(FloatArray array) {
+        for (@Parallel int i = 0; i < array.getSize(); i++) {
+            array.set(i, array.get(i) + 1);
+        }
+    }
+
+    /**
+     * This test case uses the
+     * {@link uk.ac.manchester.tornado.api.enums.DataTransferMode#EVERY_EXECUTION_IF_MODIFIED}
+     * mode for an array that the kernel updates in place. The array is copied back
+     * in every execution, so the device copy matches the host and the copy-in is
+     * only needed after the host modifies the array.
+     */
+    @Test
+    public void testCopyInIfModifiedInPlace() {
+        final int N = 128;
+
+        FloatArray array = createAndInitializeArray(N);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION_IF_MODIFIED, array) //
+                .task("t0", TestIO::incrementInPlace, array) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, array);
+
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot());
+
+        for (int i = 0; i < 4; i++) {
+            executionPlan.execute();
+        }
+
+        for (int i = 0; i < N; i++) {
+            assertEquals(i + 4, array.get(i), 0.0f);
+        }
+
+        // The host modification is copied to the device in the next execution
+        array.set(0, 100);
+        executionPlan.execute();
+
+        assertEquals(101, array.get(0), 0.0f);
+        for (int i = 1; i < N; i++) {
+            assertEquals(i + 5, array.get(i), 0.0f);
+        }
+    }
+
+    /**
+     * This test case uses the
+     * {@link uk.ac.manchester.tornado.api.enums.DataTransferMode#EVERY_EXECUTION_IF_MODIFIED}
+     * mode for an array that the kernel updates in place, but that is only copied
+     * back to the host on demand. The device copy no longer matches the host after
+     * each launch, so the host array is copied in every execution, as with
+     * {@link uk.ac.manchester.tornado.api.enums.DataTransferMode#EVERY_EXECUTION}.
+     */
+    @Test
+    public void testCopyInIfModifiedWrittenByKernel() {
+        final int N = 128;
+
+        FloatArray array = createAndInitializeArray(N);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION_IF_MODIFIED, array) //
+                .task("t0", TestIO::incrementInPlace, array) //
+                .transferToHost(DataTransferMode.UNDER_DEMAND, array);
+
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot());
+
+        TornadoExecutionResult executionResult = null;
+        for (int i = 0; i < 4; i++) {
+            executionResult = executionPlan.execute();
+        }
+        executionResult.transferToHost(array);
+
+        for (int i = 0; i < N; i++) {
+            assertEquals(i + 1, array.get(i), 0.0f);
+        }
+    }
     // CHECKSTYLE:ON
 }
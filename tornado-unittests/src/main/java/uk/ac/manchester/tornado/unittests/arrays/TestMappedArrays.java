@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * Tests for native arrays backed by memory-mapped files.
+ *
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ * tornado-test -V uk.ac.manchester.tornado.unittests.arrays.TestMappedArrays
+ * </code>
+ */
+public class TestMappedArrays extends TornadoTestBase {
+    // CHECKSTYLE:OFF
+
+    private static final int N = 1024;
+
+    private static Path createFloatFile(int size) throws IOException {
+        return createFloatFile(size, true);
+    }
+
+    private static Path createFloatFile(int size, boolean withHeader) throws IOException {
+        Path file = Files.createTempFile("tornado-mapped", ".bin");
+        file.toFile().deleteOnExit();
+        ByteBuffer buffer = ByteBuffer.allocate((int) TornadoNativeArray.ARRAY_HEADER + size * Float.BYTES).order(ByteOrder.nativeOrder());
+        if (withHeader) {
+            buffer.put(TornadoNativeArray.createHeader(size));
+        } else {
+            buffer.position((int) TornadoNativeArray.ARRAY_HEADER);
+        }
+        for (int i = 0; i < size; i++) {
+            buffer.putFloat(i);
+        }
+        buffer.flip();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(buffer);
+        }
+        return file;
+    }
+
+    @Test
+    public void testMapReadOnly() throws IOException {
+        Path fileA = createFloatFile(N);
+        Path fileB = createFloatFile(N);
+
+        FloatArray a = FloatArray.map(fileA, TornadoNativeArray.ARRAY_HEADER, N, FileChannel.MapMode.READ_ONLY);
+        FloatArray b = FloatArray.map(fileB, TornadoNativeArray.ARRAY_HEADER, N, FileChannel.MapMode.READ_ONLY);
+        FloatArray c = new FloatArray(N);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, a, b) //
+                .task("t0", TestArrays::vectorAddFloat, a, b, c) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, c);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+
+        for (int i = 0; i < N; i++) {
+            assertEquals(2 * i, c.get(i), 0.0f);
+        }
+    }
+
+    @Test
+    public void testMapReadWrite() throws IOException {
+        Path fileA = createFloatFile(N);
+        Path fileC = createFloatFile(N);
+
+        FloatArray a = FloatArray.map(fileA, TornadoNativeArray.ARRAY_HEADER, N, FileChannel.MapMode.READ_WRITE);
+        FloatArray c = FloatArray.map(fileC, TornadoNativeArray.ARRAY_HEADER, N, FileChannel.MapMode.READ_WRITE);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, a) //
+                .task("t0", TestArrays::vectorAddFloat, a, a, c) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, c);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+
+        // The output is written back to the file
+        FloatArray result = FloatArray.map(fileC, TornadoNativeArray.ARRAY_HEADER, N, FileChannel.MapMode.READ_ONLY);
+        for (int i = 0; i < N; i++) {
+            assertEquals(2 * i, c.get(i), 0.0f);
+            assertEquals(2 * i, result.get(i), 0.0f);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMapWithoutHeader() throws IOException {
+        Path file = createFloatFile(N);
+        FloatArray.map(file, 0, N, FileChannel.MapMode.READ_ONLY);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMapWrongSize() throws IOException {
+        Path file = createFloatFile(N);
+        FloatArray.map(file, TornadoNativeArray.ARRAY_HEADER, N / 2, FileChannel.MapMode.READ_ONLY);
+    }
+
+    /**
+     * Test that mapping a file never writes the header bytes, which belong to the
+     * user data when the file does not follow the native array layout.
+     */
+    @Test
+    public void testMapDoesNotWriteFile() throws IOException {
+        Path file = createFloatFile(N, false);
+        byte[] contents = Files.readAllBytes(file);
+        for (FileChannel.MapMode mode : new FileChannel.MapMode[] { FileChannel.MapMode.READ_ONLY, FileChannel.MapMode.READ_WRITE, FileChannel.MapMode.PRIVATE }) {
+            try {
+                FloatArray.map(file, TornadoNativeArray.ARRAY_HEADER, N, mode);
+                fail("The file has no array header");
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+        }
+        assertArrayEquals(contents, Files.readAllBytes(file));
+    }
+
+    @Test
+    public void testBulkCopies() {
+        float[] floats = new float[N];
+        int[] ints = new int[N];
+        for (int i = 0; i < N; i++) {
+            floats[i] = i * 0.5f;
+            ints[i] = -i;
+        }
+
+        FloatArray floatArray = FloatArray.fromArray(floats);
+        IntArray intArray = IntArray.fromArray(ints);
+        for (int i = 0; i < N; i++) {
+            assertEquals(floats[i], floatArray.get(i), 0.0f);
+            assertEquals(ints[i], intArray.get(i));
+        }
+
+        assertArrayEquals(floats, floatArray.toHeapArray(), 0.0f);
+        assertArrayEquals(ints, intArray.toHeapArray());
+    }
+    // CHECKSTYLE:ON
+}
@@ -113,6 +113,18 @@ public class TestBatches extends TornadoTestBase {
         }
     }
 
+    static void compute(IntArray in, DoubleArray out) {
+        for (@Parallel int i = 0; i < in.getSize(); i++) {
+            out.set(i, in.get(i));
+        }
+    }
+
+    static void computeWithCoefficients(FloatArray in, FloatArray coefficients, FloatArray out) {
+        for (@Parallel int i = 0; i < in.getSize(); i++) {
+            out.set(i, in.get(i) * coefficients.get(i % coefficients.getSize()));
+        }
+    }
+
     static void compute(int[] in, int[] out) {
         for (@Parallel int i = 0; i < in.length; i++) {
             out[i] = in[i];
@@ -542,6 +554,70 @@ public class TestBatches extends TornadoTestBase {
         executionPlan.freeDeviceMemory();
     }
 
+    @Test
+    public void testDifferentInputType() {
+        // IntArray and DoubleArray with the same # of elements: the batches of the
+        // output are twice as large (in bytes) as the batches of the input
+        checkMaxHeapAllocationOnDevice(6, MemoryUnit.MB);
+        IntArray a0 = new IntArray(2 * 1_000_000);
+        IntStream.range(0, a0.getSize()).forEach(i -> a0.set(i, i));
+        DoubleArray a1 = new DoubleArray(2 * 1_000_000);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, a0) //
+                .task("t0", TestBatches::compute, a0, a1) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, a1);
+        ImmutableTaskGraph snapshot = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(snapshot);
+        executionPlan.withBatch("1MB").execute();
+
+        for (int i = 0; i < a1.getSize(); i++) {
+            assertEquals(a0.get(i), a1.get(i), 1e-20);
+        }
+        executionPlan.freeDeviceMemory();
+    }
+
+    @Test
+    public void testBroadcastObject() {
+        // The coefficients are not split: all batches read the whole array, and
+        // its size is not folded to the number of threads of a batch
+        checkMaxHeapAllocationOnDevice(4, MemoryUnit.MB);
+        FloatArray input = new FloatArray(4 * 1_000_000);
+        FloatArray output = new FloatArray(4 * 1_000_000);
+        FloatArray coefficients = new FloatArray(4);
+        IntStream.range(0, input.getSize()).forEach(i -> input.set(i, i % 100));
+        IntStream.range(0, coefficients.getSize()).forEach(i -> coefficients.set(i, i + 1));
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, input, coefficients) //
+                .task("t0", TestBatches::computeWithCoefficients, input, coefficients, output) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+        ImmutableTaskGraph snapshot = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(snapshot);
+        executionPlan.withBatch("1MB", coefficients).execute();
+
+        for (int i = 0; i < output.getSize(); i++) {
+            assertEquals(input.get(i) * coefficients.get(i % 4), output.get(i), 0.01f);
+        }
+        executionPlan.freeDeviceMemory();
+    }
+
+    @Test
+    public void testBroadcastObjectMustBeReadOnly() {
+        checkMaxHeapAllocationOnDevice(4, MemoryUnit.MB);
+        FloatArray input = new FloatArray(1_000_000);
+        FloatArray output = new FloatArray(1_000_000);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, input) //
+                .task("t0", TestBatches::compute, input, output) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+        ImmutableTaskGraph snapshot = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(snapshot);
+        Assert.assertThrows(TornadoRuntimeException.class, () -> executionPlan.withBatch("1MB", output).execute());
+        executionPlan.freeDeviceMemory();
+    }
+
     @Test
     public void testSameInputSize() {
         // IntArray is compatible with FloatArray for the same # of elements
@@ -739,6 +815,75 @@ public class TestBatches extends TornadoTestBase {
         executionPlan.freeDeviceMemory();
     }
 
+    @Test
+    public void testPipelinedBatches() {
+        checkMaxHeapAllocationOnDevice(64, MemoryUnit.MB);
+
+        // Allocate ~ 64MB per array
+        FloatArray arrayA = new FloatArray(1024 * 1024 * 16);
+        FloatArray arrayB = new FloatArray(1024 * 1024 * 16);
+        FloatArray arrayC = new FloatArray(1024 * 1024 * 16);
+        Random r = new Random();
+        IntStream.range(0, arrayA.getSize()).forEach(i -> {
+            arrayA.set(i, r.nextFloat());
+            arrayB.set(i, r.nextFloat());
+        });
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, arrayA, arrayB) //
+                .task("t0", TestBatches::compute, arrayA, arrayB, arrayC) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, arrayC);
+
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot());
+        // Batches of 10MB, with two batches in flight
+        executionPlan.withBatch("10MB", 2) //
+                .execute();
+
+        for (int i = 0; i < arrayA.getSize(); i++) {
+            assertEquals(arrayA.get(i) + arrayB.get(i), arrayC.get(i), 0.01f);
+        }
+        executionPlan.freeDeviceMemory();
+    }
+
+    @Test
+    public void testPipelinedBatchesThreeBufferSets() {
+        checkMaxHeapAllocationOnDevice(64, MemoryUnit.MB);
+
+        // Allocate ~ 64MB
+        FloatArray array = new FloatArray(1024 * 1024 * 16);
+        FloatArray array2 = new FloatArray(1024 * 1024 * 16);
+        array.init(1.0f);
+        array2.init(1.0f);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, array) //
+                .task("t1", TestBatches::compute2, array) //
+                .task("t2", TestBatches::compute2, array) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, array);
+
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot());
+        // Batches of 10MB (the last one is smaller), with three batches in flight
+        executionPlan.withBatch("10MB", 3) //
+                .execute();
+
+        for (int i = 0; i < array.getSize(); i++) {
+            assertEquals(array2.get(i) * 4, array.get(i), 0.01f);
+        }
+        executionPlan.freeDeviceMemory();
+    }
+
+    @Test
+    public void testPipelineDepthMustBePositive() {
+        FloatArray array = new FloatArray(1024);
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, array) //
+                .task("t0", TestBatches::compute2, array) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, array);
+
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot());
+        Assert.assertThrows(TornadoRuntimeException.class, () -> executionPlan.withBatch("1MB", 0));
+    }
+
     private long checkMaxHeapAllocationOnDevice(int size, MemoryUnit memoryUnit) throws UnsupportedConfigurationException {
 
         long maxAllocMemory = getTornadoRuntime().getDefaultDevice().getDeviceContext().getMemoryManager().getHeapSize();
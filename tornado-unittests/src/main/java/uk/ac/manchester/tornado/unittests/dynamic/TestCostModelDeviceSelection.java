@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.dynamic;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.Policy;
+import uk.ac.manchester.tornado.api.enums.TornadoDeviceType;
+import uk.ac.manchester.tornado.runtime.tasks.CostModelDeviceSelection;
+import uk.ac.manchester.tornado.runtime.tasks.DeviceCostModel;
+import uk.ac.manchester.tornado.runtime.tasks.DeviceCostModel.Device;
+import uk.ac.manchester.tornado.runtime.tasks.DeviceCostModel.Workload;
+
+/**
+ * Tests the device selection of the dynamic reconfiguration with
+ * {@code DRMode.COST_MODEL}, with a cost model that returns fixed predictions.
+ * They run on the host only.
+ *
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ * tornado-test -V uk.ac.manchester.tornado.unittests.dynamic.TestCostModelDeviceSelection
+ * </code>
+ */
+public class TestCostModelDeviceSelection {
+
+    private static final String SIGNATURE = "saxpy@[gpu,fpga,java]";
+
+    private static final Device GPU = new Device("gpu", TornadoDeviceType.GPU, 80, 1500, false);
+    private static final Device FPGA = new Device("fpga", TornadoDeviceType.FPGA, 4, 300, false);
+    private static final Device JAVA = new Device("java", TornadoDeviceType.CPU, 8, 0, true);
+
+    private static final List<Device> DEVICES = List.of(GPU, FPGA, JAVA);
+
+    private static final Workload WORKLOAD = new Workload(List.of(), 1024);
+
+    /**
+     * Cost model with a fixed prediction, in nanoseconds, per device.
+     */
+    private record FixedCostModel(Map<String, Long> predictions) implements DeviceCostModel {
+        @Override
+        public long predict(Policy policy, Workload workload, Device device) {
+            return predictions.get(device.name());
+        }
+    }
+
+    private static CostModelDeviceSelection createSelection() {
+        return new CostModelDeviceSelection(new FixedCostModel(Map.of("gpu", 100L, "fpga", 200L, "java", 400L)));
+    }
+
+    @Test
+    public void testSelectBestPrediction() {
+        CostModelDeviceSelection selection = createSelection();
+        assertEquals(0, selection.select(Policy.PERFORMANCE, SIGNATURE, WORKLOAD, DEVICES));
+        assertEquals(100.0, selection.estimate(Policy.PERFORMANCE, SIGNATURE, WORKLOAD, GPU), 0.0);
+        assertEquals(400.0, selection.estimate(Policy.PERFORMANCE, SIGNATURE, WORKLOAD, JAVA), 0.0);
+    }
+
+    @Test
+    public void testObservationChangesSelection() {
+        CostModelDeviceSelection selection = createSelection();
+
+        // The GPU is ten times slower than predicted
+        selection.observe(Policy.PERFORMANCE, SIGNATURE, WORKLOAD, GPU, 1000);
+        assertEquals(1000.0, selection.estimate(Policy.PERFORMANCE, SIGNATURE, WORKLOAD, GPU), 0.0);
+        assertEquals(1, selection.select(Policy.PERFORMANCE, SIGNATURE, WORKLOAD, DEVICES));
+
+        // The FPGA is also slower than predicted, and the Java execution is faster
+        selection.observe(Policy.PERFORMANCE, SIGNATURE, WORKLOAD, FPGA, 2000);
+        selection.observe(Policy.PERFORMANCE, SIGNATURE, WORKLOAD, JAVA, 300);
+        assertEquals(2, selection.select(Policy.PERFORMANCE, SIGNATURE, WORKLOAD, DEVICES));
+    }
+
+    @Test
+    public void testObservationsAreSmoothed() {
+        CostModelDeviceSelection selection = createSelection();
+        selection.observe(Policy.PERFORMANCE, SIGNATURE, WORKLOAD, GPU, 1000);
+        selection.observe(Policy.PERFORMANCE, SIGNATURE, WORKLOAD, GPU, 100);
+
+        // Correction factors 10 and 1, with the same weight
+        assertEquals(550.0, selection.estimate(Policy.PERFORMANCE, SIGNATURE, WORKLOAD, GPU), 1e-9);
+        assertEquals(0, selection.select(Policy.PERFORMANCE, SIGNATURE, WORKLOAD, DEVICES));
+    }
+
+    @Test
+    public void testObservationsPerPolicyAndSignature() {
+        CostModelDeviceSelection selection = createSelection();
+        selection.observe(Policy.PERFORMANCE, SIGNATURE, WORKLOAD, GPU, 1000);
+
+        assertEquals(1, selection.select(Policy.PERFORMANCE, SIGNATURE, WORKLOAD, DEVICES));
+        assertEquals(0, selection.select(Policy.END_2_END, SIGNATURE, WORKLOAD, DEVICES));
+        assertEquals(0, selection.select(Policy.PERFORMANCE, "vectorAdd@[gpu,fpga,java]", WORKLOAD, DEVICES));
+    }
+}
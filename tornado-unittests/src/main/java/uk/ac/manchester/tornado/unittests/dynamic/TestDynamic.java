@@ -18,6 +18,8 @@
 package uk.ac.manchester.tornado.unittests.dynamic;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
 
@@ -30,6 +32,9 @@ import uk.ac.manchester.tornado.api.annotations.Parallel;
 import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
 import uk.ac.manchester.tornado.api.types.arrays.IntArray;
 import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.exceptions.TornadoDynamicReconfigurationException;
+import uk.ac.manchester.tornado.runtime.TornadoAcceleratorDriver;
+import uk.ac.manchester.tornado.runtime.TornadoCoreRuntime;
 import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
 
 /**
@@ -54,6 +59,18 @@ public class TestDynamic extends TornadoTestBase {
         }
     }
 
+    public static void increment(IntArray a, IntArray b) {
+        for (@Parallel int i = 0; i < a.getSize(); i++) {
+            b.set(i, a.get(i) + 1);
+        }
+    }
+
+    public static void incrementInPlace(IntArray a) {
+        for (@Parallel int i = 0; i < a.getSize(); i++) {
+            a.set(i, a.get(i) + 1);
+        }
+    }
+
     public static void saxpy(float alpha, FloatArray x, FloatArray y) {
         for (@Parallel int i = 0; i < y.getSize(); i++) {
             y.set(i, alpha * x.get(i));
@@ -242,4 +259,154 @@ public class TestDynamic extends TornadoTestBase {
             assertEquals(a.get(i) * 2, b.get(i));
         }
     }
+
+    @Test
+    public void testDynamicWinnerNoStaleOutputs() {
+        int numElements = 1048576;
+        IntArray a = new IntArray(numElements);
+        IntArray b = new IntArray(numElements);
+        a.init(10);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a) //
+                .task("t0", TestDynamic::increment, a, b) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, b);
+
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot());
+        executionPlan.withDynamicReconfiguration(Policy.LATENCY, DRMode.PARALLEL) //
+                .execute();
+
+        // The devices that lost the race must not write the results of the first
+        // input after the next executions
+        for (int k = 0; k < 5; k++) {
+            a.init(20 + k);
+            executionPlan.execute();
+            for (int i = 0; i < b.getSize(); i++) {
+                assertEquals(21 + k, b.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void testDynamicLatencyInPlace() {
+        int numElements = 1048576;
+        IntArray a = new IntArray(numElements);
+        a.init(10);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a) //
+                .task("t0", TestDynamic::incrementInPlace, a) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, a);
+
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot());
+        executionPlan.withDynamicReconfiguration(Policy.LATENCY, DRMode.PARALLEL) //
+                .execute();
+
+        // Each device increments its own copy of the array, and only the copy of
+        // the first device to finish is written back
+        for (int i = 0; i < a.getSize(); i++) {
+            assertEquals(11, a.get(i));
+        }
+    }
+
+    @Test
+    public void testDynamicLatencyRequiresParallelMode() {
+        IntArray a = new IntArray(1024);
+        IntArray b = new IntArray(1024);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a) //
+                .task("t0", TestDynamic::compute, a, b) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, b);
+
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot());
+        executionPlan.withDynamicReconfiguration(Policy.LATENCY, DRMode.SERIAL);
+        assertThrows(TornadoDynamicReconfigurationException.class, executionPlan::execute);
+    }
+
+    @Test
+    public void testDynamicWinnerFromHistory() {
+        int numElements = 12000;
+        IntArray a = new IntArray(numElements);
+        IntArray b = new IntArray(numElements);
+        a.init(10);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, a) //
+                .task("t0", TestDynamic::compute2, a, b) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, b);
+
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot());
+        executionPlan.withDynamicReconfiguration(Policy.LATENCY, DRMode.PARALLEL) //
+                .execute();
+
+        // A new task-graph with the same code and an input size in the same
+        // power-of-two bucket reuses the winner of the first one, without running
+        // on all devices
+        IntArray c = new IntArray(numElements + 1000);
+        IntArray d = new IntArray(numElements + 1000);
+        c.init(5);
+
+        TaskGraph taskGraph2 = new TaskGraph("s1") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, c) //
+                .task("t0", TestDynamic::compute2, c, d) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, d);
+
+        TornadoExecutionPlan executionPlan2 = new TornadoExecutionPlan(taskGraph2.snapshot());
+        executionPlan2.withDynamicReconfiguration(Policy.LATENCY, DRMode.PARALLEL) //
+                .execute();
+
+        for (int i = 0; i < b.getSize(); i++) {
+            assertEquals(a.get(i) * 10, b.get(i));
+        }
+        for (int i = 0; i < d.getSize(); i++) {
+            assertEquals(c.get(i) * 10, d.get(i));
+        }
+    }
+
+    @Test
+    public void testDynamicWithCostModel() {
+        int numElements = 262144;
+        FloatArray a = new FloatArray(numElements);
+        FloatArray b = new FloatArray(numElements);
+
+        a.init(10);
+        b.init(0);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a) //
+                .task("t0", TestDynamic::saxpy, 2.0f, a, b) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, b); //
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+
+        // The device is predicted from the features of saxpy, and the prediction is
+        // refined with the times of the following executions
+        executionPlan.withDynamicReconfiguration(Policy.PERFORMANCE, DRMode.COST_MODEL) //
+                .execute();
+
+        // Unlike the profiling mode, the task-graph is compiled and run on the
+        // selected device only
+        assertTrue(getNumDevicesWithBuffer(a) <= 1);
+
+        for (int i = 0; i < 10; i++) {
+            executionPlan.execute();
+        }
+
+        for (int i = 0; i < b.getSize(); i++) {
+            assertEquals(a.get(i) * 2.0f, b.get(i), 0.01f);
+        }
+    }
+
+    private static int getNumDevicesWithBuffer(Object object) {
+        TornadoAcceleratorDriver driver = TornadoCoreRuntime.getTornadoRuntime().getDriver(0);
+        int numDevices = 0;
+        for (int i = 0; i < driver.getDeviceCount(); i++) {
+            if (TornadoCoreRuntime.getTornadoRuntime().resolveObject(object).getDeviceState(driver.getDevice(i)).hasObjectBuffer()) {
+                numDevices++;
+            }
+        }
+        return numDevices;
+    }
 }
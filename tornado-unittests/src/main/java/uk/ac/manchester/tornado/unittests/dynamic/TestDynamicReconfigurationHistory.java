@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.dynamic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.Policy;
+import uk.ac.manchester.tornado.runtime.tasks.DynamicReconfigurationHistory;
+
+/**
+ * Tests the history of the devices selected by the dynamic reconfiguration:
+ * the entries are persisted and reloaded, and the entries that are stale or
+ * that belong to another policy or task-graph are ignored. They run on the host
+ * only.
+ *
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ * tornado-test -V uk.ac.manchester.tornado.unittests.dynamic.TestDynamicReconfigurationHistory
+ * </code>
+ */
+public class TestDynamicReconfigurationHistory {
+
+    private static final String SIGNATURE = "saxpy@[gpu,java]";
+    private static final long MAX_AGE_SECONDS = 3600;
+
+    private Path directory;
+    private Path historyFile;
+
+    @Before
+    public void before() throws IOException {
+        directory = Files.createTempDirectory("tornado-history");
+        historyFile = directory.resolve("history.tsv");
+    }
+
+    @After
+    public void after() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    private DynamicReconfigurationHistory load() {
+        return DynamicReconfigurationHistory.load(historyFile.toString(), MAX_AGE_SECONDS);
+    }
+
+    private static String entry(Policy policy, int inputSize, int device, long time, long timestamp, String signature) {
+        return String.join("\t", policy.name(), Integer.toString(DynamicReconfigurationHistory.getSizeBucket(inputSize)), Integer.toString(device), Long.toString(time), Long.toString(
+                timestamp), signature);
+    }
+
+    @Test
+    public void testReloadHistory() {
+        DynamicReconfigurationHistory history = load();
+        history.update(Policy.PERFORMANCE, SIGNATURE, 1000, 2, 500);
+        history.update(Policy.LATENCY, SIGNATURE, 1000, 1, 300);
+        assertTrue(Files.exists(historyFile));
+
+        DynamicReconfigurationHistory reloaded = load();
+        assertEquals(Integer.valueOf(2), reloaded.findDevice(Policy.PERFORMANCE, SIGNATURE, 1000));
+        // Same power-of-two bucket
+        assertEquals(Integer.valueOf(2), reloaded.findDevice(Policy.PERFORMANCE, SIGNATURE, 600));
+        assertEquals(Integer.valueOf(1), reloaded.findDevice(Policy.LATENCY, SIGNATURE, 1000));
+
+        Map<Integer, DynamicReconfigurationHistory.Entry> entries = reloaded.getEntries(Policy.PERFORMANCE, SIGNATURE);
+        assertEquals(1, entries.size());
+        DynamicReconfigurationHistory.Entry entry = entries.get(DynamicReconfigurationHistory.getSizeBucket(1000));
+        assertEquals(2, entry.device());
+        assertEquals(500, entry.time());
+    }
+
+    @Test
+    public void testMismatchedEntriesAreIgnored() {
+        DynamicReconfigurationHistory history = load();
+        history.update(Policy.PERFORMANCE, SIGNATURE, 1000, 2, 500);
+
+        DynamicReconfigurationHistory reloaded = load();
+        // Another task-graph, another policy, and an input size in another bucket
+        assertNull(reloaded.findDevice(Policy.PERFORMANCE, "saxpy@[gpu]", 1000));
+        assertNull(reloaded.findDevice(Policy.PERFORMANCE, "vectorAdd@[gpu,java]", 1000));
+        assertNull(reloaded.findDevice(Policy.END_2_END, SIGNATURE, 1000));
+        assertNull(reloaded.findDevice(Policy.PERFORMANCE, SIGNATURE, 5000));
+        assertTrue(reloaded.getEntries(Policy.LATENCY, SIGNATURE).isEmpty());
+    }
+
+    @Test
+    public void testStaleEntriesAreIgnored() throws IOException {
+        final long now = System.currentTimeMillis();
+        final long expired = now - (MAX_AGE_SECONDS + 60) * 1000;
+        Files.write(historyFile, List.of( //
+                "# history", //
+                entry(Policy.PERFORMANCE, 1000, 0, 100, expired, SIGNATURE), //
+                entry(Policy.PERFORMANCE, 100000, 1, 200, now, SIGNATURE), //
+                entry(Policy.LATENCY, 1000, 2, 300, expired, "stale@[gpu,java]")), StandardCharsets.UTF_8);
+
+        DynamicReconfigurationHistory history = load();
+        assertNull(history.findDevice(Policy.PERFORMANCE, SIGNATURE, 1000));
+        assertEquals(Integer.valueOf(1), history.findDevice(Policy.PERFORMANCE, SIGNATURE, 100000));
+        assertNull(history.findDevice(Policy.LATENCY, "stale@[gpu,java]", 1000));
+        assertEquals(1, history.getEntries(Policy.PERFORMANCE, SIGNATURE).size());
+
+        // The stale entries are dropped when the history is written back
+        history.update(Policy.END_2_END, SIGNATURE, 1000, 0, 400);
+        String content = Files.readString(historyFile, StandardCharsets.UTF_8);
+        assertFalse(content.contains("stale@[gpu,java]"));
+        assertFalse(content.contains(Long.toString(expired)));
+    }
+
+    @Test
+    public void testMalformedEntriesAreSkipped() throws IOException {
+        final long now = System.currentTimeMillis();
+        Files.write(historyFile, List.of( //
+                "PERFORMANCE\t10\t1", //
+                entry(Policy.PERFORMANCE, 1000, 1, 200, now, SIGNATURE)), StandardCharsets.UTF_8);
+
+        DynamicReconfigurationHistory history = load();
+        assertEquals(Integer.valueOf(1), history.findDevice(Policy.PERFORMANCE, SIGNATURE, 1000));
+        assertEquals(1, history.getEntries(Policy.PERFORMANCE, SIGNATURE).size());
+    }
+
+    @Test
+    public void testHistoryInMemory() {
+        DynamicReconfigurationHistory history = DynamicReconfigurationHistory.load("", MAX_AGE_SECONDS);
+        history.update(Policy.PERFORMANCE, SIGNATURE, 1000, 2, 500);
+        assertEquals(Integer.valueOf(2), history.findDevice(Policy.PERFORMANCE, SIGNATURE, 1000));
+        assertFalse(Files.exists(historyFile));
+    }
+}
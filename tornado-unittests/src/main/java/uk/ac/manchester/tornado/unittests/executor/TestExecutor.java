@@ -23,6 +23,7 @@ import uk.ac.manchester.tornado.api.TaskGraph;
 import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
 import uk.ac.manchester.tornado.api.TornadoExecutionResult;
 import uk.ac.manchester.tornado.api.TornadoProfilerResult;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
 import uk.ac.manchester.tornado.api.common.TornadoDevice;
 import uk.ac.manchester.tornado.api.types.arrays.IntArray;
 import uk.ac.manchester.tornado.api.enums.DataTransferMode;
@@ -30,7 +31,10 @@ import uk.ac.manchester.tornado.api.enums.ProfilerMode;
 import uk.ac.manchester.tornado.unittests.TestHello;
 import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
@@ -44,6 +48,13 @@ import static org.junit.Assert.assertNotNull;
  * </p>
  */
 public class TestExecutor extends TornadoTestBase {
+
+    private static void increment(IntArray a) {
+        for (@Parallel int i = 0; i < a.getSize(); i++) {
+            a.set(i, a.get(i) + 1);
+        }
+    }
+
     // CHECKSTYLE:OFF
     @Test
     public void test01() {
@@ -232,5 +243,203 @@ public class TestExecutor extends TornadoTestBase {
         }
 
     }
+
+    /**
+     * Test to submit an execution plan without blocking the calling thread.
+     */
+    @Test
+    public void test05() {
+        int numElements = 16;
+        IntArray a = new IntArray(numElements);
+        IntArray b = new IntArray(numElements);
+        IntArray c = new IntArray(numElements);
+
+        a.init(1);
+        b.init(2);
+
+        TaskGraph tg = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, a, b) //
+                .task("t0", TestHello::add, a, b, c) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, c);
+
+        TornadoExecutionPlan executorPlan = new TornadoExecutionPlan(tg.snapshot());
+
+        CompletableFuture<TornadoExecutionResult> future = executorPlan.executeAsync();
+
+        // The host can do other work here
+        TornadoExecutionResult executionResult = future.join();
+        assertNotNull(executionResult.getProfilerResult());
+
+        for (int i = 0; i < c.getSize(); i++) {
+            assertEquals(a.get(i) + b.get(i), c.get(i));
+        }
+    }
+
+    /**
+     * Test that asynchronous executions of the same plan run in submission order.
+     * Each execution reads the result of the previous one.
+     */
+    @Test
+    public void test06() {
+        int numElements = 256;
+        IntArray a = new IntArray(numElements);
+        a.init(0);
+
+        TaskGraph tg = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a) //
+                .task("t0", TestExecutor::increment, a) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, a);
+
+        TornadoExecutionPlan executorPlan = new TornadoExecutionPlan(tg.snapshot());
+
+        final int ITERATIONS = 20;
+        List<CompletableFuture<TornadoExecutionResult>> futures = new ArrayList<>();
+        for (int i = 0; i < ITERATIONS; i++) {
+            futures.add(executorPlan.executeAsync());
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+        // A synchronous execution waits for the pending asynchronous ones
+        executorPlan.execute();
+
+        for (int i = 0; i < a.getSize(); i++) {
+            assertEquals(ITERATIONS + 1, a.get(i));
+        }
+    }
+
+    /**
+     * Test to compile all tasks of a task-graph in the background before the
+     * first execution.
+     */
+    @Test
+    public void test07() {
+        int numElements = 256;
+        IntArray a = new IntArray(numElements);
+        IntArray b = new IntArray(numElements);
+        IntArray c = new IntArray(numElements);
+
+        a.init(1);
+        b.init(2);
+
+        TaskGraph tg = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a, b) //
+                .task("t0", TestExecutor::increment, a) //
+                .task("t1", TestExecutor::increment, b) //
+                .task("t2", TestHello::add, a, b, c) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, c);
+
+        TornadoExecutionPlan executorPlan = new TornadoExecutionPlan(tg.snapshot());
+
+        executorPlan.withBackgroundCompilation().execute();
+
+        for (int i = 0; i < c.getSize(); i++) {
+            assertEquals(5, c.get(i));
+        }
+
+        executorPlan.withoutBackgroundCompilation();
+    }
+
+    /**
+     * Test that the results are correct while the local work-group sizes are
+     * autotuned, and after the best one is selected. The candidates run in turns
+     * of a few executions until all of them have been measured.
+     */
+    @Test
+    public void test08() {
+        final int numElements = 4096;
+        final int iterations = 32;
+        IntArray a = new IntArray(numElements);
+        a.init(0);
+
+        TaskGraph tg = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, a) //
+                .task("t0", TestExecutor::increment, a) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, a);
+
+        TornadoExecutionPlan executorPlan = new TornadoExecutionPlan(tg.snapshot());
+        executorPlan.withAutotuning();
+
+        for (int i = 0; i < iterations; i++) {
+            executorPlan.execute();
+            for (int j = 0; j < numElements; j++) {
+                assertEquals(i + 1, a.get(j));
+            }
+        }
+
+        executorPlan.withoutAutotuning();
+    }
+
+    /**
+     * Test that synchronous executions issued from another host thread are
+     * serialized with the asynchronous executions of the same plan. Each
+     * execution reads the result of the previous one, so an overlap loses
+     * increments.
+     */
+    @Test
+    public void test09() throws InterruptedException {
+        int numElements = 256;
+        IntArray a = new IntArray(numElements);
+        a.init(0);
+
+        TaskGraph tg = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a) //
+                .task("t0", TestExecutor::increment, a) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, a);
+
+        TornadoExecutionPlan executorPlan = new TornadoExecutionPlan(tg.snapshot());
+
+        final int ITERATIONS = 10;
+        Thread hostThread = new Thread(() -> {
+            for (int i = 0; i < ITERATIONS; i++) {
+                executorPlan.execute();
+            }
+        });
+        hostThread.start();
+
+        List<CompletableFuture<TornadoExecutionResult>> futures = new ArrayList<>();
+        for (int i = 0; i < ITERATIONS; i++) {
+            futures.add(executorPlan.executeAsync());
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        hostThread.join();
+
+        for (int i = 0; i < a.getSize(); i++) {
+            assertEquals(2 * ITERATIONS, a.get(i));
+        }
+    }
+
+    /**
+     * Test many execution plans in flight at the same time. The executions are
+     * completed from the device events, without a host thread per plan.
+     */
+    @Test
+    public void test10() {
+        final int numPlans = 64;
+        int numElements = 256;
+        List<IntArray> arrays = new ArrayList<>();
+        List<TornadoExecutionPlan> plans = new ArrayList<>();
+        for (int i = 0; i < numPlans; i++) {
+            IntArray a = new IntArray(numElements);
+            a.init(i);
+            TaskGraph tg = new TaskGraph("s" + i) //
+                    .transferToDevice(DataTransferMode.EVERY_EXECUTION, a) //
+                    .task("t0", TestExecutor::increment, a) //
+                    .transferToHost(DataTransferMode.EVERY_EXECUTION, a);
+            arrays.add(a);
+            plans.add(new TornadoExecutionPlan(tg.snapshot()));
+        }
+
+        List<CompletableFuture<TornadoExecutionResult>> futures = new ArrayList<>();
+        for (TornadoExecutionPlan plan : plans) {
+            futures.add(plan.executeAsync());
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+        for (int i = 0; i < numPlans; i++) {
+            for (int j = 0; j < numElements; j++) {
+                assertEquals(i + 1, arrays.get(i).get(j));
+            }
+        }
+    }
     // CHECKSTYLE:ON
 }
@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.jvm;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoDriver;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.annotations.Reduce;
+import uk.ac.manchester.tornado.api.common.TornadoDevice;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.enums.TornadoVMBackendType;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+import uk.ac.manchester.tornado.unittests.common.TornadoVMJVMNotSupported;
+
+/**
+ * Tests for the JVM backend, which runs the tasks on the cores of the host.
+ *
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ * tornado-test -V uk.ac.manchester.tornado.unittests.jvm.TestJVMBackend
+ * </code>
+ */
+public class TestJVMBackend extends TornadoTestBase {
+
+    private static final int SIZE = 100_003;
+
+    private static TornadoDevice getJVMDevice() {
+        int numDrivers = getTornadoRuntime().getNumDrivers();
+        for (int driverIndex = 0; driverIndex < numDrivers; driverIndex++) {
+            TornadoDriver driver = getTornadoRuntime().getDriver(driverIndex);
+            if (driver.getBackendType() == TornadoVMBackendType.JAVA) {
+                return driver.getDevice(0);
+            }
+        }
+        throw new TornadoVMJVMNotSupported("The JVM backend is not installed");
+    }
+
+    public static void vectorAdd(int[] a, int[] b, int[] c) {
+        for (@Parallel int i = 0; i < c.length; i++) {
+            c[i] = a[i] + b[i];
+        }
+    }
+
+    public static void saxpy(float alpha, FloatArray x, FloatArray y) {
+        for (@Parallel int i = 0; i < y.getSize(); i++) {
+            y.set(i, alpha * x.get(i) + y.get(i));
+        }
+    }
+
+    public static void sum(int[] input, @Reduce int[] result) {
+        result[0] = 0;
+        for (@Parallel int i = 0; i < input.length; i++) {
+            result[0] += input[i];
+        }
+    }
+
+    public static void prefix(int[] input, int[] output) {
+        output[0] = input[0];
+        for (int i = 1; i < input.length; i++) {
+            output[i] = output[i - 1] + input[i];
+        }
+    }
+
+    private static void execute(TornadoDevice device, TaskGraph taskGraph) {
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.withDevice(device).execute();
+    }
+
+    @Test
+    public void testVectorAdd() {
+        TornadoDevice device = getJVMDevice();
+        int[] a = new int[SIZE];
+        int[] b = new int[SIZE];
+        int[] c = new int[SIZE];
+        IntStream.range(0, SIZE).forEach(i -> {
+            a[i] = i;
+            b[i] = 2 * i;
+        });
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a, b) //
+                .task("t0", TestJVMBackend::vectorAdd, a, b, c) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, c);
+        execute(device, taskGraph);
+
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(3 * i, c[i]);
+        }
+    }
+
+    @Test
+    public void testSaxpyNativeArray() {
+        TornadoDevice device = getJVMDevice();
+        FloatArray x = new FloatArray(SIZE);
+        FloatArray y = new FloatArray(SIZE);
+        FloatArray expected = new FloatArray(SIZE);
+        Random r = new Random();
+        for (int i = 0; i < SIZE; i++) {
+            x.set(i, r.nextFloat());
+            y.set(i, r.nextFloat());
+            expected.set(i, y.get(i));
+        }
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, x, y) //
+                .task("t0", TestJVMBackend::saxpy, 2.0f, x, y) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, y);
+        execute(device, taskGraph);
+
+        saxpy(2.0f, x, expected);
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(expected.get(i), y.get(i), DELTA);
+        }
+    }
+
+    @Test
+    public void testReduction() {
+        TornadoDevice device = getJVMDevice();
+        int[] input = new int[SIZE];
+        Random r = new Random();
+        IntStream.range(0, SIZE).forEach(i -> input[i] = r.nextInt(100));
+        int[] result = new int[1];
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                .task("t0", TestJVMBackend::sum, input, result) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, result);
+        execute(device, taskGraph);
+
+        int[] sequential = new int[1];
+        sum(input, sequential);
+        assertEquals(sequential[0], result[0]);
+    }
+
+    @Test
+    public void testSequentialTask() {
+        TornadoDevice device = getJVMDevice();
+        int[] input = new int[SIZE];
+        IntStream.range(0, SIZE).forEach(i -> input[i] = i % 7);
+        int[] output = new int[SIZE];
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                .task("t0", TestJVMBackend::prefix, input, output) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+        execute(device, taskGraph);
+
+        int[] sequential = new int[SIZE];
+        prefix(input, sequential);
+        assertArrayEquals(sequential, output);
+    }
+
+    @Test
+    public void testBatchFallsBackToJava() {
+        TornadoDevice device = getJVMDevice();
+        final int size = 1024 * 1024;
+        int[] a = new int[size];
+        int[] b = new int[size];
+        int[] c = new int[size];
+        IntStream.range(0, size).forEach(i -> {
+            a[i] = i;
+            b[i] = 2 * i;
+        });
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a, b) //
+                .task("t0", TestJVMBackend::vectorAdd, a, b, c) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, c);
+
+        // The JVM backend bails out of batch processing, and the task runs in
+        // sequential Java over the whole arrays
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.withBatch("1MB").withDevice(device).execute();
+
+        for (int i = 0; i < size; i++) {
+            assertEquals(3 * i, c[i]);
+        }
+    }
+}
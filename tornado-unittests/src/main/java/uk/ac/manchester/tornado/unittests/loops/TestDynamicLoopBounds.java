@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.loops;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * Tasks that run the same code with different input sizes. With
+ * {@code -Dtornado.loop.bounds.dynamic=True}, the bounds of the parallel loops
+ * are passed at runtime and the kernel is shared by all the sizes.
+ *
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ *     tornado-test -V --jvm="-Dtornado.loop.bounds.dynamic=True" uk.ac.manchester.tornado.unittests.loops.TestDynamicLoopBounds
+ * </code>
+ */
+public class TestDynamicLoopBounds extends TornadoTestBase {
+
+    private static final int[] SIZES = { 256, 1000, 4097, 32 };
+
+    public static void vectorAdd(float[] a, float[] b, float[] c) {
+        for (@Parallel int i = 0; i < c.length; i++) {
+            c[i] = a[i] + b[i];
+        }
+    }
+
+    public static void vectorAddNative(FloatArray a, FloatArray b, FloatArray c) {
+        for (@Parallel int i = 0; i < c.getSize(); i++) {
+            c.set(i, a.get(i) + b.get(i));
+        }
+    }
+
+    public static void fillPrefix(IntArray a, int n) {
+        for (@Parallel int i = 0; i < n; i++) {
+            a.set(i, i);
+        }
+    }
+
+    public static void fill2D(IntArray a, int rows, int columns) {
+        for (@Parallel int i = 0; i < rows; i++) {
+            for (@Parallel int j = 0; j < columns; j++) {
+                a.set(i * columns + j, i + j);
+            }
+        }
+    }
+
+    @Test
+    public void testArrayLength() {
+        for (int size : SIZES) {
+            float[] a = new float[size];
+            float[] b = new float[size];
+            float[] c = new float[size];
+            IntStream.range(0, size).forEach(i -> {
+                a[i] = i;
+                b[i] = 2 * i;
+            });
+
+            TaskGraph taskGraph = new TaskGraph("s0") //
+                    .transferToDevice(DataTransferMode.EVERY_EXECUTION, a, b) //
+                    .task("t0", TestDynamicLoopBounds::vectorAdd, a, b, c) //
+                    .transferToHost(DataTransferMode.EVERY_EXECUTION, c);
+            TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot());
+            executionPlan.execute();
+
+            for (int i = 0; i < size; i++) {
+                assertEquals(a[i] + b[i], c[i], 0.01f);
+            }
+        }
+    }
+
+    @Test
+    public void testNativeArraySize() {
+        for (int size : SIZES) {
+            FloatArray a = new FloatArray(size);
+            FloatArray b = new FloatArray(size);
+            FloatArray c = new FloatArray(size);
+            IntStream.range(0, size).forEach(i -> {
+                a.set(i, i);
+                b.set(i, 3 * i);
+            });
+
+            TaskGraph taskGraph = new TaskGraph("s0") //
+                    .transferToDevice(DataTransferMode.EVERY_EXECUTION, a, b) //
+                    .task("t0", TestDynamicLoopBounds::vectorAddNative, a, b, c) //
+                    .transferToHost(DataTransferMode.EVERY_EXECUTION, c);
+            TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot());
+            executionPlan.execute();
+
+            for (int i = 0; i < size; i++) {
+                assertEquals(a.get(i) + b.get(i), c.get(i), 0.01f);
+            }
+        }
+    }
+
+    @Test
+    public void testScalarBound() {
+        final int size = 4096;
+        for (int n : SIZES) {
+            int bound = Math.min(n, size);
+            IntArray a = new IntArray(size);
+            a.init(-1);
+
+            TaskGraph taskGraph = new TaskGraph("s0") //
+                    .transferToDevice(DataTransferMode.EVERY_EXECUTION, a) //
+                    .task("t0", TestDynamicLoopBounds::fillPrefix, a, bound) //
+                    .transferToHost(DataTransferMode.EVERY_EXECUTION, a);
+            TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot());
+            executionPlan.execute();
+
+            for (int i = 0; i < size; i++) {
+                assertEquals(i < bound ? i : -1, a.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void test2D() {
+        final int[][] shapes = { { 16, 16 }, { 33, 7 }, { 64, 128 } };
+        for (int[] shape : shapes) {
+            int rows = shape[0];
+            int columns = shape[1];
+            IntArray a = new IntArray(rows * columns);
+
+            TaskGraph taskGraph = new TaskGraph("s0") //
+                    .task("t0", TestDynamicLoopBounds::fill2D, a, rows, columns) //
+                    .transferToHost(DataTransferMode.EVERY_EXECUTION, a);
+            TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot());
+            executionPlan.execute();
+
+            for (int i = 0; i < rows; i++) {
+                for (int j = 0; j < columns; j++) {
+                    assertEquals(i + j, a.get(i * columns + j));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testHotSize() {
+        // With -Dtornado.loop.bounds.hotSizes, the task is compiled again with
+        // specialised bounds after a number of launches with the same size
+        final int size = 1000;
+        FloatArray a = new FloatArray(size);
+        FloatArray b = new FloatArray(size);
+        FloatArray c = new FloatArray(size);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a, b) //
+                .task("t0", TestDynamicLoopBounds::vectorAddNative, a, b, c) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, c);
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot());
+
+        for (int k = 0; k < 5; k++) {
+            a.init(k);
+            b.init(10);
+            executionPlan.execute();
+            for (int i = 0; i < size; i++) {
+                assertEquals(k + 10, c.get(i), 0.01f);
+            }
+        }
+    }
+}
@@ -997,4 +997,33 @@ public class TestLoops extends TornadoTestBase {
         }
         //Assert.assertArrayEquals(outSeq, outTor);
     }
+
+    /**
+     * Parallel loop with a prime number of iterations. With
+     * {@code -Dtornado.padding=True} the global work is padded, and the elements
+     * after the iteration space must not be written.
+     */
+    @Test
+    public void testIrregularSize() {
+        final int size = 1_000_003;
+        final int padding = 256;
+        IntArray a = new IntArray(size + padding);
+        a.init(-1);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, a) //
+                .task("t0", TestLoops::forConstant03, a, size) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, a);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+
+        for (int i = 0; i < size; i++) {
+            assertEquals(10, a.get(i));
+        }
+        for (int i = size; i < a.getSize(); i++) {
+            assertEquals(-1, a.get(i));
+        }
+    }
 }
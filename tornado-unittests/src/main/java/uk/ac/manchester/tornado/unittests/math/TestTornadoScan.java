@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.math;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.GridScheduler;
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.math.TornadoScan;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * Tests for the prefix-sum and stream-compaction primitives of
+ * {@link TornadoScan}.
+ *
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ * tornado-test -V uk.ac.manchester.tornado.unittests.math.TestTornadoScan
+ * </code>
+ */
+public class TestTornadoScan extends TornadoTestBase {
+
+    private static IntArray createInput(int size) {
+        IntArray input = new IntArray(size);
+        Random r = new Random();
+        IntStream.range(0, size).forEach(i -> input.set(i, r.nextInt(100)));
+        return input;
+    }
+
+    private static void evenFlags(IntArray input, IntArray flags) {
+        for (@Parallel int i = 0; i < input.getSize(); i++) {
+            flags.set(i, (input.get(i) % 2 == 0) ? 1 : 0);
+        }
+    }
+
+    private static void assertArrayEquals(IntArray expected, IntArray actual, int size) {
+        for (int i = 0; i < size; i++) {
+            assertEquals(expected.get(i), actual.get(i));
+        }
+    }
+
+    private void runScan(int size, boolean inclusive) {
+        IntArray input = createInput(size);
+        IntArray output = new IntArray(size);
+
+        GridScheduler gridScheduler = new GridScheduler();
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input);
+        if (inclusive) {
+            TornadoScan.addInclusiveSum(taskGraph, gridScheduler, "scan", input, output);
+        } else {
+            TornadoScan.addExclusiveSum(taskGraph, gridScheduler, "scan", input, output);
+        }
+        taskGraph.transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.withGridScheduler(gridScheduler).execute();
+
+        IntArray sequential = new IntArray(size);
+        if (inclusive) {
+            TornadoScan.inclusiveSum(input, sequential);
+        } else {
+            TornadoScan.exclusiveSum(input, sequential);
+        }
+        assertArrayEquals(sequential, output, size);
+    }
+
+    @Test
+    public void testExclusiveSumSingleBlock() {
+        runScan(TornadoScan.BLOCK_SIZE, false);
+    }
+
+    @Test
+    public void testExclusiveSum() {
+        runScan(100_000, false);
+    }
+
+    @Test
+    public void testInclusiveSum() {
+        runScan(100_000, true);
+    }
+
+    @Test
+    public void testInclusiveSumThreeLevels() {
+        // More than BLOCK_SIZE^2 elements, so the block totals are scanned twice
+        runScan(TornadoScan.BLOCK_SIZE * TornadoScan.BLOCK_SIZE * 2 + 17, true);
+    }
+
+    @Test
+    public void testSequentialScanTask() {
+        final int size = 1024;
+        IntArray input = createInput(size);
+        IntArray output = new IntArray(size);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                .task("t0", TornadoScan::exclusiveSum, input, output) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+
+        IntArray sequential = new IntArray(size);
+        TornadoScan.exclusiveSum(input, sequential);
+        assertArrayEquals(sequential, output, size);
+    }
+
+    @Test
+    public void testCompact() {
+        final int size = 100_000;
+        IntArray input = createInput(size);
+        IntArray flags = new IntArray(size);
+        IntArray output = new IntArray(size);
+        IntArray count = new IntArray(1);
+
+        GridScheduler gridScheduler = new GridScheduler();
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                .task("predicate", TestTornadoScan::evenFlags, input, flags);
+        TornadoScan.addCompact(taskGraph, gridScheduler, "compact", input, flags, output, count);
+        taskGraph.transferToHost(DataTransferMode.EVERY_EXECUTION, output, count);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.withGridScheduler(gridScheduler).execute();
+
+        IntArray sequentialFlags = new IntArray(size);
+        IntArray sequentialOutput = new IntArray(size);
+        IntArray sequentialCount = new IntArray(1);
+        evenFlags(input, sequentialFlags);
+        TornadoScan.compact(input, sequentialFlags, sequentialOutput, sequentialCount);
+
+        assertEquals(sequentialCount.get(0), count.get(0));
+        assertArrayEquals(sequentialOutput, output, sequentialCount.get(0));
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.matrices;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.matrix.SparseMatrixUtils;
+import uk.ac.manchester.tornado.matrix.SparseMatrixUtils.CSRMatrix;
+
+/**
+ * Tests the Matrix Market reader and the binary CSR files of
+ * {@link SparseMatrixUtils}. They run on the host only.
+ *
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ * tornado-test -V uk.ac.manchester.tornado.unittests.matrices.TestSparseMatrixUtils
+ * </code>
+ */
+public class TestSparseMatrixUtils {
+
+    private static final String GENERAL = """
+            %%MatrixMarket matrix coordinate real general
+            % Comment lines and blank lines before the size line are skipped
+            %
+
+            3 4 5
+            3 4 -2.5e1
+            1 1 1.0
+            2 3 0.1
+            1 4 3
+            2 1 -7.25
+            """;
+
+    private static final String SYMMETRIC = """
+            %%MatrixMarket matrix coordinate real symmetric
+            % Only the lower triangle is stored
+            3 3 4
+            1 1 2.0
+            2 1 -1.5
+            3 2 0.3
+            3 3 4E-1
+            """;
+
+    private static final String PATTERN = """
+            %%MatrixMarket matrix coordinate pattern general
+            % Entries without values
+            2 3 3
+            2 3
+            1 2
+            1 1
+            """;
+
+    private static final String DENSE = """
+            %%MatrixMarket matrix array real general
+            2 1
+            1.0
+            2.0
+            """;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static CSRMatrix<FloatArray> load(String fixture) {
+        return SparseMatrixUtils.loadMatrixF(new ByteArrayInputStream(fixture.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    private static void assertMatrix(int[] rows, int[] cols, float[] vals, CSRMatrix<FloatArray> mat) {
+        assertEquals(rows.length - 1, mat.size);
+        assertEquals(cols.length, mat.n);
+        assertArrayEquals(rows, mat.rows.toHeapArray());
+        assertArrayEquals(cols, mat.cols.toHeapArray());
+        assertArrayEquals(vals, mat.vals.toHeapArray(), 0.0f);
+    }
+
+    @Test
+    public void testGeneral() {
+        CSRMatrix<FloatArray> mat = load(GENERAL);
+        assertNotNull(mat);
+        // Rows are sorted by column, whatever the order in the file
+        assertMatrix(new int[] { 0, 2, 4, 5 }, new int[] { 0, 3, 0, 2, 3 }, new float[] { 1.0f, 3.0f, -7.25f, 0.1f, -25.0f }, mat);
+    }
+
+    @Test
+    public void testSymmetric() {
+        CSRMatrix<FloatArray> mat = load(SYMMETRIC);
+        assertNotNull(mat);
+        // Entries outside the diagonal are mirrored into the upper triangle
+        assertMatrix(new int[] { 0, 2, 4, 6 }, new int[] { 0, 1, 0, 2, 1, 2 }, new float[] { 2.0f, -1.5f, -1.5f, 0.3f, 0.3f, 0.4f }, mat);
+    }
+
+    @Test
+    public void testPattern() {
+        CSRMatrix<FloatArray> mat = load(PATTERN);
+        assertNotNull(mat);
+        assertEquals(2, mat.size);
+        assertEquals(3, mat.n);
+        assertArrayEquals(new int[] { 0, 2, 3 }, mat.rows.toHeapArray());
+        assertArrayEquals(new int[] { 0, 1, 2 }, mat.cols.toHeapArray());
+
+        // Values are random, but seeded
+        float[] vals = mat.vals.toHeapArray();
+        for (float val : vals) {
+            assertTrue(val >= 0.0f && val < 256.0f);
+        }
+        assertArrayEquals(vals, load(PATTERN).vals.toHeapArray(), 0.0f);
+    }
+
+    @Test
+    public void testDenseIsRejected() {
+        assertNull(load(DENSE));
+    }
+
+    @Test
+    public void testValuesAreParsedAsFloat() {
+        String fixture = """
+                %%MatrixMarket matrix coordinate real general
+                1 5 5
+                1 1 0.1
+                1 2 16777217
+                1 3 3.4028235e38
+                1 4 1.4e-45
+                1 5 -0.33333334
+                """;
+        CSRMatrix<FloatArray> mat = load(fixture);
+        assertNotNull(mat);
+        float[] expected = { Float.parseFloat("0.1"), Float.parseFloat("16777217"), Float.parseFloat("3.4028235e38"), Float.parseFloat("1.4e-45"), Float.parseFloat("-0.33333334") };
+        assertArrayEquals(expected, mat.vals.toHeapArray(), 0.0f);
+    }
+
+    @Test
+    public void testWriteAndMap() throws IOException {
+        CSRMatrix<FloatArray> mat = load(SYMMETRIC);
+        Path file = folder.getRoot().toPath().resolve("symmetric.mtx" + SparseMatrixUtils.CSR_CACHE_SUFFIX);
+
+        SparseMatrixUtils.writeMatrixF(mat, file);
+        CSRMatrix<FloatArray> mapped = SparseMatrixUtils.mapMatrixF(file);
+
+        assertNotNull(mapped);
+        assertMatrix(mat.rows.toHeapArray(), mat.cols.toHeapArray(), mat.vals.toHeapArray(), mapped);
+
+        // The temporary file has been moved onto the binary file
+        try (Stream<Path> files = Files.list(folder.getRoot().toPath())) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    public void testLoadCached() throws IOException {
+        Path source = folder.newFile("general.mtx").toPath();
+        Files.writeString(source, GENERAL, StandardCharsets.US_ASCII);
+
+        CSRMatrix<FloatArray> parsed = SparseMatrixUtils.loadMatrixFCached(source.toString());
+        assertTrue(Files.exists(Path.of(source + SparseMatrixUtils.CSR_CACHE_SUFFIX)));
+
+        // The second load maps the binary copy
+        CSRMatrix<FloatArray> cached = SparseMatrixUtils.loadMatrixFCached(source.toString());
+        assertNotNull(cached);
+        assertMatrix(parsed.rows.toHeapArray(), parsed.cols.toHeapArray(), parsed.vals.toHeapArray(), cached);
+    }
+}
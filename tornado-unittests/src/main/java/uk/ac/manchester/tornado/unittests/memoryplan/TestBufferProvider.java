@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.memoryplan;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.exceptions.TornadoOutOfMemoryException;
+import uk.ac.manchester.tornado.drivers.common.TornadoBufferProvider;
+import uk.ac.manchester.tornado.runtime.common.BufferPoolStatistics;
+
+/**
+ * Tests for the size classes, the reuse and the eviction of
+ * {@link TornadoBufferProvider}, with a provider that does not allocate any
+ * device memory.
+ *
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ * tornado-test -V uk.ac.manchester.tornado.unittests.memoryplan.TestBufferProvider
+ * </code>
+ */
+public class TestBufferProvider {
+
+    private static final long MAX_ALLOCATION_SIZE = 1L << 30;
+
+    /**
+     * Provider that hands out fake pointers. The device has
+     * {@code deviceMemory} bytes, which can be less than the capacity of the
+     * pool.
+     */
+    private static class FakeBufferProvider extends TornadoBufferProvider {
+
+        private final Map<Long, Long> allocated = new HashMap<>();
+        private final long deviceMemory;
+        private long deviceMemoryUsed;
+        private long nextPointer = 1;
+
+        FakeBufferProvider(long capacity, long deviceMemory) {
+            super(null, capacity);
+            this.deviceMemory = deviceMemory;
+        }
+
+        @Override
+        protected long allocateBuffer(long size) {
+            if (deviceMemoryUsed + size > deviceMemory) {
+                throw new TornadoOutOfMemoryException("Fake device out of memory");
+            }
+            deviceMemoryUsed += size;
+            long pointer = nextPointer++;
+            allocated.put(pointer, size);
+            return pointer;
+        }
+
+        @Override
+        protected void releaseBuffer(long buffer) {
+            deviceMemoryUsed -= allocated.remove(buffer);
+        }
+
+        @Override
+        protected long getDeviceMaxAllocationSize() {
+            return MAX_ALLOCATION_SIZE;
+        }
+
+        long sizeOf(long buffer) {
+            return allocated.get(buffer);
+        }
+
+        boolean isAllocated(long buffer) {
+            return allocated.containsKey(buffer);
+        }
+    }
+
+    @Test
+    public void testSizeClasses() {
+        FakeBufferProvider provider = new FakeBufferProvider(1 << 20, 1 << 20);
+        assertEquals(256, provider.sizeOf(provider.getBufferWithSize(10)));
+        assertEquals(1024, provider.sizeOf(provider.getBufferWithSize(1000)));
+        assertEquals(1024, provider.sizeOf(provider.getBufferWithSize(1024)));
+        assertEquals(2048, provider.sizeOf(provider.getBufferWithSize(1025)));
+    }
+
+    @Test
+    public void testReuse() {
+        FakeBufferProvider provider = new FakeBufferProvider(1 << 20, 1 << 20);
+        long buffer = provider.getBufferWithSize(1000);
+        provider.markBufferReleased(buffer, 1000);
+
+        // Another request of the same size class gets the released buffer
+        assertEquals(buffer, provider.getBufferWithSize(900));
+
+        BufferPoolStatistics statistics = provider.getStatistics();
+        assertEquals(1, statistics.hits());
+        assertEquals(1, statistics.misses());
+        assertEquals(0, statistics.pooledBytes());
+    }
+
+    @Test
+    public void testReuseLargerSizeClass() {
+        FakeBufferProvider provider = new FakeBufferProvider(4096, 4096);
+        long large = provider.getBufferWithSize(4096);
+        provider.markBufferReleased(large, 4096);
+
+        // There is no room for a new 1024-byte buffer, so the free 4096-byte buffer
+        // is used instead of evicting it
+        assertEquals(large, provider.getBufferWithSize(1000));
+        assertEquals(0, provider.getStatistics().evictions());
+    }
+
+    @Test
+    public void testEviction() {
+        FakeBufferProvider provider = new FakeBufferProvider(4096, 4096);
+        long first = provider.getBufferWithSize(1024);
+        long second = provider.getBufferWithSize(1024);
+        provider.markBufferReleased(first, 1024);
+        provider.markBufferReleased(second, 1024);
+
+        // It needs the whole capacity, so both free buffers are released
+        long buffer = provider.getBufferWithSize(4096);
+        assertEquals(4096, provider.sizeOf(buffer));
+        assertFalse(provider.isAllocated(first));
+        assertFalse(provider.isAllocated(second));
+        assertEquals(2, provider.getStatistics().evictions());
+    }
+
+    @Test
+    public void testEvictionOnlyWhenNeeded() {
+        FakeBufferProvider provider = new FakeBufferProvider(4096, 4096);
+        long first = provider.getBufferWithSize(1024);
+        provider.markBufferReleased(first, 1024);
+
+        // There is room for a new buffer, so the free one is kept in the pool
+        provider.getBufferWithSize(2048);
+        assertTrue(provider.isAllocated(first));
+        assertEquals(0, provider.getStatistics().evictions());
+        assertEquals(1024, provider.getStatistics().pooledBytes());
+    }
+
+    @Test
+    public void testExactSizeWhenSizeClassDoesNotFit() {
+        FakeBufferProvider provider = new FakeBufferProvider(4096, 4096);
+        provider.getBufferWithSize(1000);
+
+        // The size class (4096 bytes) does not fit in the 3072 bytes left, but the
+        // exact size does
+        long buffer = provider.getBufferWithSize(2500);
+        assertEquals(2500, provider.sizeOf(buffer));
+    }
+
+    @Test
+    public void testExactSizeWhenDeviceRejectsSizeClass() {
+        // The device has less memory than the pool assumes
+        FakeBufferProvider provider = new FakeBufferProvider(1 << 20, 3000);
+        long buffer = provider.getBufferWithSize(2500);
+        assertEquals(2500, provider.sizeOf(buffer));
+    }
+
+    @Test(expected = TornadoOutOfMemoryException.class)
+    public void testOutOfMemory() {
+        FakeBufferProvider provider = new FakeBufferProvider(4096, 4096);
+        provider.getBufferWithSize(4096);
+        provider.getBufferWithSize(100);
+    }
+}
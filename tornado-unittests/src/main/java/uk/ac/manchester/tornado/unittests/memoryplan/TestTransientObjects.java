@@ -0,0 +1,251 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.memoryplan;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.TornadoExecutionResult;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+import uk.ac.manchester.tornado.api.memory.ObjectBuffer;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.runtime.TornadoCoreRuntime;
+import uk.ac.manchester.tornado.runtime.common.Tornado;
+import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * Tests for transient objects: intermediate results of a task-graph that are
+ * only allocated on the device.
+ *
+ * <p>
+ * How to test?
+ * </p>
+ * <code>
+ * tornado-test -V --jvm="-Dtornado.transient.detection=True" uk.ac.manchester.tornado.unittests.memoryplan.TestTransientObjects
+ * </code>
+ */
+public class TestTransientObjects extends TornadoTestBase {
+    // CHECKSTYLE:OFF
+
+    private static final int N = 1024;
+
+    public static void scale(FloatArray input, FloatArray output, float factor) {
+        for (@Parallel int i = 0; i < input.getSize(); i++) {
+            output.set(i, input.get(i) * factor);
+        }
+    }
+
+    public static void add(FloatArray a, FloatArray b, FloatArray output) {
+        for (@Parallel int i = 0; i < a.getSize(); i++) {
+            output.set(i, a.get(i) + b.get(i));
+        }
+    }
+
+    public static void copy(FloatArray input, FloatArray output) {
+        for (@Parallel int i = 0; i < output.getSize(); i++) {
+            output.set(i, input.get(i));
+        }
+    }
+
+    private static FloatArray createInput(int size) {
+        FloatArray input = new FloatArray(size);
+        for (int i = 0; i < size; i++) {
+            input.set(i, i);
+        }
+        return input;
+    }
+
+    @Test
+    public void testTransientObjectIsNotCopiedBack() {
+        FloatArray a = createInput(N);
+        FloatArray temp = new FloatArray(N);
+        FloatArray c = new FloatArray(N);
+        temp.init(-1.0f);
+
+        // The intermediate array is also listed as an output, but it is never copied back
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a) //
+                .transientObjects(temp) //
+                .task("t0", TestTransientObjects::scale, a, temp, 2.0f) //
+                .task("t1", TestTransientObjects::add, temp, a, c) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, temp, c);
+
+        assertTrue(taskGraph.getOutputs().stream().noneMatch(output -> output == temp));
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+
+        for (int i = 0; i < N; i++) {
+            assertEquals(3.0f * i, c.get(i), 0.001f);
+            assertEquals(-1.0f, temp.get(i), 0.001f);
+        }
+        executionPlan.freeDeviceMemory();
+    }
+
+    private static ObjectBuffer getDeviceBuffer(FloatArray array) {
+        return TornadoCoreRuntime.getTornadoRuntime().resolveObject(array).getDeviceState(TornadoExecutionPlan.DEFAULT_DEVICE).getObjectBuffer();
+    }
+
+    @Test(expected = TornadoRuntimeException.class)
+    public void testTransferToHostOfTransientObject() {
+        FloatArray a = createInput(N);
+        FloatArray temp = new FloatArray(N);
+        FloatArray c = new FloatArray(N);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a) //
+                .transientObjects(temp) //
+                .task("t0", TestTransientObjects::scale, a, temp, 2.0f) //
+                .task("t1", TestTransientObjects::add, temp, a, c) //
+                .transferToHost(DataTransferMode.UNDER_DEMAND, c);
+
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot());
+        TornadoExecutionResult executionResult = executionPlan.execute();
+        try {
+            // The device buffer of a transient object does not hold its contents
+            executionResult.transferToHost(temp);
+        } finally {
+            executionPlan.freeDeviceMemory();
+        }
+    }
+
+    /**
+     * Transient objects with non-overlapping lifetimes share a device buffer, so
+     * the task-graph allocates less device memory than the sum of their sizes.
+     */
+    @Test
+    public void testAliasingReducesDeviceMemory() {
+        Assume.assumeTrue(TornadoOptions.isTransientAliasingEnabled() && !Tornado.ENABLE_OOO_EXECUTION);
+
+        FloatArray a = createInput(N);
+        FloatArray t0 = new FloatArray(N);
+        FloatArray t1 = new FloatArray(N);
+        FloatArray t2 = new FloatArray(N);
+        FloatArray c = new FloatArray(N);
+
+        // t0 is used by tasks t0-t1, t1 by t1-t2 and t2 by t2-t3: t0 and t2 can share a buffer
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a) //
+                .transientObjects(t0, t1, t2) //
+                .task("t0", TestTransientObjects::scale, a, t0, 2.0f) //
+                .task("t1", TestTransientObjects::add, t0, a, t1) //
+                .task("t2", TestTransientObjects::scale, t1, t2, 0.5f) //
+                .task("t3", TestTransientObjects::add, t2, a, c) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, c);
+
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot()).withDevice(TornadoExecutionPlan.DEFAULT_DEVICE);
+        executionPlan.execute();
+
+        for (int i = 0; i < N; i++) {
+            assertEquals(2.5f * i, c.get(i), 0.001f);
+        }
+
+        assertSame(getDeviceBuffer(t0), getDeviceBuffer(t2));
+        assertNotSame(getDeviceBuffer(t0), getDeviceBuffer(t1));
+
+        Set<ObjectBuffer> buffers = Collections.newSetFromMap(new IdentityHashMap<>());
+        buffers.add(getDeviceBuffer(t0));
+        buffers.add(getDeviceBuffer(t1));
+        buffers.add(getDeviceBuffer(t2));
+        long allocatedBytes = buffers.stream().mapToLong(ObjectBuffer::size).sum();
+        long transientBytes = t0.getNumBytesOfSegment() + t1.getNumBytesOfSegment() + t2.getNumBytesOfSegment();
+        assertTrue(allocatedBytes < transientBytes);
+
+        executionPlan.freeDeviceMemory();
+    }
+
+    @Test
+    public void testDetectedTemporariesAcrossExecutions() {
+        FloatArray a = createInput(N);
+        FloatArray t0 = new FloatArray(N);
+        FloatArray t1 = new FloatArray(N);
+        FloatArray t2 = new FloatArray(N);
+        FloatArray c = new FloatArray(N);
+
+        // t0 and t2 are not used by the same tasks, so they can share a device buffer
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a) //
+                .task("t0", TestTransientObjects::scale, a, t0, 2.0f) //
+                .task("t1", TestTransientObjects::add, t0, a, t1) //
+                .task("t2", TestTransientObjects::scale, t1, t2, 0.5f) //
+                .task("t3", TestTransientObjects::add, t2, a, c) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, c);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+
+        for (int iteration = 1; iteration <= 3; iteration++) {
+            for (int i = 0; i < N; i++) {
+                a.set(i, i * iteration);
+            }
+            executionPlan.execute();
+            for (int i = 0; i < N; i++) {
+                assertEquals(2.5f * i * iteration, c.get(i), 0.001f);
+            }
+        }
+        executionPlan.freeDeviceMemory();
+    }
+
+    @Test
+    public void testTransientObjectsOfDifferentSizes() {
+        FloatArray a = createInput(N);
+        FloatArray small = new FloatArray(N / 2);
+        FloatArray large = new FloatArray(N);
+        FloatArray b = new FloatArray(N / 2);
+        FloatArray c = new FloatArray(N);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a) //
+                .transientObjects(small, large) //
+                .task("t0", TestTransientObjects::scale, a, large, 3.0f) //
+                .task("t1", TestTransientObjects::add, large, a, c) //
+                .task("t2", TestTransientObjects::copy, c, small) //
+                .task("t3", TestTransientObjects::scale, small, b, 2.0f) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, b, c);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+        executionPlan.execute();
+
+        for (int i = 0; i < N; i++) {
+            assertEquals(4.0f * i, c.get(i), 0.001f);
+        }
+        for (int i = 0; i < N / 2; i++) {
+            assertEquals(8.0f * i, b.get(i), 0.001f);
+        }
+        executionPlan.freeDeviceMemory();
+    }
+    // CHECKSTYLE:ON
+}
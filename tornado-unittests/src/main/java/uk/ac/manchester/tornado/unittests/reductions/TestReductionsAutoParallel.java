@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.reductions;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.common.TaskPackage;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * Reductions in loops without {@code @Parallel} and {@code @Reduce}
+ * annotations, which are parallelised automatically.
+ *
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ * tornado-test -V -J"-Dtornado.parallelise.auto=True" uk.ac.manchester.tornado.unittests.reductions.TestReductionsAutoParallel
+ * </code>
+ */
+public class TestReductionsAutoParallel extends TornadoTestBase {
+
+    private static final int SIZE = 2048;
+
+    private static void sum(int[] input, int[] result) {
+        int sum = 0;
+        for (int i = 0; i < input.length; i++) {
+            sum += input[i];
+        }
+        result[0] = sum;
+    }
+
+    private static void dot(float[] a, float[] b, float[] result) {
+        float dot = 0.0f;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+        }
+        result[0] = dot;
+    }
+
+    private static void max(int[] input, int[] result) {
+        int max = Integer.MIN_VALUE;
+        for (int i = 0; i < input.length; i++) {
+            max = Math.max(max, input[i]);
+        }
+        result[0] = max;
+    }
+
+    private static void accumulate(double[] input, double[] result) {
+        for (int i = 0; i < input.length; i++) {
+            result[0] += input[i];
+        }
+    }
+
+    private static void matrixVector(float[] matrix, float[] vector, float[] output) {
+        for (int i = 0; i < output.length; i++) {
+            float sum = 0.0f;
+            for (int j = 0; j < vector.length; j++) {
+                sum += matrix[i * vector.length + j] * vector[j];
+            }
+            output[i] = sum;
+        }
+    }
+
+    private static void strided(int[] input, int[] output) {
+        for (int i = 0, j = 1; i < output.length; i++, j += 2) {
+            output[i] = input[j];
+        }
+    }
+
+    private static void execute(TaskPackage taskPackage, Object input, Object output) {
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                .addTask(taskPackage) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+    }
+
+    @Test
+    public void testScalarSum() {
+        int[] input = new int[SIZE];
+        Random r = new Random();
+        IntStream.range(0, SIZE).forEach(i -> input[i] = r.nextInt(100));
+        int[] result = new int[] { -1 };
+
+        execute(TaskPackage.createPackage("t0", TestReductionsAutoParallel::sum, input, result), input, result);
+
+        int[] sequential = new int[1];
+        sum(input, sequential);
+        assertEquals(sequential[0], result[0]);
+    }
+
+    @Test
+    public void testScalarDotProduct() {
+        float[] a = new float[SIZE];
+        float[] b = new float[SIZE];
+        Random r = new Random();
+        IntStream.range(0, SIZE).forEach(i -> {
+            a[i] = r.nextFloat();
+            b[i] = r.nextFloat();
+        });
+        float[] result = new float[1];
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a, b) //
+                .task("t0", TestReductionsAutoParallel::dot, a, b, result) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, result);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+
+        float[] sequential = new float[1];
+        dot(a, b, sequential);
+        assertEquals(sequential[0], result[0], 0.1f);
+    }
+
+    @Test
+    public void testScalarMax() {
+        int[] input = new int[SIZE];
+        Random r = new Random();
+        IntStream.range(0, SIZE).forEach(i -> input[i] = r.nextInt(10000) - 5000);
+        int[] result = new int[1];
+
+        execute(TaskPackage.createPackage("t0", TestReductionsAutoParallel::max, input, result), input, result);
+
+        int[] sequential = new int[1];
+        max(input, sequential);
+        assertEquals(sequential[0], result[0]);
+    }
+
+    @Test
+    public void testMemoryAccumulator() {
+        double[] input = new double[SIZE];
+        Random r = new Random();
+        IntStream.range(0, SIZE).forEach(i -> input[i] = r.nextDouble());
+        double[] result = new double[1];
+
+        execute(TaskPackage.createPackage("t0", TestReductionsAutoParallel::accumulate, input, result), input, result);
+
+        double[] sequential = new double[1];
+        accumulate(input, sequential);
+        assertEquals(sequential[0], result[0], 0.01);
+    }
+
+    @Test
+    public void testMemoryAccumulatorWithInitialValue() {
+        double[] input = new double[SIZE];
+        Random r = new Random();
+        IntStream.range(0, SIZE).forEach(i -> input[i] = r.nextDouble());
+        double[] result = new double[] { 100.0 };
+
+        execute(TaskPackage.createPackage("t0", TestReductionsAutoParallel::accumulate, input, result), input, result);
+
+        // The initial value is added once, not once per work-group
+        double[] sequential = new double[] { 100.0 };
+        accumulate(input, sequential);
+        assertEquals(sequential[0], result[0], 0.01);
+    }
+
+    @Test
+    public void testInnerLoopAccumulator() {
+        final int rows = 256;
+        final int columns = 128;
+        float[] matrix = new float[rows * columns];
+        float[] vector = new float[columns];
+        Random r = new Random();
+        IntStream.range(0, matrix.length).forEach(i -> matrix[i] = r.nextFloat());
+        IntStream.range(0, columns).forEach(i -> vector[i] = r.nextFloat());
+        float[] output = new float[rows];
+
+        // The outer loop is parallelised and the inner one runs sequentially
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, matrix, vector) //
+                .task("t0", TestReductionsAutoParallel::matrixVector, matrix, vector, output) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+
+        float[] sequential = new float[rows];
+        matrixVector(matrix, vector, sequential);
+        for (int i = 0; i < rows; i++) {
+            assertEquals(sequential[i], output[i], 0.01f);
+        }
+    }
+
+    @Test
+    public void testSecondInductionVariable() {
+        int[] input = new int[SIZE * 2];
+        IntStream.range(0, SIZE * 2).forEach(i -> input[i] = i);
+        int[] output = new int[SIZE];
+
+        execute(TaskPackage.createPackage("t0", TestReductionsAutoParallel::strided, input, output), input, output);
+
+        int[] sequential = new int[SIZE];
+        strided(input, sequential);
+        assertArrayEquals(sequential, output);
+    }
+}
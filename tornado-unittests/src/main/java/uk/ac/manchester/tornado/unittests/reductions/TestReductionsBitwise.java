@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.reductions;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.annotations.Reduce;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.math.ArgReduction;
+import uk.ac.manchester.tornado.api.math.TornadoMath;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.api.types.arrays.LongArray;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * Reductions with bitwise and logical operators, and argmax/argmin.
+ *
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ * tornado-test -V uk.ac.manchester.tornado.unittests.reductions.TestReductionsBitwise
+ * </code>
+ */
+public class TestReductionsBitwise extends TornadoTestBase {
+
+    private static final int SIZE = 4096;
+
+    private static void reduceOr(int[] input, @Reduce int[] result) {
+        for (@Parallel int i = 0; i < input.length; i++) {
+            result[0] |= input[i];
+        }
+    }
+
+    private static void reduceAnd(int[] input, @Reduce int[] result) {
+        for (@Parallel int i = 0; i < input.length; i++) {
+            result[0] &= input[i];
+        }
+    }
+
+    private static void reduceXor(LongArray input, @Reduce LongArray result) {
+        for (@Parallel int i = 0; i < input.getSize(); i++) {
+            result.set(0, result.get(0) ^ input.get(i));
+        }
+    }
+
+    private static void reduceOrShifted(IntArray input, @Reduce IntArray result) {
+        for (@Parallel int i = 0; i < input.getSize(); i++) {
+            result.set(0, result.get(0) | (1 << (input.get(i) & 31)));
+        }
+    }
+
+    private static void argMax(IntArray input, @Reduce LongArray result) {
+        for (@Parallel int i = 0; i < input.getSize(); i++) {
+            result.set(0, TornadoMath.max(result.get(0), ArgReduction.packMax(input.get(i), i)));
+        }
+    }
+
+    private static void argMin(IntArray input, @Reduce LongArray result) {
+        for (@Parallel int i = 0; i < input.getSize(); i++) {
+            result.set(0, TornadoMath.min(result.get(0), ArgReduction.packMin(input.get(i), i)));
+        }
+    }
+
+    private static int[] randomMasks(int bits) {
+        Random r = new Random();
+        int[] input = new int[SIZE];
+        IntStream.range(0, SIZE).forEach(i -> input[i] = r.nextInt() | ~bits);
+        return input;
+    }
+
+    private static int[] execute(int[] input, int neutral, boolean or) {
+        int[] result = new int[] { neutral };
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input);
+        if (or) {
+            taskGraph.task("t0", TestReductionsBitwise::reduceOr, input, result);
+        } else {
+            taskGraph.task("t0", TestReductionsBitwise::reduceAnd, input, result);
+        }
+        taskGraph.transferToHost(DataTransferMode.EVERY_EXECUTION, result);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+        return result;
+    }
+
+    @Test
+    public void testReduceOr() {
+        Random r = new Random();
+        int[] input = new int[SIZE];
+        IntStream.range(0, SIZE).forEach(i -> input[i] = 1 << r.nextInt(20));
+
+        int[] result = execute(input, 0, true);
+
+        int[] sequential = new int[] { 0 };
+        reduceOr(input, sequential);
+        assertEquals(sequential[0], result[0]);
+    }
+
+    @Test
+    public void testReduceAnd() {
+        int[] input = randomMasks(0x0F0F);
+
+        int[] result = execute(input, -1, false);
+
+        int[] sequential = new int[] { -1 };
+        reduceAnd(input, sequential);
+        assertEquals(sequential[0], result[0]);
+    }
+
+    @Test
+    public void testReduceXor() {
+        LongArray input = new LongArray(SIZE);
+        Random r = new Random();
+        IntStream.range(0, SIZE).forEach(i -> input.set(i, r.nextLong()));
+        LongArray result = new LongArray(1);
+        result.init(0);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                .task("t0", TestReductionsBitwise::reduceXor, input, result) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, result);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+
+        LongArray sequential = new LongArray(1);
+        sequential.init(0);
+        reduceXor(input, sequential);
+        assertEquals(sequential.get(0), result.get(0));
+    }
+
+    @Test
+    public void testReduceOrCarrierValue() {
+        IntArray input = new IntArray(SIZE);
+        Random r = new Random();
+        IntStream.range(0, SIZE).forEach(i -> input.set(i, r.nextInt(24)));
+        IntArray result = new IntArray(1);
+        result.init(0);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                .task("t0", TestReductionsBitwise::reduceOrShifted, input, result) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, result);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+
+        IntArray sequential = new IntArray(1);
+        sequential.init(0);
+        reduceOrShifted(input, sequential);
+        assertEquals(sequential.get(0), result.get(0));
+    }
+
+    @Test
+    public void testAnyAll() {
+        // Logical any/all are OR/AND reductions over 0/1 flags
+        int[] flags = new int[SIZE];
+        flags[SIZE / 3] = 1;
+
+        int[] any = execute(flags, 0, true);
+        int[] all = execute(flags, 1, false);
+
+        assertEquals(1, any[0]);
+        assertEquals(0, all[0]);
+    }
+
+    @Test
+    public void testArgMax() {
+        IntArray input = new IntArray(SIZE);
+        Random r = new Random();
+        IntStream.range(0, SIZE).forEach(i -> input.set(i, r.nextInt(1000) - 500));
+        LongArray result = new LongArray(1);
+        result.init(ArgReduction.ARG_MAX_IDENTITY);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                .task("t0", TestReductionsBitwise::argMax, input, result) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, result);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+
+        int expectedIndex = 0;
+        for (int i = 1; i < SIZE; i++) {
+            if (input.get(i) > input.get(expectedIndex)) {
+                expectedIndex = i;
+            }
+        }
+        assertEquals(input.get(expectedIndex), ArgReduction.value(result.get(0)));
+        assertEquals(expectedIndex, ArgReduction.argMaxIndex(result.get(0)));
+    }
+
+    @Test
+    public void testArgMin() {
+        IntArray input = new IntArray(SIZE);
+        Random r = new Random();
+        IntStream.range(0, SIZE).forEach(i -> input.set(i, r.nextInt(1000) - 500));
+        LongArray result = new LongArray(1);
+        result.init(ArgReduction.ARG_MIN_IDENTITY);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                .task("t0", TestReductionsBitwise::argMin, input, result) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, result);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+
+        int expectedIndex = 0;
+        for (int i = 1; i < SIZE; i++) {
+            if (input.get(i) < input.get(expectedIndex)) {
+                expectedIndex = i;
+            }
+        }
+        assertEquals(input.get(expectedIndex), ArgReduction.value(result.get(0)));
+        assertEquals(expectedIndex, ArgReduction.argMinIndex(result.get(0)));
+    }
+}
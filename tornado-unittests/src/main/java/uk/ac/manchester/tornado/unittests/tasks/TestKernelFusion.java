@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.tasks;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.GridScheduler;
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.TornadoExecutionResult;
+import uk.ac.manchester.tornado.api.WorkerGrid1D;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.enums.ProfilerMode;
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * Tests for the fusion of element-wise tasks. The results must be the same
+ * with and without fusion.
+ *
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ * tornado-test -V --jvm="-Dtornado.kernel.fusion=True" uk.ac.manchester.tornado.unittests.tasks.TestKernelFusion
+ * </code>
+ */
+public class TestKernelFusion extends TornadoTestBase {
+    // CHECKSTYLE:OFF
+
+    private static final int N = 4096;
+
+    public static void scale(FloatArray input, FloatArray output, float factor) {
+        for (@Parallel int i = 0; i < input.getSize(); i++) {
+            output.set(i, input.get(i) * factor);
+        }
+    }
+
+    public static void offset(FloatArray input, FloatArray output, float value) {
+        for (@Parallel int i = 0; i < input.getSize(); i++) {
+            output.set(i, input.get(i) + value);
+        }
+    }
+
+    public static void square(FloatArray input, FloatArray output) {
+        for (@Parallel int i = 0; i < input.getSize(); i++) {
+            output.set(i, input.get(i) * input.get(i));
+        }
+    }
+
+    public static void shiftLeft(FloatArray input, FloatArray output) {
+        for (@Parallel int i = 0; i < input.getSize() - 1; i++) {
+            output.set(i, input.get(i + 1));
+        }
+    }
+
+    public static void reverse(FloatArray input, FloatArray output) {
+        for (@Parallel int i = 0; i < input.getSize(); i++) {
+            output.set(i, input.get(input.getSize() - 1 - i));
+        }
+    }
+
+    /**
+     * It counts the tasks of the task-graph reported by the profiler. Fused tasks
+     * are reported as a single task.
+     */
+    private static int countTasks(TornadoExecutionResult executionResult) {
+        Matcher matcher = Pattern.compile("\"s0\\.t\\d+\": \\{").matcher(executionResult.getProfilerResult().getProfileLog());
+        int tasks = 0;
+        while (matcher.find()) {
+            tasks++;
+        }
+        return tasks;
+    }
+
+    private static long getCopyInBytes(TornadoExecutionResult executionResult) {
+        Matcher matcher = Pattern.compile("\"TOTAL_COPY_IN_SIZE_BYTES\": \"(\\d+)\"").matcher(executionResult.getProfilerResult().getProfileLog());
+        return matcher.find() ? Long.parseLong(matcher.group(1)) : 0;
+    }
+
+    private static FloatArray createInput(int size) {
+        FloatArray input = new FloatArray(size);
+        for (int i = 0; i < size; i++) {
+            input.set(i, i);
+        }
+        return input;
+    }
+
+    @Test
+    public void testFuseTwoTasks() {
+        FloatArray a = createInput(N);
+        FloatArray b = new FloatArray(N);
+        FloatArray c = new FloatArray(N);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a) //
+                .task("t0", TestKernelFusion::scale, a, b, 2.0f) //
+                .task("t1", TestKernelFusion::offset, b, c, 1.0f) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, c);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        TornadoExecutionResult executionResult = executionPlan.withProfiler(ProfilerMode.SILENT).execute();
+        assertEquals(1, countTasks(executionResult));
+        // The intermediate array b is never copied to the device
+        assertTrue(getCopyInBytes(executionResult) < 2 * a.getNumBytesOfSegment());
+
+        for (int i = 0; i < N; i++) {
+            assertEquals(2.0f * i + 1.0f, c.get(i), 0.001f);
+        }
+    }
+
+    @Test
+    public void testFuseThreeTasks() {
+        FloatArray a = createInput(N);
+        FloatArray b = new FloatArray(N);
+        FloatArray c = new FloatArray(N);
+        FloatArray d = new FloatArray(N);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a) //
+                .task("t0", TestKernelFusion::scale, a, b, 0.5f) //
+                .task("t1", TestKernelFusion::offset, b, c, -1.0f) //
+                .task("t2", TestKernelFusion::square, c, d) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, b, d);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        TornadoExecutionResult executionResult = executionPlan.withProfiler(ProfilerMode.SILENT).execute();
+        assertEquals(1, countTasks(executionResult));
+
+        for (int i = 0; i < N; i++) {
+            float expected = 0.5f * i - 1.0f;
+            assertEquals(0.5f * i, b.get(i), 0.001f);
+            assertEquals(expected * expected, d.get(i), 0.01f);
+        }
+    }
+
+    @Test
+    public void testFuseInPlace() {
+        FloatArray a = createInput(N);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a) //
+                .task("t0", TestKernelFusion::scale, a, a, 3.0f) //
+                .task("t1", TestKernelFusion::offset, a, a, 2.0f) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, a);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        TornadoExecutionResult executionResult = executionPlan.withProfiler(ProfilerMode.SILENT).execute();
+        assertEquals(1, countTasks(executionResult));
+
+        for (int i = 0; i < N; i++) {
+            assertEquals(3.0f * i + 2.0f, a.get(i), 0.001f);
+        }
+    }
+
+    @Test
+    public void testNoFusionWithNeighbourAccess() {
+        FloatArray a = createInput(N);
+        FloatArray b = new FloatArray(N);
+        FloatArray c = new FloatArray(N);
+
+        // The consumer reads an element written by another thread of the producer
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a) //
+                .task("t0", TestKernelFusion::scale, a, b, 2.0f) //
+                .task("t1", TestKernelFusion::reverse, b, c) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, c);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        TornadoExecutionResult executionResult = executionPlan.withProfiler(ProfilerMode.SILENT).execute();
+        assertEquals(2, countTasks(executionResult));
+
+        for (int i = 0; i < N; i++) {
+            assertEquals(2.0f * (N - 1 - i), c.get(i), 0.001f);
+        }
+    }
+
+    @Test
+    public void testNoFusionWithDifferentDomains() {
+        FloatArray a = createInput(N);
+        FloatArray b = new FloatArray(N);
+        FloatArray c = new FloatArray(N);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a) //
+                .task("t0", TestKernelFusion::scale, a, b, 2.0f) //
+                .task("t1", TestKernelFusion::shiftLeft, b, c) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, c);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        TornadoExecutionResult executionResult = executionPlan.withProfiler(ProfilerMode.SILENT).execute();
+        assertEquals(2, countTasks(executionResult));
+
+        for (int i = 0; i < N - 1; i++) {
+            assertEquals(2.0f * (i + 1), c.get(i), 0.001f);
+        }
+    }
+
+    @Test(expected = TornadoRuntimeException.class)
+    public void testGridSchedulerOfFusedTask() {
+        FloatArray a = createInput(N);
+        FloatArray b = new FloatArray(N);
+        FloatArray c = new FloatArray(N);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a) //
+                .task("t0", TestKernelFusion::scale, a, b, 2.0f) //
+                .task("t1", TestKernelFusion::offset, b, c, 1.0f) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, c);
+
+        // The task t1 runs in the kernel of t0, so it cannot have its own worker grid
+        GridScheduler gridScheduler = new GridScheduler("s0.t1", new WorkerGrid1D(N));
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot());
+        executionPlan.withGridScheduler(gridScheduler).execute();
+    }
+    // CHECKSTYLE:ON
+}
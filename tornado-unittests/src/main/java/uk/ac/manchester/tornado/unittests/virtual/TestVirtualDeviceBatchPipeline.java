@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.virtual;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.enums.TornadoVMBackendType;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * Checks the bytecodes emitted for pipelined batches on a virtual device. The
+ * bytecodes are not executed, so the schedule can be checked without a real
+ * device.
+ *
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ *     tornado-test -V --jvm="-Dtornado.device.desc=virtual-device-GPU.json -Dtornado.virtual.device=True -Dtornado.print.bytecodes=True
+ *     -Dtornado.print.bytecodes.dir=virtualBytecodesOut.out" uk.ac.manchester.tornado.unittests.virtual.TestVirtualDeviceBatchPipeline
+ * </code>
+ */
+public class TestVirtualDeviceBatchPipeline extends TornadoTestBase {
+
+    private static final String BYTECODES_DIR = System.getProperty("tornado.print.bytecodes.dir");
+
+    // 4MB per array, processed in 4 batches of 1MB
+    private static final int SIZE = 1024 * 1024;
+    private static final int NUM_CHUNKS = 4;
+    private static final long CHUNK_SIZE_BYTES = 1024 * 1024;
+
+    private static void computeWithCoefficients(FloatArray in, FloatArray coefficients, FloatArray out) {
+        for (@Parallel int i = 0; i < in.getSize(); i++) {
+            out.set(i, in.get(i) * coefficients.get(i % coefficients.getSize()));
+        }
+    }
+
+    @Before
+    public void before() {
+        deleteBytecodesFile();
+    }
+
+    @After
+    public void after() {
+        // make sure the bytecodes file generated is deleted
+        deleteBytecodesFile();
+    }
+
+    private static void deleteBytecodesFile() {
+        File fileLog = new File(BYTECODES_DIR);
+        if (fileLog.exists()) {
+            fileLog.delete();
+        }
+    }
+
+    private static List<String> readBytecodes() {
+        List<String> bytecodes = new ArrayList<>();
+        try {
+            for (String line : Files.readAllLines(new File(BYTECODES_DIR).toPath())) {
+                // Remove the terminal colours and the padding around the bytecode names
+                String bytecode = line.replaceAll("\u001B\\[[;\\d]*m", "").replaceAll("\\s+", " ").trim();
+                if (bytecode.startsWith("bc:")) {
+                    bytecodes.add(bytecode);
+                }
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+            Assert.fail();
+        }
+        return bytecodes;
+    }
+
+    private static List<Integer> indexesOf(List<String> bytecodes, String bytecode, String object) {
+        List<Integer> indexes = new ArrayList<>();
+        for (int i = 0; i < bytecodes.size(); i++) {
+            if (bytecodes.get(i).contains(bytecode) && bytecodes.get(i).contains(object)) {
+                indexes.add(i);
+            }
+        }
+        return indexes;
+    }
+
+    private static int bufferSetOf(List<String> bytecodes, int index) {
+        for (int i = index; i >= 0; i--) {
+            if (bytecodes.get(i).startsWith("bc: SELECT_BUFFER_SET ")) {
+                return Integer.parseInt(bytecodes.get(i).substring("bc: SELECT_BUFFER_SET ".length()).trim());
+            }
+        }
+        Assert.fail(STR."No buffer set selected before: \{bytecodes.get(index)}");
+        return -1;
+    }
+
+    private static long offsetOf(String bytecode) {
+        int begin = bytecode.indexOf("offset=") + "offset=".length();
+        int end = bytecode.indexOf(' ', begin);
+        return Long.parseLong(bytecode.substring(begin, end));
+    }
+
+    @Test
+    public void testPipelinedBatchSchedule() {
+        assertNotBackend(TornadoVMBackendType.PTX);
+        assertNotBackend(TornadoVMBackendType.SPIRV);
+
+        FloatArray input = new FloatArray(SIZE);
+        FloatArray coefficients = new FloatArray(4);
+        FloatArray output = new FloatArray(SIZE);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, input, coefficients) //
+                .task("t0", TestVirtualDeviceBatchPipeline::computeWithCoefficients, input, coefficients, output) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot());
+        // Batches of 1MB, with two batches in flight and a broadcast object
+        executionPlan.withBatch("1MB", 2, new Object[] { coefficients }).execute();
+
+        List<String> bytecodes = readBytecodes();
+        List<Integer> copyIns = indexesOf(bytecodes, "TRANSFER_HOST_TO_DEVICE", String.format("[0x%x]", input.hashCode()));
+        List<Integer> launches = indexesOf(bytecodes, "LAUNCH", "s0.t0");
+        List<Integer> copyOuts = indexesOf(bytecodes, "TRANSFER_DEVICE_TO_HOST", String.format("[0x%x]", output.hashCode()));
+
+        Assert.assertEquals(NUM_CHUNKS, copyIns.size());
+        Assert.assertEquals(NUM_CHUNKS, launches.size());
+        Assert.assertEquals(NUM_CHUNKS, copyOuts.size());
+
+        for (int chunk = 0; chunk < NUM_CHUNKS; chunk++) {
+            // Consecutive chunks alternate between the two buffer sets
+            Assert.assertEquals(chunk % 2, bufferSetOf(bytecodes, copyIns.get(chunk)));
+            Assert.assertEquals(chunk % 2, bufferSetOf(bytecodes, launches.get(chunk)));
+            Assert.assertEquals(chunk % 2, bufferSetOf(bytecodes, copyOuts.get(chunk)));
+
+            Assert.assertEquals(chunk * CHUNK_SIZE_BYTES, offsetOf(bytecodes.get(copyIns.get(chunk))));
+            Assert.assertEquals(chunk * CHUNK_SIZE_BYTES, offsetOf(bytecodes.get(copyOuts.get(chunk))));
+
+            Assert.assertTrue(copyIns.get(chunk) < launches.get(chunk));
+            Assert.assertTrue(launches.get(chunk) < copyOuts.get(chunk));
+            if (chunk > 0) {
+                // The next chunk is copied in and launched before the previous chunk is copied out
+                Assert.assertTrue(launches.get(chunk) < copyOuts.get(chunk - 1));
+            }
+        }
+
+        // The broadcast object is copied in full, only once
+        List<Integer> broadcastCopyIns = indexesOf(bytecodes, "TRANSFER_HOST_TO_DEVICE", String.format("[0x%x]", coefficients.hashCode()));
+        Assert.assertEquals(1, broadcastCopyIns.size());
+        Assert.assertEquals(0, offsetOf(bytecodes.get(broadcastCopyIns.getFirst())));
+    }
+
+}
@@ -21,6 +21,7 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.util.Arrays;
+import java.util.regex.Pattern;
 import java.util.stream.IntStream;
 
 import org.junit.After;
@@ -56,6 +57,12 @@ public class TestVirtualDeviceKernel extends TornadoTestBase {
         }
     }
 
+    private static void vectorAdd(float[] a, float[] b, float[] c) {
+        for (@Parallel int i = 0; i < c.length; i++) {
+            c[i] = a[i] + b[i];
+        }
+    }
+
     @After
     public void after() {
         // make sure the source file generated is deleted
@@ -116,4 +123,41 @@ public class TestVirtualDeviceKernel extends TornadoTestBase {
         testVirtualDeviceKernel("virtualDeviceKernelCPU.cl");
     }
 
+    /**
+     * With padded global work ({@code -Dtornado.padding=True}), the threads beyond
+     * the iteration space exit at the condition of the parallel loop: the loop
+     * starts at the global thread id and it is bounded by the number of
+     * iterations.
+     */
+    @Test
+    public void testVirtualDeviceBoundsGuard() {
+        assertNotBackend(TornadoVMBackendType.PTX);
+        assertNotBackend(TornadoVMBackendType.SPIRV);
+
+        final int size = 1_000_003;
+        float[] a = new float[size];
+        float[] b = new float[size];
+        float[] c = new float[size];
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a, b) //
+                .task("t0", TestVirtualDeviceKernel::vectorAdd, a, b, c) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, c);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+
+        String generatedKernel = null;
+        try {
+            generatedKernel = Files.readString(new File(SOURCE_DIR).toPath());
+        } catch (IOException e) {
+            e.printStackTrace();
+            Assert.fail();
+        }
+
+        Pattern guard = Pattern.compile("(i_\\d+)\\s+=\\s+get_global_id\\(0\\);.*?(i_\\d+)\\s+=\\s+\\1;\\s*for\\(;\\2 < " + size + ";\\)", Pattern.DOTALL);
+        Assert.assertTrue("The parallel loop does not guard the threads beyond the iteration space.", guard.matcher(generatedKernel).find());
+    }
+
 }
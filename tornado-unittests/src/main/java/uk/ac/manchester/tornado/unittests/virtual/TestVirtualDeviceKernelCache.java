@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.virtual;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.enums.TornadoVMBackendType;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ *     tornado-test -V --jvm="-Dtornado.device.desc=virtual-device-GPU.json -Dtornado.print.kernel=True -Dtornado.virtual.device=True
+ *     -Dtornado.print.kernel.dir=virtualKernelOut.out -Dtornado.opencl.codecache.persistent=True
+ *     -Dtornado.opencl.codecache.persistent.dir=virtualKernelCache" uk.ac.manchester.tornado.unittests.virtual.TestVirtualDeviceKernelCache
+ * </code>
+ */
+public class TestVirtualDeviceKernelCache extends TornadoTestBase {
+
+    private static final String SOURCE_DIR = System.getProperty("tornado.print.kernel.dir");
+    private static final String CACHE_DIR = System.getProperty("tornado.opencl.codecache.persistent.dir");
+    private static final int SIZE = 4096;
+
+    private static void vectorAdd(float[] a, float[] b, float[] c) {
+        for (@Parallel int i = 0; i < c.length; i++) {
+            c[i] = a[i] + b[i];
+        }
+    }
+
+    @Before
+    public void before() {
+        // start each test with an empty cache
+        Path dir = Paths.get(CACHE_DIR);
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : files.toList()) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            Assert.fail(e.getMessage());
+        }
+    }
+
+    @After
+    public void after() {
+        // make sure the source file generated is deleted
+        File fileLog = new File(SOURCE_DIR);
+        if (fileLog.exists()) {
+            fileLog.delete();
+        }
+    }
+
+    private static long countCachedKernels() {
+        Path dir = Paths.get(CACHE_DIR);
+        if (!Files.exists(dir)) {
+            return 0;
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(p -> p.toString().endsWith(".kernel")).count();
+        } catch (IOException e) {
+            Assert.fail(e.getMessage());
+            return -1;
+        }
+    }
+
+    private static String compileAndReadKernel(String taskGraphName, int size) {
+        float[] a = new float[size];
+        float[] b = new float[size];
+        float[] c = new float[size];
+
+        TaskGraph taskGraph = new TaskGraph(taskGraphName) //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a, b) //
+                .task("t0", TestVirtualDeviceKernelCache::vectorAdd, a, b, c) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, c);
+
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot());
+        executionPlan.execute();
+
+        File fileLog = new File(SOURCE_DIR);
+        try {
+            String kernel = Files.readString(fileLog.toPath());
+            fileLog.delete();
+            return kernel;
+        } catch (IOException e) {
+            Assert.fail(e.getMessage());
+            return null;
+        }
+    }
+
+    @Test
+    public void testKernelReusedFromCache() {
+        assertNotBackend(TornadoVMBackendType.PTX);
+        assertNotBackend(TornadoVMBackendType.SPIRV);
+
+        String generatedKernel = compileAndReadKernel("s0", SIZE);
+        assertEquals(1, countCachedKernels());
+
+        // Same code and specialisation: the kernel is taken from the cache
+        String cachedKernel = compileAndReadKernel("s1", SIZE);
+        assertEquals(1, countCachedKernels());
+        assertEquals(generatedKernel, cachedKernel);
+    }
+
+    @Test
+    public void testKernelSpecialisedPerArrayLength() {
+        assertNotBackend(TornadoVMBackendType.PTX);
+        assertNotBackend(TornadoVMBackendType.SPIRV);
+
+        compileAndReadKernel("s0", SIZE);
+        assertEquals(1, countCachedKernels());
+
+        // The array length is folded into the kernel, so a different size is a
+        // new entry
+        compileAndReadKernel("s1", SIZE * 2);
+        assertEquals(2, countCachedKernels());
+    }
+
+}
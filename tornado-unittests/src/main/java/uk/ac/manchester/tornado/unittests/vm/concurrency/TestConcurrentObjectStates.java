@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.vm.concurrency;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.memory.TornadoGlobalObjectState;
+import uk.ac.manchester.tornado.api.runtime.TornadoRuntime;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * Tests for the registry of object states of the TornadoVM runtime when it is
+ * accessed from multiple Java threads.
+ *
+ * <p>
+ * How to test?
+ * </p>
+ *
+ * <p>
+ * <code>
+ * tornado-test -V uk.ac.manchester.tornado.unittests.vm.concurrency.TestConcurrentObjectStates
+ * </code>
+ * </p>
+ */
+public class TestConcurrentObjectStates extends TornadoTestBase {
+
+    private static final int NUM_THREADS = 16;
+    private static final int NUM_OBJECTS = 4096;
+
+    /**
+     * Objects with the same contents are different objects for the runtime.
+     */
+    @Test
+    public void testIdentity() {
+        int[] a = new int[16];
+        int[] b = new int[16];
+        FloatArray c = new FloatArray(16);
+
+        TornadoGlobalObjectState stateA = TornadoRuntime.getTornadoRuntime().resolveObject(a);
+        assertSame(stateA, TornadoRuntime.getTornadoRuntime().resolveObject(a));
+        assertNotSame(stateA, TornadoRuntime.getTornadoRuntime().resolveObject(b));
+        assertNotNull(TornadoRuntime.getTornadoRuntime().resolveObject(c));
+    }
+
+    /**
+     * All threads resolve the same objects at the same time, and they must all
+     * obtain the same state for each object.
+     */
+    @Test
+    public void testConcurrentResolve() throws Exception {
+        List<Object> objects = new ArrayList<>();
+        IntStream.range(0, NUM_OBJECTS).forEach(i -> objects.add(new float[8]));
+
+        ExecutorService executor = Executors.newFixedThreadPool(NUM_THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<TornadoGlobalObjectState[]>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < NUM_THREADS; t++) {
+                final int offset = t;
+                futures.add(executor.submit(() -> {
+                    TornadoGlobalObjectState[] states = new TornadoGlobalObjectState[NUM_OBJECTS];
+                    start.await();
+                    // Each thread walks the objects from a different position
+                    for (int i = 0; i < NUM_OBJECTS; i++) {
+                        int index = (i + offset * (NUM_OBJECTS / NUM_THREADS)) % NUM_OBJECTS;
+                        states[index] = TornadoRuntime.getTornadoRuntime().resolveObject(objects.get(index));
+                    }
+                    return states;
+                }));
+            }
+            start.countDown();
+
+            TornadoGlobalObjectState[] reference = futures.get(0).get();
+            for (Future<TornadoGlobalObjectState[]> future : futures) {
+                TornadoGlobalObjectState[] states = future.get();
+                for (int i = 0; i < NUM_OBJECTS; i++) {
+                    assertNotNull(states[i]);
+                    assertSame(reference[i], states[i]);
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}